@@ -0,0 +1,207 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.benchmarks;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * The measurements of one benchmark with one set of parameters in one run:
+ * the score of every measurement iteration of every fork.
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public final class BenchmarkSamples
+{
+	private final boolean higherIsBetter;
+
+	private final String metric;
+
+	private final String mode;
+
+	private final String name;
+
+	private final SortedMap<String, String> params;
+
+	private final double[] samples;
+
+	private final String unit;
+
+	/**
+	 * Create the samples.
+	 *
+	 * @param name
+	 *            the fully qualified name of the benchmark method
+	 * @param metric
+	 *            the name of a secondary metric such as
+	 *            <code>gc.alloc.rate.norm</code>, or the empty string for
+	 *            the primary score
+	 * @param mode
+	 *            the JMH mode, such as <code>thrpt</code>
+	 * @param params
+	 *            the benchmark parameters
+	 * @param unit
+	 *            the unit of the samples
+	 * @param higherIsBetter
+	 *            whether higher values are an improvement
+	 * @param samples
+	 *            the samples
+	 */
+	public BenchmarkSamples(final String name, final String metric,
+			final String mode, final Map<String, String> params,
+			final String unit, final boolean higherIsBetter,
+			final double[] samples)
+	{
+		this.name = name;
+		this.metric = metric;
+		this.mode = mode;
+		this.params = Collections
+				.unmodifiableSortedMap(new TreeMap<String, String>(params));
+		this.unit = unit;
+		this.higherIsBetter = higherIsBetter;
+		this.samples = samples.clone();
+	}
+
+	/**
+	 * Identifies the benchmark, metric, mode and parameters, so that samples
+	 * from different runs can be matched up.
+	 *
+	 * @return the key
+	 */
+	public String getKey()
+	{
+		final StringBuilder key = new StringBuilder(this.name);
+
+		if (this.metric.length() > 0)
+		{
+			key.append(':').append(this.metric);
+		}
+
+		key.append(" [").append(this.mode);
+
+		for (final Map.Entry<String, String> param : this.params.entrySet())
+		{
+			key.append(", ").append(param.getKey()).append('=').append(
+					param.getValue());
+		}
+
+		return key.append(']').toString();
+	}
+
+	/**
+	 * The secondary metric.
+	 *
+	 * @return the name of the secondary metric or the empty string for the
+	 *         primary score.
+	 */
+	public String getMetric()
+	{
+		return this.metric;
+	}
+
+	/**
+	 * The JMH mode.
+	 *
+	 * @return the mode
+	 */
+	public String getMode()
+	{
+		return this.mode;
+	}
+
+	/**
+	 * The fully qualified name of the benchmark method.
+	 *
+	 * @return the name
+	 */
+	public String getName()
+	{
+		return this.name;
+	}
+
+	/**
+	 * The benchmark parameters, sorted by name.
+	 *
+	 * @return the parameters
+	 */
+	public SortedMap<String, String> getParams()
+	{
+		return this.params;
+	}
+
+	/**
+	 * The samples.
+	 *
+	 * @return a copy of the samples
+	 */
+	public double[] getSamples()
+	{
+		return this.samples.clone();
+	}
+
+	/**
+	 * The unit of the samples.
+	 *
+	 * @return the unit
+	 */
+	public String getUnit()
+	{
+		return this.unit;
+	}
+
+	/**
+	 * Whether higher values are an improvement, as for throughput, or a
+	 * regression, as for time and allocation.
+	 *
+	 * @return true if higher is better.
+	 */
+	public boolean isHigherBetter()
+	{
+		return this.higherIsBetter;
+	}
+
+	/**
+	 * The mean of the samples.
+	 *
+	 * @return the mean
+	 */
+	public double mean()
+	{
+		double sum = 0;
+
+		for (final double sample : this.samples)
+		{
+			sum += sample;
+		}
+
+		return sum / this.samples.length;
+	}
+
+	/**
+	 * The number of samples.
+	 *
+	 * @return the number of samples
+	 */
+	public int size()
+	{
+		return this.samples.length;
+	}
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.benchmarks;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler attached so that every result
+ * comes with its allocation rate per operation. Takes the same arguments as
+ * the JMH command line, for example <code>-f 1 -wi 3 -i 5 Engine</code>.
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public final class Benchmarks
+{
+	/**
+	 * Run the benchmarks.
+	 *
+	 * @param args
+	 *            JMH command line options
+	 * @throws RunnerException
+	 *             if a benchmark fails
+	 * @throws IOException
+	 *             if the benchmarks cannot be listed
+	 * @throws CommandLineOptionException
+	 *             if the arguments are not valid
+	 */
+	public static void main(final String[] args) throws RunnerException,
+			CommandLineOptionException, IOException
+	{
+		final CommandLineOptions cli = new CommandLineOptions(args);
+
+		if (cli.shouldHelp() || cli.shouldList() || cli.shouldListProfilers()
+				|| cli.shouldListWithParams() || cli.shouldListResultFormats())
+		{
+			org.openjdk.jmh.Main.main(args);
+			return;
+		}
+
+		new Runner(new OptionsBuilder().parent(cli)
+				.addProfiler(GCProfiler.class).build()).run();
+	}
+
+	private Benchmarks()
+	{
+		// hide constructor
+	}
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.benchmarks;
+
+import com.pureperfect.purview.ValidationResults;
+
+/**
+ * Sanity checks run while setting up a benchmark, so that a benchmark that
+ * silently stopped doing the work it claims to measure fails instead.
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+final class Checks
+{
+	/**
+	 * Check the number of problems found.
+	 *
+	 * @param expected
+	 *            the expected number of problems
+	 * @param results
+	 *            the results
+	 * @throws IllegalStateException
+	 *             if the number is different
+	 */
+	static void problems(final int expected, final ValidationResults results)
+	{
+		final int actual = results.getProblems().size();
+
+		if (actual != expected)
+		{
+			throw new IllegalStateException("Expected " + expected
+					+ " problems but found " + actual + ": "
+					+ results.getProblems());
+		}
+	}
+
+	/**
+	 * Check whether a problem was found.
+	 *
+	 * @param expected
+	 *            whether a problem was expected
+	 * @param problem
+	 *            the problem or null
+	 * @param what
+	 *            what was validated
+	 * @throws IllegalStateException
+	 *             if a problem was expected and not found or the other way
+	 *             around
+	 */
+	static void problem(final boolean expected, final Object problem,
+			final String what)
+	{
+		if (expected != (problem != null))
+		{
+			throw new IllegalStateException((expected ? "Expected"
+					: "Did not expect")
+					+ " a problem for " + what);
+		}
+	}
+
+	private Checks()
+	{
+		// hide constructor
+	}
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.benchmarks;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import com.pureperfect.purview.ValidationProblem;
+import com.pureperfect.purview.validators.NotNull;
+import com.pureperfect.purview.validators.biz.Phone;
+import com.pureperfect.purview.validators.biz.ZipCode;
+import com.pureperfect.purview.validators.net.Email;
+import com.pureperfect.purview.validators.numeric.GreaterThan;
+import com.pureperfect.purview.validators.numeric.LessThanOrEqualTo;
+import com.pureperfect.purview.validators.text.Range;
+import com.pureperfect.purview.validators.text.Regex;
+
+/**
+ * A small domain object with a typical mix of validation annotations on its
+ * fields, getters, method parameters and class.
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+@Customer.Consistent
+public class Customer
+{
+	/**
+	 * A class level check: the customer must have an email address or a
+	 * phone number and cannot have a negative number of orders.
+	 */
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target(ElementType.TYPE)
+	public @interface Consistent
+	{
+		/**
+		 * The problem reported by {@link Consistent.Validator}.
+		 */
+		public class Problem extends
+				ValidationProblem<Customer, Consistent, Object, Customer>
+		{
+			Problem(final Customer instance, final Consistent annotation,
+					final Object target)
+			{
+				super(instance, annotation, target, instance);
+			}
+		}
+
+		/**
+		 * Check that the customer can be contacted.
+		 */
+		public class Validator
+				implements
+				com.pureperfect.purview.Validator<Problem, Customer, Consistent, Object, Customer>
+		{
+			/**
+			 * {@inheritDoc}
+			 */
+			public Problem validate(final Customer instance,
+					final Consistent annotation, final Object target,
+					final Customer value)
+			{
+				if (value.orders < 0
+						|| (value.email == null && value.phone == null))
+				{
+					return new Problem(instance, annotation, target);
+				}
+
+				return null;
+			}
+		}
+
+		/**
+		 * The validator.
+		 *
+		 * @return the validator
+		 */
+		Class<?> validator() default Validator.class;
+	}
+
+	/**
+	 * A customer that passes every check.
+	 *
+	 * @return the customer
+	 */
+	public static Customer valid()
+	{
+		final Customer customer = new Customer();
+
+		customer.name = "J. Chris Folsom";
+		customer.email = "chris@pureperfect.com";
+		customer.phone = "555-555-5555";
+		customer.zip = "12345-6789";
+		customer.sku = "ABC-1234";
+		customer.age = 30;
+		customer.orders = 3;
+		customer.note = "Prefers email";
+
+		return customer;
+	}
+
+	/**
+	 * A customer that fails every check.
+	 *
+	 * @return the customer
+	 */
+	public static Customer invalid()
+	{
+		final Customer customer = new Customer();
+
+		customer.name = "";
+		customer.email = "chris@";
+		customer.phone = "555";
+		customer.zip = "1234";
+		customer.sku = "abc";
+		customer.age = 200;
+		customer.orders = -1;
+
+		return customer;
+	}
+
+	@GreaterThan(0)
+	@LessThanOrEqualTo(150)
+	int age;
+
+	@Email
+	String email;
+
+	@Range(min = 1, max = 64)
+	String name;
+
+	@NotNull
+	String note;
+
+	@GreaterThan(-1)
+	int orders;
+
+	@Phone
+	String phone;
+
+	@Regex("[A-Z]{3}-[0-9]{4}")
+	String sku;
+
+	@ZipCode
+	String zip;
+
+	/**
+	 * The customer's age.
+	 *
+	 * @return the age
+	 */
+	@GreaterThan(0)
+	@LessThanOrEqualTo(150)
+	public int getAge()
+	{
+		return this.age;
+	}
+
+	/**
+	 * The customer's email address.
+	 *
+	 * @return the email address
+	 */
+	@Email
+	public String getEmail()
+	{
+		return this.email;
+	}
+
+	/**
+	 * The customer's name.
+	 *
+	 * @return the name
+	 */
+	@Range(min = 1, max = 64)
+	public String getName()
+	{
+		return this.name;
+	}
+
+	/**
+	 * The customer's phone number.
+	 *
+	 * @return the phone number
+	 */
+	@Phone
+	public String getPhone()
+	{
+		return this.phone;
+	}
+
+	/**
+	 * Change the name and email address.
+	 *
+	 * @param newName
+	 *            the new name
+	 * @param newEmail
+	 *            the new email address
+	 */
+	public void rename(@Range(min = 2, max = 64) final String newName,
+			@Email final String newEmail)
+	{
+		this.name = newName;
+		this.email = newEmail;
+	}
+}
+
@@ -0,0 +1,144 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.benchmarks;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.pureperfect.purview.CachingValidatorFactory;
+import com.pureperfect.purview.ValidationEngine;
+import com.pureperfect.purview.ValidationEngineImpl;
+import com.pureperfect.purview.ValidationResults;
+
+/**
+ * The four entry points of the {@link ValidationEngine} on a small domain
+ * object, once when every value is valid and once when every value is
+ * invalid. The engine is set up like the one behind
+ * {@link com.pureperfect.purview.Purview}.
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(
+{ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class EngineBenchmark
+{
+	private final ValidationEngine engine = new ValidationEngineImpl(
+			new CachingValidatorFactory());
+
+	private Customer instance;
+
+	/**
+	 * Whether the customer is valid or not.
+	 */
+	@Param(
+	{ "valid", "invalid" })
+	public String input;
+
+	private Object[] parameters;
+
+	private Method rename;
+
+	/**
+	 * Build the customer.
+	 *
+	 * @throws NoSuchMethodException
+	 *             if the stub changed
+	 */
+	@Setup
+	public void setUp() throws NoSuchMethodException
+	{
+		final boolean valid = "valid".equals(this.input);
+
+		this.instance = valid ? Customer.valid() : Customer.invalid();
+
+		this.rename = Customer.class.getMethod("rename", String.class,
+				String.class);
+
+		this.parameters = valid ? new Object[]
+		{ "Chris", "chris@pureperfect.com" } : new Object[]
+		{ "C", "chris@" };
+
+		Checks.problems(valid ? 0 : 8, this.validateFields());
+		Checks.problems(valid ? 0 : 4, this.validateMethods());
+		Checks.problems(valid ? 0 : 2, this.validateParameters());
+		Checks.problems(valid ? 0 : 1, this.validateType());
+	}
+
+	/**
+	 * Validate the annotated fields.
+	 *
+	 * @return the results
+	 */
+	@Benchmark
+	public ValidationResults validateFields()
+	{
+		return this.engine.validateFields(this.instance);
+	}
+
+	/**
+	 * Validate the annotated getters.
+	 *
+	 * @return the results
+	 */
+	@Benchmark
+	public ValidationResults validateMethods()
+	{
+		return this.engine.validateMethods(this.instance);
+	}
+
+	/**
+	 * Validate annotated method parameters.
+	 *
+	 * @return the results
+	 */
+	@Benchmark
+	public ValidationResults validateParameters()
+	{
+		return this.engine.validateParameters(this.instance, this.rename,
+				this.parameters);
+	}
+
+	/**
+	 * Validate the class level annotations.
+	 *
+	 * @return the results
+	 */
+	@Benchmark
+	public ValidationResults validateType()
+	{
+		return this.engine.validateType(this.instance);
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.pureperfect.purview.i18n.ExpressionEngine;
+import com.pureperfect.purview.i18n.JEXLExpressionEngine;
+import com.pureperfect.purview.i18n.YALEExpressionEngine;
+import com.pureperfect.purview.validators.net.Email;
+
+/**
+ * Interpolating a message for an email problem with each expression engine.
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(
+{ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ExpressionEngineBenchmark
+{
+	private final ExpressionEngine jexl = JEXLExpressionEngine
+			.defaultInstance();
+
+	private Email.Problem problem;
+
+	private final ExpressionEngine yale = YALEExpressionEngine
+			.defaultInstance();
+
+	/**
+	 * Create the problem.
+	 */
+	@Setup
+	public void setUp()
+	{
+		this.problem = new Email.Problem("instanceValue", null, null,
+				"bademail");
+
+		if (!this.jexl().equals(this.yale()))
+		{
+			throw new IllegalStateException(this.jexl() + " != "
+					+ this.yale());
+		}
+	}
+
+	/**
+	 * Interpolate with JEXL.
+	 *
+	 * @return the message
+	 */
+	@Benchmark
+	public String jexl()
+	{
+		return this.jexl.eval(
+				"The bad email address was: ${problem.value} in ${problem.instance}",
+				this.problem);
+	}
+
+	/**
+	 * Interpolate with YALE.
+	 *
+	 * @return the message
+	 */
+	@Benchmark
+	public String yale()
+	{
+		return this.yale.eval(
+				"The bad email address was: ${problem.getValue} in ${problem.getInstance}",
+				this.problem);
+	}
+}
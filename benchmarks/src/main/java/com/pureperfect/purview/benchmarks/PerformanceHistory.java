@@ -0,0 +1,487 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.benchmarks;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Keeps the history of benchmark results in
+ * <code>docs/performancehistory</code> and gates each new run against the
+ * previous one.
+ *
+ * <p>
+ * Usage:
+ * </p>
+ *
+ * <pre>
+ * java -cp benchmarks.jar com.pureperfect.purview.benchmarks.PerformanceHistory \
+ *     results.json BUILD [HISTORY_DIR]
+ * </pre>
+ *
+ * <p>
+ * <code>results.json</code> is JMH output written with
+ * <code>-rf json</code> and <code>BUILD</code> is the build number. The
+ * results are stored as <code>benchmarks-BUILD.xml</code> in the history
+ * directory (default <code>../docs/performancehistory</code>), then compared
+ * with the stored run with the highest build number below
+ * <code>BUILD</code> by a {@link RegressionGate}. The report goes to
+ * standard out and the exit status is 1 if any benchmark regressed.
+ * </p>
+ *
+ * <p>
+ * The system properties <code>gate.threshold</code> (default 0.05) and
+ * <code>gate.alpha</code> (default 0.01) configure the gate and
+ * <code>gate.baseline</code> picks a specific baseline build.
+ * </p>
+ *
+ * <p>
+ * The primary score of every benchmark is recorded, and so is
+ * <code>gc.alloc.rate.norm</code> when the run used the GC profiler, so
+ * allocation regressions fail the gate too.
+ * </p>
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public final class PerformanceHistory
+{
+	private static final Pattern FILE_NAME = Pattern
+			.compile("benchmarks-(\\d+)\\.xml");
+
+	/*
+	 * Secondary metrics worth recording, all of which are better when lower.
+	 */
+	private static final String[] METRICS =
+	{ "gc.alloc.rate.norm" };
+
+	/**
+	 * Store a run and gate it against the previous one.
+	 *
+	 * @param args
+	 *            the JMH JSON file, the build number and optionally the
+	 *            history directory
+	 * @throws IOException
+	 *             if a file cannot be read or written
+	 */
+	public static void main(final String[] args) throws IOException
+	{
+		if (args.length < 2 || args.length > 3)
+		{
+			System.err.println("Usage: PerformanceHistory results.json BUILD [HISTORY_DIR]");
+			System.exit(2);
+		}
+
+		final int build = Integer.parseInt(args[1]);
+
+		final File dir = new File(args.length > 2 ? args[2]
+				: "../docs/performancehistory");
+
+		final List<BenchmarkSamples> current = readJmh(new File(args[0]));
+
+		write(current, build, file(dir, build));
+
+		final String baselineBuild = System.getProperty("gate.baseline");
+
+		final File baseline = baselineBuild != null ? file(dir, Integer
+				.parseInt(baselineBuild)) : previous(dir, build);
+
+		if (baseline == null || !baseline.exists())
+		{
+			System.out.println("No baseline for build " + build + ", stored "
+					+ current.size() + " results.");
+			return;
+		}
+
+		System.out.println("Build " + build + " against " + baseline.getName());
+
+		final RegressionGate gate = new RegressionGate(Double
+				.parseDouble(System.getProperty("gate.threshold", "0.05")),
+				Double.parseDouble(System.getProperty("gate.alpha", "0.01")));
+
+		if (!gate.report(gate.compare(read(baseline), current), System.out))
+		{
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * The file a build is stored in.
+	 *
+	 * @param dir
+	 *            the history directory
+	 * @param build
+	 *            the build number
+	 * @return the file
+	 */
+	public static File file(final File dir, final int build)
+	{
+		return new File(dir, "benchmarks-" + build + ".xml");
+	}
+
+	/**
+	 * Find the stored run with the highest build number below the build.
+	 *
+	 * @param dir
+	 *            the history directory
+	 * @param build
+	 *            the build number
+	 * @return the file or null if there is no earlier run.
+	 */
+	public static File previous(final File dir, final int build)
+	{
+		final String[] names = dir.list();
+
+		File found = null;
+		int foundBuild = -1;
+
+		if (names != null)
+		{
+			for (final String name : names)
+			{
+				final Matcher m = FILE_NAME.matcher(name);
+
+				if (m.matches())
+				{
+					final int n = Integer.parseInt(m.group(1));
+
+					if (n < build && n > foundBuild)
+					{
+						found = new File(dir, name);
+						foundBuild = n;
+					}
+				}
+			}
+		}
+
+		return found;
+	}
+
+	/**
+	 * Read a stored run.
+	 *
+	 * @param file
+	 *            the file
+	 * @return the results
+	 * @throws IOException
+	 *             if the file cannot be read
+	 */
+	public static List<BenchmarkSamples> read(final File file)
+			throws IOException
+	{
+		final Document document;
+
+		try
+		{
+			document = DocumentBuilderFactory.newInstance()
+					.newDocumentBuilder().parse(file);
+		}
+		catch (final ParserConfigurationException e)
+		{
+			throw new IllegalStateException(e);
+		}
+		catch (final SAXException e)
+		{
+			throw new IOException("Could not parse " + file, e);
+		}
+
+		final List<BenchmarkSamples> results = new ArrayList<BenchmarkSamples>();
+
+		final NodeList benchmarks = document.getElementsByTagName("benchmark");
+
+		for (int i = 0; i < benchmarks.getLength(); ++i)
+		{
+			final Element benchmark = (Element) benchmarks.item(i);
+
+			final Map<String, String> params = new TreeMap<String, String>();
+
+			final NodeList paramList = benchmark.getElementsByTagName("param");
+
+			for (int j = 0; j < paramList.getLength(); ++j)
+			{
+				final Element param = (Element) paramList.item(j);
+
+				params.put(param.getAttribute("name"), param
+						.getAttribute("value"));
+			}
+
+			final String text = benchmark.getElementsByTagName("samples")
+					.item(0).getTextContent().trim();
+
+			final String[] values = text.length() == 0 ? new String[0] : text
+					.split("\\s+");
+
+			final double[] samples = new double[values.length];
+
+			for (int j = 0; j < values.length; ++j)
+			{
+				samples[j] = Double.parseDouble(values[j]);
+			}
+
+			results.add(new BenchmarkSamples(benchmark.getAttribute("name"),
+					benchmark.getAttribute("metric"), benchmark
+							.getAttribute("mode"), params, benchmark
+							.getAttribute("unit"), "higher".equals(benchmark
+							.getAttribute("better")), samples));
+		}
+
+		return results;
+	}
+
+	/**
+	 * Read the results of a JMH run written with <code>-rf json</code>.
+	 *
+	 * @param file
+	 *            the file
+	 * @return the primary score and recorded secondary metrics of every
+	 *         benchmark
+	 * @throws IOException
+	 *             if the file cannot be read
+	 */
+	public static List<BenchmarkSamples> readJmh(final File file)
+			throws IOException
+	{
+		final Reader in = new InputStreamReader(new FileInputStream(file),
+				"UTF-8");
+
+		final JsonArray runs;
+
+		try
+		{
+			runs = JsonParser.parseReader(in).getAsJsonArray();
+		}
+		finally
+		{
+			in.close();
+		}
+
+		final List<BenchmarkSamples> results = new ArrayList<BenchmarkSamples>();
+
+		for (final JsonElement element : runs)
+		{
+			final JsonObject run = element.getAsJsonObject();
+
+			final String name = run.get("benchmark").getAsString();
+			final String mode = run.get("mode").getAsString();
+
+			final Map<String, String> params = new TreeMap<String, String>();
+
+			if (run.has("params"))
+			{
+				for (final Map.Entry<String, JsonElement> param : run
+						.getAsJsonObject("params").entrySet())
+				{
+					params.put(param.getKey(), param.getValue().getAsString());
+				}
+			}
+
+			params.put("threads", run.get("threads").getAsString());
+
+			results.add(samples(name, "", mode, params, run
+					.getAsJsonObject("primaryMetric"), "thrpt".equals(mode)));
+
+			final JsonObject secondary = run.getAsJsonObject("secondaryMetrics");
+
+			if (secondary != null)
+			{
+				for (final Map.Entry<String, JsonElement> entry : secondary
+						.entrySet())
+				{
+					final String metric = metric(entry.getKey());
+
+					if (metric != null)
+					{
+						results.add(samples(name, metric, mode, params, entry
+								.getValue().getAsJsonObject(), false));
+					}
+				}
+			}
+		}
+
+		sort(results);
+
+		return results;
+	}
+
+	/**
+	 * Store a run in a stable format: one <code>benchmark</code> element per
+	 * benchmark, sorted by key, with its parameters and the score of every
+	 * iteration.
+	 *
+	 * @param results
+	 *            the results
+	 * @param build
+	 *            the build number
+	 * @param file
+	 *            the file to write
+	 * @throws IOException
+	 *             if the file cannot be written
+	 */
+	public static void write(final List<BenchmarkSamples> results,
+			final int build, final File file) throws IOException
+	{
+		final List<BenchmarkSamples> sorted = new ArrayList<BenchmarkSamples>(
+				results);
+
+		sort(sorted);
+
+		final Writer out = new OutputStreamWriter(
+				new FileOutputStream(file), "UTF-8");
+
+		try
+		{
+			out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+			out.write("<benchmark-report build=\"" + build + "\">\n");
+
+			for (final BenchmarkSamples samples : sorted)
+			{
+				out.write("   <benchmark name=\"" + escape(samples.getName())
+						+ "\" metric=\"" + escape(samples.getMetric())
+						+ "\" mode=\"" + escape(samples.getMode())
+						+ "\" unit=\"" + escape(samples.getUnit())
+						+ "\" better=\""
+						+ (samples.isHigherBetter() ? "higher" : "lower")
+						+ "\">\n");
+
+				for (final Map.Entry<String, String> param : samples
+						.getParams().entrySet())
+				{
+					out.write("      <param name=\"" + escape(param.getKey())
+							+ "\" value=\"" + escape(param.getValue())
+							+ "\"/>\n");
+				}
+
+				out.write("      <samples>");
+
+				final double[] values = samples.getSamples();
+
+				for (int i = 0; i < values.length; ++i)
+				{
+					if (i > 0)
+					{
+						out.write(' ');
+					}
+
+					out.write(Double.toString(values[i]));
+				}
+
+				out.write("</samples>\n");
+				out.write("   </benchmark>\n");
+			}
+
+			out.write("</benchmark-report>\n");
+		}
+		finally
+		{
+			out.close();
+		}
+	}
+
+	private static String escape(final String value)
+	{
+		return value.replace("&", "&amp;").replace("<", "&lt;").replace(">",
+				"&gt;").replace("\"", "&quot;");
+	}
+
+	/*
+	 * The recorded metric with the name, ignoring the prefix that older
+	 * versions of JMH put on secondary metrics, or null.
+	 */
+	private static String metric(final String name)
+	{
+		for (final String metric : METRICS)
+		{
+			if (name.endsWith(metric) && name.length() <= metric.length() + 1)
+			{
+				return metric;
+			}
+		}
+
+		return null;
+	}
+
+	private static BenchmarkSamples samples(final String name,
+			final String metric, final String mode,
+			final Map<String, String> params, final JsonObject result,
+			final boolean higherIsBetter)
+	{
+		final List<Double> values = new ArrayList<Double>();
+
+		for (final JsonElement fork : result.getAsJsonArray("rawData"))
+		{
+			for (final JsonElement iteration : fork.getAsJsonArray())
+			{
+				values.add(Double.valueOf(iteration.getAsDouble()));
+			}
+		}
+
+		final double[] samples = new double[values.size()];
+
+		for (int i = 0; i < samples.length; ++i)
+		{
+			samples[i] = values.get(i).doubleValue();
+		}
+
+		return new BenchmarkSamples(name, metric, mode, params, result.get(
+				"scoreUnit").getAsString(), higherIsBetter, samples);
+	}
+
+	private static void sort(final List<BenchmarkSamples> results)
+	{
+		Collections.sort(results, new Comparator<BenchmarkSamples>()
+		{
+			public int compare(final BenchmarkSamples a,
+					final BenchmarkSamples b)
+			{
+				return a.getKey().compareTo(b.getKey());
+			}
+		});
+	}
+
+	private PerformanceHistory()
+	{
+		// hide constructor
+	}
+}
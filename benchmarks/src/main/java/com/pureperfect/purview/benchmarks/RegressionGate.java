@@ -0,0 +1,341 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.commons.math3.stat.inference.TTest;
+
+/**
+ * Compares the benchmark results of a run with a baseline run and decides
+ * for each benchmark whether it got slower.
+ *
+ * <p>
+ * A benchmark is a regression only if its mean moved in the wrong direction
+ * by more than the threshold <em>and</em> Welch's t-test on the iteration
+ * samples of both runs says the difference is significant at the given
+ * level. The threshold keeps tiny but real differences from failing the
+ * gate, the test keeps noise from failing it. Benchmarks with fewer than two
+ * samples in either run cannot be tested and never fail the gate.
+ * </p>
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public final class RegressionGate
+{
+	/**
+	 * One benchmark's outcome.
+	 */
+	public static final class Verdict
+	{
+		private final BenchmarkSamples baseline;
+
+		private final BenchmarkSamples current;
+
+		private final String key;
+
+		private final double pValue;
+
+		private final String status;
+
+		Verdict(final String key, final BenchmarkSamples baseline,
+				final BenchmarkSamples current, final double pValue,
+				final String status)
+		{
+			this.key = key;
+			this.baseline = baseline;
+			this.current = current;
+			this.pValue = pValue;
+			this.status = status;
+		}
+
+		/**
+		 * The relative change of the mean, positive when the benchmark got
+		 * better.
+		 *
+		 * @return the change, or NaN if one of the runs is missing
+		 */
+		public double getImprovement()
+		{
+			if (this.baseline == null || this.current == null)
+			{
+				return Double.NaN;
+			}
+
+			final double change = (this.current.mean() - this.baseline.mean())
+					/ Math.abs(this.baseline.mean());
+
+			return this.current.isHigherBetter() ? change : -change;
+		}
+
+		/**
+		 * The benchmark, see {@link BenchmarkSamples#getKey()}.
+		 *
+		 * @return the key
+		 */
+		public String getKey()
+		{
+			return this.key;
+		}
+
+		/**
+		 * The probability of seeing a difference this large by chance.
+		 *
+		 * @return the p-value, or NaN if it could not be computed
+		 */
+		public double getPValue()
+		{
+			return this.pValue;
+		}
+
+		/**
+		 * One of {@link RegressionGate#PASS}, {@link RegressionGate#REGRESSION}
+		 * , {@link RegressionGate#IMPROVEMENT}, {@link RegressionGate#NEW},
+		 * {@link RegressionGate#MISSING} or {@link RegressionGate#UNTESTED}.
+		 *
+		 * @return the status
+		 */
+		public String getStatus()
+		{
+			return this.status;
+		}
+
+		/**
+		 * Whether the benchmark failed the gate.
+		 *
+		 * @return true if it is a regression.
+		 */
+		public boolean isRegression()
+		{
+			return REGRESSION.equals(this.status);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString()
+		{
+			final StringBuilder line = new StringBuilder();
+
+			line.append(pad(this.status, 12));
+
+			if (this.baseline != null && this.current != null)
+			{
+				line.append(String.format(Locale.US,
+						"%+8.1f%%  p=%-8.4f %12.4g -> %-12.4g %-10s ",
+						this.getImprovement() * 100, this.pValue,
+						this.baseline.mean(), this.current.mean(),
+						this.current.getUnit()));
+			}
+			else
+			{
+				line.append(pad("", 61));
+			}
+
+			return line.append(this.key).toString();
+		}
+	}
+
+	/**
+	 * The benchmark got better.
+	 */
+	public static final String IMPROVEMENT = "IMPROVEMENT";
+
+	/**
+	 * The benchmark was in the baseline but not in the current run.
+	 */
+	public static final String MISSING = "MISSING";
+
+	/**
+	 * The benchmark was not in the baseline.
+	 */
+	public static final String NEW = "NEW";
+
+	/**
+	 * No significant change beyond the threshold.
+	 */
+	public static final String PASS = "PASS";
+
+	/**
+	 * The benchmark got worse.
+	 */
+	public static final String REGRESSION = "REGRESSION";
+
+	/**
+	 * Too few samples to test.
+	 */
+	public static final String UNTESTED = "UNTESTED";
+
+	private static String pad(final String value, final int width)
+	{
+		final StringBuilder padded = new StringBuilder(value);
+
+		while (padded.length() < width)
+		{
+			padded.append(' ');
+		}
+
+		return padded.toString();
+	}
+
+	private final double alpha;
+
+	private final double threshold;
+
+	/**
+	 * Create a gate.
+	 *
+	 * @param threshold
+	 *            the smallest relative change that can fail the gate, for
+	 *            example 0.05 for 5%
+	 * @param alpha
+	 *            the significance level, for example 0.01
+	 */
+	public RegressionGate(final double threshold, final double alpha)
+	{
+		this.threshold = threshold;
+		this.alpha = alpha;
+	}
+
+	/**
+	 * Compare a run with its baseline.
+	 *
+	 * @param baseline
+	 *            the baseline results
+	 * @param current
+	 *            the current results
+	 * @return a verdict for every benchmark in either run, current
+	 *         benchmarks first.
+	 */
+	public List<Verdict> compare(final Collection<BenchmarkSamples> baseline,
+			final Collection<BenchmarkSamples> current)
+	{
+		final Map<String, BenchmarkSamples> before = new LinkedHashMap<String, BenchmarkSamples>();
+
+		for (final BenchmarkSamples samples : baseline)
+		{
+			before.put(samples.getKey(), samples);
+		}
+
+		final List<Verdict> verdicts = new ArrayList<Verdict>();
+
+		for (final BenchmarkSamples now : current)
+		{
+			final BenchmarkSamples then = before.remove(now.getKey());
+
+			verdicts.add(this.judge(now.getKey(), then, now));
+		}
+
+		for (final BenchmarkSamples then : before.values())
+		{
+			verdicts.add(new Verdict(then.getKey(), then, null, Double.NaN,
+					MISSING));
+		}
+
+		return verdicts;
+	}
+
+	/**
+	 * Write a report of the verdicts.
+	 *
+	 * @param verdicts
+	 *            the verdicts
+	 * @param out
+	 *            where to write the report
+	 * @return true if no benchmark regressed.
+	 */
+	public boolean report(final List<Verdict> verdicts, final Appendable out)
+	{
+		int regressions = 0;
+
+		try
+		{
+			out.append(String.format(Locale.US,
+					"Regression gate: threshold %.1f%%, alpha %.3g%n",
+					this.threshold * 100, this.alpha));
+
+			for (final Verdict verdict : verdicts)
+			{
+				out.append(verdict.toString()).append(
+						System.getProperty("line.separator"));
+
+				if (verdict.isRegression())
+				{
+					++regressions;
+				}
+			}
+
+			out.append(String.format(Locale.US,
+					"%d benchmarks, %d regressions: %s%n", verdicts.size(),
+					regressions, regressions == 0 ? "PASSED" : "FAILED"));
+		}
+		catch (final java.io.IOException e)
+		{
+			throw new IllegalStateException(e);
+		}
+
+		return regressions == 0;
+	}
+
+	private Verdict judge(final String key, final BenchmarkSamples then,
+			final BenchmarkSamples now)
+	{
+		if (then == null)
+		{
+			return new Verdict(key, null, now, Double.NaN, NEW);
+		}
+
+		if (then.size() < 2 || now.size() < 2)
+		{
+			return new Verdict(key, then, now, Double.NaN, UNTESTED);
+		}
+
+		double p = new TTest().tTest(then.getSamples(), now.getSamples());
+
+		/*
+		 * No variance on either side: any difference is a real one.
+		 */
+		if (Double.isNaN(p))
+		{
+			p = then.mean() == now.mean() ? 1 : 0;
+		}
+
+		final Verdict verdict = new Verdict(key, then, now, p, PASS);
+
+		final double improvement = verdict.getImprovement();
+
+		if (p < this.alpha && improvement < -this.threshold)
+		{
+			return new Verdict(key, then, now, p, REGRESSION);
+		}
+
+		if (p < this.alpha && improvement > this.threshold)
+		{
+			return new Verdict(key, then, now, p, IMPROVEMENT);
+		}
+
+		return verdict;
+	}
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.pureperfect.purview.util.MappedStringSet;
+import com.pureperfect.purview.util.MappedStringSetWriter;
+import com.pureperfect.purview.util.MappedStringSets;
+import com.pureperfect.purview.validators.False;
+import com.pureperfect.purview.validators.MatchField;
+import com.pureperfect.purview.validators.MatchMethod;
+import com.pureperfect.purview.validators.NotNull;
+import com.pureperfect.purview.validators.True;
+import com.pureperfect.purview.validators.biz.Phone;
+import com.pureperfect.purview.validators.biz.SSN;
+import com.pureperfect.purview.validators.biz.ZipCode;
+import com.pureperfect.purview.validators.net.Domain;
+import com.pureperfect.purview.validators.net.Email;
+import com.pureperfect.purview.validators.net.Host;
+import com.pureperfect.purview.validators.net.IPAddress;
+import com.pureperfect.purview.validators.net.URL;
+import com.pureperfect.purview.validators.numeric.GreaterThan;
+import com.pureperfect.purview.validators.numeric.GreaterThanOrEqualTo;
+import com.pureperfect.purview.validators.numeric.Id;
+import com.pureperfect.purview.validators.numeric.LessThan;
+import com.pureperfect.purview.validators.numeric.LessThanOrEqualTo;
+import com.pureperfect.purview.validators.text.Contains;
+import com.pureperfect.purview.validators.text.InSet;
+import com.pureperfect.purview.validators.text.LowerCase;
+import com.pureperfect.purview.validators.text.Mask;
+import com.pureperfect.purview.validators.text.MaxLength;
+import com.pureperfect.purview.validators.text.MinLength;
+import com.pureperfect.purview.validators.text.NotEmpty;
+import com.pureperfect.purview.validators.text.Range;
+import com.pureperfect.purview.validators.text.Regex;
+import com.pureperfect.purview.validators.text.UpperCase;
+import com.pureperfect.purview.validators.time.Hours;
+import com.pureperfect.purview.validators.time.Minutes;
+import com.pureperfect.purview.validators.time.Seconds;
+
+/**
+ * One field for each built in validator, named after it, and a valid and an
+ * invalid value for each. {@link ValidatorBenchmark} looks the annotation up
+ * by field name.
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public class Samples
+{
+	/**
+	 * The name of the set that the {@link InSet} sample uses.
+	 */
+	static final String SET = "benchmark-skus.set";
+
+	private static final Map<String, Object[]> values = new HashMap<String, Object[]>();
+
+	static
+	{
+		value("NotNull", "x", null);
+		value("True", Boolean.TRUE, Boolean.FALSE);
+		value("False", Boolean.FALSE, Boolean.TRUE);
+		value("MatchField", "secret", "guess");
+		value("MatchMethod", "secret", "guess");
+		value("Phone", "555-555-5555", "555-5555-555");
+		value("SSN", "123-45-6789", "123-456-789");
+		value("ZipCode", "12345-6789", "1234");
+		value("Domain", "pureperfect.com", "pure perfect.com");
+		value("Email", "rescue@pureperfect.com", "rescue@");
+		value("Host", "www.pureperfect.com", "www..pureperfect.com");
+		value("IPAddress", "192.168.0.1", "192.168.0.256");
+		value("URL", "http://www.pureperfect.com/a/b?c=d",
+				"http://www.pureperfect.com/a b");
+		value("NumericAllowOnly", Integer.valueOf(2), Integer.valueOf(4));
+		value("GreaterThan", Integer.valueOf(1), Integer.valueOf(0));
+		value("GreaterThanOrEqualTo", Integer.valueOf(0), Integer.valueOf(-1));
+		value("Id", Long.valueOf(1), Long.valueOf(-1));
+		value("LessThan", Double.valueOf(9.5), Double.valueOf(10));
+		value("LessThanOrEqualTo", Double.valueOf(10), Double.valueOf(10.5));
+		value("TextAllowOnly", "red", "purple");
+		value("Contains", "a needle here", "a haystack");
+		value("InSet", "ABC-1234", "XYZ-0000");
+		value("LowerCase", "lowercase", "lowerCase");
+		value("Mask", "555-1234", "5551234");
+		value("MaxLength", "short", "much too long");
+		value("MinLength", "long enough", "short");
+		value("NotEmpty", "x", "");
+		value("Range", "fits", "does not fit");
+		value("Regex", "abc123", "ABC-123");
+		value("UpperCase", "UPPERCASE", "UPPERcASE");
+		value("Hours", Integer.valueOf(23), Integer.valueOf(24));
+		value("Minutes", Integer.valueOf(59), Integer.valueOf(60));
+		value("Seconds", Integer.valueOf(0), Integer.valueOf(-1));
+	}
+
+	/**
+	 * Install the set that the {@link InSet} sample uses.
+	 *
+	 * @throws IOException
+	 *             if the set cannot be written
+	 */
+	static void installSet() throws IOException
+	{
+		final File file = File.createTempFile("purview", ".set");
+
+		file.deleteOnExit();
+
+		new MappedStringSetWriter().write(Arrays.asList("ABC-1234",
+				"DEF-5678", "GHI-9012").iterator(), file);
+
+		MappedStringSets.install(SET, MappedStringSet.open(file));
+	}
+
+	/**
+	 * The valid or invalid value for a sample.
+	 *
+	 * @param name
+	 *            the name of the sample field
+	 * @param valid
+	 *            whether to return the valid value
+	 * @return the value
+	 */
+	static Object value(final String name, final boolean valid)
+	{
+		final Object[] pair = values.get(name);
+
+		if (pair == null)
+		{
+			throw new IllegalArgumentException("No sample named " + name);
+		}
+
+		return valid ? pair[0] : pair[1];
+	}
+
+	private static void value(final String name, final Object valid,
+			final Object invalid)
+	{
+		values.put(name, new Object[]
+		{ valid, invalid });
+	}
+
+	@Contains("needle")
+	String Contains;
+
+	@Domain
+	String Domain;
+
+	@Email
+	String Email;
+
+	@False
+	Boolean False;
+
+	@GreaterThan(0)
+	Integer GreaterThan;
+
+	@GreaterThanOrEqualTo(0)
+	Integer GreaterThanOrEqualTo;
+
+	@Host
+	String Host;
+
+	@Hours
+	Integer Hours;
+
+	@Id
+	Long Id;
+
+	@InSet(resource = SET)
+	String InSet;
+
+	@IPAddress
+	String IPAddress;
+
+	@LessThan(10)
+	Double LessThan;
+
+	@LessThanOrEqualTo(10)
+	Double LessThanOrEqualTo;
+
+	@LowerCase
+	String LowerCase;
+
+	@Mask("###-####")
+	String Mask;
+
+	@MatchField("password")
+	String MatchField;
+
+	@MatchMethod("getPassword")
+	String MatchMethod;
+
+	@MaxLength(10)
+	String MaxLength;
+
+	@Minutes
+	Integer Minutes;
+
+	@MinLength(6)
+	String MinLength;
+
+	@NotEmpty
+	String NotEmpty;
+
+	@NotNull
+	String NotNull;
+
+	@com.pureperfect.purview.validators.numeric.AllowOnly(
+	{ 1, 2, 3 })
+	Integer NumericAllowOnly;
+
+	private final String password = "secret";
+
+	@Phone
+	String Phone;
+
+	@Range(min = 1, max = 10)
+	String Range;
+
+	@Regex("[a-z]+[0-9]+")
+	String Regex;
+
+	@Seconds
+	Integer Seconds;
+
+	@SSN
+	String SSN;
+
+	@True
+	Boolean True;
+
+	@com.pureperfect.purview.validators.text.AllowOnly(
+	{ "red", "green", "blue" })
+	String TextAllowOnly;
+
+	@UpperCase
+	String UpperCase;
+
+	@URL
+	String URL;
+
+	@ZipCode
+	String ZipCode;
+
+	/**
+	 * The value that {@link MatchField} and {@link MatchMethod} compare with.
+	 *
+	 * @return the password
+	 */
+	public String getPassword()
+	{
+		return this.password;
+	}
+}
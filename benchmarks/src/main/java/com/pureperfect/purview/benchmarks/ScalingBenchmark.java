@@ -0,0 +1,245 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.benchmarks;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.pureperfect.purview.CachingValidatorFactory;
+import com.pureperfect.purview.Purview;
+import com.pureperfect.purview.ValidationEngine;
+import com.pureperfect.purview.ValidationEngineImpl;
+import com.pureperfect.purview.ValidatorFactory;
+
+/**
+ * Validation cost as the shape of the domain model grows. The model is
+ * generated by {@link SyntheticModel} from the parameters. One operation
+ * validates the fields of every node of <code>objects</code> object graphs.
+ *
+ * <p>
+ * Run it with several thread counts (<code>-t</code>) to see contention in
+ * the static {@link Purview} engine and in {@link CachingValidatorFactory},
+ * or use {@link ScalingSweep} to get the whole set of curves.
+ * </p>
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScalingBenchmark
+{
+	/**
+	 * A validation engine and factory of its own for each thread.
+	 */
+	@State(Scope.Thread)
+	public static class PerThread
+	{
+		final ValidatorFactory factory = new CachingValidatorFactory();
+
+		final ValidationEngine engine = new ValidationEngineImpl(
+				new CachingValidatorFactory());
+	}
+
+	/**
+	 * Annotations on each field.
+	 */
+	@Param("2")
+	public int density;
+
+	/**
+	 * Classes in each object graph.
+	 */
+	@Param("1")
+	public int depth;
+
+	/**
+	 * Fields in each class.
+	 */
+	@Param(
+	{ "5", "50", "500" })
+	public int fields;
+
+	/**
+	 * Different kinds of fields, see {@link SyntheticModel}.
+	 */
+	@Param("4")
+	public int kinds;
+
+	/**
+	 * Object graphs validated in each operation.
+	 */
+	@Param("1")
+	public int objects;
+
+	private Annotation[] annotations;
+
+	private final ValidatorFactory factory = new CachingValidatorFactory();
+
+	private SyntheticNode[] roots;
+
+	/**
+	 * Generate the model and the objects.
+	 *
+	 * @throws IOException
+	 *             if the model cannot be compiled
+	 * @throws ClassNotFoundException
+	 *             if the model cannot be loaded
+	 */
+	@Setup
+	public void setUp() throws IOException, ClassNotFoundException
+	{
+		final SyntheticModel model = new SyntheticModel(this.fields,
+				this.density, this.kinds, this.depth);
+
+		this.roots = new SyntheticNode[this.objects];
+
+		for (int i = 0; i < this.objects; ++i)
+		{
+			this.roots[i] = model.create();
+		}
+
+		final List<Annotation> all = new ArrayList<Annotation>();
+
+		for (final Field field : model.getLevel(0).getDeclaredFields())
+		{
+			for (final Annotation annotation : field.getDeclaredAnnotations())
+			{
+				all.add(annotation);
+			}
+		}
+
+		this.annotations = all.toArray(new Annotation[all.size()]);
+
+		if (this.annotations.length != this.fields * this.density)
+		{
+			throw new IllegalStateException("Expected "
+					+ (this.fields * this.density) + " annotations but found "
+					+ this.annotations.length);
+		}
+
+		Checks.problems(0, Purview.validateFields(this.roots[0]));
+	}
+
+	/**
+	 * Look up the validator for every annotation of a class in a factory
+	 * shared by all threads.
+	 *
+	 * @return the number of validators found
+	 */
+	@Benchmark
+	public int createValidatorShared()
+	{
+		return this.lookUp(this.factory);
+	}
+
+	/**
+	 * Look up the validator for every annotation of a class in a factory of
+	 * the thread's own.
+	 *
+	 * @param own
+	 *            the thread's own factory
+	 * @return the number of validators found
+	 */
+	@Benchmark
+	public int createValidatorPerThread(final PerThread own)
+	{
+		return this.lookUp(own.factory);
+	}
+
+	/**
+	 * Validate through the static {@link Purview} engine that all threads
+	 * share.
+	 *
+	 * @return the number of problems found
+	 */
+	@Benchmark
+	public int validateFieldsShared()
+	{
+		int problems = 0;
+
+		for (final SyntheticNode root : this.roots)
+		{
+			for (SyntheticNode node = root; node != null; node = node.next())
+			{
+				problems += Purview.validateFields(node).getProblems().size();
+			}
+		}
+
+		return problems;
+	}
+
+	/**
+	 * Validate through an engine of the thread's own.
+	 *
+	 * @param own
+	 *            the thread's own engine
+	 * @return the number of problems found
+	 */
+	@Benchmark
+	public int validateFieldsPerThread(final PerThread own)
+	{
+		int problems = 0;
+
+		for (final SyntheticNode root : this.roots)
+		{
+			for (SyntheticNode node = root; node != null; node = node.next())
+			{
+				problems += own.engine.validateFields(node).getProblems()
+						.size();
+			}
+		}
+
+		return problems;
+	}
+
+	private int lookUp(final ValidatorFactory validatorFactory)
+	{
+		int found = 0;
+
+		for (final Annotation annotation : this.annotations)
+		{
+			if (validatorFactory.createValidator(annotation) != null)
+			{
+				++found;
+			}
+		}
+
+		return found;
+	}
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.benchmarks;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Sweeps {@link ScalingBenchmark} over one dimension at a time while the
+ * others stay at a baseline, and writes one line per result to a CSV file
+ * that can be plotted as scaling curves.
+ *
+ * <p>
+ * The baseline is 50 fields, 2 annotations per field, 4 kinds of fields, 1
+ * object, a depth of 1 and 1 thread. The dimensions are
+ * <code>fields</code>, <code>density</code>, <code>kinds</code>,
+ * <code>objects</code>, <code>depth</code> and <code>threads</code>, which
+ * goes from 1 to 64.
+ * </p>
+ *
+ * <p>
+ * The system property <code>sweep.out</code> names the CSV file (default
+ * <code>scaling.csv</code>) and <code>sweep.dimensions</code> limits the
+ * sweep to a comma separated list of dimensions. Any arguments are passed on
+ * to JMH, for example <code>-f 1 -wi 2 -i 3</code> for a quicker sweep.
+ * </p>
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public final class ScalingSweep
+{
+	private static final String[][] DIMENSIONS =
+	{
+	{ "fields", "5", "25", "50", "100", "250", "500" },
+	{ "density", "1", "2", "3", "4" },
+	{ "kinds", "1", "2", "4" },
+	{ "objects", "1", "10", "100" },
+	{ "depth", "1", "2", "4", "8" },
+	{ "threads", "1", "2", "4", "8", "16", "32", "64" } };
+
+	private static final String[][] BASELINE =
+	{
+	{ "fields", "50" },
+	{ "density", "2" },
+	{ "kinds", "4" },
+	{ "objects", "1" },
+	{ "depth", "1" } };
+
+	/**
+	 * Run the sweep.
+	 *
+	 * @param args
+	 *            JMH command line options
+	 * @throws RunnerException
+	 *             if a benchmark fails
+	 * @throws CommandLineOptionException
+	 *             if the arguments are not valid
+	 * @throws IOException
+	 *             if the CSV file cannot be written
+	 */
+	public static void main(final String[] args) throws RunnerException,
+			CommandLineOptionException, IOException
+	{
+		final CommandLineOptions cli = new CommandLineOptions(args);
+
+		final List<String> only = Arrays.asList(System.getProperty(
+				"sweep.dimensions", "").split(","));
+
+		final PrintWriter out = new PrintWriter(new OutputStreamWriter(
+				new FileOutputStream(System.getProperty("sweep.out",
+						"scaling.csv")), "UTF-8"));
+
+		try
+		{
+			out.println("dimension,value,benchmark,threads,fields,density,kinds,objects,depth,score,error,unit");
+
+			for (final String[] dimension : DIMENSIONS)
+			{
+				final String name = dimension[0];
+
+				if (only.size() > 1 || only.get(0).length() > 0)
+				{
+					if (!only.contains(name))
+					{
+						continue;
+					}
+				}
+
+				for (int i = 1; i < dimension.length; ++i)
+				{
+					final String value = dimension[i];
+
+					final ChainedOptionsBuilder options = new OptionsBuilder()
+							.parent(cli).include(
+									ScalingBenchmark.class.getName() + ".");
+
+					int threads = 1;
+
+					for (final String[] baseline : BASELINE)
+					{
+						options.param(baseline[0],
+								baseline[0].equals(name) ? value : baseline[1]);
+					}
+
+					if ("threads".equals(name))
+					{
+						threads = Integer.parseInt(value);
+					}
+
+					options.threads(threads);
+
+					write(out, name, value, new Runner(options.build()).run());
+
+					out.flush();
+				}
+			}
+		}
+		finally
+		{
+			out.close();
+		}
+	}
+
+	private static void write(final PrintWriter out, final String dimension,
+			final String value, final Collection<RunResult> results)
+	{
+		for (final RunResult run : results)
+		{
+			final Result<?> result = run.getPrimaryResult();
+
+			final String benchmark = run.getParams().getBenchmark();
+
+			out.print(dimension);
+			out.print(',');
+			out.print(value);
+			out.print(',');
+			out.print(benchmark.substring(benchmark.lastIndexOf('.') + 1));
+			out.print(',');
+			out.print(run.getParams().getThreads());
+
+			for (final String[] baseline : BASELINE)
+			{
+				out.print(',');
+				out.print(run.getParams().getParam(baseline[0]));
+			}
+
+			out.print(',');
+			out.print(result.getScore());
+			out.print(',');
+			out.print(result.getScoreError());
+			out.print(',');
+			out.println(result.getScoreUnit());
+		}
+	}
+
+	private ScalingSweep()
+	{
+		// hide constructor
+	}
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.benchmarks;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+/**
+ * Generates annotated domain classes of a given shape, compiles them with the
+ * system Java compiler and creates valid instances of them.
+ *
+ * <p>
+ * Every generated class has <code>fields</code> fields. Field
+ * <code>i</code> is of the kind <code>i % kinds</code>, where the kinds are
+ * plain text, email addresses, phone numbers and numbers, and carries the
+ * first <code>density</code> annotations that apply to its kind. Classes are
+ * chained <code>depth</code> levels deep through {@link SyntheticNode#next()}.
+ * </p>
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public final class SyntheticModel
+{
+	/*
+	 * Annotation, type and valid value for each kind of field, most common
+	 * annotation first.
+	 */
+	private static final String[][] KINDS =
+	{
+	{ "String", "\"valid\"", "@com.pureperfect.purview.validators.NotNull",
+			"@com.pureperfect.purview.validators.text.Range(min = 1, max = 32)",
+			"@com.pureperfect.purview.validators.text.Regex(\"[a-z]+\")",
+			"@com.pureperfect.purview.validators.text.LowerCase" },
+	{ "String", "\"rescue@pureperfect.com\"",
+			"@com.pureperfect.purview.validators.NotNull",
+			"@com.pureperfect.purview.validators.net.Email",
+			"@com.pureperfect.purview.validators.text.MaxLength(64)",
+			"@com.pureperfect.purview.validators.text.Contains(\"@\")" },
+	{ "String", "\"555-555-5555\"",
+			"@com.pureperfect.purview.validators.NotNull",
+			"@com.pureperfect.purview.validators.biz.Phone",
+			"@com.pureperfect.purview.validators.text.Mask(\"###-###-####\")",
+			"@com.pureperfect.purview.validators.text.MinLength(12)" },
+	{ "Integer", "Integer.valueOf(42)",
+			"@com.pureperfect.purview.validators.NotNull",
+			"@com.pureperfect.purview.validators.numeric.GreaterThan(0)",
+			"@com.pureperfect.purview.validators.numeric.LessThan(1000)",
+			"@com.pureperfect.purview.validators.numeric.GreaterThanOrEqualTo(0)" } };
+
+	/**
+	 * The largest number of annotations on a field.
+	 */
+	public static final int MAX_DENSITY = 4;
+
+	/**
+	 * The number of different kinds of fields.
+	 */
+	public static final int MAX_KINDS = KINDS.length;
+
+	private final Class<?>[] levels;
+
+	/**
+	 * Generate and compile a model.
+	 *
+	 * @param fields
+	 *            the number of fields in each class
+	 * @param density
+	 *            the number of annotations on each field, from 1 to
+	 *            {@link #MAX_DENSITY}
+	 * @param kinds
+	 *            the number of different kinds of fields, from 1 to
+	 *            {@link #MAX_KINDS}
+	 * @param depth
+	 *            the number of classes in the chain
+	 * @throws IOException
+	 *             if the classes cannot be compiled
+	 * @throws ClassNotFoundException
+	 *             if a compiled class cannot be loaded
+	 */
+	public SyntheticModel(final int fields, final int density,
+			final int kinds, final int depth) throws IOException,
+			ClassNotFoundException
+	{
+		if (density < 1 || density > MAX_DENSITY)
+		{
+			throw new IllegalArgumentException("Density must be between 1 and "
+					+ MAX_DENSITY);
+		}
+
+		if (kinds < 1 || kinds > MAX_KINDS)
+		{
+			throw new IllegalArgumentException("Kinds must be between 1 and "
+					+ MAX_KINDS);
+		}
+
+		if (depth < 1)
+		{
+			throw new IllegalArgumentException("Depth must be at least 1");
+		}
+
+		final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+		if (compiler == null)
+		{
+			throw new IllegalStateException(
+					"Generating models needs a JDK, not a JRE.");
+		}
+
+		final File dir = createTempDir();
+
+		final String prefix = "Synthetic_" + fields + "_" + density + "_"
+				+ kinds + "_" + depth + "_";
+
+		final String[] sources = new String[depth + 4];
+
+		sources[0] = "-d";
+		sources[1] = dir.getPath();
+		sources[2] = "-cp";
+		sources[3] = System.getProperty("java.class.path");
+
+		for (int level = 0; level < depth; ++level)
+		{
+			final String next = level + 1 < depth ? prefix + (level + 1)
+					: null;
+
+			final File source = new File(dir, prefix + level + ".java");
+
+			write(source, generate(prefix + level, next, fields, density,
+					kinds));
+
+			sources[level + 4] = source.getPath();
+		}
+
+		if (compiler.run(null, null, null, sources) != 0)
+		{
+			throw new IOException("Could not compile "
+					+ Arrays.asList(sources).subList(4, sources.length));
+		}
+
+		final ClassLoader loader = new URLClassLoader(new URL[]
+		{ dir.toURI().toURL() }, SyntheticModel.class.getClassLoader());
+
+		this.levels = new Class<?>[depth];
+
+		for (int level = 0; level < depth; ++level)
+		{
+			this.levels[level] = loader.loadClass(prefix + level);
+		}
+	}
+
+	/**
+	 * Create a valid object graph.
+	 *
+	 * @return the root of the graph
+	 */
+	public SyntheticNode create()
+	{
+		try
+		{
+			return (SyntheticNode) this.levels[0].newInstance();
+		}
+		catch (final Exception e)
+		{
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * The generated class for a level of the chain.
+	 *
+	 * @param level
+	 *            the level, starting with 0
+	 * @return the class
+	 */
+	public Class<?> getLevel(final int level)
+	{
+		return this.levels[level];
+	}
+
+	private static File createTempDir() throws IOException
+	{
+		final File dir = File.createTempFile("purview-model", "");
+
+		if (!dir.delete() || !dir.mkdir())
+		{
+			throw new IOException("Could not create " + dir);
+		}
+
+		dir.deleteOnExit();
+
+		return dir;
+	}
+
+	/*
+	 * A public class with public fields, each initialized to a valid value,
+	 * and a child created in the constructor.
+	 */
+	private static String generate(final String name, final String next,
+			final int fields, final int density, final int kinds)
+	{
+		final StringBuilder source = new StringBuilder(fields * 160);
+
+		source.append("public class ").append(name).append(
+				" implements com.pureperfect.purview.benchmarks.SyntheticNode\n{\n");
+
+		for (int i = 0; i < fields; ++i)
+		{
+			final String[] kind = KINDS[i % kinds];
+
+			for (int a = 0; a < density; ++a)
+			{
+				source.append('\t').append(kind[a + 2]).append('\n');
+			}
+
+			source.append("\tpublic ").append(kind[0]).append(" f").append(i)
+					.append(" = ").append(kind[1]).append(";\n\n");
+		}
+
+		if (next == null)
+		{
+			source.append("\tpublic com.pureperfect.purview.benchmarks.SyntheticNode next()\n\t{\n\t\treturn null;\n\t}\n");
+		}
+		else
+		{
+			source.append("\tpublic final ").append(next).append(
+					" child = new ").append(next).append("();\n\n");
+			source.append("\tpublic com.pureperfect.purview.benchmarks.SyntheticNode next()\n\t{\n\t\treturn this.child;\n\t}\n");
+		}
+
+		return source.append("}\n").toString();
+	}
+
+	private static void write(final File file, final String source)
+			throws IOException
+	{
+		file.deleteOnExit();
+
+		final Writer out = new OutputStreamWriter(new FileOutputStream(file),
+				"UTF-8");
+
+		try
+		{
+			out.write(source);
+		}
+		finally
+		{
+			out.close();
+		}
+	}
+}
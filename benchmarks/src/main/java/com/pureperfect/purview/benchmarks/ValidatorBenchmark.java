@@ -0,0 +1,135 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.benchmarks;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.pureperfect.purview.BindableValidator;
+import com.pureperfect.purview.ValidationProblem;
+import com.pureperfect.purview.Validator;
+import com.pureperfect.purview.ValidatorFactoryImpl;
+
+/**
+ * Every built in validator called directly on a valid and on an invalid
+ * value, without the engine around it.
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(
+{ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidatorBenchmark
+{
+	private Annotation annotation;
+
+	/**
+	 * Whether the value is valid or not.
+	 */
+	@Param(
+	{ "valid", "invalid" })
+	public String input;
+
+	private final Samples instance = new Samples();
+
+	private Field target;
+
+	@SuppressWarnings("rawtypes")
+	private Validator validator;
+
+	/**
+	 * The name of the validator, which is also the name of its field in
+	 * {@link Samples}.
+	 */
+	@Param(
+	{ "NotNull", "True", "False", "MatchField", "MatchMethod", "Phone",
+			"SSN", "ZipCode", "Domain", "Email", "Host", "IPAddress", "URL",
+			"NumericAllowOnly", "GreaterThan", "GreaterThanOrEqualTo", "Id",
+			"LessThan", "LessThanOrEqualTo", "TextAllowOnly", "Contains",
+			"InSet", "LowerCase", "Mask", "MaxLength", "MinLength",
+			"NotEmpty", "Range", "Regex", "UpperCase", "Hours", "Minutes",
+			"Seconds" })
+	public String type;
+
+	private Object value;
+
+	/**
+	 * Look up the annotation and create its validator.
+	 *
+	 * @throws NoSuchFieldException
+	 *             if there is no sample for the validator
+	 * @throws IOException
+	 *             if the set for InSet cannot be written
+	 */
+	@Setup
+	@SuppressWarnings(
+	{ "unchecked", "rawtypes" })
+	public void setUp() throws NoSuchFieldException, IOException
+	{
+		Samples.installSet();
+
+		this.target = Samples.class.getDeclaredField(this.type);
+		this.annotation = this.target.getDeclaredAnnotations()[0];
+		this.validator = new ValidatorFactoryImpl()
+				.createValidator(this.annotation);
+
+		if (this.validator instanceof BindableValidator)
+		{
+			((BindableValidator) this.validator).bind(Samples.class,
+					this.annotation, this.target);
+		}
+
+		final boolean valid = "valid".equals(this.input);
+
+		this.value = Samples.value(this.type, valid);
+
+		Checks.problem(!valid, this.validate(), this.type + " " + this.value);
+	}
+
+	/**
+	 * Validate the value.
+	 *
+	 * @return the problem or null
+	 */
+	@Benchmark
+	@SuppressWarnings("unchecked")
+	public ValidationProblem<?, ?, ?, ?> validate()
+	{
+		return this.validator.validate(this.instance, this.annotation,
+				this.target, this.value);
+	}
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.benchmarks;
+
+import java.lang.annotation.Annotation;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.pureperfect.purview.CachingValidatorFactory;
+import com.pureperfect.purview.Validator;
+import com.pureperfect.purview.ValidatorFactory;
+import com.pureperfect.purview.ValidatorFactoryImpl;
+import com.pureperfect.purview.validators.NotNull;
+import com.pureperfect.purview.validators.net.Email;
+
+/**
+ * Looking up the validator for an annotation with and without caching.
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(
+{ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ValidatorFactoryBenchmark
+{
+	/*
+	 * Stub class for the annotations.
+	 */
+	static class Stub
+	{
+		@NotNull
+		String notNull;
+
+		@Email
+		String email;
+	}
+
+	private final ValidatorFactory caching = new CachingValidatorFactory();
+
+	private Annotation email;
+
+	private Annotation notNull;
+
+	private final ValidatorFactory plain = new ValidatorFactoryImpl();
+
+	/**
+	 * Look up the annotations.
+	 *
+	 * @throws NoSuchFieldException
+	 *             if the stub changed
+	 */
+	@Setup
+	public void setUp() throws NoSuchFieldException
+	{
+		this.notNull = Stub.class.getDeclaredField("notNull")
+				.getDeclaredAnnotations()[0];
+		this.email = Stub.class.getDeclaredField("email")
+				.getDeclaredAnnotations()[0];
+	}
+
+	/**
+	 * Create a validator for an annotation with a nested validator class.
+	 *
+	 * @return the validator
+	 */
+	@Benchmark
+	public Validator<?, ?, ?, ?, ?> createValidator()
+	{
+		return this.plain.createValidator(this.notNull);
+	}
+
+	/**
+	 * Create a validator through the cache.
+	 *
+	 * @return the validator
+	 */
+	@Benchmark
+	public Validator<?, ?, ?, ?, ?> createValidatorCached()
+	{
+		return this.caching.createValidator(this.notNull);
+	}
+
+	/**
+	 * Alternate between two annotation types through the cache.
+	 *
+	 * @return the validator
+	 */
+	@Benchmark
+	public Validator<?, ?, ?, ?, ?> createValidatorCachedMixed()
+	{
+		this.caching.createValidator(this.email);
+
+		return this.caching.createValidator(this.notNull);
+	}
+}
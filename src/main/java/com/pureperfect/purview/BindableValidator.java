@@ -0,0 +1,51 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * A {@link Validator} that has to look things up in the class it validates,
+ * such as another field to compare against. The engine calls
+ * {@link #bind(Class, Annotation, Object)} once for each validation annotation on
+ * the declared fields and methods of a class before it validates the first
+ * instance of that class, so that lookups are done and cached once and a
+ * mistake such as a misspelled member name fails right away instead of on
+ * every validation.
+ * 
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+@SuppressWarnings("rawtypes")
+public interface BindableValidator<P extends ValidationProblem, I extends Object, A extends Annotation, T extends Object, V extends Object>
+		extends Validator<P, I, A, T, V>
+{
+	/**
+	 * Prepare to validate the annotation on a member of the class.
+	 * 
+	 * @param type
+	 *            the class that declares the annotated member
+	 * @param annotation
+	 *            the validation annotation
+	 * @param target
+	 *            the field or method that the annotation is attached to
+	 * @throws ValidationException
+	 *             if the annotation cannot be used in the class.
+	 */
+	public void bind(Class<?> type, A annotation, T target);
+}
@@ -17,20 +17,53 @@
 package com.pureperfect.purview;
 
 import java.lang.annotation.Annotation;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.pureperfect.purview.util.ReflectionUtils;
 
 /**
- * A validator factory that caches validators.
+ * A validator factory that caches validators. Safe to share between threads.
+ * 
+ * <p>
+ * Validators are cached per annotation type in a {@link ClassValue}, so the
+ * cache does not keep the class loaders of annotations alive. A validator
+ * from a class loader that is a descendant of its annotation's, such as a web
+ * application validator for a shared annotation, is kept until the factory
+ * is collected or {@link #evict(ClassLoader)} is called.
+ * </p>
  * 
  * @author J. Chris Folsom
- * @version 1.1
+ * @version 1.4
  * @since 1.0
  */
 public class CachingValidatorFactory extends ValidatorFactoryImpl
 {
-	@SuppressWarnings("rawtypes")
-	private final Map<String, Validator> validatorCache = new HashMap<String, Validator>();
+	/*
+	 * Cached for annotations that have no validator.
+	 */
+	private static final Object NONE = new Object();
+
+	/*
+	 * The annotation types with cached validators, for evict.
+	 */
+	private final Map<Class<?>, Boolean> cached = Collections
+			.synchronizedMap(new WeakHashMap<Class<?>, Boolean>());
+
+	/*
+	 * By annotation type, the validator or NONE.
+	 */
+	private final ClassValue<AtomicReference<Object>> validators = new ClassValue<AtomicReference<Object>>()
+	{
+		@Override
+		protected AtomicReference<Object> computeValue(final Class<?> type)
+		{
+			return new AtomicReference<Object>();
+		}
+	};
 
     /**
      * {@inheritDoc}
@@ -39,9 +72,11 @@ public class CachingValidatorFactory extends ValidatorFactoryImpl
 	@SuppressWarnings("rawtypes")
 	public Validator createValidator(final Annotation annotation)
 	{
-		final String key = annotation.getClass().getName();
+		final Class<? extends Annotation> type = annotation.annotationType();
+
+		final AtomicReference<Object> cache = this.validators.get(type);
 
-		Validator v = this.validatorCache.get(key);
+		Object v = cache.get();
 
 		if (v == null)
 		{
@@ -49,17 +84,46 @@ public class CachingValidatorFactory extends ValidatorFactoryImpl
 			 * No previously cached version so delegate to the default factory
 			 * to create the validator.
 			 */
-			v = super.createValidator(annotation);
+			final Validator created = super.createValidator(annotation);
 
-			/*
-			 * Cache the validator if a validator was created.
-			 */
-			if (v != null)
+			if (cache.compareAndSet(null, created == null ? NONE : created))
 			{
-				this.validatorCache.put(key, v);
+				this.cached.put(type, Boolean.TRUE);
 			}
+
+			v = cache.get();
 		}
 
-		return v;
+		return v == NONE ? null : (Validator) v;
+	}
+
+	/**
+	 * Forget the validators of annotations or validators loaded by the class
+	 * loader or its descendants.
+	 * 
+	 * @param loader
+	 *            the class loader
+	 * @since 1.4
+	 */
+	public void evict(final ClassLoader loader)
+	{
+		synchronized (this.cached)
+		{
+			for (final Iterator<Class<?>> i = this.cached.keySet().iterator(); i
+					.hasNext();)
+			{
+				final Class<?> type = i.next();
+
+				final Object v = this.validators.get(type).get();
+
+				if (ReflectionUtils.isLoadedBy(type, loader)
+						|| (v != null && v != NONE && ReflectionUtils
+								.isLoadedBy(v.getClass(), loader)))
+				{
+					this.validators.remove(type);
+					i.remove();
+				}
+			}
+		}
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,648 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview;
+
+import java.lang.annotation.Annotation;
+import java.util.BitSet;
+
+import com.pureperfect.purview.util.CharClasses;
+import com.pureperfect.purview.util.FormatMask;
+import com.pureperfect.purview.validators.biz.Phone;
+import com.pureperfect.purview.validators.biz.SSN;
+import com.pureperfect.purview.validators.biz.ZipCode;
+import com.pureperfect.purview.validators.net.HostResolvers;
+import com.pureperfect.purview.validators.numeric.GreaterThan;
+import com.pureperfect.purview.validators.numeric.GreaterThanOrEqualTo;
+import com.pureperfect.purview.validators.numeric.Id;
+import com.pureperfect.purview.validators.numeric.LessThan;
+import com.pureperfect.purview.validators.numeric.LessThanOrEqualTo;
+import com.pureperfect.purview.validators.text.LowerCase;
+import com.pureperfect.purview.validators.text.Mask;
+import com.pureperfect.purview.validators.text.MaxLength;
+import com.pureperfect.purview.validators.text.MinLength;
+import com.pureperfect.purview.validators.text.Range;
+import com.pureperfect.purview.validators.text.UpperCase;
+import com.pureperfect.purview.validators.time.Hours;
+import com.pureperfect.purview.validators.time.Minutes;
+import com.pureperfect.purview.validators.time.Seconds;
+
+/**
+ * Validate whole columns of values, such as every zip code or amount in a
+ * file import, against a single validation annotation. The result is a
+ * {@link BitSet} with a bit set for the index of every invalid value, so
+ * <code>result.isEmpty()</code> means the whole column is valid and
+ * <code>result.stream()</code> lists the failures.
+ *
+ * <p>
+ * The numeric range annotations ({@link GreaterThan},
+ * {@link GreaterThanOrEqualTo}, {@link LessThan}, {@link LessThanOrEqualTo},
+ * {@link Id}, {@link Hours}, {@link Minutes} and {@link Seconds}) and the
+ * length and case annotations ({@link MinLength}, {@link MaxLength},
+ * {@link Range}, {@link LowerCase} and {@link UpperCase}) are checked by tight
+ * loops over the array. Numeric columns are copied into a double[] 64 values
+ * at a time and each chunk is turned into one word of the result without
+ * branching on each value, which the JIT can unroll and vectorize. The
+ * incubating Vector API is not used, since it has to be enabled with
+ * <code>--add-modules</code> at run time and changes between releases.
+ * </p>
+ *
+ * <p>
+ * The digit annotations ({@link ZipCode}, {@link Phone} and {@link SSN}) and
+ * {@link Mask} are checked against their compiled {@link FormatMask}s
+ * directly, which for masks of digits and literals compares each character
+ * with a range without branching.
+ * </p>
+ *
+ * <p>
+ * Any other annotation, or one of these with a custom validator, is checked
+ * by calling its validator for each value, boxing primitives as needed.
+ * Validators are called without an instance or target, so annotations that
+ * look at other fields of the instance cannot be used here.
+ * </p>
+ *
+ * <p>
+ * For host, domain and email columns with <code>reverseLookup</code> set, the
+ * distinct host names are looked up at the same time before the values are
+ * validated, see
+ * {@link HostResolvers#prefetch(CharSequence[], Annotation)}.
+ * </p>
+ *
+ * <p>
+ * E.G:
+ * </p>
+ *
+ * <pre>
+ * &#064;ZipCode
+ * private static String zip;
+ *
+ * ...
+ *
+ * final ZipCode annotation = MyClass.class.getDeclaredField(&quot;zip&quot;)
+ * 		.getAnnotation(ZipCode.class);
+ *
+ * final BitSet invalid = Columns.validate(zipCodes, annotation);
+ * </pre>
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public final class Columns
+{
+	/*
+	 * Copies values of a primitive column into a double[], 64 at a time, so
+	 * that one loop checks the numeric intervals for every column type.
+	 */
+	private interface Chunks
+	{
+		void copy(int from, int count, double[] chunk);
+	}
+
+	private static final ValidatorFactory validatorFactory = new ValidatorFactoryImpl();
+
+	/**
+	 * Validate a column of text values. Also accepts a <code>String[]</code>.
+	 *
+	 * @param values
+	 *            the values
+	 * @param annotation
+	 *            the validation annotation
+	 * @return the indexes of the invalid values.
+	 * @throws ValidationException
+	 *             if the annotation is not a validation annotation or
+	 *             validation fails.
+	 */
+	public static BitSet validate(final CharSequence[] values,
+			final Annotation annotation)
+	{
+		if (annotation instanceof MinLength
+				&& ((MinLength) annotation).validator() == MinLength.Validator.class)
+		{
+			final MinLength minLength = (MinLength) annotation;
+
+			return lengths(values, minLength.value(), Integer.MAX_VALUE,
+					false, minLength.required());
+		}
+
+		if (annotation instanceof MaxLength
+				&& ((MaxLength) annotation).validator() == MaxLength.Validator.class)
+		{
+			final MaxLength maxLength = (MaxLength) annotation;
+
+			return lengths(values, 0, maxLength.value(), true,
+					maxLength.required());
+		}
+
+		if (annotation instanceof Range
+				&& ((Range) annotation).validator() == Range.Validator.class)
+		{
+			final Range range = (Range) annotation;
+
+			return lengths(values, range.min(), range.max(), false,
+					range.required());
+		}
+
+		if (annotation instanceof LowerCase
+				&& ((LowerCase) annotation).validator() == LowerCase.Validator.class)
+		{
+			return classes(values, CharClasses.LOWER,
+					((LowerCase) annotation).required());
+		}
+
+		if (annotation instanceof UpperCase
+				&& ((UpperCase) annotation).validator() == UpperCase.Validator.class)
+		{
+			return classes(values, CharClasses.UPPER,
+					((UpperCase) annotation).required());
+		}
+
+		final FormatMask[] masks = masks(annotation);
+
+		if (masks != null)
+		{
+			return masks(values, masks, required(annotation));
+		}
+
+		/*
+		 * Resolve the host names of the column at the same time, rather than
+		 * one at a time as each value is validated.
+		 */
+		HostResolvers.prefetch(values, annotation);
+
+		return each(values, annotation);
+	}
+
+	/**
+	 * Validate a column of doubles.
+	 *
+	 * @param values
+	 *            the values
+	 * @param annotation
+	 *            the validation annotation
+	 * @return the indexes of the invalid values.
+	 * @throws ValidationException
+	 *             if the annotation is not a validation annotation or
+	 *             validation fails.
+	 */
+	public static BitSet validate(final double[] values,
+			final Annotation annotation)
+	{
+		final double[] interval = interval(annotation, true);
+
+		if (interval == null)
+		{
+			final Object[] boxed = new Object[values.length];
+
+			for (int i = 0; i < values.length; ++i)
+			{
+				boxed[i] = Double.valueOf(values[i]);
+			}
+
+			return each(boxed, annotation);
+		}
+
+		return outside(values.length, interval, new Chunks()
+		{
+			public void copy(final int from, final int count,
+					final double[] chunk)
+			{
+				System.arraycopy(values, from, chunk, 0, count);
+			}
+		});
+	}
+
+	/**
+	 * Validate a column of ints.
+	 *
+	 * @param values
+	 *            the values
+	 * @param annotation
+	 *            the validation annotation
+	 * @return the indexes of the invalid values.
+	 * @throws ValidationException
+	 *             if the annotation is not a validation annotation or
+	 *             validation fails.
+	 */
+	public static BitSet validate(final int[] values,
+			final Annotation annotation)
+	{
+		final double[] interval = interval(annotation, true);
+
+		if (interval == null)
+		{
+			final Object[] boxed = new Object[values.length];
+
+			for (int i = 0; i < values.length; ++i)
+			{
+				boxed[i] = Integer.valueOf(values[i]);
+			}
+
+			return each(boxed, annotation);
+		}
+
+		return outside(values.length, interval, new Chunks()
+		{
+			public void copy(final int from, final int count,
+					final double[] chunk)
+			{
+				for (int i = 0; i < count; ++i)
+				{
+					chunk[i] = values[from + i];
+				}
+			}
+		});
+	}
+
+	/**
+	 * Validate a column of longs.
+	 *
+	 * @param values
+	 *            the values
+	 * @param annotation
+	 *            the validation annotation
+	 * @return the indexes of the invalid values.
+	 * @throws ValidationException
+	 *             if the annotation is not a validation annotation or
+	 *             validation fails.
+	 */
+	public static BitSet validate(final long[] values,
+			final Annotation annotation)
+	{
+		/*
+		 * The time validators truncate to int, which is only the same as a
+		 * range check for values that fit in an int.
+		 */
+		final double[] interval = interval(annotation, false);
+
+		if (interval == null)
+		{
+			final Object[] boxed = new Object[values.length];
+
+			for (int i = 0; i < values.length; ++i)
+			{
+				boxed[i] = Long.valueOf(values[i]);
+			}
+
+			return each(boxed, annotation);
+		}
+
+		return outside(values.length, interval, new Chunks()
+		{
+			public void copy(final int from, final int count,
+					final double[] chunk)
+			{
+				for (int i = 0; i < count; ++i)
+				{
+					chunk[i] = values[from + i];
+				}
+			}
+		});
+	}
+
+	private static BitSet classes(final CharSequence[] values,
+			final int classes, final boolean required)
+	{
+		final BitSet invalid = new BitSet(values.length);
+
+		for (int i = 0; i < values.length; ++i)
+		{
+			final CharSequence value = values[i];
+
+			if (value == null || value.length() < 1)
+			{
+				if (required)
+				{
+					invalid.set(i);
+				}
+			}
+			else if (!CharClasses.isAll(value, classes))
+			{
+				invalid.set(i);
+			}
+		}
+
+		return invalid;
+	}
+
+	/*
+	 * Call the validator for every value.
+	 */
+	@SuppressWarnings(
+	{ "unchecked", "rawtypes" })
+	private static BitSet each(final Object[] values,
+			final Annotation annotation)
+	{
+		final Validator validator = validatorFactory
+				.createValidator(annotation);
+
+		if (validator == null)
+		{
+			throw new ValidationException(annotation
+					+ " is not a validation annotation.");
+		}
+
+		final BitSet invalid = new BitSet(values.length);
+
+		try
+		{
+			for (int i = 0; i < values.length; ++i)
+			{
+				if (validator.validate(null, annotation, null, values[i]) != null)
+				{
+					invalid.set(i);
+				}
+			}
+		}
+		catch (final ValidationException e)
+		{
+			throw e;
+		}
+		catch (final Throwable t)
+		{
+			throw new ValidationException(t);
+		}
+
+		return invalid;
+	}
+
+	/*
+	 * The closed interval of valid values for the numeric annotations that
+	 * compare against a bound, or null if the annotation has to be checked
+	 * by its validator. The validators compare doubleValue() against the
+	 * bound, so strict bounds become the next double over and NaN stays
+	 * valid because every comparison with it is false.
+	 */
+	private static double[] interval(final Annotation annotation,
+			final boolean includeTime)
+	{
+		if (annotation instanceof GreaterThan
+				&& ((GreaterThan) annotation).validator() == GreaterThan.Validator.class)
+		{
+			final double bound = ((GreaterThan) annotation).value();
+
+			/*
+			 * Nothing is greater than infinity, but nextUp does not say so.
+			 */
+			if (bound == Double.POSITIVE_INFINITY)
+			{
+				return null;
+			}
+
+			return new double[]
+			{ Math.nextUp(bound), Double.POSITIVE_INFINITY };
+		}
+
+		if (annotation instanceof GreaterThanOrEqualTo
+				&& ((GreaterThanOrEqualTo) annotation).validator() == GreaterThanOrEqualTo.Validator.class)
+		{
+			return new double[]
+			{ ((GreaterThanOrEqualTo) annotation).value(),
+					Double.POSITIVE_INFINITY };
+		}
+
+		if (annotation instanceof LessThan
+				&& ((LessThan) annotation).validator() == LessThan.Validator.class)
+		{
+			final double bound = ((LessThan) annotation).value();
+
+			if (bound == Double.NEGATIVE_INFINITY)
+			{
+				return null;
+			}
+
+			return new double[]
+			{ Double.NEGATIVE_INFINITY, Math.nextDown(bound) };
+		}
+
+		if (annotation instanceof LessThanOrEqualTo
+				&& ((LessThanOrEqualTo) annotation).validator() == LessThanOrEqualTo.Validator.class)
+		{
+			return new double[]
+			{ Double.NEGATIVE_INFINITY,
+					((LessThanOrEqualTo) annotation).value() };
+		}
+
+		/*
+		 * Id checks longValue() < 0, which for doubles truncates toward zero.
+		 */
+		if (annotation instanceof Id
+				&& ((Id) annotation).validator() == Id.Validator.class)
+		{
+			return new double[]
+			{ Math.nextUp(-1.0d), Double.POSITIVE_INFINITY };
+		}
+
+		if (!includeTime)
+		{
+			return null;
+		}
+
+		/*
+		 * The time validators check intValue() against [0, max).
+		 */
+		if (annotation instanceof Hours
+				&& ((Hours) annotation).validator() == Hours.Validator.class)
+		{
+			return new double[]
+			{ Math.nextUp(-1.0d), Math.nextDown(24.0d) };
+		}
+
+		if (annotation instanceof Minutes
+				&& ((Minutes) annotation).validator() == Minutes.Validator.class)
+		{
+			return new double[]
+			{ Math.nextUp(-1.0d), Math.nextDown(60.0d) };
+		}
+
+		if (annotation instanceof Seconds
+				&& ((Seconds) annotation).validator() == Seconds.Validator.class)
+		{
+			return new double[]
+			{ Math.nextUp(-1.0d), Math.nextDown(60.0d) };
+		}
+
+		return null;
+	}
+
+	/*
+	 * Length checks. Null values and, if emptyIsMissing, empty values are
+	 * only invalid if required.
+	 */
+	private static BitSet lengths(final CharSequence[] values,
+			final int min, final int max, final boolean emptyIsMissing,
+			final boolean required)
+	{
+		final BitSet invalid = new BitSet(values.length);
+
+		for (int i = 0; i < values.length; ++i)
+		{
+			final CharSequence value = values[i];
+
+			if (value == null || (emptyIsMissing && value.length() < 1))
+			{
+				if (required)
+				{
+					invalid.set(i);
+				}
+			}
+			else
+			{
+				final int length = value.length();
+
+				if (length < min || length > max)
+				{
+					invalid.set(i);
+				}
+			}
+		}
+
+		return invalid;
+	}
+
+	/*
+	 * Mask checks. Null and empty values are only invalid if required.
+	 */
+	private static BitSet masks(final CharSequence[] values,
+			final FormatMask[] masks, final boolean required)
+	{
+		final BitSet invalid = new BitSet(values.length);
+
+		for (int i = 0; i < values.length; ++i)
+		{
+			final CharSequence value = values[i];
+
+			if (value == null || value.length() < 1)
+			{
+				if (required)
+				{
+					invalid.set(i);
+				}
+
+				continue;
+			}
+
+			boolean matched = false;
+
+			for (int m = 0; m < masks.length && !matched; ++m)
+			{
+				matched = masks[m].matches(value);
+			}
+
+			if (!matched)
+			{
+				invalid.set(i);
+			}
+		}
+
+		return invalid;
+	}
+
+	/*
+	 * The masks of the digit and mask annotations, or null if the annotation
+	 * has to be checked by its validator.
+	 */
+	private static FormatMask[] masks(final Annotation annotation)
+	{
+		if (annotation instanceof ZipCode
+				&& ((ZipCode) annotation).validator() == ZipCode.Validator.class)
+		{
+			return ZipCode.Validator.masks((ZipCode) annotation);
+		}
+
+		if (annotation instanceof Phone
+				&& ((Phone) annotation).validator() == Phone.Validator.class)
+		{
+			return Phone.Validator.masks((Phone) annotation);
+		}
+
+		if (annotation instanceof SSN
+				&& ((SSN) annotation).validator() == SSN.Validator.class)
+		{
+			return SSN.Validator.masks((SSN) annotation);
+		}
+
+		if (annotation instanceof Mask
+				&& ((Mask) annotation).validator() == Mask.Validator.class)
+		{
+			return Mask.Validator.masks((Mask) annotation);
+		}
+
+		return null;
+	}
+
+	/*
+	 * Interval checks, building the result 64 values per word without
+	 * branching on each value.
+	 */
+	private static BitSet outside(final int length, final double[] interval,
+			final Chunks chunks)
+	{
+		final double low = interval[0];
+		final double high = interval[1];
+
+		final long[] words = new long[(length + 63) >>> 6];
+		final double[] chunk = new double[64];
+
+		for (int w = 0, from = 0; from < length; ++w, from += 64)
+		{
+			final int count = Math.min(64, length - from);
+
+			chunks.copy(from, count, chunk);
+
+			long word = 0;
+
+			for (int bit = 0; bit < count; ++bit)
+			{
+				final double d = chunk[bit];
+
+				word |= (d < low | d > high ? 1L : 0L) << bit;
+			}
+
+			words[w] = word;
+		}
+
+		return BitSet.valueOf(words);
+	}
+
+	/*
+	 * Whether null and empty values are invalid for the mask annotations.
+	 */
+	private static boolean required(final Annotation annotation)
+	{
+		if (annotation instanceof ZipCode)
+		{
+			return ((ZipCode) annotation).required();
+		}
+
+		if (annotation instanceof Phone)
+		{
+			return ((Phone) annotation).required();
+		}
+
+		if (annotation instanceof SSN)
+		{
+			return ((SSN) annotation).required();
+		}
+
+		return ((Mask) annotation).required();
+	}
+
+	private Columns()
+	{
+		// hide constructor
+	}
+}
@@ -18,7 +18,9 @@ package com.pureperfect.purview;
 
 import java.lang.reflect.Method;
 
+import com.pureperfect.purview.index.AnnotationIndex;
 import com.pureperfect.purview.util.FieldFilter;
+import com.pureperfect.purview.util.MappedStringSets;
 import com.pureperfect.purview.util.MethodFilter;
 
 /**
@@ -26,12 +28,12 @@ import com.pureperfect.purview.util.MethodFilter;
  * href="../../../../index.html">user guide</a>.
  * 
  * @author J. Chris Folsom
- * @version 1.3
+ * @version 1.4
  * @since 1.0
  */
 public final class Purview
 {
-	private static final ValidationEngine validationEngine = new ValidationEngineImpl(
+	private static final ValidationEngineImpl validationEngine = new ValidationEngineImpl(
 			new CachingValidatorFactory());
 
 	/**
@@ -233,6 +235,68 @@ public final class Purview
 		return validationEngine.validateType(instance, useStrictMode);
 	}
 
+	/**
+	 * Forget everything cached for classes loaded by the class loader or its
+	 * descendants, for example when a web application is undeployed. Caches
+	 * hold classes in {@link ClassValue}s or weakly, so class loaders can be
+	 * collected without this, except for validators from a class loader below
+	 * the one of their annotation.
+	 * 
+	 * @param loader
+	 *            the class loader
+	 * @since 1.4
+	 */
+	public static void evict(final ClassLoader loader)
+	{
+		validationEngine.evict(loader);
+
+		AnnotationIndex.evict(loader);
+
+		MappedStringSets.evict(loader);
+	}
+
+	/**
+	 * Prepare the classes with validation annotations in the packages, using
+	 * the context class loader and a thread per processor. See
+	 * {@link WarmUp}.
+	 * 
+	 * @param packages
+	 *            the packages to search, including their sub packages
+	 * @return what was done
+	 * @since 1.4
+	 */
+	public static WarmUpReport warmUp(final String... packages)
+	{
+		ClassLoader loader = Thread.currentThread().getContextClassLoader();
+
+		if (loader == null)
+		{
+			loader = Purview.class.getClassLoader();
+		}
+
+		return warmUp(loader, Runtime.getRuntime().availableProcessors(),
+				packages);
+	}
+
+	/**
+	 * Prepare the classes with validation annotations in the packages. See
+	 * {@link WarmUp}.
+	 * 
+	 * @param loader
+	 *            the class loader to find and load the classes with
+	 * @param threads
+	 *            the number of threads to prepare the classes on
+	 * @param packages
+	 *            the packages to search, including their sub packages
+	 * @return what was done
+	 * @since 1.4
+	 */
+	public static WarmUpReport warmUp(final ClassLoader loader,
+			final int threads, final String... packages)
+	{
+		return WarmUp.run(validationEngine, loader, threads, packages);
+	}
+
 	private Purview()
 	{
 		// hide constructor
@@ -1,26 +1,88 @@
 package com.pureperfect.purview;
 
+import com.pureperfect.purview.index.AnnotationIndex;
+import com.pureperfect.purview.jfr.FlightRecorderEvents;
 import com.pureperfect.purview.util.FieldFilter;
 import com.pureperfect.purview.util.MethodFilter;
 import com.pureperfect.purview.util.ReflectionUtils;
+import com.pureperfect.purview.validators.Each;
 import com.pureperfect.purview.validators.NoValidation;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
 
 /**
  * Default {@link ValidationEngine} implementation.
  *
  * @author J. Chris Folsom
- * @version 1.3
+ * @version 1.4
  * @since 1.3
  */
 public class ValidationEngineImpl implements ValidationEngine
 {
+    /*
+     * Null if there is no Flight Recorder.
+     */
+    private static final FlightRecorderEvents EVENTS = FlightRecorderEvents
+    .load();
+
+    private static final boolean INDEX = !"false".equalsIgnoreCase(System
+    .getProperty("com.pureperfect.purview.index"));
+
     private ValidatorFactory validatorFactory;
 
+    /*
+     * Final and usually null, so that checking it is the only cost when
+     * nobody listens.
+     */
+    private final ValidationListener listener;
+
+    /*
+     * Whether classes that the annotation index lists without validation
+     * annotations can be skipped. Only if the factory finds validators the
+     * same way as the index.
+     */
+    private final boolean indexed;
+
+    /*
+     * Classes whose declared fields and methods have been bound, see
+     * BindableValidator.
+     */
+    private final ClassValue<Boolean> bound = new ClassValue<Boolean>()
+    {
+        @Override
+        protected Boolean computeValue(final Class<?> type)
+        {
+            final Object event = EVENTS == null ? null : EVENTS.beginPlan();
+
+            bind(type);
+
+            if(event != null)
+            {
+                EVENTS.endPlan(event, type);
+            }
+
+            return Boolean.TRUE;
+        }
+    };
+
+    /*
+     * Classes without validation annotations, see prepare(Class).
+     */
+    private final ClassValue<Boolean> unconstrained = new ClassValue<Boolean>()
+    {
+        @Override
+        protected Boolean computeValue(final Class<?> type)
+        {
+            return Boolean.valueOf(!constrained(type));
+        }
+    };
+
     /*
      * TESTME also
      */
@@ -29,8 +91,77 @@ public class ValidationEngineImpl implements ValidationEngine
      * Create a new validation engine using the specified factory.
      */
     public ValidationEngineImpl(ValidatorFactory validatorFactory)
+    {
+        this(validatorFactory, null);
+    }
+
+    /**
+     * Create a new validation engine using the specified factory that tells
+     * the listener about every validator it runs.
+     *
+     * @param validatorFactory
+     * the factory
+     * @param listener
+     * the listener or null for none
+     */
+    public ValidationEngineImpl(final ValidatorFactory validatorFactory,
+                                final ValidationListener listener)
     {
         this.validatorFactory = validatorFactory;
+        this.listener = listener;
+        this.indexed = INDEX
+        && (validatorFactory.getClass() == ValidatorFactoryImpl.class || validatorFactory
+        .getClass() == CachingValidatorFactory.class);
+    }
+
+    /**
+     * Forget what was cached for classes loaded by the class loader or its
+     * descendants, so that nothing the engine holds keeps the class loader
+     * alive. Per class state is kept in {@link ClassValue}s, which do not
+     * keep class loaders alive, so this only affects the validator factory.
+     *
+     * @param loader
+     * the class loader
+     * @see CachingValidatorFactory#evict(ClassLoader)
+     * @since 1.4
+     */
+    public void evict(final ClassLoader loader)
+    {
+        if(this.validatorFactory instanceof CachingValidatorFactory)
+        {
+            ((CachingValidatorFactory) this.validatorFactory).evict(loader);
+        }
+    }
+
+    /**
+     * Do the work of the first validation of a class ahead of time: create the
+     * validators for its annotations, bind them and find the fields and
+     * methods that the default filters select. Classes without validation
+     * annotations are left alone.
+     *
+     * @param type
+     * the class
+     * @return true if the class has validation annotations.
+     * @throws ValidationException
+     * if an annotation cannot be used in the class
+     * @since 1.4
+     */
+    public boolean prepare(final Class<?> type)
+    {
+        final boolean constrained = !this.unconstrained.get(type)
+        .booleanValue();
+
+        if(constrained)
+        {
+            this.bound.get(type);
+
+            ReflectionUtils.getDeclaredFieldsOf(type,
+            ValidationEngine.DEFAULT_FIELD_FILTER);
+            ReflectionUtils.getDeclaredMethodsOf(type,
+            ValidationEngine.DEFAULT_METHOD_FILTER);
+        }
+
+        return constrained;
     }
 
     /**
@@ -63,13 +194,50 @@ public class ValidationEngineImpl implements ValidationEngine
     /**
      * {@inheritDoc}
      */
-    @SuppressWarnings(
-    {"unchecked", "rawtypes"})
     public ValidationResults validateFields(final Object instance,
                                             final FieldFilter filter, final boolean strict)
     {
-        final Collection<Field> fields = ReflectionUtils.getDeclaredFields(
-        instance, filter);
+        if(this.skip(instance.getClass(), strict))
+        {
+            return new ValidationResults();
+        }
+
+        final ValidationTrace trace = ValidationTrace.current();
+
+        final Object event = EVENTS == null ? null : EVENTS.beginValidation();
+
+        if(event == null && trace == null)
+        {
+            return this.fields(instance, filter, strict, null);
+        }
+
+        final Class<?> type = instance.getClass();
+
+        begin(trace, type, FlightRecorderEvents.FIELDS);
+
+        ValidationResults results = null;
+
+        try
+        {
+            results = this.fields(instance, filter, strict, trace);
+
+            return results;
+        } finally
+        {
+            end(event, trace, type, FlightRecorderEvents.FIELDS, results);
+        }
+    }
+
+    @SuppressWarnings(
+    {"unchecked", "rawtypes"})
+    private ValidationResults fields(final Object instance,
+                                     final FieldFilter filter, final boolean strict,
+                                     final ValidationTrace trace)
+    {
+        this.bound.get(instance.getClass());
+
+        final Collection<Field> fields = ReflectionUtils.getDeclaredFieldsOf(
+        instance.getClass(), filter);
 
         final ValidationResults results = new ValidationResults();
 
@@ -87,6 +255,8 @@ public class ValidationEngineImpl implements ValidationEngine
 
             final Annotation[] annotations = field.getDeclaredAnnotations();
 
+            final Each each = field.getAnnotation(Each.class);
+
             if(annotations != null)
             {
                 for (final Annotation annotation : annotations)
@@ -98,18 +268,47 @@ public class ValidationEngineImpl implements ValidationEngine
                     {
                         try
                         {
-                            final Object value = field.get(instance);
+                            wasValidated = true;
+
+                            if(each != null)
+                            {
+                                if(this.each(instance, annotation, field,
+                                validator, read(field, instance, trace), each,
+                                results, trace))
+                                {
+                                    break;
+                                }
+
+                                continue;
+                            }
+
+                            final ValidationProblem problem;
 
-                            final ValidationProblem problem = validator
-                            .validate(instance, annotation, field,
-                            value);
+                            if(trace != null)
+                            {
+                                problem = this.validate(instance, annotation,
+                                field, validator, read(field, instance,
+                                trace), trace);
+                            } else if(this.listener == null)
+                            {
+                                problem = validateField(instance, annotation,
+                                field, validator);
+                            } else
+                            {
+                                final long start = System.nanoTime();
+
+                                problem = validateField(instance, annotation,
+                                field, validator);
+
+                                this.listener.validated(instance.getClass(),
+                                field, annotation, validator, problem != null,
+                                System.nanoTime() - start);
+                            }
 
                             if(problem != null)
                             {
                                 results.addProblem(problem);
                             }
-
-                            wasValidated = true;
                         } catch (final ValidationException e)
                         {
                             throw e;
@@ -145,6 +344,509 @@ public class ValidationEngineImpl implements ValidationEngine
         return results;
     }
 
+    /**
+     * Bind the {@link BindableValidator}s for the annotations on the declared
+     * fields and methods of the class.
+     *
+     * @param type
+     * the class
+     * @throws ValidationException
+     * if an annotation cannot be used in the class
+     */
+    @SuppressWarnings(
+    {"unchecked", "rawtypes"})
+    private void bind(final Class<?> type)
+    {
+        try
+        {
+            for (final Field field : type.getDeclaredFields())
+            {
+                for (final Annotation annotation : field
+                .getDeclaredAnnotations())
+                {
+                    final Validator validator = this.validatorFactory
+                    .createValidator(annotation);
+
+                    if(validator instanceof BindableValidator)
+                    {
+                        ((BindableValidator) validator).bind(type, annotation,
+                        field);
+                    }
+                }
+            }
+
+            for (final Method method : type.getDeclaredMethods())
+            {
+                for (final Annotation annotation : method
+                .getDeclaredAnnotations())
+                {
+                    final Validator validator = this.validatorFactory
+                    .createValidator(annotation);
+
+                    if(validator instanceof BindableValidator)
+                    {
+                        ((BindableValidator) validator).bind(type, annotation,
+                        method);
+                    }
+                }
+            }
+        } catch (final ValidationException e)
+        {
+            throw e;
+        } catch (final Throwable t)
+        {
+            throw new ValidationException(t);
+        }
+    }
+
+    /**
+     * Whether the class has validation annotations on itself, its declared
+     * fields and methods or their parameters.
+     */
+    private boolean constrained(final Class<?> type)
+    {
+        boolean constrained = this.createValidators(type
+        .getDeclaredAnnotations());
+
+        for (final Field field : type.getDeclaredFields())
+        {
+            constrained |= this.createValidators(field.getDeclaredAnnotations());
+        }
+
+        for (final Method method : type.getDeclaredMethods())
+        {
+            constrained |= this.createValidators(method
+            .getDeclaredAnnotations());
+
+            for (final Annotation[] annotations : method
+            .getParameterAnnotations())
+            {
+                constrained |= this.createValidators(annotations);
+            }
+        }
+
+        return constrained;
+    }
+
+    /**
+     * Whether there is nothing to validate, according to the annotation
+     * index or to an earlier look at the class. Strict mode still has to look
+     * at every member.
+     */
+    private boolean skip(final Class<?> type, final boolean strict)
+    {
+        if(strict)
+        {
+            return false;
+        }
+
+        if(this.indexed && AnnotationIndex.isUnconstrained(type))
+        {
+            return true;
+        }
+
+        return this.unconstrained.get(type).booleanValue();
+    }
+
+    /**
+     * Create the validators for the annotations.
+     *
+     * @return true if any of the annotations has a validator or cannot
+     * create one.
+     */
+    private boolean createValidators(final Annotation[] annotations)
+    {
+        boolean created = false;
+
+        for (final Annotation annotation : annotations)
+        {
+            try
+            {
+                created |= this.validatorFactory.createValidator(annotation) != null;
+            } catch (final ValidationException e)
+            {
+                /*
+                 * Leave it to validation to report.
+                 */
+                created = true;
+            }
+        }
+
+        return created;
+    }
+
+    /**
+     * Start a traced call.
+     */
+    private static void begin(final ValidationTrace trace,
+                              final Class<?> type, final String mode)
+    {
+        if(trace != null)
+        {
+            trace.begin(type, mode);
+        }
+    }
+
+    /**
+     * End a traced or recorded call.
+     *
+     * @param results
+     * the results or null if the call threw an exception
+     */
+    private static void end(final Object event, final ValidationTrace trace,
+                            final Class<?> type, final String mode,
+                            final ValidationResults results)
+    {
+        if(event != null && results != null)
+        {
+            EVENTS.endValidation(event, type, mode, results.getProblems()
+            .size());
+        }
+
+        if(trace != null)
+        {
+            trace.end(results);
+        }
+    }
+
+    /**
+     * Read a field, timing it if the call is traced.
+     */
+    private static Object read(final Field field, final Object instance,
+                        final ValidationTrace trace) throws IllegalAccessException
+    {
+        if(trace == null)
+        {
+            return field.get(instance);
+        }
+
+        final long start = System.nanoTime();
+
+        final Object value = field.get(instance);
+
+        trace.read(field, start);
+
+        return value;
+    }
+
+    /**
+     * Run the validator, timing it if there is a listener or a trace.
+     */
+    @SuppressWarnings(
+    {"unchecked", "rawtypes"})
+    private ValidationProblem validate(final Object instance,
+                                       final Annotation annotation, final Object target,
+                                       final Validator validator, final Object value,
+                                       final ValidationTrace trace)
+    {
+        if(this.listener == null && trace == null)
+        {
+            return validator.validate(instance, annotation, target, value);
+        }
+
+        final long start = System.nanoTime();
+
+        final ValidationProblem problem = validator.validate(instance,
+        annotation, target, value);
+
+        if(this.listener != null)
+        {
+            this.listener.validated(instance.getClass(), target, annotation,
+            validator, problem != null, System.nanoTime() - start);
+        }
+
+        if(trace != null)
+        {
+            trace.validated(target, annotation, validator, start,
+            problem != null);
+        }
+
+        return problem;
+    }
+
+    /**
+     * {@link #validateEach(Object, Annotation, Object, Validator, Object, Each, ValidationResults)}
+     * reported to the listener and the trace as one validation.
+     */
+    @SuppressWarnings("rawtypes")
+    private boolean each(final Object instance, final Annotation annotation,
+                         final Object target, final Validator validator, final Object value,
+                         final Each each, final ValidationResults results,
+                         final ValidationTrace trace)
+    {
+        if(this.listener == null && trace == null)
+        {
+            return validateEach(instance, annotation, target, validator,
+            value, each, results);
+        }
+
+        final int before = results.getProblems().size();
+
+        final long start = System.nanoTime();
+
+        final boolean stop = validateEach(instance, annotation, target,
+        validator, value, each, results);
+
+        final boolean failed = results.getProblems().size() > before;
+
+        if(this.listener != null)
+        {
+            this.listener.validated(instance.getClass(), target, annotation,
+            validator, failed, System.nanoTime() - start);
+        }
+
+        if(trace != null)
+        {
+            trace.validated(target, annotation, validator, start, failed);
+        }
+
+        return stop;
+    }
+
+    /**
+     * Validate the value of a field. Primitive <code>int</code>,
+     * <code>long</code> and <code>double</code> fields are read without
+     * boxing if the validator can take them that way.
+     *
+     * @param instance
+     * the object that owns the field
+     * @param annotation
+     * the validation annotation
+     * @param field
+     * the field
+     * @param validator
+     * the validator for the annotation
+     * @return the problem or null if the value is valid.
+     * @throws IllegalAccessException
+     * if the field is not accessible
+     */
+    @SuppressWarnings(
+    {"unchecked", "rawtypes"})
+    private static ValidationProblem validateField(final Object instance,
+                                                   final Annotation annotation, final Field field,
+                                                   final Validator validator) throws IllegalAccessException
+    {
+        final Class<?> type = field.getType();
+
+        if(type == int.class && validator instanceof IntValidator)
+        {
+            return ((IntValidator) validator).validateInt(instance,
+            annotation, field, field.getInt(instance));
+        }
+
+        if(type == long.class && validator instanceof LongValidator)
+        {
+            return ((LongValidator) validator).validateLong(instance,
+            annotation, field, field.getLong(instance));
+        }
+
+        if(type == double.class && validator instanceof DoubleValidator)
+        {
+            return ((DoubleValidator) validator).validateDouble(instance,
+            annotation, field, field.getDouble(instance));
+        }
+
+        return validator.validate(instance, annotation, field,
+        field.get(instance));
+    }
+
+    /**
+     * Validate each element of an array or {@link Iterable} value.
+     *
+     * @param instance
+     * the object that owns the value
+     * @param annotation
+     * the validation annotation
+     * @param target
+     * the thing that the annotations are attached to
+     * @param validator
+     * the validator for the annotation
+     * @param value
+     * the array or {@link Iterable}
+     * @param each
+     * the {@link Each} annotation
+     * @param results
+     * used to accumulate the problems
+     * @return true if there was a problem and validation should stop because
+     * of {@link Each#failFast()}.
+     */
+    @SuppressWarnings(
+    {"unchecked", "rawtypes"})
+    private static boolean validateEach(final Object instance,
+                                        final Annotation annotation, final Object target,
+                                        final Validator validator, final Object value, final Each each,
+                                        final ValidationResults results)
+    {
+        if(value == null)
+        {
+            return false;
+        }
+
+        final boolean failFast = each.failFast();
+
+        boolean invalid = false;
+
+        if(value instanceof int[] && validator instanceof IntValidator)
+        {
+            final int[] values = (int[]) value;
+
+            for (int i = 0; i < values.length; ++i)
+            {
+                if(addElementProblem(((IntValidator) validator).validateInt(
+                instance, annotation, target, values[ i ]), i, results))
+                {
+                    invalid = true;
+
+                    if(failFast)
+                    {
+                        break;
+                    }
+                }
+            }
+        } else if(value instanceof long[] && validator instanceof LongValidator)
+        {
+            final long[] values = (long[]) value;
+
+            for (int i = 0; i < values.length; ++i)
+            {
+                if(addElementProblem(((LongValidator) validator).validateLong(
+                instance, annotation, target, values[ i ]), i, results))
+                {
+                    invalid = true;
+
+                    if(failFast)
+                    {
+                        break;
+                    }
+                }
+            }
+        } else if(value instanceof double[]
+        && validator instanceof DoubleValidator)
+        {
+            final double[] values = (double[]) value;
+
+            for (int i = 0; i < values.length; ++i)
+            {
+                if(addElementProblem(((DoubleValidator) validator)
+                .validateDouble(instance, annotation, target, values[ i ]),
+                i, results))
+                {
+                    invalid = true;
+
+                    if(failFast)
+                    {
+                        break;
+                    }
+                }
+            }
+        } else if(value instanceof Object[])
+        {
+            final Object[] values = (Object[]) value;
+
+            for (int i = 0; i < values.length; ++i)
+            {
+                if(addElementProblem(validator.validate(instance, annotation,
+                target, values[ i ]), i, results))
+                {
+                    invalid = true;
+
+                    if(failFast)
+                    {
+                        break;
+                    }
+                }
+            }
+        } else if(value.getClass().isArray())
+        {
+            /*
+             * Other primitive arrays and primitive arrays whose validator
+             * does not take primitives.
+             */
+            for (int i = 0, length = Array.getLength(value); i < length; ++i)
+            {
+                if(addElementProblem(validator.validate(instance, annotation,
+                target, Array.get(value, i)), i, results))
+                {
+                    invalid = true;
+
+                    if(failFast)
+                    {
+                        break;
+                    }
+                }
+            }
+        } else if(value instanceof List && value instanceof RandomAccess)
+        {
+            /*
+             * Skip the iterator for array backed lists.
+             */
+            final List<?> values = (List<?>) value;
+
+            for (int i = 0, size = values.size(); i < size; ++i)
+            {
+                if(addElementProblem(validator.validate(instance, annotation,
+                target, values.get(i)), i, results))
+                {
+                    invalid = true;
+
+                    if(failFast)
+                    {
+                        break;
+                    }
+                }
+            }
+        } else if(value instanceof Iterable)
+        {
+            int i = 0;
+
+            for (final Object element : (Iterable<?>) value)
+            {
+                if(addElementProblem(validator.validate(instance, annotation,
+                target, element), i++, results))
+                {
+                    invalid = true;
+
+                    if(failFast)
+                    {
+                        break;
+                    }
+                }
+            }
+        } else
+        {
+            throw new ValidationException("@Each requires an array or "
+            + "Iterable, but \"" + target + "\" was a "
+            + value.getClass().getName() + ".");
+        }
+
+        return invalid && failFast;
+    }
+
+    /**
+     * Record the problem for an element, if there is one.
+     *
+     * @param problem
+     * the problem or null
+     * @param index
+     * the index of the element
+     * @param results
+     * used to accumulate the problems
+     * @return true if there was a problem.
+     */
+    private static boolean addElementProblem(final ValidationProblem<?, ?, ?, ?> problem,
+                                             final int index, final ValidationResults results)
+    {
+        if(problem == null)
+        {
+            return false;
+        }
+
+        problem.setIndex(index);
+        results.addProblem(problem);
+
+        return true;
+    }
+
     /**
      * Validate the methods on the given instance.
      *
@@ -160,13 +862,16 @@ public class ValidationEngineImpl implements ValidationEngine
     @SuppressWarnings(
     {"unchecked", "rawtypes"})
     private void validateMethod(final Object instance, final Method method,
-                                final boolean useStrictMode, final ValidationResults results)
+                                final boolean useStrictMode, final ValidationResults results,
+                                final ValidationTrace trace)
     {
         /*
          * Validate all method annotations.
          */
         final Annotation[] annotations = method.getDeclaredAnnotations();
 
+        final Each each = method.getAnnotation(Each.class);
+
         boolean wasValidated = false;
 
         if(annotations != null)
@@ -188,18 +893,42 @@ public class ValidationEngineImpl implements ValidationEngine
                      */
                     if(validator != null)
                     {
-                        final Object value = ReflectionUtils.getValueOfMethod(
-                        method, instance);
+                        final Object value;
+
+                        if(trace == null)
+                        {
+                            value = ReflectionUtils.getValueOfMethod(method,
+                            instance);
+                        } else
+                        {
+                            final long start = System.nanoTime();
+
+                            value = ReflectionUtils.getValueOfMethod(method,
+                            instance);
+
+                            trace.read(method, start);
+                        }
+
+                        wasValidated = true;
+
+                        if(each != null)
+                        {
+                            if(this.each(instance, annotation, method,
+                            validator, value, each, results, trace))
+                            {
+                                break;
+                            }
 
-                        final ValidationProblem problem = validator.validate(
-                        instance, annotation, method, value);
+                            continue;
+                        }
+
+                        final ValidationProblem problem = this.validate(
+                        instance, annotation, method, validator, value, trace);
 
                         if(problem != null)
                         {
                             results.addProblem(problem);
                         }
-
-                        wasValidated = true;
                     }
                 } catch (final ValidationException t)
                 {
@@ -260,17 +989,55 @@ public class ValidationEngineImpl implements ValidationEngine
      */
     public ValidationResults validateMethods(final Object instance,
                                              final MethodFilter filter, final boolean useStrictMode)
+    {
+        if(this.skip(instance.getClass(), useStrictMode))
+        {
+            return new ValidationResults();
+        }
+
+        final ValidationTrace trace = ValidationTrace.current();
+
+        final Object event = EVENTS == null ? null : EVENTS.beginValidation();
+
+        if(event == null && trace == null)
+        {
+            return this.methods(instance, filter, useStrictMode, null);
+        }
+
+        final Class<?> type = instance.getClass();
+
+        begin(trace, type, FlightRecorderEvents.METHODS);
+
+        ValidationResults results = null;
+
+        try
+        {
+            results = this.methods(instance, filter, useStrictMode, trace);
+
+            return results;
+        } finally
+        {
+            end(event, trace, type, FlightRecorderEvents.METHODS, results);
+        }
+    }
+
+    private ValidationResults methods(final Object instance,
+                                      final MethodFilter filter, final boolean useStrictMode,
+                                      final ValidationTrace trace)
     {
         try
         {
+            this.bound.get(instance.getClass());
+
             final ValidationResults results = new ValidationResults();
 
             final Collection<Method> getters = ReflectionUtils
-            .getDeclaredMethods(instance, filter);
+            .getDeclaredMethodsOf(instance.getClass(), filter);
 
             for (final Method getter : getters)
             {
-                validateMethod(instance, getter, useStrictMode, results);
+                validateMethod(instance, getter, useStrictMode, results,
+                trace);
             }
 
             return results;
@@ -295,11 +1062,48 @@ public class ValidationEngineImpl implements ValidationEngine
     /**
      * {@inheritDoc}
      */
-    @SuppressWarnings(
-    {"unchecked", "rawtypes"})
     public ValidationResults validateParameters(final Object instance,
                                                 final Method method, final Object[] params,
                                                 final boolean useStrictMode)
+    {
+        if(this.skip(method.getDeclaringClass(), useStrictMode))
+        {
+            return new ValidationResults();
+        }
+
+        final ValidationTrace trace = ValidationTrace.current();
+
+        final Object event = EVENTS == null ? null : EVENTS.beginValidation();
+
+        if(event == null && trace == null)
+        {
+            return this.parameters(instance, method, params, useStrictMode,
+            null);
+        }
+
+        final Class<?> type = method.getDeclaringClass();
+
+        begin(trace, type, FlightRecorderEvents.PARAMETERS);
+
+        ValidationResults results = null;
+
+        try
+        {
+            results = this.parameters(instance, method, params,
+            useStrictMode, trace);
+
+            return results;
+        } finally
+        {
+            end(event, trace, type, FlightRecorderEvents.PARAMETERS, results);
+        }
+    }
+
+    @SuppressWarnings(
+    {"unchecked", "rawtypes"})
+    private ValidationResults parameters(final Object instance,
+                                         final Method method, final Object[] params,
+                                         final boolean useStrictMode, final ValidationTrace trace)
     {
         final ValidationResults results = new ValidationResults();
 
@@ -317,8 +1121,18 @@ public class ValidationEngineImpl implements ValidationEngine
                 boolean hasNoValidationAnnotation = false;
                 boolean wasValidated = false;
 
+                Each each = null;
+
                 if(annotations != null)
                 {
+                    for (final Annotation annotation : annotations)
+                    {
+                        if(annotation instanceof Each)
+                        {
+                            each = (Each) annotation;
+                        }
+                    }
+
                     /*
                      * Iterate over the set of annotations for each parameter.
                      */
@@ -345,18 +1159,28 @@ public class ValidationEngineImpl implements ValidationEngine
                                */
                         if(validator != null)
                         {
-                            final Object value = params[ j ];
+                            final Object value = params[ i ];
+
+                            wasValidated = true;
 
-                            final ValidationProblem problem = validator
-                            .validate(instance, annotation, method,
-                            value);
+                            if(each != null)
+                            {
+                                if(this.each(instance, annotation, method,
+                                validator, value, each, results, trace))
+                                {
+                                    break;
+                                }
+
+                                continue;
+                            }
+
+                            final ValidationProblem problem = this.validate(
+                            instance, annotation, method, validator, value, trace);
 
                             if(problem != null)
                             {
                                 results.addProblem(problem);
                             }
-
-                            wasValidated = true;
                         }
                     }
 
@@ -393,10 +1217,46 @@ public class ValidationEngineImpl implements ValidationEngine
     /**
      * {@inheritDoc}
      */
-    @SuppressWarnings(
-    {"unchecked", "rawtypes"})
     public ValidationResults validateType(final Object instance,
                                           final boolean useStrictMode)
+    {
+        if(instance != null && this.skip(instance.getClass(), useStrictMode))
+        {
+            return new ValidationResults();
+        }
+
+        final ValidationTrace trace = instance == null ? null
+        : ValidationTrace.current();
+
+        final Object event = EVENTS == null || instance == null ? null
+        : EVENTS.beginValidation();
+
+        if(event == null && trace == null)
+        {
+            return this.type(instance, useStrictMode, null);
+        }
+
+        final Class<?> type = instance.getClass();
+
+        begin(trace, type, FlightRecorderEvents.TYPE);
+
+        ValidationResults results = null;
+
+        try
+        {
+            results = this.type(instance, useStrictMode, trace);
+
+            return results;
+        } finally
+        {
+            end(event, trace, type, FlightRecorderEvents.TYPE, results);
+        }
+    }
+
+    @SuppressWarnings(
+    {"unchecked", "rawtypes"})
+    private ValidationResults type(final Object instance,
+                                   final boolean useStrictMode, final ValidationTrace trace)
     {
         final ValidationResults results = new ValidationResults();
 
@@ -417,8 +1277,8 @@ public class ValidationEngineImpl implements ValidationEngine
 
                     if(v != null)
                     {
-                        final ValidationProblem problem = v.validate(instance,
-                        annotation, instance.getClass(), instance);
+                        final ValidationProblem problem = this.validate(
+                        instance, annotation, clazz, v, instance, trace);
 
                         if(problem != null)
                         {
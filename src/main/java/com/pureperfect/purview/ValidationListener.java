@@ -0,0 +1,58 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * Told about every validator that a {@link ValidationEngineImpl} runs, for
+ * example to collect metrics. A listener is passed to the engine when it is
+ * created. Engines without a listener do not read the clock.
+ *
+ * <p>
+ * Listeners are called on the validating thread right after the validator
+ * returns, so they must be thread safe and fast.
+ * </p>
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public interface ValidationListener
+{
+	/**
+	 * A validator ran. For {@link com.pureperfect.purview.validators.Each}
+	 * this is called once for all of the elements.
+	 *
+	 * @param type
+	 *            the class of the object that was validated
+	 * @param target
+	 *            the field, method or class that the annotation is attached
+	 *            to. Method parameters report their method.
+	 * @param annotation
+	 *            the validation annotation
+	 * @param validator
+	 *            the validator
+	 * @param failed
+	 *            whether the validator found a problem
+	 * @param nanos
+	 *            how long the validator took, in nanoseconds
+	 */
+	@SuppressWarnings("rawtypes")
+	public void validated(Class<?> type, Object target, Annotation annotation,
+			Validator validator, boolean failed, long nanos);
+}
@@ -17,6 +17,7 @@
 package com.pureperfect.purview;
 
 import java.lang.annotation.Annotation;
+import java.util.MissingResourceException;
 import java.util.ResourceBundle;
 
 import com.pureperfect.purview.i18n.ExpressionEngine;
@@ -27,7 +28,7 @@ import com.pureperfect.purview.util.ReflectionUtils;
  * Indicates that a validation problem occurred.
  * 
  * @author J. Chris Folsom
- * @version 1.1
+ * @version 1.4
  * @since 1.0
  */
 public abstract class ValidationProblem<I extends Object, A extends Annotation, T extends Object, V extends Object>
@@ -46,6 +47,8 @@ public abstract class ValidationProblem<I extends Object, A extends Annotation,
 
 	private final V value;
 
+	private int index = -1;
+
 	/**
 	 * Create a new validation problem.
 	 * 
@@ -78,6 +81,19 @@ public abstract class ValidationProblem<I extends Object, A extends Annotation,
 		return this.annotation;
 	}
 
+	/**
+	 * Get the index of the element that caused the problem when each element
+	 * of an array or collection is validated.
+	 * 
+	 * @return the index of the element or -1 if the value was not an element.
+	 * @see com.pureperfect.purview.validators.Each
+	 * @since 1.4
+	 */
+	public int getIndex()
+	{
+		return this.index;
+	}
+
 	/**
 	 * Get the object instance that caused the problem.
 	 * 
@@ -140,9 +156,42 @@ public abstract class ValidationProblem<I extends Object, A extends Annotation,
 			messageKey = this.getClass().getName();
 		}
 
-		final String message = bundle.getString(messageKey);
+		final ValidationTrace trace = ValidationTrace.current();
+
+		if (trace == null)
+		{
+			return expEng.eval(bundle.getString(messageKey), this);
+		}
+
+		final long start = System.nanoTime();
+
+		String outcome = ValidationTrace.ERROR;
+
+		try
+		{
+			final String message;
+
+			try
+			{
+				message = bundle.getString(messageKey);
+			}
+			catch (final MissingResourceException e)
+			{
+				outcome = ValidationTrace.MISSING;
+
+				throw e;
+			}
+
+			final String result = expEng.eval(message, this);
 
-		return expEng.eval(message, this);
+			outcome = ValidationTrace.FOUND;
+
+			return result;
+		}
+		finally
+		{
+			trace.message(messageKey, this.getClass(), start, outcome);
+		}
 	}
 
 	/**
@@ -164,4 +213,15 @@ public abstract class ValidationProblem<I extends Object, A extends Annotation,
 	{
 		return this.value;
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Set the index of the element that caused the problem.
+	 * 
+	 * @param index
+	 *            the index of the element
+	 */
+	void setIndex(final int index)
+	{
+		this.index = index;
+	}
+}
@@ -24,11 +24,51 @@ import java.util.LinkedList;
  * Validation results indicate the results of a validation process.
  * 
  * @author J. Chris Folsom
- * @version 1.1
+ * @version 1.4
  * @since 1.0
  */
 public class ValidationResults
 {
+	/**
+	 * Shared results without problems, for callers that skip classes with
+	 * nothing to validate themselves, see
+	 * {@link ValidationEngineImpl#prepare(Class)}. The validate methods always
+	 * return their own results. These cannot be changed: adding problems,
+	 * merging into them or setting whether validation occurred throws
+	 * {@link UnsupportedOperationException}.
+	 * 
+	 * @since 1.4
+	 */
+	@SuppressWarnings("rawtypes")
+	public static final ValidationResults EMPTY = new ValidationResults(
+			Collections.<ValidationProblem> emptyList())
+	{
+		@Override
+		public void addProblem(final ValidationProblem problem)
+		{
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void addProblems(
+				@SuppressWarnings("hiding") final Collection<ValidationProblem> problems)
+		{
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void merge(final ValidationResults results)
+		{
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void setValidated(final boolean validated)
+		{
+			throw new UnsupportedOperationException();
+		}
+	};
+
 	@SuppressWarnings("rawtypes")
 	private final Collection<ValidationProblem> problems;
 
@@ -43,6 +83,12 @@ public class ValidationResults
 		this.problems = new LinkedList<ValidationProblem>();
 	}
 
+	@SuppressWarnings("rawtypes")
+	private ValidationResults(final Collection<ValidationProblem> problems)
+	{
+		this.problems = problems;
+	}
+
 	/**
 	 * Add a validation problem.
 	 * 
@@ -0,0 +1,572 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A timeline of everything a {@link ValidationEngineImpl} does on one thread
+ * while the trace is running: each validation call, each member read, each
+ * validator with its outcome and each message resolved by
+ * {@link ValidationProblem#getLocalizedMessage(java.util.ResourceBundle)}.
+ *
+ * <p>
+ * E.G:
+ * </p>
+ *
+ * <pre>
+ * final ValidationTrace trace = ValidationTrace.sample(0.01);
+ *
+ * try
+ * {
+ * 	Purview.validateFields(order);
+ * }
+ * finally
+ * {
+ * 	if (trace != null)
+ * 	{
+ * 		trace.stop();
+ *
+ * 		if (trace.getNanos() &gt; SLOW)
+ * 		{
+ * 			log.warn(trace.toJson());
+ * 		}
+ * 	}
+ * }
+ * </pre>
+ *
+ * <p>
+ * While no thread is tracing, the engine checks a single counter per call.
+ * Traced calls read fields as objects, so validators that take primitives
+ * see boxed values.
+ * </p>
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public final class ValidationTrace
+{
+	/**
+	 * One step in a trace.
+	 */
+	public static final class Step
+	{
+		private final List<Step> children = new ArrayList<Step>(4);
+
+		private final String detail;
+
+		private final String kind;
+
+		private final String name;
+
+		private long nanos;
+
+		private String outcome;
+
+		private final long startNanos;
+
+		Step(final String kind, final String name, final String detail,
+				final long startNanos)
+		{
+			this.kind = kind;
+			this.name = name;
+			this.detail = detail;
+			this.startNanos = startNanos;
+		}
+
+		/**
+		 * The steps taken during this one, in order.
+		 *
+		 * @return the steps
+		 */
+		public List<Step> getChildren()
+		{
+			return Collections.unmodifiableList(this.children);
+		}
+
+		/**
+		 * More about the step: the mode of a call, the annotation of a
+		 * validator or the problem class of a message.
+		 *
+		 * @return the detail or null.
+		 */
+		public String getDetail()
+		{
+			return this.detail;
+		}
+
+		/**
+		 * {@link ValidationTrace#CALL}, {@link ValidationTrace#READ},
+		 * {@link ValidationTrace#VALIDATOR} or {@link ValidationTrace#MESSAGE}
+		 * .
+		 *
+		 * @return the kind of step
+		 */
+		public String getKind()
+		{
+			return this.kind;
+		}
+
+		/**
+		 * The validated class of a call, the field or method of a read or a
+		 * validator, or the message key of a message.
+		 *
+		 * @return the name
+		 */
+		public String getName()
+		{
+			return this.name;
+		}
+
+		/**
+		 * How long the step took.
+		 *
+		 * @return the time in nanoseconds
+		 */
+		public long getNanos()
+		{
+			return this.nanos;
+		}
+
+		/**
+		 * {@link ValidationTrace#VALID} or {@link ValidationTrace#INVALID} for
+		 * calls and validators, {@link ValidationTrace#FOUND} or
+		 * {@link ValidationTrace#MISSING} for messages,
+		 * {@link ValidationTrace#ERROR} if the step threw an exception and
+		 * null for reads.
+		 *
+		 * @return the outcome
+		 */
+		public String getOutcome()
+		{
+			return this.outcome;
+		}
+
+		/**
+		 * When the step started, relative to the start of the trace.
+		 *
+		 * @return the time in nanoseconds
+		 */
+		public long getStartNanos()
+		{
+			return this.startNanos;
+		}
+
+		private void writeJson(final Appendable out) throws IOException
+		{
+			out.append("{\"kind\":");
+			string(out, this.kind);
+			out.append(",\"name\":");
+			string(out, this.name);
+
+			if (this.detail != null)
+			{
+				out.append(",\"detail\":");
+				string(out, this.detail);
+			}
+
+			if (this.outcome != null)
+			{
+				out.append(",\"outcome\":");
+				string(out, this.outcome);
+			}
+
+			out.append(",\"startNanos\":").append(
+					String.valueOf(this.startNanos));
+			out.append(",\"nanos\":").append(String.valueOf(this.nanos));
+
+			if (!this.children.isEmpty())
+			{
+				out.append(",\"steps\":");
+				writeSteps(out, this.children);
+			}
+
+			out.append('}');
+		}
+	}
+
+	/**
+	 * A call to the validation engine.
+	 */
+	public static final String CALL = "call";
+
+	/**
+	 * Something went wrong.
+	 */
+	public static final String ERROR = "error";
+
+	/**
+	 * The message was found.
+	 */
+	public static final String FOUND = "found";
+
+	/**
+	 * There was a problem.
+	 */
+	public static final String INVALID = "invalid";
+
+	/**
+	 * A message resolved for a problem.
+	 */
+	public static final String MESSAGE = "message";
+
+	/**
+	 * The message was not in the bundle.
+	 */
+	public static final String MISSING = "missing";
+
+	/**
+	 * The value of a field or method was read.
+	 */
+	public static final String READ = "read";
+
+	/**
+	 * There was no problem.
+	 */
+	public static final String VALID = "valid";
+
+	/**
+	 * A validator ran.
+	 */
+	public static final String VALIDATOR = "validator";
+
+	private static final AtomicInteger ACTIVE = new AtomicInteger();
+
+	private static final ThreadLocal<ValidationTrace> CURRENT = new ThreadLocal<ValidationTrace>();
+
+	/**
+	 * The trace running on this thread.
+	 *
+	 * @return the trace or null if there is none.
+	 */
+	public static ValidationTrace current()
+	{
+		return ACTIVE.get() == 0 ? null : CURRENT.get();
+	}
+
+	/**
+	 * Start tracing a fraction of the time, for example for one request in a
+	 * hundred.
+	 *
+	 * @param rate
+	 *            the fraction of the time to trace, between 0 and 1
+	 * @return the trace or null if this time is not traced.
+	 * @throws IllegalStateException
+	 *             if this thread is already tracing
+	 */
+	public static ValidationTrace sample(final double rate)
+	{
+		return ThreadLocalRandom.current().nextDouble() < rate ? start()
+				: null;
+	}
+
+	/**
+	 * Start tracing this thread.
+	 *
+	 * @return the trace
+	 * @throws IllegalStateException
+	 *             if this thread is already tracing
+	 */
+	public static ValidationTrace start()
+	{
+		if (CURRENT.get() != null)
+		{
+			throw new IllegalStateException("This thread is already tracing.");
+		}
+
+		final ValidationTrace trace = new ValidationTrace();
+
+		CURRENT.set(trace);
+		ACTIVE.incrementAndGet();
+
+		return trace;
+	}
+
+	private static String name(final Object target)
+	{
+		if (target instanceof Method)
+		{
+			return ((Method) target).getName() + "()";
+		}
+
+		if (target instanceof Member)
+		{
+			return ((Member) target).getName();
+		}
+
+		if (target instanceof Class<?>)
+		{
+			return ((Class<?>) target).getName();
+		}
+
+		return String.valueOf(target);
+	}
+
+	private static void string(final Appendable out, final String value)
+			throws IOException
+	{
+		out.append('"');
+
+		for (int i = 0; i < value.length(); ++i)
+		{
+			final char c = value.charAt(i);
+
+			if (c == '"' || c == '\\')
+			{
+				out.append('\\').append(c);
+			}
+			else if (c < ' ')
+			{
+				out.append(String.format("\\u%04x", Integer.valueOf(c)));
+			}
+			else
+			{
+				out.append(c);
+			}
+		}
+
+		out.append('"');
+	}
+
+	private static void writeSteps(final Appendable out, final List<Step> steps)
+			throws IOException
+	{
+		out.append('[');
+
+		for (int i = 0; i < steps.size(); ++i)
+		{
+			if (i > 0)
+			{
+				out.append(',');
+			}
+
+			steps.get(i).writeJson(out);
+		}
+
+		out.append(']');
+	}
+
+	private long nanos = -1;
+
+	/*
+	 * The calls that have not ended yet, innermost last.
+	 */
+	private final List<Step> open = new ArrayList<Step>(4);
+
+	/*
+	 * The thread being traced. Only it can stop the trace, since only it can
+	 * clear its current trace.
+	 */
+	private final Thread owner = Thread.currentThread();
+
+	private final long start = System.nanoTime();
+
+	private final List<Step> steps = new ArrayList<Step>(4);
+
+	private ValidationTrace()
+	{
+		// hide constructor
+	}
+
+	/**
+	 * How long the trace ran.
+	 *
+	 * @return the time in nanoseconds, so far if it is still running.
+	 */
+	public long getNanos()
+	{
+		return this.nanos < 0 ? System.nanoTime() - this.start : this.nanos;
+	}
+
+	/**
+	 * The top level steps, in order.
+	 *
+	 * @return the steps
+	 */
+	public List<Step> getSteps()
+	{
+		return Collections.unmodifiableList(this.steps);
+	}
+
+	/**
+	 * Stop tracing. Does nothing if the trace is already stopped.
+	 *
+	 * @throws IllegalStateException
+	 *             if called from a thread other than the traced one
+	 */
+	public void stop()
+	{
+		if (Thread.currentThread() != this.owner)
+		{
+			throw new IllegalStateException("Only " + this.owner.getName()
+					+ " can stop its trace.");
+		}
+
+		if (this.nanos < 0)
+		{
+			this.nanos = System.nanoTime() - this.start;
+
+			CURRENT.remove();
+
+			ACTIVE.decrementAndGet();
+		}
+	}
+
+	/**
+	 * The trace as a JSON object with the total <code>nanos</code> and the
+	 * tree of <code>steps</code>.
+	 *
+	 * @return the JSON
+	 */
+	public String toJson()
+	{
+		final StringBuilder json = new StringBuilder(256);
+
+		try
+		{
+			this.writeJson(json);
+		}
+		catch (final IOException e)
+		{
+			/*
+			 * StringBuilder does not throw.
+			 */
+			throw new IllegalStateException(e);
+		}
+
+		return json.toString();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return this.toJson();
+	}
+
+	/**
+	 * Write the trace as JSON, see {@link #toJson()}.
+	 *
+	 * @param out
+	 *            where to write it
+	 * @throws IOException
+	 *             if it cannot be written
+	 */
+	public void writeJson(final Appendable out) throws IOException
+	{
+		out.append("{\"nanos\":").append(String.valueOf(this.getNanos()));
+		out.append(",\"steps\":");
+		writeSteps(out, this.steps);
+		out.append('}');
+	}
+
+	/**
+	 * Start a call, which holds the steps until it ends.
+	 */
+	void begin(final Class<?> type, final String mode)
+	{
+		final Step call = this.add(CALL, type.getName(), mode, System
+				.nanoTime());
+
+		this.open.add(call);
+	}
+
+	/**
+	 * End the innermost call.
+	 *
+	 * @param results
+	 *            the results or null if the call threw an exception
+	 */
+	void end(final ValidationResults results)
+	{
+		final Step call = this.open.remove(this.open.size() - 1);
+
+		call.nanos = System.nanoTime() - this.start - call.startNanos;
+
+		call.outcome = results == null ? ERROR
+				: results.getProblems().isEmpty() ? VALID : INVALID;
+	}
+
+	/**
+	 * A message was resolved.
+	 */
+	void message(final String messageKey, final Class<?> problem,
+			final long start, final String outcome)
+	{
+		this.add(MESSAGE, messageKey, problem.getName(), start, outcome);
+	}
+
+	/**
+	 * The value of a field or method was read.
+	 */
+	void read(final Object target, final long start)
+	{
+		this.add(READ, name(target), null, start, null);
+	}
+
+	/**
+	 * A validator ran.
+	 */
+	@SuppressWarnings("rawtypes")
+	void validated(final Object target, final Annotation annotation,
+			final Validator validator, final long start, final boolean failed)
+	{
+		this.add(VALIDATOR, name(target), "@"
+				+ annotation.annotationType().getName() + " "
+				+ validator.getClass().getName(), start, failed ? INVALID
+				: VALID);
+	}
+
+	private Step add(final String kind, final String name,
+			final String detail, final long start)
+	{
+		final Step step = new Step(kind, name, detail, start - this.start);
+
+		if (this.open.isEmpty())
+		{
+			this.steps.add(step);
+		}
+		else
+		{
+			this.open.get(this.open.size() - 1).children.add(step);
+		}
+
+		return step;
+	}
+
+	private void add(final String kind, final String name,
+			final String detail, final long start, final String outcome)
+	{
+		final long end = System.nanoTime();
+
+		final Step step = this.add(kind, name, detail, start);
+
+		step.nanos = end - start;
+		step.outcome = outcome;
+	}
+}
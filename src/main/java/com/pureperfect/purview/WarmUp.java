@@ -0,0 +1,325 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystemAlreadyExistsException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Finds the classes in packages on the class path and prepares the ones with
+ * validation annotations, see {@link ValidationEngineImpl#prepare(Class)}, so
+ * that the first requests after a deploy do not pay for it.
+ *
+ * <p>
+ * Packages are found in directories and in jar files, which are read through
+ * a zip {@link FileSystem}. Directories inside jar files, such as the
+ * <code>BOOT-INF/classes</code> of an executable jar, are found too. Jar files
+ * inside jar files are not read, and neither are locations with other URL
+ * protocols, such as the <code>vfs</code> and <code>bundle</code> URLs of
+ * application servers; they are listed in the failures of the report.
+ * Classes are loaded without being initialized and prepared in
+ * parallel on a fixed number of threads.
+ * </p>
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public final class WarmUp
+{
+	/**
+	 * Warm up an engine.
+	 *
+	 * @param engine
+	 *            the engine
+	 * @param loader
+	 *            the class loader to find and load the classes with
+	 * @param threads
+	 *            the number of threads to prepare the classes on
+	 * @param packages
+	 *            the packages to search, including their sub packages
+	 * @return what was done
+	 * @throws ValidationException
+	 *             if the class path cannot be read or the warm up is
+	 *             interrupted
+	 */
+	public static WarmUpReport run(final ValidationEngineImpl engine,
+			final ClassLoader loader, final int threads,
+			final String... packages)
+	{
+		final long start = System.nanoTime();
+
+		final Queue<String> failures = new ConcurrentLinkedQueue<String>();
+
+		final Collection<String> classes;
+
+		try
+		{
+			classes = scan(loader, failures, packages);
+		}
+		catch (final IOException e)
+		{
+			throw new ValidationException(e);
+		}
+
+		final AtomicInteger constrained = new AtomicInteger();
+
+		final ExecutorService pool = Executors.newFixedThreadPool(Math.max(1,
+				threads), new ThreadFactory()
+		{
+			private final AtomicInteger count = new AtomicInteger();
+
+			public Thread newThread(final Runnable runnable)
+			{
+				final Thread thread = new Thread(runnable, "purview-warm-up-"
+						+ this.count.incrementAndGet());
+
+				thread.setDaemon(true);
+
+				return thread;
+			}
+		});
+
+		try
+		{
+			for (final String name : classes)
+			{
+				pool.execute(new Runnable()
+				{
+					public void run()
+					{
+						try
+						{
+							if (engine.prepare(Class.forName(name, false,
+									loader)))
+							{
+								constrained.incrementAndGet();
+							}
+						}
+						catch (final Throwable t)
+						{
+							failures.add(name + ": " + t);
+						}
+					}
+				});
+			}
+
+			pool.shutdown();
+
+			while (!pool.awaitTermination(1, TimeUnit.MINUTES))
+			{
+				// keep waiting
+			}
+		}
+		catch (final InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+
+			throw new ValidationException(e);
+		}
+		finally
+		{
+			pool.shutdownNow();
+		}
+
+		final List<String> failed = new ArrayList<String>(failures);
+
+		Collections.sort(failed);
+
+		return new WarmUpReport(classes.size(), constrained.get(), failed,
+				System.nanoTime() - start);
+	}
+
+	/**
+	 * Find the names of the classes in packages.
+	 *
+	 * @param loader
+	 *            the class loader to find them with
+	 * @param failures
+	 *            where to add the locations that could not be read, each
+	 *            with the reason
+	 * @param packages
+	 *            the packages to search, including their sub packages
+	 * @return the class names, sorted
+	 * @throws IOException
+	 *             if the class path cannot be read
+	 */
+	static Collection<String> scan(final ClassLoader loader,
+			final Collection<String> failures, final String... packages)
+			throws IOException
+	{
+		final Set<String> names = new TreeSet<String>();
+
+		for (final String name : packages)
+		{
+			final Enumeration<URL> urls = loader.getResources(name.replace(
+					'.', '/'));
+
+			while (urls.hasMoreElements())
+			{
+				final URL url = urls.nextElement();
+
+				try
+				{
+					scan(url, name, names);
+				}
+				catch (final IOException e)
+				{
+					failures.add(url + ": " + e);
+				}
+			}
+		}
+
+		return names;
+	}
+
+	private static void scan(final Path directory, final String name,
+			final Set<String> names) throws IOException
+	{
+		Files.walkFileTree(directory, new SimpleFileVisitor<Path>()
+		{
+			@Override
+			public FileVisitResult visitFile(final Path file,
+					final BasicFileAttributes attributes)
+			{
+				final String fileName = file.getFileName().toString();
+
+				if (fileName.endsWith(".class")
+						&& !"module-info.class".equals(fileName)
+						&& !"package-info.class".equals(fileName))
+				{
+					final StringBuilder className = new StringBuilder(name);
+
+					for (final Path part : directory.relativize(file))
+					{
+						if (className.length() > 0)
+						{
+							className.append('.');
+						}
+
+						className.append(part.toString());
+					}
+
+					className.setLength(className.length() - ".class".length());
+
+					names.add(className.toString());
+				}
+
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+
+	private static void scan(final URL url, final String name,
+			final Set<String> names) throws IOException
+	{
+		try
+		{
+			if ("file".equals(url.getProtocol()))
+			{
+				scan(Paths.get(url.toURI()), name, names);
+			}
+			else if ("jar".equals(url.getProtocol()))
+			{
+				/*
+				 * jar:file:/path/to.jar!/package/path or, in executable jars,
+				 * jar:file:/path/to.jar!/BOOT-INF/classes!/package/path
+				 */
+				final String spec = url.toString();
+				final int separator = spec.indexOf("!/");
+
+				final URI jar = new URI(spec.substring(0, separator));
+
+				FileSystem zip;
+				boolean opened;
+
+				try
+				{
+					zip = FileSystems.newFileSystem(jar, Collections
+							.<String, Object> emptyMap());
+					opened = true;
+				}
+				catch (final FileSystemAlreadyExistsException e)
+				{
+					zip = FileSystems.getFileSystem(jar);
+					opened = false;
+				}
+
+				try
+				{
+					/*
+					 * A later separator is a directory in the same jar. If it
+					 * is a jar inside the jar, the path does not exist and
+					 * the walk fails.
+					 */
+					scan(zip.getPath(spec.substring(separator + 1).replace(
+							"!/", "/")), name, names);
+				}
+				finally
+				{
+					if (opened)
+					{
+						zip.close();
+					}
+				}
+			}
+			else
+			{
+				/*
+				 * Such as vfs, wsjar or bundle from application servers and
+				 * OSGi containers.
+				 */
+				throw new IOException("unsupported protocol "
+						+ url.getProtocol());
+			}
+		}
+		catch (final URISyntaxException e)
+		{
+			throw new IOException(e);
+		}
+	}
+
+	private WarmUp()
+	{
+		// hide constructor
+	}
+}
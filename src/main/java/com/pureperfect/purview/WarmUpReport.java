@@ -0,0 +1,110 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What a {@link WarmUp} did.
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public final class WarmUpReport
+{
+	private final int classes;
+
+	private final int constrained;
+
+	private final List<String> failures;
+
+	private final long nanos;
+
+	WarmUpReport(final int classes, final int constrained,
+			final List<String> failures, final long nanos)
+	{
+		this.classes = classes;
+		this.constrained = constrained;
+		this.failures = Collections.unmodifiableList(failures);
+		this.nanos = nanos;
+	}
+
+	/**
+	 * The number of classes found.
+	 *
+	 * @return the number of classes
+	 */
+	public int getClasses()
+	{
+		return this.classes;
+	}
+
+	/**
+	 * The number of classes with validation annotations, which were prepared.
+	 *
+	 * @return the number of classes
+	 */
+	public int getConstrained()
+	{
+		return this.constrained;
+	}
+
+	/**
+	 * The classes that could not be loaded or prepared and the class path
+	 * locations that could not be read, each with the reason.
+	 *
+	 * @return the failures
+	 */
+	public List<String> getFailures()
+	{
+		return this.failures;
+	}
+
+	/**
+	 * How long the warm up took, in milliseconds.
+	 *
+	 * @return the time
+	 */
+	public long getMillis()
+	{
+		return TimeUnit.NANOSECONDS.toMillis(this.nanos);
+	}
+
+	/**
+	 * How long the warm up took, in nanoseconds.
+	 *
+	 * @return the time
+	 */
+	public long getNanos()
+	{
+		return this.nanos;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "Prepared " + this.constrained + " of " + this.classes
+				+ " classes in " + this.getMillis() + " ms, "
+				+ this.failures.size() + " failed.";
+	}
+}
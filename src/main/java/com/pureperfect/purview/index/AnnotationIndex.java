@@ -0,0 +1,208 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.index;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Reads the indexes written by {@link AnnotationIndexProcessor}. Each class
+ * path entry (directory or jar) has its own index, which only speaks for the
+ * classes loaded from that entry. Indexes are read the first time a class
+ * from their class loader is looked up.
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public final class AnnotationIndex
+{
+	/*
+	 * The classes of one class path entry, and the ones with validation
+	 * annotations.
+	 */
+	private static final class Entry
+	{
+		private final Set<String> classes = new HashSet<String>();
+
+		private final Set<String> constrained = new HashSet<String>();
+	}
+
+	/*
+	 * By class loader, the entries by location. Only strings are kept, so
+	 * class loaders can still be collected.
+	 */
+	private static final Map<ClassLoader, Map<String, Entry>> entries = new WeakHashMap<ClassLoader, Map<String, Entry>>();
+
+	private static final ClassValue<Boolean> unconstrained = new ClassValue<Boolean>()
+	{
+		@Override
+		protected Boolean computeValue(final Class<?> type)
+		{
+			return Boolean.valueOf(lookUp(type));
+		}
+	};
+
+	/**
+	 * Forget the indexes read for the class loader.
+	 *
+	 * @param loader
+	 *            the class loader
+	 */
+	public static void evict(final ClassLoader loader)
+	{
+		synchronized (entries)
+		{
+			entries.remove(loader);
+		}
+	}
+
+	/**
+	 * Whether or not the index of the class path entry that the class was
+	 * loaded from lists the class without any validation annotations.
+	 *
+	 * @param type
+	 *            the class
+	 * @return true if the class is known to have no validation annotations,
+	 *         false if it has some or is not in an index.
+	 */
+	public static boolean isUnconstrained(final Class<?> type)
+	{
+		return unconstrained.get(type).booleanValue();
+	}
+
+	private static Map<String, Entry> entries(final ClassLoader loader)
+	{
+		synchronized (entries)
+		{
+			Map<String, Entry> byLocation = entries.get(loader);
+
+			if (byLocation == null)
+			{
+				byLocation = read(loader);
+
+				entries.put(loader, byLocation);
+			}
+
+			return byLocation;
+		}
+	}
+
+	private static boolean lookUp(final Class<?> type)
+	{
+		final ClassLoader loader = type.getClassLoader();
+
+		if (loader == null || type.isArray())
+		{
+			return false;
+		}
+
+		final String name = type.getName();
+		final String path = name.replace('.', '/') + ".class";
+
+		final URL resource = loader.getResource(path);
+
+		if (resource == null)
+		{
+			return false;
+		}
+
+		final String location = resource.toString();
+
+		if (!location.endsWith(path))
+		{
+			return false;
+		}
+
+		final Entry entry = entries(loader).get(
+				location.substring(0, location.length() - path.length()));
+
+		return entry != null && entry.classes.contains(name)
+				&& !entry.constrained.contains(name);
+	}
+
+	private static Map<String, Entry> read(final ClassLoader loader)
+	{
+		final Map<String, Entry> byLocation = new HashMap<String, Entry>();
+
+		try
+		{
+			final Enumeration<URL> indexes = loader
+					.getResources(AnnotationIndexProcessor.RESOURCE);
+
+			while (indexes.hasMoreElements())
+			{
+				final URL index = indexes.nextElement();
+
+				final String location = index.toString();
+
+				final Entry entry = new Entry();
+
+				final BufferedReader in = new BufferedReader(
+						new InputStreamReader(index.openStream(), "UTF-8"));
+
+				try
+				{
+					for (String line = in.readLine(); line != null; line = in
+							.readLine())
+					{
+						final int tab = line.indexOf('\t');
+
+						if (tab < 0)
+						{
+							entry.classes.add(line);
+						}
+						else
+						{
+							entry.constrained.add(line.substring(0, tab));
+						}
+					}
+				}
+				finally
+				{
+					in.close();
+				}
+
+				byLocation.put(location.substring(0, location.length()
+						- AnnotationIndexProcessor.RESOURCE.length()), entry);
+			}
+		}
+		catch (final IOException e)
+		{
+			/*
+			 * Without the index classes are validated as usual.
+			 */
+			return Collections.emptyMap();
+		}
+
+		return byLocation;
+	}
+
+	private AnnotationIndex()
+	{
+		// hide constructor
+	}
+}
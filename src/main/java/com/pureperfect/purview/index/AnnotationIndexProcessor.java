@@ -0,0 +1,283 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.index;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * An annotation processor that writes the {@link #RESOURCE} index of the
+ * compiled classes and their validation annotations. The validation engine
+ * uses it to skip classes without validation annotations without looking at
+ * them. Annotations are validation annotations if they have a
+ * <code>validator</code> attribute, see
+ * {@link com.pureperfect.purview.ValidatorFactoryImpl}.
+ *
+ * <p>
+ * The processor is not registered as a service, so it has to be named when
+ * compiling. E.G for Maven:
+ * </p>
+ *
+ * <pre>
+ * &lt;plugin&gt;
+ *   &lt;artifactId&gt;maven-compiler-plugin&lt;/artifactId&gt;
+ *   &lt;configuration&gt;
+ *     &lt;annotationProcessors&gt;
+ *       &lt;annotationProcessor&gt;com.pureperfect.purview.index.AnnotationIndexProcessor&lt;/annotationProcessor&gt;
+ *     &lt;/annotationProcessors&gt;
+ *   &lt;/configuration&gt;
+ * &lt;/plugin&gt;
+ * </pre>
+ *
+ * <p>
+ * The index has a line with the binary name of every compiled class,
+ * followed by a line for each of its validation annotations with the class,
+ * the kind of target ({@link #TYPE}, {@link #FIELD}, {@link #METHOD} or
+ * {@link #PARAMETER}), the target and the annotation separated by tabs.
+ * Classes that are not in the index, for example because only part of the
+ * sources were compiled, are validated as usual.
+ * </p>
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+@SupportedAnnotationTypes("*")
+public class AnnotationIndexProcessor extends AbstractProcessor
+{
+	/**
+	 * Where the index is written, relative to the class output.
+	 */
+	public static final String RESOURCE = "META-INF/purview/index";
+
+	/**
+	 * An annotation on a field.
+	 */
+	public static final String FIELD = "field";
+
+	/**
+	 * An annotation on a method.
+	 */
+	public static final String METHOD = "method";
+
+	/**
+	 * An annotation on a method parameter. The target is the method name and
+	 * the index of the parameter, e.g. <code>setName(0)</code>.
+	 */
+	public static final String PARAMETER = "parameter";
+
+	/**
+	 * An annotation on a class.
+	 */
+	public static final String TYPE = "type";
+
+	/*
+	 * By class, the annotation lines.
+	 */
+	private final Map<String, List<String>> classes = new TreeMap<String, List<String>>();
+
+	/*
+	 * By annotation type, whether it is a validation annotation.
+	 */
+	private final Map<String, Boolean> validation = new HashMap<String, Boolean>();
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public SourceVersion getSupportedSourceVersion()
+	{
+		return SourceVersion.latestSupported();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean process(final Set<? extends TypeElement> annotations,
+			final RoundEnvironment round)
+	{
+		for (final TypeElement type : ElementFilter.typesIn(round
+				.getRootElements()))
+		{
+			this.index(type);
+		}
+
+		if (round.processingOver() && !this.classes.isEmpty())
+		{
+			try
+			{
+				this.write();
+			}
+			catch (final IOException e)
+			{
+				this.processingEnv.getMessager().printMessage(
+						Diagnostic.Kind.ERROR,
+						"Cannot write " + RESOURCE + ": " + e);
+			}
+		}
+
+		/*
+		 * Other processors may want the annotations too.
+		 */
+		return false;
+	}
+
+	private void add(final List<String> lines, final String type,
+			final String kind, final String target, final Element element)
+	{
+		for (final AnnotationMirror annotation : element
+				.getAnnotationMirrors())
+		{
+			final TypeElement annotationType = (TypeElement) annotation
+					.getAnnotationType().asElement();
+
+			if (this.isValidation(annotationType))
+			{
+				lines.add(type + "\t" + kind + "\t" + target + "\t"
+						+ this.processingEnv.getElementUtils().getBinaryName(
+								annotationType));
+			}
+		}
+	}
+
+	private void index(final TypeElement type)
+	{
+		final String name = this.processingEnv.getElementUtils()
+				.getBinaryName(type).toString();
+
+		final List<String> lines = new ArrayList<String>();
+
+		this.add(lines, name, TYPE, "", type);
+
+		for (final Element member : type.getEnclosedElements())
+		{
+			if (member.getKind() == ElementKind.FIELD)
+			{
+				this.add(lines, name, FIELD, member.getSimpleName().toString(),
+						member);
+			}
+			else if (member.getKind() == ElementKind.METHOD)
+			{
+				final String method = member.getSimpleName().toString();
+
+				this.add(lines, name, METHOD, method, member);
+
+				final List<? extends VariableElement> parameters = ((ExecutableElement) member)
+						.getParameters();
+
+				for (int i = 0; i < parameters.size(); ++i)
+				{
+					this.add(lines, name, PARAMETER, method + "(" + i + ")",
+							parameters.get(i));
+				}
+			}
+			else if (member instanceof TypeElement)
+			{
+				this.index((TypeElement) member);
+			}
+		}
+
+		this.classes.put(name, lines);
+	}
+
+	private boolean isValidation(final TypeElement annotationType)
+	{
+		final String name = annotationType.getQualifiedName().toString();
+
+		Boolean result = this.validation.get(name);
+
+		if (result == null)
+		{
+			result = Boolean.FALSE;
+
+			for (final ExecutableElement attribute : ElementFilter
+					.methodsIn(annotationType.getEnclosedElements()))
+			{
+				if ("validator".contentEquals(attribute.getSimpleName())
+						&& attribute.getParameters().isEmpty())
+				{
+					final TypeMirror returnType = attribute.getReturnType();
+
+					if (returnType.getKind() == TypeKind.DECLARED
+							&& ((TypeElement) ((DeclaredType) returnType)
+									.asElement()).getQualifiedName()
+									.contentEquals("java.lang.Class"))
+					{
+						result = Boolean.TRUE;
+					}
+				}
+			}
+
+			this.validation.put(name, result);
+		}
+
+		return result.booleanValue();
+	}
+
+	private void write() throws IOException
+	{
+		final FileObject resource = this.processingEnv.getFiler()
+				.createResource(StandardLocation.CLASS_OUTPUT, "", RESOURCE);
+
+		final Writer out = resource.openWriter();
+
+		try
+		{
+			for (final Map.Entry<String, List<String>> entry : this.classes
+					.entrySet())
+			{
+				out.write(entry.getKey());
+				out.write('\n');
+
+				for (final String line : entry.getValue())
+				{
+					out.write(line);
+					out.write('\n');
+				}
+			}
+		}
+		finally
+		{
+			out.close();
+		}
+	}
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.jfr;
+
+/**
+ * How {@link com.pureperfect.purview.ValidationEngineImpl} emits JDK Flight
+ * Recorder events without linking to <code>jdk.jfr</code>, so that it still
+ * runs on JVMs without Flight Recorder. Not meant for applications.
+ *
+ * <p>
+ * The events themselves use <code>jdk.jfr</code>, so they are in a separate
+ * source root, <code>src/main/jfr</code>, that is only compiled when the
+ * library is built on JDK 11 or later. The rest of the library is compiled
+ * for Java 8.
+ * </p>
+ *
+ * <p>
+ * Events are emitted unless the system property
+ * <code>com.pureperfect.purview.jfr</code> is <code>false</code>. When
+ * nothing records them the cost is checking whether they are enabled.
+ * </p>
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public abstract class FlightRecorderEvents
+{
+	/**
+	 * The mode of <code>ValidationEvent</code>s for fields.
+	 */
+	public static final String FIELDS = "fields";
+
+	/**
+	 * The mode of <code>ValidationEvent</code>s for methods.
+	 */
+	public static final String METHODS = "methods";
+
+	/**
+	 * The mode of <code>ValidationEvent</code>s for parameters.
+	 */
+	public static final String PARAMETERS = "parameters";
+
+	/**
+	 * The mode of <code>ValidationEvent</code>s for types.
+	 */
+	public static final String TYPE = "type";
+
+	/**
+	 * The events, if Flight Recorder is available and they are not turned
+	 * off.
+	 *
+	 * @return the events or null.
+	 */
+	public static FlightRecorderEvents load()
+	{
+		if ("false".equalsIgnoreCase(System
+				.getProperty("com.pureperfect.purview.jfr")))
+		{
+			return null;
+		}
+
+		try
+		{
+			return (FlightRecorderEvents) Class.forName(
+					"com.pureperfect.purview.jfr.JdkFlightRecorderEvents")
+					.newInstance();
+		}
+		catch (final Throwable t)
+		{
+			/*
+			 * No jdk.jfr in this JVM.
+			 */
+			return null;
+		}
+	}
+
+	/**
+	 * Start a <code>PlanCompilationEvent</code>.
+	 *
+	 * @return the event or null if it is not enabled.
+	 */
+	public abstract Object beginPlan();
+
+	/**
+	 * Start a <code>ValidationEvent</code>.
+	 *
+	 * @return the event or null if it is not enabled.
+	 */
+	public abstract Object beginValidation();
+
+	/**
+	 * Emit a <code>ValidatorInvocationEvent</code> if it is enabled.
+	 *
+	 * @param type
+	 *            the class of the validated object
+	 * @param target
+	 *            the name of the field, method or class that the annotation
+	 *            is attached to
+	 * @param annotation
+	 *            the annotation type
+	 * @param validator
+	 *            the validator class
+	 * @param failed
+	 *            whether or not the validator found a problem
+	 * @param nanos
+	 *            how long the validator took
+	 */
+	public abstract void invoked(Class<?> type, String target,
+			Class<?> annotation, Class<?> validator, boolean failed,
+			long nanos);
+
+	/**
+	 * Finish a <code>PlanCompilationEvent</code>.
+	 *
+	 * @param event
+	 *            the event from {@link #beginPlan()}
+	 * @param type
+	 *            the class
+	 */
+	public abstract void endPlan(Object event, Class<?> type);
+
+	/**
+	 * Finish a <code>ValidationEvent</code>.
+	 *
+	 * @param event
+	 *            the event from {@link #beginValidation()}
+	 * @param type
+	 *            the class of the validated object
+	 * @param mode
+	 *            {@link #FIELDS}, {@link #METHODS}, {@link #PARAMETERS} or
+	 *            {@link #TYPE}
+	 * @param problems
+	 *            the number of problems found
+	 */
+	public abstract void endValidation(Object event, Class<?> type,
+			String mode, int problems);
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.jfr;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Member;
+
+import com.pureperfect.purview.ValidationListener;
+import com.pureperfect.purview.Validator;
+
+/**
+ * Emits a <code>ValidatorInvocationEvent</code> for every validator that takes
+ * longer than a threshold. Does nothing where
+ * {@link FlightRecorderEvents#load()} finds no events.
+ *
+ * <p>
+ * E.G:
+ * </p>
+ *
+ * <pre>
+ * ValidationEngine engine = new ValidationEngineImpl(
+ * 		new CachingValidatorFactory(), new FlightRecorderListener(1000000));
+ * </pre>
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public class FlightRecorderListener implements ValidationListener
+{
+	private final FlightRecorderEvents events = FlightRecorderEvents.load();
+
+	private final long thresholdNanos;
+
+	/**
+	 * Create a listener.
+	 *
+	 * @param thresholdNanos
+	 *            validators that take at least this long are recorded
+	 */
+	public FlightRecorderListener(final long thresholdNanos)
+	{
+		this.thresholdNanos = thresholdNanos;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@SuppressWarnings("rawtypes")
+	public void validated(final Class<?> type, final Object target,
+			final Annotation annotation, final Validator validator,
+			final boolean failed, final long nanos)
+	{
+		if (nanos < this.thresholdNanos || this.events == null)
+		{
+			return;
+		}
+
+		this.events.invoked(type, target instanceof Member ? ((Member) target)
+				.getName() : target instanceof Class<?> ? ((Class<?>) target)
+				.getName() : String.valueOf(target), annotation
+				.annotationType(), validator.getClass(), failed, nanos);
+	}
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.metrics;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+
+import com.pureperfect.purview.ValidationListener;
+import com.pureperfect.purview.Validator;
+import com.pureperfect.purview.util.ReflectionUtils;
+
+/**
+ * A {@link ValidationListener} that keeps {@link ValidatorStatistics} in
+ * memory for every validated class, field, method and validator.
+ *
+ * <p>
+ * E.G:
+ * </p>
+ *
+ * <pre>
+ * InMemoryMetrics metrics = new InMemoryMetrics();
+ *
+ * ValidationEngine engine = new ValidationEngineImpl(
+ * 		new CachingValidatorFactory(), metrics);
+ *
+ * ...
+ *
+ * metrics.report(System.out);
+ * </pre>
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public class InMemoryMetrics implements ValidationListener
+{
+	private final Queue<ValidatorStatistics> all = new ConcurrentLinkedQueue<ValidatorStatistics>();
+
+	/*
+	 * By class, then by target, then by validator class.
+	 */
+	private final ClassValue<ConcurrentMap<Object, ConcurrentMap<Class<?>, ValidatorStatistics>>> byType = new ClassValue<ConcurrentMap<Object, ConcurrentMap<Class<?>, ValidatorStatistics>>>()
+	{
+		@Override
+		protected ConcurrentMap<Object, ConcurrentMap<Class<?>, ValidatorStatistics>> computeValue(
+				final Class<?> type)
+		{
+			return new ConcurrentHashMap<Object, ConcurrentMap<Class<?>, ValidatorStatistics>>();
+		}
+	};
+
+	/**
+	 * Drop the statistics of classes and validators loaded by the class
+	 * loader or its descendants. Statistics hold on to the classes they are
+	 * about, so they keep the class loader alive until they are evicted.
+	 *
+	 * @param loader
+	 *            the class loader
+	 */
+	public void evict(final ClassLoader loader)
+	{
+		for (final Iterator<ValidatorStatistics> i = this.all.iterator(); i
+				.hasNext();)
+		{
+			final ValidatorStatistics statistics = i.next();
+
+			final Class<?> type = statistics.getType();
+
+			if (ReflectionUtils.isLoadedBy(type, loader))
+			{
+				i.remove();
+				this.byType.remove(type);
+			}
+			else if (ReflectionUtils.isLoadedBy(statistics.getValidatorType(),
+					loader))
+			{
+				i.remove();
+
+				final ConcurrentMap<Class<?>, ValidatorStatistics> byValidator = this.byType
+						.get(type).get(statistics.getTarget());
+
+				if (byValidator != null)
+				{
+					byValidator.remove(statistics.getValidatorType());
+				}
+			}
+		}
+	}
+
+	/**
+	 * The statistics of every validator that ran, the one that took the most
+	 * time in total first.
+	 *
+	 * @return the statistics
+	 */
+	public List<ValidatorStatistics> getStatistics()
+	{
+		final List<ValidatorStatistics> statistics = new ArrayList<ValidatorStatistics>(
+				this.all);
+
+		Collections.sort(statistics, new Comparator<ValidatorStatistics>()
+		{
+			public int compare(final ValidatorStatistics a,
+					final ValidatorStatistics b)
+			{
+				final long x = a.getTotalNanos();
+				final long y = b.getTotalNanos();
+
+				return x > y ? -1 : x < y ? 1 : 0;
+			}
+		});
+
+		return statistics;
+	}
+
+	/**
+	 * Get the statistics of a validator.
+	 *
+	 * @param type
+	 *            the class of the validated objects
+	 * @param target
+	 *            the field, method or class that the annotation is attached
+	 *            to
+	 * @param validatorType
+	 *            the class of the validator
+	 * @return the statistics or null if the validator has not run.
+	 */
+	public ValidatorStatistics getStatistics(final Class<?> type,
+			final Object target, final Class<?> validatorType)
+	{
+		final ConcurrentMap<Class<?>, ValidatorStatistics> byValidator = this.byType
+				.get(type).get(target);
+
+		return byValidator == null ? null : byValidator.get(validatorType);
+	}
+
+	/**
+	 * Write a table of the statistics, the validator that took the most time
+	 * in total first. Times are in microseconds.
+	 *
+	 * @param out
+	 *            where to write the table
+	 * @throws IOException
+	 *             if it cannot be written
+	 */
+	public void report(final Appendable out) throws IOException
+	{
+		out.append(String.format(Locale.US,
+				"%12s %10s %10s %10s %10s %10s  %s%n", "invocations",
+				"failures", "total", "mean", "p99", "max", "validator"));
+
+		for (final ValidatorStatistics statistics : this.getStatistics())
+		{
+			out.append(String.format(Locale.US,
+					"%12d %10d %10.1f %10.3f %10.3f %10.3f  %s%n", statistics
+							.getInvocations(), statistics.getFailures(),
+					statistics.getTotalNanos() / 1000.0, statistics
+							.getMeanNanos() / 1000.0, statistics.getLatency()
+							.getPercentile(0.99) / 1000.0, statistics
+							.getLatency().getMax() / 1000.0, statistics));
+		}
+	}
+
+	/**
+	 * Set every counter back to zero.
+	 */
+	public void reset()
+	{
+		for (final ValidatorStatistics statistics : this.all)
+		{
+			statistics.reset();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@SuppressWarnings("rawtypes")
+	public void validated(final Class<?> type, final Object target,
+			final Annotation annotation, final Validator validator,
+			final boolean failed, final long nanos)
+	{
+		this.statistics(type, target, validator.getClass()).record(failed,
+				nanos);
+	}
+
+	private ValidatorStatistics statistics(final Class<?> type,
+			final Object target, final Class<?> validatorType)
+	{
+		final ConcurrentMap<Object, ConcurrentMap<Class<?>, ValidatorStatistics>> byTarget = this.byType
+				.get(type);
+
+		ConcurrentMap<Class<?>, ValidatorStatistics> byValidator = byTarget
+				.get(target);
+
+		if (byValidator == null)
+		{
+			byValidator = new ConcurrentHashMap<Class<?>, ValidatorStatistics>(
+					4);
+
+			final ConcurrentMap<Class<?>, ValidatorStatistics> existing = byTarget
+					.putIfAbsent(target, byValidator);
+
+			if (existing != null)
+			{
+				byValidator = existing;
+			}
+		}
+
+		ValidatorStatistics statistics = byValidator.get(validatorType);
+
+		if (statistics == null)
+		{
+			statistics = new ValidatorStatistics(type, target, validatorType);
+
+			final ValidatorStatistics existing = byValidator.putIfAbsent(
+					validatorType, statistics);
+
+			if (existing != null)
+			{
+				return existing;
+			}
+
+			this.all.add(statistics);
+		}
+
+		return statistics;
+	}
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.metrics;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A concurrent histogram of latencies in nanoseconds with log-linear buckets
+ * in the style of HdrHistogram: values below 16 have a bucket each, and every
+ * power of two above that is split into 16 buckets, so a recorded value is
+ * off by at most 1/16 of itself. Any non-negative <code>long</code> can be
+ * recorded.
+ *
+ * <p>
+ * Each bucket is a {@link LongAdder} that is only created once a value falls
+ * into it, so a histogram of a fast validator costs a handful of counters
+ * rather than one for every possible bucket, and threads recording at the
+ * same time do not contend on a single counter.
+ * </p>
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public class LatencyHistogram
+{
+	private static final int SUB_BITS = 4;
+
+	private static final int SUB_COUNT = 1 << SUB_BITS;
+
+	private static final int BUCKETS = bucket(Long.MAX_VALUE) + 1;
+
+	/*
+	 * The bucket a value falls into.
+	 */
+	static int bucket(final long value)
+	{
+		if (value < SUB_COUNT)
+		{
+			return (int) value;
+		}
+
+		final int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+
+		return ((shift + 1) << SUB_BITS) + (int) ((value >>> shift) - SUB_COUNT);
+	}
+
+	/*
+	 * The smallest value in a bucket.
+	 */
+	static long lowest(final int bucket)
+	{
+		if (bucket < SUB_COUNT)
+		{
+			return bucket;
+		}
+
+		final int shift = (bucket >>> SUB_BITS) - 1;
+
+		return ((long) (SUB_COUNT + (bucket & (SUB_COUNT - 1)))) << shift;
+	}
+
+	/*
+	 * The largest value in a bucket.
+	 */
+	static long highest(final int bucket)
+	{
+		if (bucket < SUB_COUNT)
+		{
+			return bucket;
+		}
+
+		final int shift = (bucket >>> SUB_BITS) - 1;
+
+		return lowest(bucket) + (1L << shift) - 1;
+	}
+
+	private final AtomicReferenceArray<LongAdder> counts = new AtomicReferenceArray<LongAdder>(
+			BUCKETS);
+
+	private final LongAdder total = new LongAdder();
+
+	/**
+	 * The number of values recorded.
+	 *
+	 * @return the number of values recorded.
+	 */
+	public long getCount()
+	{
+		return this.total.sum();
+	}
+
+	/**
+	 * The largest recorded value, to within the bucket precision.
+	 *
+	 * @return the largest value or 0 if nothing was recorded.
+	 */
+	public long getMax()
+	{
+		for (int i = BUCKETS - 1; i > -1; --i)
+		{
+			final LongAdder count = this.counts.get(i);
+
+			if (count != null && count.sum() > 0)
+			{
+				return highest(i);
+			}
+		}
+
+		return 0;
+	}
+
+	/**
+	 * The value below or at which the given fraction of the recorded values
+	 * fall, to within the bucket precision.
+	 *
+	 * @param fraction
+	 *            the fraction, for example 0.99 for the 99th percentile
+	 * @return the value or 0 if nothing was recorded.
+	 */
+	public long getPercentile(final double fraction)
+	{
+		final long[] snapshot = new long[BUCKETS];
+
+		long recorded = 0;
+
+		for (int i = 0; i < BUCKETS; ++i)
+		{
+			final LongAdder count = this.counts.get(i);
+
+			if (count != null)
+			{
+				snapshot[i] = count.sum();
+				recorded += snapshot[i];
+			}
+		}
+
+		if (recorded == 0)
+		{
+			return 0;
+		}
+
+		final long rank = Math.max(1, (long) Math.ceil(fraction * recorded));
+
+		long seen = 0;
+
+		for (int i = 0; i < BUCKETS; ++i)
+		{
+			seen += snapshot[i];
+
+			if (seen >= rank)
+			{
+				return highest(i);
+			}
+		}
+
+		return this.getMax();
+	}
+
+	/**
+	 * Record a value.
+	 *
+	 * @param nanos
+	 *            the value, negative values are recorded as 0
+	 */
+	public void record(final long nanos)
+	{
+		final int bucket = bucket(nanos < 0 ? 0 : nanos);
+
+		LongAdder count = this.counts.get(bucket);
+
+		if (count == null)
+		{
+			this.counts.compareAndSet(bucket, null, new LongAdder());
+
+			count = this.counts.get(bucket);
+		}
+
+		count.increment();
+
+		this.total.increment();
+	}
+
+	/**
+	 * Forget all recorded values.
+	 */
+	public void reset()
+	{
+		for (int i = 0; i < BUCKETS; ++i)
+		{
+			final LongAdder count = this.counts.get(i);
+
+			if (count != null)
+			{
+				count.reset();
+			}
+		}
+
+		this.total.reset();
+	}
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Locale;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Exports {@link InMemoryMetrics} over JMX.
+ *
+ * <p>
+ * E.G:
+ * </p>
+ *
+ * <pre>
+ * InMemoryMetrics metrics = new InMemoryMetrics();
+ *
+ * ValidationMetrics.register(metrics, &quot;orders&quot;);
+ * </pre>
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public class ValidationMetrics implements ValidationMetricsMBean
+{
+	/**
+	 * The JMX domain that metrics are registered in.
+	 */
+	public static final String DOMAIN = "com.pureperfect.purview";
+
+	/**
+	 * The name metrics with the given name are registered under.
+	 *
+	 * @param name
+	 *            the name of the metrics, for example the name of the
+	 *            application
+	 * @return the object name
+	 * @throws JMException
+	 *             if the name is not valid
+	 */
+	public static ObjectName objectName(final String name) throws JMException
+	{
+		return new ObjectName(DOMAIN + ":type=ValidationMetrics,name="
+				+ ObjectName.quote(name));
+	}
+
+	/**
+	 * Register metrics with the platform MBean server.
+	 *
+	 * @param metrics
+	 *            the metrics
+	 * @param name
+	 *            the name of the metrics
+	 * @return the name they were registered under
+	 * @throws JMException
+	 *             if they cannot be registered
+	 */
+	public static ObjectName register(final InMemoryMetrics metrics,
+			final String name) throws JMException
+	{
+		final ObjectName objectName = objectName(name);
+
+		ManagementFactory.getPlatformMBeanServer().registerMBean(
+				new ValidationMetrics(metrics), objectName);
+
+		return objectName;
+	}
+
+	/**
+	 * Unregister metrics from the platform MBean server.
+	 *
+	 * @param name
+	 *            the name of the metrics
+	 * @throws JMException
+	 *             if they cannot be unregistered
+	 */
+	public static void unregister(final String name) throws JMException
+	{
+		final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+		final ObjectName objectName = objectName(name);
+
+		if (server.isRegistered(objectName))
+		{
+			server.unregisterMBean(objectName);
+		}
+	}
+
+	private final InMemoryMetrics metrics;
+
+	/**
+	 * Create the MBean.
+	 *
+	 * @param metrics
+	 *            the metrics to export
+	 */
+	public ValidationMetrics(final InMemoryMetrics metrics)
+	{
+		this.metrics = metrics;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public String[] getEntries()
+	{
+		final List<ValidatorStatistics> statistics = this.metrics
+				.getStatistics();
+
+		final String[] entries = new String[statistics.size()];
+
+		for (int i = 0; i < entries.length; ++i)
+		{
+			final ValidatorStatistics s = statistics.get(i);
+
+			entries[i] = String.format(Locale.US,
+					"%s invocations=%d failures=%d meanNanos=%.0f"
+							+ " p50Nanos=%d p99Nanos=%d maxNanos=%d", s, s
+							.getInvocations(), s.getFailures(), s
+							.getMeanNanos(), s.getLatency().getPercentile(0.5),
+					s.getLatency().getPercentile(0.99), s.getLatency()
+							.getMax());
+		}
+
+		return entries;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public long getFailures()
+	{
+		long failures = 0;
+
+		for (final ValidatorStatistics statistics : this.metrics
+				.getStatistics())
+		{
+			failures += statistics.getFailures();
+		}
+
+		return failures;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public long getInvocations()
+	{
+		long invocations = 0;
+
+		for (final ValidatorStatistics statistics : this.metrics
+				.getStatistics())
+		{
+			invocations += statistics.getInvocations();
+		}
+
+		return invocations;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public long getTotalNanos()
+	{
+		long nanos = 0;
+
+		for (final ValidatorStatistics statistics : this.metrics
+				.getStatistics())
+		{
+			nanos += statistics.getTotalNanos();
+		}
+
+		return nanos;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void reset()
+	{
+		this.metrics.reset();
+	}
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.metrics;
+
+/**
+ * The JMX management interface of {@link ValidationMetrics}.
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public interface ValidationMetricsMBean
+{
+	/**
+	 * One line per validator with its invocations, failures and latency, the
+	 * validator that took the most time in total first.
+	 *
+	 * @return the lines
+	 */
+	public String[] getEntries();
+
+	/**
+	 * The number of validators failed, summed over every validator.
+	 *
+	 * @return the number of failures
+	 */
+	public long getFailures();
+
+	/**
+	 * The number of validators run, summed over every validator.
+	 *
+	 * @return the number of invocations
+	 */
+	public long getInvocations();
+
+	/**
+	 * The time spent in validators, summed over every validator.
+	 *
+	 * @return the time in nanoseconds
+	 */
+	public long getTotalNanos();
+
+	/**
+	 * Set every counter back to zero.
+	 */
+	public void reset();
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.metrics;
+
+import java.lang.reflect.Member;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The counters for one validator on one field, method or class.
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public class ValidatorStatistics
+{
+	private final LongAdder failures = new LongAdder();
+
+	private final LatencyHistogram latency = new LatencyHistogram();
+
+	private final Object target;
+
+	private final LongAdder totalNanos = new LongAdder();
+
+	private final Class<?> type;
+
+	private final Class<?> validatorType;
+
+	ValidatorStatistics(final Class<?> type, final Object target,
+			final Class<?> validatorType)
+	{
+		this.type = type;
+		this.target = target;
+		this.validatorType = validatorType;
+	}
+
+	/**
+	 * The number of times the validator found a problem.
+	 *
+	 * @return the number of failures
+	 */
+	public long getFailures()
+	{
+		return this.failures.sum();
+	}
+
+	/**
+	 * The number of times the validator ran.
+	 *
+	 * @return the number of invocations
+	 */
+	public long getInvocations()
+	{
+		return this.latency.getCount();
+	}
+
+	/**
+	 * The histogram of how long the validator took.
+	 *
+	 * @return the histogram
+	 */
+	public LatencyHistogram getLatency()
+	{
+		return this.latency;
+	}
+
+	/**
+	 * The average time the validator took.
+	 *
+	 * @return the mean in nanoseconds or 0 if it never ran.
+	 */
+	public double getMeanNanos()
+	{
+		final long invocations = this.getInvocations();
+
+		return invocations == 0 ? 0 : (double) this.totalNanos.sum()
+				/ invocations;
+	}
+
+	/**
+	 * The field, method or class that the annotation is attached to.
+	 *
+	 * @return the target
+	 */
+	public Object getTarget()
+	{
+		return this.target;
+	}
+
+	/**
+	 * A short name for the target: the name of the field or method, or the
+	 * simple name of the class.
+	 *
+	 * @return the name
+	 */
+	public String getTargetName()
+	{
+		if (this.target instanceof Member)
+		{
+			return ((Member) this.target).getName()
+					+ (this.target instanceof java.lang.reflect.Method ? "()"
+							: "");
+		}
+
+		if (this.target instanceof Class<?>)
+		{
+			return ((Class<?>) this.target).getSimpleName();
+		}
+
+		return String.valueOf(this.target);
+	}
+
+	/**
+	 * The total time the validator took.
+	 *
+	 * @return the total in nanoseconds
+	 */
+	public long getTotalNanos()
+	{
+		return this.totalNanos.sum();
+	}
+
+	/**
+	 * The class of the validated objects.
+	 *
+	 * @return the class
+	 */
+	public Class<?> getType()
+	{
+		return this.type;
+	}
+
+	/**
+	 * The class of the validator.
+	 *
+	 * @return the validator class
+	 */
+	public Class<?> getValidatorType()
+	{
+		return this.validatorType;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return this.type.getName() + "." + this.getTargetName() + " "
+				+ this.validatorType.getName();
+	}
+
+	void record(final boolean failed, final long nanos)
+	{
+		if (failed)
+		{
+			this.failures.increment();
+		}
+
+		this.totalNanos.add(nanos);
+		this.latency.record(nanos);
+	}
+
+	void reset()
+	{
+		this.failures.reset();
+		this.totalNanos.reset();
+		this.latency.reset();
+	}
+}
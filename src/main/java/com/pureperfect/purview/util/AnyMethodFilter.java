@@ -9,7 +9,7 @@ import java.lang.reflect.Method;
  * @version 1.3
  * @since 1.3
  */
-public class AnyMethodFilter implements MethodFilter
+public class AnyMethodFilter implements MethodFilter, StableFilter
 {
     /**
      * {@inheritDoc}
@@ -0,0 +1,305 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.util;
+
+/**
+ * Character classes for the text validators. ASCII characters are looked up
+ * in a table and everything else falls back to {@link Character}, so the
+ * answers are the same as {@link Character#isDigit(char)},
+ * {@link Character#isLetter(char)}, {@link Character#isLowerCase(char)} and
+ * {@link Character#isUpperCase(char)}.
+ *
+ * <p>
+ * Classes are bit flags that can be combined. {@link #LETTER} is
+ * {@link #LOWER} and {@link #UPPER} together and also matches letters that
+ * have no case.
+ * </p>
+ *
+ * <p>
+ * {@link #isAll(CharSequence, int)} checks whole values. For {@link String}
+ * values it checks eight characters per step by packing them into two longs
+ * of four 16 bit lanes and testing the ASCII ranges of all lanes at once,
+ * only looking at single characters when a step contains a character that is
+ * not ASCII.
+ * </p>
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public final class CharClasses
+{
+	/**
+	 * Digits.
+	 */
+	public static final int DIGIT = 1;
+
+	/**
+	 * Lower case letters.
+	 */
+	public static final int LOWER = 2;
+
+	/**
+	 * Upper case letters.
+	 */
+	public static final int UPPER = 4;
+
+	/**
+	 * Letters.
+	 */
+	public static final int LETTER = LOWER | UPPER;
+
+	/**
+	 * Letters and digits.
+	 */
+	public static final int LETTER_OR_DIGIT = LETTER | DIGIT;
+
+	private static final byte[] ASCII = new byte[128];
+
+	/*
+	 * The 0x80 bit of each 16 bit lane.
+	 */
+	private static final long HIGH = 0x0080008000800080L;
+
+	private static final long NOT_ASCII = 0xFF80FF80FF80FF80L;
+
+	private static final long LANES = 0x0001000100010001L;
+
+	static
+	{
+		for (char c = '0'; c <= '9'; ++c)
+		{
+			ASCII[c] = DIGIT;
+		}
+
+		for (char c = 'a'; c <= 'z'; ++c)
+		{
+			ASCII[c] = LOWER;
+		}
+
+		for (char c = 'A'; c <= 'Z'; ++c)
+		{
+			ASCII[c] = UPPER;
+		}
+	}
+
+	/**
+	 * Whether or not the character is in any of the classes.
+	 *
+	 * @param c
+	 *            the character
+	 * @param classes
+	 *            the classes
+	 * @return true if it is.
+	 */
+	public static boolean is(final char c, final int classes)
+	{
+		if (c < 128)
+		{
+			return (ASCII[c] & classes) != 0;
+		}
+
+		if ((classes & DIGIT) != 0 && Character.isDigit(c))
+		{
+			return true;
+		}
+
+		if ((classes & LETTER) == LETTER)
+		{
+			return Character.isLetter(c);
+		}
+
+		if ((classes & LOWER) != 0)
+		{
+			return Character.isLowerCase(c);
+		}
+
+		if ((classes & UPPER) != 0)
+		{
+			return Character.isUpperCase(c);
+		}
+
+		return false;
+	}
+
+	/**
+	 * Whether or not every character of the value is in any of the classes.
+	 *
+	 * @param value
+	 *            the value
+	 * @param classes
+	 *            the classes
+	 * @return true if they are. True for an empty value.
+	 */
+	public static boolean isAll(final CharSequence value, final int classes)
+	{
+		final int length = value.length();
+
+		int i = 0;
+
+		if (value instanceof String)
+		{
+			/*
+			 * A concrete String keeps charAt monomorphic so the packing is
+			 * cheap.
+			 */
+			final String string = (String) value;
+
+			for (; i + 8 <= length; i += 8)
+			{
+				final long first = pack(string, i);
+				final long second = pack(string, i + 4);
+
+				if (((first | second) & NOT_ASCII) == 0)
+				{
+					if ((inClasses(first, classes) & inClasses(second,
+							classes)) != HIGH)
+					{
+						return false;
+					}
+				}
+				else
+				{
+					for (int j = i; j < i + 8; ++j)
+					{
+						if (!is(string.charAt(j), classes))
+						{
+							return false;
+						}
+					}
+				}
+			}
+		}
+
+		for (; i < length; ++i)
+		{
+			if (!is(value.charAt(i), classes))
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Whether or not the character is a digit.
+	 *
+	 * @param c
+	 *            the character
+	 * @return true if it is.
+	 */
+	public static boolean isDigit(final char c)
+	{
+		return is(c, DIGIT);
+	}
+
+	/**
+	 * Whether or not the character is a letter.
+	 *
+	 * @param c
+	 *            the character
+	 * @return true if it is.
+	 */
+	public static boolean isLetter(final char c)
+	{
+		return is(c, LETTER);
+	}
+
+	/**
+	 * Whether or not the character is a letter or a digit.
+	 *
+	 * @param c
+	 *            the character
+	 * @return true if it is.
+	 */
+	public static boolean isLetterOrDigit(final char c)
+	{
+		return is(c, LETTER_OR_DIGIT);
+	}
+
+	/**
+	 * Whether or not the character is a lower case letter.
+	 *
+	 * @param c
+	 *            the character
+	 * @return true if it is.
+	 */
+	public static boolean isLowerCase(final char c)
+	{
+		return is(c, LOWER);
+	}
+
+	/**
+	 * Whether or not the character is an upper case letter.
+	 *
+	 * @param c
+	 *            the character
+	 * @return true if it is.
+	 */
+	public static boolean isUpperCase(final char c)
+	{
+		return is(c, UPPER);
+	}
+
+	/*
+	 * Sets the high bit of each ASCII lane that is between low and high
+	 * (inclusive). Lanes stay below 0x100 so no carry crosses a lane.
+	 */
+	private static long inRange(final long word, final char low,
+			final char high)
+	{
+		final long atLeast = word + LANES * (0x80 - low);
+		final long above = word + LANES * (0x80 - high - 1);
+
+		return atLeast & ~above & HIGH;
+	}
+
+	private static long inClasses(final long word, final int classes)
+	{
+		long in = 0;
+
+		if ((classes & DIGIT) != 0)
+		{
+			in |= inRange(word, '0', '9');
+		}
+
+		if ((classes & LOWER) != 0)
+		{
+			in |= inRange(word, 'a', 'z');
+		}
+
+		if ((classes & UPPER) != 0)
+		{
+			in |= inRange(word, 'A', 'Z');
+		}
+
+		return in;
+	}
+
+	private static long pack(final String value, final int i)
+	{
+		return ((long) value.charAt(i) << 48)
+				| ((long) value.charAt(i + 1) << 32)
+				| ((long) value.charAt(i + 2) << 16) | value.charAt(i + 3);
+	}
+
+	private CharClasses()
+	{
+		// hide constructor
+	}
+}
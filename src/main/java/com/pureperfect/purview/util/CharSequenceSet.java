@@ -0,0 +1,245 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.util;
+
+/**
+ * An immutable set of strings that can be queried with any
+ * {@link CharSequence} without converting it to a <code>String</code> first.
+ * When the set ignores case, the values are case folded once when the set is
+ * built so that lookups only need to fold the characters of the candidate.
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public final class CharSequenceSet
+{
+	/**
+	 * Create a new set.
+	 *
+	 * @param values
+	 *            the values in the set
+	 * @param ignoreCase
+	 *            whether or not lookups should ignore case
+	 * @return the new set
+	 */
+	public static CharSequenceSet of(final String[] values,
+			final boolean ignoreCase)
+	{
+		return new CharSequenceSet(values, ignoreCase);
+	}
+
+	/*
+	 * Same folding that String.equalsIgnoreCase uses for each character.
+	 */
+	private static char fold(final char c)
+	{
+		return Character.toLowerCase(Character.toUpperCase(c));
+	}
+
+	private static int spread(final int h)
+	{
+		return h ^ (h >>> 16);
+	}
+
+	private final int[] hashes;
+
+	private final boolean ignoreCase;
+
+	private final int mask;
+
+	private final int size;
+
+	private final String[] slots;
+
+	private CharSequenceSet(final String[] values, final boolean ignoreCase)
+	{
+		this.ignoreCase = ignoreCase;
+
+		int capacity = 2;
+
+		while (capacity < values.length * 2)
+		{
+			capacity <<= 1;
+		}
+
+		this.slots = new String[capacity];
+		this.hashes = new int[capacity];
+		this.mask = capacity - 1;
+
+		int count = 0;
+
+		for (final String value : values)
+		{
+			if (value == null)
+			{
+				continue;
+			}
+
+			final String key = ignoreCase ? this.foldAll(value) : value;
+
+			final int h = this.hash(value, 0, value.length());
+
+			int i = h & this.mask;
+
+			while (this.slots[i] != null && !this.slots[i].equals(key))
+			{
+				i = (i + 1) & this.mask;
+			}
+
+			if (this.slots[i] == null)
+			{
+				this.slots[i] = key;
+				this.hashes[i] = h;
+				++count;
+			}
+		}
+
+		this.size = count;
+	}
+
+	/**
+	 * Whether or not the set contains the value.
+	 *
+	 * @param value
+	 *            the value to look for
+	 * @return true if the value is in the set.
+	 */
+	public boolean contains(final CharSequence value)
+	{
+		return this.contains(value, 0, value.length());
+	}
+
+	/**
+	 * Whether or not the set contains the characters of the value between
+	 * <code>start</code> (inclusive) and <code>end</code> (exclusive).
+	 *
+	 * @param value
+	 *            the value to look in
+	 * @param start
+	 *            the index of the first character
+	 * @param end
+	 *            the index after the last character
+	 * @return true if that range of characters is in the set.
+	 */
+	public boolean contains(final CharSequence value, final int start,
+			final int end)
+	{
+		final int h = this.hash(value, start, end);
+
+		for (int i = h & this.mask;; i = (i + 1) & this.mask)
+		{
+			final String slot = this.slots[i];
+
+			if (slot == null)
+			{
+				return false;
+			}
+
+			if (this.hashes[i] == h && this.matches(slot, value, start, end))
+			{
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Whether or not lookups ignore case.
+	 *
+	 * @return whether or not lookups ignore case.
+	 */
+	public boolean isIgnoreCase()
+	{
+		return this.ignoreCase;
+	}
+
+	/**
+	 * The number of distinct values in the set.
+	 *
+	 * @return The number of distinct values in the set.
+	 */
+	public int size()
+	{
+		return this.size;
+	}
+
+	private String foldAll(final String value)
+	{
+		final char[] chars = value.toCharArray();
+
+		for (int i = 0; i < chars.length; ++i)
+		{
+			chars[i] = fold(chars[i]);
+		}
+
+		return new String(chars);
+	}
+
+	private int hash(final CharSequence value, final int start, final int end)
+	{
+		int h = 0;
+
+		if (this.ignoreCase)
+		{
+			for (int i = start; i < end; ++i)
+			{
+				h = 31 * h + fold(value.charAt(i));
+			}
+		}
+		else
+		{
+			for (int i = start; i < end; ++i)
+			{
+				h = 31 * h + value.charAt(i);
+			}
+		}
+
+		return spread(h);
+	}
+
+	private boolean matches(final String slot, final CharSequence value,
+			final int start, final int end)
+	{
+		if (slot.length() != end - start)
+		{
+			return false;
+		}
+
+		if (this.ignoreCase)
+		{
+			for (int i = start, j = 0; i < end; ++i, ++j)
+			{
+				if (slot.charAt(j) != fold(value.charAt(i)))
+				{
+					return false;
+				}
+			}
+		}
+		else
+		{
+			for (int i = start, j = 0; i < end; ++i, ++j)
+			{
+				if (slot.charAt(j) != value.charAt(i))
+				{
+					return false;
+				}
+			}
+		}
+
+		return true;
+	}
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.util;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Convert strings from annotation attributes to the type of the field or
+ * parameter they are meant for.
+ *
+ * <p>
+ * Supported types are strings, primitives and their wrappers, characters,
+ * {@link BigDecimal}, {@link BigInteger}, enums (by constant name) and any
+ * other class with a public static <code>valueOf(String)</code> method or a
+ * public constructor that takes a string.
+ * </p>
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public final class Conversions
+{
+	/**
+	 * Convert the value to the type.
+	 *
+	 * @param value
+	 *            the value
+	 * @param type
+	 *            the type to convert to
+	 * @return the converted value.
+	 * @throws IllegalArgumentException
+	 *             if the value cannot be converted to the type. Numbers that
+	 *             cannot be parsed throw {@link NumberFormatException}.
+	 */
+	@SuppressWarnings(
+	{ "unchecked", "rawtypes" })
+	public static Object convert(final String value, final Class<?> type)
+	{
+		if (type == String.class || type == CharSequence.class
+				|| type == Object.class)
+		{
+			return value;
+		}
+
+		if (type == int.class || type == Integer.class)
+		{
+			return Integer.valueOf(value);
+		}
+
+		if (type == long.class || type == Long.class)
+		{
+			return Long.valueOf(value);
+		}
+
+		if (type == double.class || type == Double.class)
+		{
+			return Double.valueOf(value);
+		}
+
+		if (type == float.class || type == Float.class)
+		{
+			return Float.valueOf(value);
+		}
+
+		if (type == short.class || type == Short.class)
+		{
+			return Short.valueOf(value);
+		}
+
+		if (type == byte.class || type == Byte.class)
+		{
+			return Byte.valueOf(value);
+		}
+
+		if (type == boolean.class || type == Boolean.class)
+		{
+			if ("true".equalsIgnoreCase(value))
+			{
+				return Boolean.TRUE;
+			}
+
+			if ("false".equalsIgnoreCase(value))
+			{
+				return Boolean.FALSE;
+			}
+
+			throw new IllegalArgumentException("\"" + value
+					+ "\" is not a boolean.");
+		}
+
+		if (type == char.class || type == Character.class)
+		{
+			if (value.length() != 1)
+			{
+				throw new IllegalArgumentException("\"" + value
+						+ "\" is not a single character.");
+			}
+
+			return Character.valueOf(value.charAt(0));
+		}
+
+		if (type == BigDecimal.class)
+		{
+			return new BigDecimal(value);
+		}
+
+		if (type == BigInteger.class)
+		{
+			return new BigInteger(value);
+		}
+
+		if (type.isEnum())
+		{
+			return Enum.valueOf((Class) type, value);
+		}
+
+		try
+		{
+			try
+			{
+				final Method valueOf = type.getMethod("valueOf", String.class);
+
+				if (Modifier.isStatic(valueOf.getModifiers())
+						&& type.isAssignableFrom(valueOf.getReturnType()))
+				{
+					return valueOf.invoke(null, value);
+				}
+			}
+			catch (final NoSuchMethodException e)
+			{
+				// try a constructor
+			}
+
+			try
+			{
+				final Constructor<?> constructor = type
+						.getConstructor(String.class);
+
+				return constructor.newInstance(value);
+			}
+			catch (final NoSuchMethodException e)
+			{
+				// give up
+			}
+		}
+		catch (final InvocationTargetException e)
+		{
+			if (e.getCause() instanceof RuntimeException)
+			{
+				throw (RuntimeException) e.getCause();
+			}
+
+			throw new IllegalArgumentException(e.getCause());
+		}
+		catch (final Exception e)
+		{
+			throw new IllegalArgumentException(e);
+		}
+
+		throw new IllegalArgumentException("Cannot convert \"" + value
+				+ "\" to " + type.getName() + ".");
+	}
+
+	private Conversions()
+	{
+		// hide constructor
+	}
+}
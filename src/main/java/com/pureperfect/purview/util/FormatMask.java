@@ -0,0 +1,457 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.util;
+
+/**
+ * A compiled format mask such as <code>###-###-####</code> or
+ * <code>#####[-####]</code>. Masks are compiled once into per character
+ * transition tables and matched against any {@link CharSequence} without
+ * allocating.
+ *
+ * <p>
+ * Mask syntax:
+ * </p>
+ *
+ * <ul>
+ * <li><code>#</code> matches a digit.</li>
+ * <li><code>?</code> matches a letter.</li>
+ * <li><code>*</code> matches a letter or a digit.</li>
+ * <li><code>[</code> ... <code>]</code> makes the enclosed part optional.
+ * Optional parts may be nested.</li>
+ * <li><code>\</code> matches the next mask character literally.</li>
+ * <li>Any other character matches itself.</li>
+ * </ul>
+ *
+ * <p>
+ * A mask may have at most 63 characters to match, not counting brackets and
+ * escapes. Instances are immutable and safe to share between threads.
+ * </p>
+ *
+ * <p>
+ * Masks made only of digits and literals, such as zip code, phone number and
+ * social security number masks, are also compiled to a range of characters
+ * per position. Values of the right length are checked against those ranges
+ * without branching, and only values that fail, which may still contain
+ * digits from other scripts, go through the transition tables.
+ * </p>
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public final class FormatMask
+{
+	private static final int MAX_POSITIONS = 63;
+
+	/**
+	 * Compile a mask.
+	 *
+	 * @param mask
+	 *            the mask
+	 * @return the compiled mask
+	 * @throws IllegalArgumentException
+	 *             if the mask is not valid.
+	 */
+	public static FormatMask compile(final String mask)
+	{
+		return new FormatMask(mask);
+	}
+
+	private final long accept;
+
+	private final long[] ascii = new long[128];
+
+	/*
+	 * Positions reachable from each position by skipping optional parts,
+	 * including the position itself.
+	 */
+	private final long[] closure;
+
+	private final long digits;
+
+	/*
+	 * The lowest and highest character at each position of a mask without
+	 * optional parts or letters, or null.
+	 */
+	private final char[] high;
+
+	private final char[] low;
+
+	private final long letters;
+
+	private final String mask;
+
+	/*
+	 * Literals outside of ASCII are rare, so they are matched by scanning.
+	 */
+	private final char[] otherLiterals;
+
+	private final long[] otherLiteralPositions;
+
+	private final long start;
+
+	private FormatMask(final String mask)
+	{
+		this.mask = mask;
+
+		final int length = mask.length();
+
+		final long[] skips = new long[MAX_POSITIONS + 1];
+		final int[] openAt = new int[length + 1];
+
+		final StringBuilder others = new StringBuilder();
+		final long[] otherPositions = new long[MAX_POSITIONS];
+
+		long digitPositions = 0;
+		long letterPositions = 0;
+
+		int positions = 0;
+		int depth = 0;
+
+		for (int i = 0; i < length; ++i)
+		{
+			char c = mask.charAt(i);
+
+			if (c == '[')
+			{
+				openAt[depth++] = positions;
+				continue;
+			}
+
+			if (c == ']')
+			{
+				if (depth == 0)
+				{
+					throw new IllegalArgumentException("Unbalanced ] in mask "
+							+ mask);
+				}
+
+				final int open = openAt[--depth];
+
+				/*
+				 * Skipping the optional part jumps from its first position to
+				 * the position after it.
+				 */
+				if (positions > open)
+				{
+					skips[open] |= 1L << positions;
+				}
+
+				continue;
+			}
+
+			if (positions == MAX_POSITIONS)
+			{
+				throw new IllegalArgumentException("Mask is longer than "
+						+ MAX_POSITIONS + " characters: " + mask);
+			}
+
+			final long bit = 1L << positions;
+
+			if (c == '\\')
+			{
+				if (++i == length)
+				{
+					throw new IllegalArgumentException(
+							"Mask ends with an escape: " + mask);
+				}
+
+				c = mask.charAt(i);
+
+				this.literal(c, bit, others, otherPositions);
+			}
+			else if (c == '#')
+			{
+				digitPositions |= bit;
+			}
+			else if (c == '?')
+			{
+				letterPositions |= bit;
+			}
+			else if (c == '*')
+			{
+				digitPositions |= bit;
+				letterPositions |= bit;
+			}
+			else
+			{
+				this.literal(c, bit, others, otherPositions);
+			}
+
+			++positions;
+		}
+
+		if (depth != 0)
+		{
+			throw new IllegalArgumentException("Unbalanced [ in mask " + mask);
+		}
+
+		this.digits = digitPositions;
+		this.letters = letterPositions;
+
+		for (char c = 0; c < 128; ++c)
+		{
+			if (CharClasses.isDigit(c))
+			{
+				this.ascii[c] |= digitPositions;
+			}
+			else if (CharClasses.isLetter(c))
+			{
+				this.ascii[c] |= letterPositions;
+			}
+		}
+
+		this.otherLiterals = others.toString().toCharArray();
+		this.otherLiteralPositions = new long[this.otherLiterals.length];
+
+		System.arraycopy(otherPositions, 0, this.otherLiteralPositions, 0,
+				this.otherLiterals.length);
+
+		/*
+		 * Closures are computed from the last position back, so that the
+		 * closure of a jump target is already known.
+		 */
+		this.closure = new long[positions + 1];
+
+		for (int p = positions; p > -1; --p)
+		{
+			long reach = 1L << p;
+			long targets = skips[p];
+
+			while (targets != 0)
+			{
+				reach |= this.closure[Long.numberOfTrailingZeros(targets)];
+				targets &= targets - 1;
+			}
+
+			this.closure[p] = reach;
+		}
+
+		this.accept = 1L << positions;
+		this.start = this.closure[0];
+
+		boolean fixed = letterPositions == 0;
+
+		for (int p = 0; p < positions; ++p)
+		{
+			fixed &= this.closure[p] == 1L << p;
+		}
+
+		if (fixed)
+		{
+			this.low = new char[positions];
+			this.high = new char[positions];
+
+			this.ranges(positions);
+		}
+		else
+		{
+			this.low = null;
+			this.high = null;
+		}
+	}
+
+	/**
+	 * The mask this was compiled from.
+	 *
+	 * @return the mask this was compiled from.
+	 */
+	public String getMask()
+	{
+		return this.mask;
+	}
+
+	/**
+	 * Whether or not the whole value matches the mask.
+	 *
+	 * @param value
+	 *            the value
+	 * @return true if it matches.
+	 */
+	public boolean matches(final CharSequence value)
+	{
+		return this.matches(value, 0, value.length());
+	}
+
+	/**
+	 * Whether or not the characters of the value between <code>start</code>
+	 * (inclusive) and <code>end</code> (exclusive) match the mask.
+	 *
+	 * @param value
+	 *            the value
+	 * @param start
+	 *            the index of the first character
+	 * @param end
+	 *            the index after the last character
+	 * @return true if they match.
+	 */
+	public boolean matches(final CharSequence value, final int start,
+			final int end)
+	{
+		if (this.low != null)
+		{
+			final int length = this.low.length;
+
+			if (end - start != length)
+			{
+				return false;
+			}
+
+			/*
+			 * Negative if any character is outside of its range.
+			 */
+			int outside = 0;
+
+			for (int i = 0; i < length; ++i)
+			{
+				final char c = value.charAt(start + i);
+
+				outside |= (c - this.low[i]) | (this.high[i] - c);
+			}
+
+			if (outside >= 0)
+			{
+				return true;
+			}
+		}
+
+		long state = this.start;
+
+		for (int i = start; i < end && state != 0; ++i)
+		{
+			long moved = ((state & this.transitions(value.charAt(i))) << 1);
+
+			/*
+			 * Follow the optional part skips from each new position.
+			 */
+			long next = 0;
+
+			while (moved != 0)
+			{
+				next |= this.closure[Long.numberOfTrailingZeros(moved)];
+				moved &= moved - 1;
+			}
+
+			state = next;
+		}
+
+		return (state & this.accept) != 0;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return this.mask;
+	}
+
+	private void literal(final char c, final long bit,
+			final StringBuilder others, final long[] otherPositions)
+	{
+		if (c < 128)
+		{
+			this.ascii[c] |= bit;
+			return;
+		}
+
+		for (int i = 0; i < others.length(); ++i)
+		{
+			if (others.charAt(i) == c)
+			{
+				otherPositions[i] |= bit;
+				return;
+			}
+		}
+
+		otherPositions[others.length()] = bit;
+		others.append(c);
+	}
+
+	/*
+	 * The range of each position of a mask without optional parts or letters.
+	 */
+	private void ranges(final int positions)
+	{
+		for (int p = 0; p < positions; ++p)
+		{
+			final long bit = 1L << p;
+
+			if ((this.digits & bit) != 0)
+			{
+				this.low[p] = '0';
+				this.high[p] = '9';
+
+				continue;
+			}
+
+			char c = 0;
+
+			while (c < 128 && (this.ascii[c] & bit) == 0)
+			{
+				++c;
+			}
+
+			if (c == 128)
+			{
+				for (int i = 0; i < this.otherLiterals.length; ++i)
+				{
+					if ((this.otherLiteralPositions[i] & bit) != 0)
+					{
+						c = this.otherLiterals[i];
+					}
+				}
+			}
+
+			this.low[p] = c;
+			this.high[p] = c;
+		}
+	}
+
+	/*
+	 * The positions that can consume the character.
+	 */
+	private long transitions(final char c)
+	{
+		if (c < 128)
+		{
+			return this.ascii[c];
+		}
+
+		long positions = 0;
+
+		if (CharClasses.isDigit(c))
+		{
+			positions |= this.digits;
+		}
+		else if (CharClasses.isLetter(c))
+		{
+			positions |= this.letters;
+		}
+
+		for (int i = 0; i < this.otherLiterals.length; ++i)
+		{
+			if (this.otherLiterals[i] == c)
+			{
+				positions |= this.otherLiteralPositions[i];
+			}
+		}
+
+		return positions;
+	}
+}
@@ -26,7 +26,7 @@ import java.lang.reflect.Method;
  * @version 1.1
  * @since 1.0
  */
-public class GetterMethodFilter implements MethodFilter
+public class GetterMethodFilter implements MethodFilter, StableFilter
 {
 	private static final GetterMethodFilter defaultInstance = new GetterMethodFilter();
 
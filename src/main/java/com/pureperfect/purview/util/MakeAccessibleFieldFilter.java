@@ -19,13 +19,16 @@ package com.pureperfect.purview.util;
 import java.lang.reflect.Field;
 
 /**
- * Make the field accessible by calling field.setAccessible(true).
+ * Make the field accessible by calling field.setAccessible(true). The filter
+ * is a {@link StableFilter}, so when it is used through
+ * {@link ReflectionUtils#getDeclaredFieldsOf(Class, FieldFilter)} each field is
+ * only made accessible once.
  * 
  * @author J. Chris Folsom
  * @version 1.1
  * @since 1.0
  */
-public class MakeAccessibleFieldFilter implements FieldFilter
+public class MakeAccessibleFieldFilter implements FieldFilter, StableFilter
 {
 	private static MakeAccessibleFieldFilter defaultInstance = new MakeAccessibleFieldFilter();
 
@@ -46,6 +49,6 @@ public class MakeAccessibleFieldFilter implements FieldFilter
 	public boolean include(final Field field)
 	{
 		field.setAccessible(true);
-		return field.isAccessible();
+		return true;
 	}
 }
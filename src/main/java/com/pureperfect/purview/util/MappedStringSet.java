@@ -0,0 +1,420 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A read only set of strings stored off-heap in a memory mapped file. The
+ * file is built ahead of time by {@link MappedStringSetWriter} and contains a
+ * minimal perfect hash of the entries, so each lookup reads one displacement,
+ * one offset and the bytes of at most one entry. An optional Bloom filter in
+ * front of the hash rejects most misses without touching the entry data.
+ *
+ * <p>
+ * Instances are immutable and safe to share between threads.
+ * </p>
+ *
+ * <p>
+ * File layout (big-endian):
+ * </p>
+ *
+ * <pre>
+ * int    magic ("PVSS")
+ * int    version
+ * int    flags (1 = entries are case folded)
+ * int    number of entries
+ * int    number of buckets
+ * long   hash seed
+ * int    number of Bloom filter words (0 = no filter)
+ * int    number of Bloom filter hashes
+ * int    length of the entry data
+ * long[] Bloom filter
+ * int[]  displacement per bucket
+ * int[]  data offset per slot
+ * byte[] entries, each a varint byte length followed by UTF-8
+ * </pre>
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public final class MappedStringSet
+{
+	static final int FLAG_IGNORE_CASE = 1;
+
+	static final int HEADER_LENGTH = 40;
+
+	static final int MAGIC = 0x50565353;
+
+	static final int VERSION = 2;
+
+	private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+	/*
+	 * Same folding that String.equalsIgnoreCase uses for each character.
+	 */
+	static char fold(final char c)
+	{
+		return Character.toLowerCase(Character.toUpperCase(c));
+	}
+
+	/*
+	 * 64 bit hash of a range of characters. Different seeds give different
+	 * collisions, so a writer can pick another seed when two entries collide.
+	 */
+	static long hash(final CharSequence value, final int start,
+			final int end, final boolean ignoreCase, final long seed)
+	{
+		long h = seed ^ (end - start) * GOLDEN;
+
+		if (ignoreCase)
+		{
+			for (int i = start; i < end; ++i)
+			{
+				h = (h ^ fold(value.charAt(i))) * 0x100000001B3L;
+			}
+		}
+		else
+		{
+			for (int i = start; i < end; ++i)
+			{
+				h = (h ^ value.charAt(i)) * 0x100000001B3L;
+			}
+		}
+
+		return mix(h);
+	}
+
+	static long mix(long h)
+	{
+		h ^= h >>> 33;
+		h *= 0xFF51AFD7ED558CCDL;
+		h ^= h >>> 33;
+		h *= 0xC4CEB9FE1A85EC53L;
+		h ^= h >>> 33;
+
+		return h;
+	}
+
+	static int bucket(final long hash, final int buckets)
+	{
+		return (int) ((hash >>> 1) % buckets);
+	}
+
+	static int slot(final long hash, final int displacement, final int size)
+	{
+		return (int) ((mix(hash + (displacement + 1) * GOLDEN) >>> 1) % size);
+	}
+
+	/**
+	 * Map a set file into memory.
+	 *
+	 * @param file
+	 *            the file written by {@link MappedStringSetWriter}
+	 * @return the set
+	 * @throws IOException
+	 *             if the file cannot be read or is not a set file.
+	 */
+	public static MappedStringSet open(final File file) throws IOException
+	{
+		final RandomAccessFile raf = new RandomAccessFile(file, "r");
+
+		try
+		{
+			final FileChannel channel = raf.getChannel();
+
+			final long length = channel.size();
+
+			if (length < HEADER_LENGTH || length > Integer.MAX_VALUE)
+			{
+				throw new IOException(file + " is not a valid set file.");
+			}
+
+			/*
+			 * The mapping stays valid after the channel is closed.
+			 */
+			return new MappedStringSet(file, channel.map(
+					FileChannel.MapMode.READ_ONLY, 0, length));
+		}
+		finally
+		{
+			raf.close();
+		}
+	}
+
+	private final int bloomHashes;
+
+	private final int bloomWords;
+
+	private final ByteBuffer buffer;
+
+	private final int buckets;
+
+	private final int dataStart;
+
+	private final int displacementStart;
+
+	private final File file;
+
+	private final boolean ignoreCase;
+
+	private final int offsetStart;
+
+	private final long seed;
+
+	private final int size;
+
+	private MappedStringSet(final File file, final ByteBuffer buffer)
+			throws IOException
+	{
+		this.file = file;
+		this.buffer = buffer;
+
+		if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION)
+		{
+			throw new IOException(file + " is not a valid set file.");
+		}
+
+		this.ignoreCase = (buffer.getInt(8) & FLAG_IGNORE_CASE) != 0;
+		this.size = buffer.getInt(12);
+		this.buckets = buffer.getInt(16);
+		this.seed = buffer.getLong(20);
+		this.bloomWords = buffer.getInt(28);
+		this.bloomHashes = buffer.getInt(32);
+
+		final int dataLength = buffer.getInt(36);
+
+		this.displacementStart = HEADER_LENGTH + this.bloomWords * 8;
+		this.offsetStart = this.displacementStart + this.buckets * 4;
+		this.dataStart = this.offsetStart + this.size * 4;
+
+		if ((long) this.dataStart + dataLength != buffer.capacity())
+		{
+			throw new IOException(file + " is truncated or corrupt.");
+		}
+	}
+
+	/**
+	 * Whether or not the set contains the value.
+	 *
+	 * @param value
+	 *            the value to look for
+	 * @return true if the value is in the set.
+	 */
+	public boolean contains(final CharSequence value)
+	{
+		return this.contains(value, 0, value.length());
+	}
+
+	/**
+	 * Whether or not the set contains the characters of the value between
+	 * <code>start</code> (inclusive) and <code>end</code> (exclusive).
+	 *
+	 * @param value
+	 *            the value to look in
+	 * @param start
+	 *            the index of the first character
+	 * @param end
+	 *            the index after the last character
+	 * @return true if that range of characters is in the set.
+	 */
+	public boolean contains(final CharSequence value, final int start,
+			final int end)
+	{
+		if (this.size == 0)
+		{
+			return false;
+		}
+
+		final long h = hash(value, start, end, this.ignoreCase, this.seed);
+
+		if (this.bloomWords > 0 && !this.mightContain(h))
+		{
+			return false;
+		}
+
+		final int displacement = this.buffer.getInt(this.displacementStart
+				+ bucket(h, this.buckets) * 4);
+
+		final int slot = slot(h, displacement, this.size);
+
+		final int offset = this.buffer.getInt(this.offsetStart + slot * 4);
+
+		return this.matches(this.dataStart + offset, value, start, end);
+	}
+
+	/**
+	 * The file the set was mapped from.
+	 *
+	 * @return The file the set was mapped from.
+	 */
+	public File getFile()
+	{
+		return this.file;
+	}
+
+	/**
+	 * Whether or not the set was built to ignore case.
+	 *
+	 * @return Whether or not the set was built to ignore case.
+	 */
+	public boolean isIgnoreCase()
+	{
+		return this.ignoreCase;
+	}
+
+	/**
+	 * The number of entries in the set.
+	 *
+	 * @return The number of entries in the set.
+	 */
+	public int size()
+	{
+		return this.size;
+	}
+
+	private char charAt(final CharSequence value, final int i)
+	{
+		final char c = value.charAt(i);
+
+		return this.ignoreCase ? fold(c) : c;
+	}
+
+	/*
+	 * Compare the UTF-8 entry at the position with the characters without
+	 * decoding the entry into a string.
+	 */
+	private boolean matches(int position, final CharSequence value,
+			final int start, final int end)
+	{
+		final ByteBuffer buf = this.buffer;
+
+		int length = 0;
+
+		for (int shift = 0;; shift += 7)
+		{
+			final int b = buf.get(position++);
+
+			length |= (b & 0x7F) << shift;
+
+			if (b >= 0)
+			{
+				break;
+			}
+		}
+
+		final int limit = position + length;
+
+		int i = start;
+
+		while (position < limit)
+		{
+			if (i >= end)
+			{
+				return false;
+			}
+
+			final int b = buf.get(position) & 0xFF;
+
+			if (b < 0x80)
+			{
+				if (this.charAt(value, i) != b)
+				{
+					return false;
+				}
+
+				position += 1;
+				i += 1;
+			}
+			else if ((b & 0xE0) == 0xC0)
+			{
+				final int c = ((b & 0x1F) << 6)
+						| (buf.get(position + 1) & 0x3F);
+
+				if (this.charAt(value, i) != c)
+				{
+					return false;
+				}
+
+				position += 2;
+				i += 1;
+			}
+			else if ((b & 0xF0) == 0xE0)
+			{
+				final int c = ((b & 0x0F) << 12)
+						| ((buf.get(position + 1) & 0x3F) << 6)
+						| (buf.get(position + 2) & 0x3F);
+
+				if (this.charAt(value, i) != c)
+				{
+					return false;
+				}
+
+				position += 3;
+				i += 1;
+			}
+			else
+			{
+				final int cp = ((b & 0x07) << 18)
+						| ((buf.get(position + 1) & 0x3F) << 12)
+						| ((buf.get(position + 2) & 0x3F) << 6)
+						| (buf.get(position + 3) & 0x3F);
+
+				if (i + 1 >= end
+						|| this.charAt(value, i) != Character.highSurrogate(cp)
+						|| this.charAt(value, i + 1) != Character
+								.lowSurrogate(cp))
+				{
+					return false;
+				}
+
+				position += 4;
+				i += 2;
+			}
+		}
+
+		return i == end;
+	}
+
+	private boolean mightContain(final long hash)
+	{
+		final long bits = this.bloomWords * 64L;
+
+		final int h1 = (int) hash;
+		final int h2 = (int) (hash >>> 32);
+
+		for (int k = 1; k <= this.bloomHashes; ++k)
+		{
+			final long bit = ((h1 + k * (long) h2) & Long.MAX_VALUE) % bits;
+
+			final long word = this.buffer.getLong(HEADER_LENGTH
+					+ (int) (bit >>> 6) * 8);
+
+			if ((word & (1L << bit)) == 0)
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+}
@@ -0,0 +1,765 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Builds the files read by {@link MappedStringSet}. Building a set needs about
+ * 25 bytes of heap per entry; reading it needs none.
+ *
+ * <p>
+ * The writer can also be run from the command line:
+ * </p>
+ *
+ * <pre>
+ * java com.pureperfect.purview.util.MappedStringSetWriter [-ignoreCase] [-bloom bitsPerEntry] input.txt output.set
+ * </pre>
+ *
+ * <p>
+ * where <code>input.txt</code> is a UTF-8 file with one entry per line.
+ * Blank lines are skipped and duplicate entries are written once.
+ * </p>
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public class MappedStringSetWriter
+{
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	private static final int AVERAGE_BUCKET_SIZE = 4;
+
+	private static final int MAX_SEEDS = 16;
+
+	/**
+	 * Build a set file from a text file with one entry per line.
+	 *
+	 * @param args
+	 *            see the class documentation
+	 * @throws IOException
+	 *             if the files cannot be read or written
+	 */
+	public static void main(final String[] args) throws IOException
+	{
+		final MappedStringSetWriter writer = new MappedStringSetWriter();
+
+		int i = 0;
+
+		for (; i < args.length && args[i].startsWith("-"); ++i)
+		{
+			if ("-ignoreCase".equals(args[i]))
+			{
+				writer.setIgnoreCase(true);
+			}
+			else if ("-bloom".equals(args[i]) && i + 1 < args.length)
+			{
+				writer.setBloomBitsPerEntry(Integer.parseInt(args[++i]));
+			}
+			else
+			{
+				usage();
+				return;
+			}
+		}
+
+		if (args.length - i != 2)
+		{
+			usage();
+			return;
+		}
+
+		final InputStream in = new FileInputStream(args[i]);
+
+		try
+		{
+			final int count = writer.write(in, new File(args[i + 1]));
+
+			System.out.println("Wrote " + count + " entries to "
+					+ args[i + 1]);
+		}
+		finally
+		{
+			in.close();
+		}
+	}
+
+	private static void usage()
+	{
+		System.err.println("Usage: MappedStringSetWriter [-ignoreCase] "
+				+ "[-bloom bitsPerEntry] input.txt output.set");
+	}
+
+	private int bloomBitsPerEntry;
+
+	private boolean ignoreCase;
+
+	/**
+	 * The number of Bloom filter bits to store per entry. Zero, the default,
+	 * writes no filter. Ten bits per entry rejects about 99% of misses.
+	 *
+	 * @param bloomBitsPerEntry
+	 *            the number of bits per entry
+	 */
+	public void setBloomBitsPerEntry(final int bloomBitsPerEntry)
+	{
+		this.bloomBitsPerEntry = bloomBitsPerEntry;
+	}
+
+	/**
+	 * Whether or not lookups against the set should ignore case.
+	 *
+	 * @param ignoreCase
+	 *            whether or not lookups should ignore case
+	 */
+	public void setIgnoreCase(final boolean ignoreCase)
+	{
+		this.ignoreCase = ignoreCase;
+	}
+
+	/**
+	 * Write a set file from a UTF-8 stream with one entry per line.
+	 *
+	 * @param in
+	 *            the entries
+	 * @param file
+	 *            the set file to write
+	 * @return the number of distinct entries written
+	 * @throws IOException
+	 *             if the stream cannot be read or the file cannot be written
+	 */
+	public int write(final InputStream in, final File file) throws IOException
+	{
+		final BufferedReader reader = new BufferedReader(new InputStreamReader(
+				in, UTF8));
+
+		return this.write(new Iterator<String>()
+		{
+			private String next = this.read();
+
+			public boolean hasNext()
+			{
+				return this.next != null;
+			}
+
+			public String next()
+			{
+				final String result = this.next;
+
+				this.next = this.read();
+
+				return result;
+			}
+
+			public void remove()
+			{
+				throw new UnsupportedOperationException();
+			}
+
+			private String read()
+			{
+				try
+				{
+					for (String s = reader.readLine(); s != null; s = reader
+							.readLine())
+					{
+						s = s.trim();
+
+						if (s.length() > 0)
+						{
+							return s;
+						}
+					}
+
+					return null;
+				}
+				catch (final IOException e)
+				{
+					throw new IllegalStateException(e);
+				}
+			}
+		}, file);
+	}
+
+	/**
+	 * Write a set file.
+	 *
+	 * @param entries
+	 *            the entries in the set
+	 * @param file
+	 *            the set file to write
+	 * @return the number of distinct entries written
+	 * @throws IOException
+	 *             if the file cannot be written
+	 */
+	public int write(final Iterator<String> entries, final File file)
+			throws IOException
+	{
+		/*
+		 * Spool the encoded entries to a temporary file so that only hashes
+		 * and offsets are held on the heap.
+		 */
+		final File data = File.createTempFile("purview", ".data",
+				file.getAbsoluteFile().getParentFile());
+
+		try
+		{
+			long[] hashes = new long[1024];
+			int[] offsets = new int[1024];
+			int count = 0;
+			long dataLength = 0;
+
+			final OutputStream out = new BufferedOutputStream(
+					new FileOutputStream(data), 1 << 16);
+
+			try
+			{
+				while (entries.hasNext())
+				{
+					final String entry = entries.next();
+
+					if (count == hashes.length)
+					{
+						hashes = Arrays.copyOf(hashes, count * 2);
+						offsets = Arrays.copyOf(offsets, count * 2);
+					}
+
+					final byte[] bytes = this.encode(entry);
+
+					hashes[count] = this.hash(entry, this.ignoreCase, 0);
+					offsets[count] = (int) dataLength;
+
+					dataLength += writeVarint(out, bytes.length);
+					out.write(bytes);
+					dataLength += bytes.length;
+
+					if (dataLength > Integer.MAX_VALUE / 2)
+					{
+						throw new IOException(
+								"Set data is limited to 1GB per file.");
+					}
+
+					++count;
+				}
+			}
+			finally
+			{
+				out.close();
+			}
+
+			final ByteBuffer buffer = map(data);
+
+			long seed = 0;
+
+			for (int attempt = 1;; ++attempt)
+			{
+				final Layout layout = this.layout(hashes, offsets, count,
+						buffer, seed);
+
+				if (layout != null)
+				{
+					this.write(file, layout, data, dataLength);
+
+					return layout.size;
+				}
+
+				if (attempt == MAX_SEEDS)
+				{
+					throw new IOException("Two different entries have the "
+							+ "same 64 bit hash with " + MAX_SEEDS
+							+ " different seeds.");
+				}
+
+				/*
+				 * Two different entries collided. Hash everything again with
+				 * another seed.
+				 */
+				seed = MappedStringSet.mix(seed + attempt);
+
+				this.rehash(buffer, hashes, offsets, count, seed);
+			}
+		}
+		finally
+		{
+			data.delete();
+		}
+	}
+
+	private static final class Layout
+	{
+		long[] bloom;
+
+		int buckets;
+
+		int[] displacements;
+
+		int hashes;
+
+		long seed;
+
+		int size;
+
+		int[] slots;
+	}
+
+	private static ByteBuffer map(final File file) throws IOException
+	{
+		final RandomAccessFile raf = new RandomAccessFile(file, "r");
+
+		try
+		{
+			return raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0,
+					raf.length());
+		}
+		finally
+		{
+			raf.close();
+		}
+	}
+
+	private static int writeVarint(final OutputStream out, int value)
+			throws IOException
+	{
+		int written = 1;
+
+		while ((value & ~0x7F) != 0)
+		{
+			out.write((value & 0x7F) | 0x80);
+			value >>>= 7;
+			++written;
+		}
+
+		out.write(value);
+
+		return written;
+	}
+
+	private static String entry(final ByteBuffer data, final int offset)
+	{
+		int i = offset;
+
+		int length = 0;
+
+		for (int shift = 0;; shift += 7)
+		{
+			final int b = data.get(i++);
+
+			length |= (b & 0x7F) << shift;
+
+			if (b >= 0)
+			{
+				break;
+			}
+		}
+
+		final byte[] bytes = new byte[length];
+
+		for (int k = 0; k < length; ++k)
+		{
+			bytes[k] = data.get(i + k);
+		}
+
+		return new String(bytes, UTF8);
+	}
+
+	private static boolean sameEntry(final ByteBuffer data, final int a,
+			final int b)
+	{
+		int i = a;
+		int j = b;
+
+		int length = 0;
+
+		for (int shift = 0;; shift += 7)
+		{
+			final int x = data.get(i++);
+			final int y = data.get(j++);
+
+			if (x != y)
+			{
+				return false;
+			}
+
+			length |= (x & 0x7F) << shift;
+
+			if (x >= 0)
+			{
+				break;
+			}
+		}
+
+		for (int k = 0; k < length; ++k)
+		{
+			if (data.get(i + k) != data.get(j + k))
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private byte[] encode(final String entry)
+	{
+		if (!this.ignoreCase)
+		{
+			return entry.getBytes(UTF8);
+		}
+
+		final char[] chars = entry.toCharArray();
+
+		for (int i = 0; i < chars.length; ++i)
+		{
+			chars[i] = MappedStringSet.fold(chars[i]);
+		}
+
+		return new String(chars).getBytes(UTF8);
+	}
+
+	/*
+	 * The hash of an entry. Package private so that tests can force
+	 * collisions.
+	 */
+	long hash(final CharSequence entry, final boolean ignoreCase,
+			final long seed)
+	{
+		return MappedStringSet.hash(entry, 0, entry.length(), ignoreCase,
+				seed);
+	}
+
+	/*
+	 * Hash and displace: group the entries into buckets, then place the
+	 * largest buckets first, searching for a displacement that sends every
+	 * entry of the bucket to a free slot.
+	 */
+	private Layout layout(final long[] hashes, final int[] offsets,
+			final int rawCount, final ByteBuffer data, final long seed)
+	{
+		/*
+		 * Duplicate entries have the same hash. Find the hashes that occur
+		 * more than once so that only those entries need to be compared.
+		 */
+		final long[] sorted = Arrays.copyOf(hashes, rawCount);
+
+		Arrays.sort(sorted);
+
+		final Map<Long, Integer> repeated = new HashMap<Long, Integer>();
+
+		for (int i = 1; i < rawCount; ++i)
+		{
+			if (sorted[i] == sorted[i - 1])
+			{
+				repeated.put(Long.valueOf(sorted[i]), null);
+			}
+		}
+
+		final long[] uniqueHashes = new long[rawCount];
+		final int[] uniqueOffsets = new int[rawCount];
+
+		int size = 0;
+
+		for (int e = 0; e < rawCount; ++e)
+		{
+			final Long key = Long.valueOf(hashes[e]);
+
+			if (!repeated.isEmpty() && repeated.containsKey(key))
+			{
+				final Integer first = repeated.get(key);
+
+				if (first == null)
+				{
+					repeated.put(key, Integer.valueOf(offsets[e]));
+				}
+				else if (sameEntry(data, first.intValue(), offsets[e]))
+				{
+					continue;
+				}
+				else
+				{
+					return null;
+				}
+			}
+
+			uniqueHashes[size] = hashes[e];
+			uniqueOffsets[size] = offsets[e];
+			++size;
+		}
+
+		final Layout layout = new Layout();
+
+		layout.seed = seed;
+		layout.size = size;
+		layout.buckets = Math.max(1, (size + AVERAGE_BUCKET_SIZE - 1)
+				/ AVERAGE_BUCKET_SIZE);
+		layout.displacements = new int[layout.buckets];
+		layout.slots = new int[size];
+
+		if (size > 0)
+		{
+			this.place(layout, uniqueHashes, uniqueOffsets);
+		}
+
+		this.bloom(layout, uniqueHashes);
+
+		return layout;
+	}
+
+	private void bloom(final Layout layout, final long[] hashes)
+	{
+		if (this.bloomBitsPerEntry <= 0 || layout.size == 0)
+		{
+			layout.bloom = new long[0];
+			return;
+		}
+
+		final long bits = Math.max(64, (long) layout.size
+				* this.bloomBitsPerEntry);
+
+		layout.bloom = new long[(int) ((bits + 63) / 64)];
+		layout.hashes = Math.max(1,
+				(int) Math.round(this.bloomBitsPerEntry * Math.log(2)));
+
+		final long total = layout.bloom.length * 64L;
+
+		for (int e = 0; e < layout.size; ++e)
+		{
+			final long hash = hashes[e];
+
+			final int h1 = (int) hash;
+			final int h2 = (int) (hash >>> 32);
+
+			for (int k = 1; k <= layout.hashes; ++k)
+			{
+				final long bit = ((h1 + k * (long) h2) & Long.MAX_VALUE)
+						% total;
+
+				layout.bloom[(int) (bit >>> 6)] |= 1L << bit;
+			}
+		}
+	}
+
+	private void place(final Layout layout, final long[] hashes,
+			final int[] offsets)
+	{
+		final int size = layout.size;
+		final int buckets = layout.buckets;
+
+		/*
+		 * Counting sort of the entries by bucket.
+		 */
+		final int[] bucketStart = new int[buckets + 1];
+
+		for (int e = 0; e < size; ++e)
+		{
+			++bucketStart[MappedStringSet.bucket(hashes[e], buckets) + 1];
+		}
+
+		int largest = 0;
+
+		for (int b = 0; b < buckets; ++b)
+		{
+			largest = Math.max(largest, bucketStart[b + 1]);
+			bucketStart[b + 1] += bucketStart[b];
+		}
+
+		final int[] members = new int[size];
+		final int[] fill = Arrays.copyOf(bucketStart, buckets);
+
+		for (int e = 0; e < size; ++e)
+		{
+			members[fill[MappedStringSet.bucket(hashes[e], buckets)]++] = e;
+		}
+
+		/*
+		 * Counting sort of the buckets by size, largest first.
+		 */
+		final int[] sizeStart = new int[largest + 2];
+
+		for (int b = 0; b < buckets; ++b)
+		{
+			++sizeStart[largest - (bucketStart[b + 1] - bucketStart[b]) + 1];
+		}
+
+		for (int s = 0; s <= largest; ++s)
+		{
+			sizeStart[s + 1] += sizeStart[s];
+		}
+
+		final int[] bucketOrder = new int[buckets];
+
+		for (int b = 0; b < buckets; ++b)
+		{
+			bucketOrder[sizeStart[largest
+					- (bucketStart[b + 1] - bucketStart[b])]++] = b;
+		}
+
+		final boolean[] taken = new boolean[size];
+		final int[] candidate = new int[largest];
+
+		for (final int b : bucketOrder)
+		{
+			final int from = bucketStart[b];
+			final int to = bucketStart[b + 1];
+
+			if (from == to)
+			{
+				continue;
+			}
+
+			for (int d = 0;; ++d)
+			{
+				if (this.fits(hashes, members, from, to, d, size, taken,
+						candidate))
+				{
+					layout.displacements[b] = d;
+
+					for (int i = from; i < to; ++i)
+					{
+						final int slot = candidate[i - from];
+
+						taken[slot] = true;
+						layout.slots[slot] = offsets[members[i]];
+					}
+
+					break;
+				}
+			}
+		}
+	}
+
+	private boolean fits(final long[] hashes, final int[] members,
+			final int from, final int to, final int displacement,
+			final int size, final boolean[] taken, final int[] candidate)
+	{
+		for (int i = from; i < to; ++i)
+		{
+			final int slot = MappedStringSet.slot(hashes[members[i]],
+					displacement, size);
+
+			if (taken[slot])
+			{
+				return false;
+			}
+
+			for (int j = 0; j < i - from; ++j)
+			{
+				if (candidate[j] == slot)
+				{
+					return false;
+				}
+			}
+
+			candidate[i - from] = slot;
+		}
+
+		return true;
+	}
+
+	private void rehash(final ByteBuffer data, final long[] hashes,
+			final int[] offsets, final int count, final long seed)
+	{
+		for (int e = 0; e < count; ++e)
+		{
+			/*
+			 * Entries are stored case folded when case is ignored, so they
+			 * are hashed as they are.
+			 */
+			hashes[e] = this.hash(entry(data, offsets[e]), false, seed);
+		}
+	}
+
+	private void write(final File file, final Layout layout, final File data,
+			final long dataLength) throws IOException
+	{
+		final DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(file), 1 << 16));
+
+		try
+		{
+			out.writeInt(MappedStringSet.MAGIC);
+			out.writeInt(MappedStringSet.VERSION);
+			out.writeInt(this.ignoreCase ? MappedStringSet.FLAG_IGNORE_CASE
+					: 0);
+			out.writeInt(layout.size);
+			out.writeInt(layout.buckets);
+			out.writeLong(layout.seed);
+			out.writeInt(layout.bloom.length);
+			out.writeInt(layout.hashes);
+
+			/*
+			 * Duplicates were dropped from the index but are still in the
+			 * spooled data, so the data section is copied as is.
+			 */
+			out.writeInt((int) dataLength);
+
+			for (final long word : layout.bloom)
+			{
+				out.writeLong(word);
+			}
+
+			for (final int d : layout.displacements)
+			{
+				out.writeInt(d);
+			}
+
+			for (final int offset : layout.slots)
+			{
+				out.writeInt(offset);
+			}
+
+			final InputStream in = new BufferedInputStream(
+					new FileInputStream(data), 1 << 16);
+
+			try
+			{
+				final byte[] buffer = new byte[1 << 16];
+
+				for (int n = in.read(buffer); n > -1; n = in.read(buffer))
+				{
+					out.write(buffer, 0, n);
+				}
+			}
+			finally
+			{
+				in.close();
+			}
+		}
+		finally
+		{
+			out.close();
+		}
+	}
+}
@@ -0,0 +1,376 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.util;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.ref.WeakReference;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.pureperfect.purview.ValidationException;
+
+/**
+ * Shared registry of {@link MappedStringSet}s. Each set file is mapped once
+ * per class loader no matter how many annotations refer to it, and can be
+ * swapped for a new version while validation is running.
+ *
+ * <p>
+ * A name is resolved first as a path on the file system and then as a
+ * resource on the class path. Class path resources that are packaged in a jar
+ * are copied to a temporary file so that they can be mapped.
+ * </p>
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public final class MappedStringSets
+{
+	/*
+	 * The sets of one class loader, and the temporary copies that could not
+	 * be deleted right after they were mapped.
+	 */
+	private static final class Registry
+	{
+		private final WeakReference<ClassLoader> loader;
+
+		private final ConcurrentMap<String, MappedStringSet> sets = new ConcurrentHashMap<String, MappedStringSet>();
+
+		private final Set<File> copies = Collections
+				.newSetFromMap(new ConcurrentHashMap<File, Boolean>());
+
+		Registry(final ClassLoader loader)
+		{
+			this.loader = new WeakReference<ClassLoader>(loader);
+		}
+
+		void replaced(final MappedStringSet set)
+		{
+			if (set != null && this.copies.remove(set.getFile()))
+			{
+				delete(set.getFile());
+			}
+		}
+	}
+
+	/*
+	 * By class loader, since the same resource name can refer to different
+	 * files in different applications. Sets only hold files, so class loaders
+	 * can still be collected.
+	 */
+	private static final Map<ClassLoader, Registry> registries = new WeakHashMap<ClassLoader, Registry>();
+
+	/*
+	 * The registry looked up last, so that the usual single class loader does
+	 * not take the lock on every validation.
+	 */
+	private static volatile Registry last;
+
+	/**
+	 * Forget the sets of the class loader and delete their temporary copies.
+	 *
+	 * @param loader
+	 *            the class loader
+	 */
+	public static void evict(final ClassLoader loader)
+	{
+		final Registry registry;
+
+		synchronized (registries)
+		{
+			registry = registries.remove(loader);
+
+			last = null;
+		}
+
+		if (registry != null)
+		{
+			for (final MappedStringSet set : registry.sets.values())
+			{
+				registry.replaced(set);
+			}
+		}
+	}
+
+	/**
+	 * Get the set with the given name for the context class loader, mapping
+	 * it on first use.
+	 *
+	 * @param name
+	 *            the file path or class path resource of the set
+	 * @return the set
+	 * @throws ValidationException
+	 *             if the set cannot be found or read.
+	 */
+	public static MappedStringSet get(final String name)
+	{
+		final Registry registry = registry();
+
+		final MappedStringSet set = registry.sets.get(name);
+
+		if (set != null)
+		{
+			return set;
+		}
+
+		final MappedStringSet loaded = open(registry, name);
+
+		final MappedStringSet existing = registry.sets.putIfAbsent(name, loaded);
+
+		if (existing != null)
+		{
+			registry.replaced(loaded);
+
+			return existing;
+		}
+
+		return loaded;
+	}
+
+	/**
+	 * Use the given set for the name and the context class loader.
+	 * Validations that are already running finish against the previous set;
+	 * later ones see the new set.
+	 *
+	 * @param name
+	 *            the name annotations use to refer to the set
+	 * @param set
+	 *            the set
+	 */
+	public static void install(final String name, final MappedStringSet set)
+	{
+		final Registry registry = registry();
+
+		registry.replaced(registry.sets.put(name, set));
+	}
+
+	/**
+	 * Map the set with the given name again, for instance after its file has
+	 * been rebuilt, and swap it in for the current one.
+	 *
+	 * <p>
+	 * Rebuild the file under a new name and rename it over the old one rather
+	 * than writing it in place, since the old mapping may still be in use.
+	 * </p>
+	 *
+	 * @param name
+	 *            the file path or class path resource of the set
+	 * @return the new set
+	 * @throws ValidationException
+	 *             if the set cannot be found or read.
+	 */
+	public static MappedStringSet reload(final String name)
+	{
+		final Registry registry = registry();
+
+		final MappedStringSet set = open(registry, name);
+
+		registry.replaced(registry.sets.put(name, set));
+
+		return set;
+	}
+
+	/**
+	 * Forget the set with the given name for the context class loader. The
+	 * mapping is released once the set is no longer referenced.
+	 *
+	 * @param name
+	 *            the name of the set
+	 */
+	public static void remove(final String name)
+	{
+		final Registry registry = registry();
+
+		registry.replaced(registry.sets.remove(name));
+	}
+
+	private static File copyToTempFile(final URL url) throws IOException
+	{
+		final File file = File.createTempFile("purview", ".set");
+
+		try
+		{
+			final InputStream in = url.openStream();
+
+			try
+			{
+				final OutputStream out = new FileOutputStream(file);
+
+				try
+				{
+					final byte[] buffer = new byte[1 << 16];
+
+					for (int n = in.read(buffer); n > -1; n = in.read(buffer))
+					{
+						out.write(buffer, 0, n);
+					}
+				}
+				finally
+				{
+					out.close();
+				}
+			}
+			finally
+			{
+				in.close();
+			}
+		}
+		catch (final IOException e)
+		{
+			delete(file);
+
+			throw e;
+		}
+
+		return file;
+	}
+
+	private static void delete(final File file)
+	{
+		if (!file.delete() && file.exists())
+		{
+			file.deleteOnExit();
+		}
+	}
+
+	private static ClassLoader loader()
+	{
+		final ClassLoader context = Thread.currentThread()
+				.getContextClassLoader();
+
+		return context != null ? context : MappedStringSets.class
+				.getClassLoader();
+	}
+
+	private static MappedStringSet open(final Registry registry,
+			final String name)
+	{
+		try
+		{
+			final File file = new File(name);
+
+			if (file.isFile())
+			{
+				return MappedStringSet.open(file);
+			}
+
+			final URL url = resource(registry.loader.get(), name);
+
+			if (url == null)
+			{
+				throw new ValidationException("No set file found for " + name);
+			}
+
+			if ("file".equals(url.getProtocol()))
+			{
+				return MappedStringSet.open(new File(url.toURI()));
+			}
+
+			final File copy = copyToTempFile(url);
+
+			try
+			{
+				final MappedStringSet set = MappedStringSet.open(copy);
+
+				/*
+				 * The mapping outlives the file where the file system allows
+				 * it. Otherwise the copy goes once the set is replaced.
+				 */
+				if (!copy.delete())
+				{
+					registry.copies.add(copy);
+				}
+
+				return set;
+			}
+			catch (final IOException e)
+			{
+				delete(copy);
+
+				throw e;
+			}
+		}
+		catch (final IOException e)
+		{
+			throw new ValidationException("Could not read set file " + name, e);
+		}
+		catch (final URISyntaxException e)
+		{
+			throw new ValidationException("Could not read set file " + name, e);
+		}
+	}
+
+	private static Registry registry()
+	{
+		final ClassLoader loader = loader();
+
+		final Registry cached = last;
+
+		if (cached != null && cached.loader.get() == loader)
+		{
+			return cached;
+		}
+
+		synchronized (registries)
+		{
+			Registry registry = registries.get(loader);
+
+			if (registry == null)
+			{
+				registry = new Registry(loader);
+
+				registries.put(loader, registry);
+			}
+
+			last = registry;
+
+			return registry;
+		}
+	}
+
+	private static URL resource(final ClassLoader loader, final String name)
+	{
+		final String path = name.startsWith("/") ? name.substring(1) : name;
+
+		if (loader != null)
+		{
+			final URL url = loader.getResource(path);
+
+			if (url != null)
+			{
+				return url;
+			}
+		}
+
+		return MappedStringSets.class.getClassLoader().getResource(path);
+	}
+
+	private MappedStringSets()
+	{
+		// hide constructor
+	}
+}
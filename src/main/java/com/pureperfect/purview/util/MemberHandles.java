@@ -0,0 +1,233 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.pureperfect.purview.ValidationException;
+
+/**
+ * Cached {@link MethodHandle}s for reading fields and calling no argument
+ * methods by name. Each member is looked up once per class and name, made
+ * accessible if it is not public and adapted to the type
+ * <code>(Object)Object</code>, so reading it is a single
+ * <code>(Object) handle.invokeExact(instance)</code>.
+ *
+ * <p>
+ * Members are searched for in the class and then in its super classes.
+ * Methods are looked up by {@link Class#getMethod(String, Class...)} first,
+ * so public methods from interfaces are found as well.
+ * </p>
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public final class MemberHandles
+{
+	private static final MethodType GETTER = MethodType.methodType(
+			Object.class, Object.class);
+
+	private static final ClassValue<ConcurrentMap<String, MethodHandle>> fields = new ClassValue<ConcurrentMap<String, MethodHandle>>()
+	{
+		@Override
+		protected ConcurrentMap<String, MethodHandle> computeValue(
+				final Class<?> type)
+		{
+			return new ConcurrentHashMap<String, MethodHandle>();
+		}
+	};
+
+	private static final ClassValue<ConcurrentMap<String, MethodHandle>> methods = new ClassValue<ConcurrentMap<String, MethodHandle>>()
+	{
+		@Override
+		protected ConcurrentMap<String, MethodHandle> computeValue(
+				final Class<?> type)
+		{
+			return new ConcurrentHashMap<String, MethodHandle>();
+		}
+	};
+
+	/**
+	 * Get a handle that reads the named field of an instance of the class.
+	 *
+	 * @param type
+	 *            the class
+	 * @param name
+	 *            the name of the field
+	 * @return a handle of type <code>(Object)Object</code>.
+	 * @throws ValidationException
+	 *             if there is no such field.
+	 */
+	public static MethodHandle field(final Class<?> type, final String name)
+	{
+		final ConcurrentMap<String, MethodHandle> cache = fields.get(type);
+
+		final MethodHandle handle = cache.get(name);
+
+		if (handle != null)
+		{
+			return handle;
+		}
+
+		final Field field = findField(type, name);
+
+		if (field == null)
+		{
+			throw new ValidationException("No field \"" + name + "\" in "
+					+ type.getName() + ".");
+		}
+
+		try
+		{
+			field.setAccessible(true);
+
+			return putIfAbsent(cache, name,
+					adapt(MethodHandles.lookup().unreflectGetter(field),
+							Modifier.isStatic(field.getModifiers())));
+		}
+		catch (final IllegalAccessException e)
+		{
+			throw new ValidationException(e);
+		}
+	}
+
+	/**
+	 * Get a handle that calls the named no argument method on an instance of
+	 * the class.
+	 *
+	 * @param type
+	 *            the class
+	 * @param name
+	 *            the name of the method
+	 * @return a handle of type <code>(Object)Object</code>.
+	 * @throws ValidationException
+	 *             if there is no such method.
+	 */
+	public static MethodHandle method(final Class<?> type, final String name)
+	{
+		final ConcurrentMap<String, MethodHandle> cache = methods.get(type);
+
+		final MethodHandle handle = cache.get(name);
+
+		if (handle != null)
+		{
+			return handle;
+		}
+
+		final Method method = findMethod(type, name);
+
+		if (method == null)
+		{
+			throw new ValidationException("No method \"" + name
+					+ "()\" in " + type.getName() + ".");
+		}
+
+		try
+		{
+			method.setAccessible(true);
+
+			return putIfAbsent(cache, name,
+					adapt(MethodHandles.lookup().unreflect(method),
+							Modifier.isStatic(method.getModifiers())));
+		}
+		catch (final IllegalAccessException e)
+		{
+			throw new ValidationException(e);
+		}
+	}
+
+	/*
+	 * Static members ignore the instance.
+	 */
+	private static MethodHandle adapt(final MethodHandle handle,
+			final boolean isStatic)
+	{
+		if (isStatic)
+		{
+			return MethodHandles.dropArguments(
+					handle.asType(MethodType.methodType(Object.class)), 0,
+					Object.class);
+		}
+
+		return handle.asType(GETTER);
+	}
+
+	private static Field findField(final Class<?> type, final String name)
+	{
+		for (Class<?> c = type; c != null; c = c.getSuperclass())
+		{
+			try
+			{
+				return c.getDeclaredField(name);
+			}
+			catch (final NoSuchFieldException e)
+			{
+				// keep looking
+			}
+		}
+
+		return null;
+	}
+
+	private static Method findMethod(final Class<?> type, final String name)
+	{
+		try
+		{
+			return type.getMethod(name);
+		}
+		catch (final NoSuchMethodException e)
+		{
+			// look for a non-public one
+		}
+
+		for (Class<?> c = type; c != null; c = c.getSuperclass())
+		{
+			try
+			{
+				return c.getDeclaredMethod(name);
+			}
+			catch (final NoSuchMethodException e)
+			{
+				// keep looking
+			}
+		}
+
+		return null;
+	}
+
+	private static MethodHandle putIfAbsent(
+			final ConcurrentMap<String, MethodHandle> cache,
+			final String name, final MethodHandle handle)
+	{
+		final MethodHandle existing = cache.putIfAbsent(name, handle);
+
+		return existing != null ? existing : handle;
+	}
+
+	private MemberHandles()
+	{
+		// hide constructor
+	}
+}
@@ -21,14 +21,17 @@ import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedList;
 
 /**
  * Some various helper methods for working with the Java&trade; Reflections API.
  * 
  * @author J. Chris Folsom
- * @version 1.1
+ * @version 1.4
  * @since 1.0
  */
 public class ReflectionUtils
@@ -39,6 +42,43 @@ public class ReflectionUtils
 	private static final Class<?>[] NO_TYPES = new Class<?>[]
 	{};
 
+	/*
+	 * Whether a filter class declares StableFilter itself. Subclasses that
+	 * inherit it may have overridden include with something that is not.
+	 */
+	private static final ClassValue<Boolean> stable = new ClassValue<Boolean>()
+	{
+		@Override
+		protected Boolean computeValue(final Class<?> type)
+		{
+			return Boolean.valueOf(Arrays.asList(type.getInterfaces())
+					.contains(StableFilter.class));
+		}
+	};
+
+	/*
+	 * The results of stable filters, by class and then by filter instance.
+	 */
+	private static final ClassValue<WeakIdentityCache<FieldFilter, Collection<Field>>> filteredFields = new ClassValue<WeakIdentityCache<FieldFilter, Collection<Field>>>()
+	{
+		@Override
+		protected WeakIdentityCache<FieldFilter, Collection<Field>> computeValue(
+				final Class<?> type)
+		{
+			return new WeakIdentityCache<FieldFilter, Collection<Field>>();
+		}
+	};
+
+	private static final ClassValue<WeakIdentityCache<MethodFilter, Collection<Method>>> filteredMethods = new ClassValue<WeakIdentityCache<MethodFilter, Collection<Method>>>()
+	{
+		@Override
+		protected WeakIdentityCache<MethodFilter, Collection<Method>> computeValue(
+				final Class<?> type)
+		{
+			return new WeakIdentityCache<MethodFilter, Collection<Method>>();
+		}
+	};
+
 	/**
 	 * Get a value from an annotation.
 	 * 
@@ -70,7 +110,10 @@ public class ReflectionUtils
 	}
 
 	/**
-	 * Get the set of <b>declared</b> fields that match the filter.
+	 * Get the set of <b>declared</b> fields that match the filter. If the
+	 * filter's class declares {@link StableFilter} the filter is only run
+	 * once per class.
+	 * Each call returns a new collection that the caller may modify.
 	 * 
 	 * @param obj
 	 *            the object to retrieve fields from
@@ -81,28 +124,51 @@ public class ReflectionUtils
 	public static Collection<Field> getDeclaredFields(final Object obj,
 			final FieldFilter filter)
 	{
-		final Class<?> clazz = obj.getClass();
+		return new LinkedList<Field>(getDeclaredFieldsOf(obj.getClass(),
+				filter));
+	}
 
-		final Field[] fields = clazz.getDeclaredFields();
+	/**
+	 * Get the set of <b>declared</b> fields of a class that match the filter,
+	 * see {@link #getDeclaredFields(Object, FieldFilter)}. If the filter's
+	 * class declares {@link StableFilter} the same unmodifiable collection is
+	 * returned every time, so it must not be modified.
+	 * 
+	 * @param clazz
+	 *            the class to retrieve fields from
+	 * @param filter
+	 *            the filter to use
+	 * @return the set of fields in the class that also matched the filter
+	 * @since 1.4
+	 */
+	public static Collection<Field> getDeclaredFieldsOf(final Class<?> clazz,
+			final FieldFilter filter)
+	{
+		if (isStable(filter))
+		{
+			final WeakIdentityCache<FieldFilter, Collection<Field>> cache = filteredFields
+					.get(clazz);
 
-		final Collection<Field> results = new LinkedList<Field>();
+			final Collection<Field> cached = cache.get(filter);
 
-		if (fields != null)
-		{
-			for (final Field field : fields)
+			if (cached != null)
 			{
-				if (filter.include(field))
-				{
-					results.add(field);
-				}
+				return cached;
 			}
+
+			return cache.putIfAbsent(filter, Collections
+					.unmodifiableList(new ArrayList<Field>(filterFields(clazz,
+							filter))));
 		}
 
-		return results;
+		return filterFields(clazz, filter);
 	}
 
 	/**
-	 * Get all of the <b>declared</b> methods that match the filter.
+	 * Get all of the <b>declared</b> methods that match the filter. If the
+	 * filter's class declares {@link StableFilter} the filter is only run
+	 * once per class.
+	 * Each call returns a new collection that the caller may modify.
 	 * 
 	 * @param obj
 	 *            the object to search
@@ -113,24 +179,44 @@ public class ReflectionUtils
 	public static Collection<Method> getDeclaredMethods(final Object obj,
 			final MethodFilter filter)
 	{
-		final Collection<Method> results = new LinkedList<Method>();
+		return new LinkedList<Method>(getDeclaredMethodsOf(obj.getClass(),
+				filter));
+	}
 
-		final Class<?> clazz = obj.getClass();
+	/**
+	 * Get all of the <b>declared</b> methods of a class that match the filter,
+	 * see {@link #getDeclaredMethods(Object, MethodFilter)}. If the filter's
+	 * class declares {@link StableFilter} the same unmodifiable collection is
+	 * returned every time, so it must not be modified.
+	 * 
+	 * @param clazz
+	 *            the class to search
+	 * @param filter
+	 *            the filter to use
+	 * @return all of the declared methods that match.
+	 * @since 1.4
+	 */
+	public static Collection<Method> getDeclaredMethodsOf(
+			final Class<?> clazz, final MethodFilter filter)
+	{
+		if (isStable(filter))
+		{
+			final WeakIdentityCache<MethodFilter, Collection<Method>> cache = filteredMethods
+					.get(clazz);
 
-		final Method[] methods = clazz.getDeclaredMethods();
+			final Collection<Method> cached = cache.get(filter);
 
-		if (methods != null)
-		{
-			for (final Method method : methods)
+			if (cached != null)
 			{
-				if (filter.include(method))
-				{
-					results.add(method);
-				}
+				return cached;
 			}
+
+			return cache.putIfAbsent(filter, Collections
+					.unmodifiableList(new ArrayList<Method>(filterMethods(
+							clazz, filter))));
 		}
 
-		return results;
+		return filterMethods(clazz, filter);
 	}
 
 	/**
@@ -199,6 +285,32 @@ public class ReflectionUtils
 		return Modifier.isStatic(method.getModifiers());
 	}
 
+	/**
+	 * See if a class was loaded by a class loader or one of its descendants,
+	 * for example by a web application or one of its JSPs.
+	 * 
+	 * @param type
+	 *            the class
+	 * @param loader
+	 *            the class loader
+	 * @return true if the loader is the class's loader or one of its parents.
+	 * @since 1.4
+	 */
+	public static boolean isLoadedBy(final Class<?> type,
+			final ClassLoader loader)
+	{
+		for (ClassLoader l = type.getClassLoader(); l != null; l = l
+				.getParent())
+		{
+			if (l == loader)
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+
 	/**
 	 * See if the return type for a method is void.
 	 * 
@@ -208,7 +320,57 @@ public class ReflectionUtils
 	 */
 	public static boolean isVoid(final Method method)
 	{
-		return "void".equals(method.getReturnType().toString());
+		return method.getReturnType() == void.class;
+	}
+
+	private static Collection<Field> filterFields(final Class<?> clazz,
+			final FieldFilter filter)
+	{
+		final Field[] fields = clazz.getDeclaredFields();
+
+		final Collection<Field> results = new LinkedList<Field>();
+
+		if (fields != null)
+		{
+			for (final Field field : fields)
+			{
+				if (filter.include(field))
+				{
+					results.add(field);
+				}
+			}
+		}
+
+		return results;
+	}
+
+	private static Collection<Method> filterMethods(final Class<?> clazz,
+			final MethodFilter filter)
+	{
+		final Collection<Method> results = new LinkedList<Method>();
+
+		final Method[] methods = clazz.getDeclaredMethods();
+
+		if (methods != null)
+		{
+			for (final Method method : methods)
+			{
+				if (filter.include(method))
+				{
+					results.add(method);
+				}
+			}
+		}
+
+		return results;
+	}
+
+	/*
+	 * Only filters whose own class declares StableFilter are cached.
+	 */
+	private static boolean isStable(final Object filter)
+	{
+		return stable.get(filter.getClass()).booleanValue();
 	}
 
 	private ReflectionUtils()
@@ -0,0 +1,41 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.util;
+
+/**
+ * Marks a {@link FieldFilter} or {@link MethodFilter} whose decision depends
+ * only on the member it is given. The results of a stable filter are computed
+ * once per class and filter instance and then reused, so its
+ * <code>include</code> method is not called again for members of a class it
+ * has already seen.
+ *
+ * <p>
+ * Filters that depend on anything else, such as the time of day or a
+ * setting that can change, must not implement this interface. Only a filter
+ * whose own class lists this interface is treated as stable: a subclass of a
+ * stable filter, including the built in ones, is run every time unless it
+ * declares <code>implements StableFilter</code> again.
+ * </p>
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public interface StableFilter
+{
+	// marker
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.util;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+/**
+ * A small thread safe cache that compares keys by identity and holds them
+ * weakly. Validators use it to remember state that was precomputed from an
+ * annotation instance, since annotation <code>hashCode()</code> and
+ * <code>equals()</code> walk every attribute of the annotation.
+ *
+ * <p>
+ * Lookups do not lock and do not allocate. Updates are synchronized and are
+ * expected to be rare.
+ * </p>
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ *
+ * @param <K>
+ *            the key type
+ * @param <V>
+ *            the value type
+ */
+public class WeakIdentityCache<K, V>
+{
+	private static final class Entry<K, V> extends WeakReference<K>
+	{
+		final int hash;
+
+		final Entry<K, V> next;
+
+		final V value;
+
+		Entry(final K key, final V value, final int hash,
+				final Entry<K, V> next, final ReferenceQueue<K> queue)
+		{
+			super(key, queue);
+			this.value = value;
+			this.hash = hash;
+			this.next = next;
+		}
+	}
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private static int hash(final Object key)
+	{
+		final int h = System.identityHashCode(key);
+
+		return h ^ (h >>> 16);
+	}
+
+	private final ReferenceQueue<K> queue = new ReferenceQueue<K>();
+
+	private int size;
+
+	private volatile Entry<K, V>[] table = newTable(INITIAL_CAPACITY);
+
+	/**
+	 * Remove every entry from the cache.
+	 */
+	public synchronized void clear()
+	{
+		while (this.queue.poll() != null)
+		{
+			// drain
+		}
+
+		this.table = newTable(INITIAL_CAPACITY);
+		this.size = 0;
+	}
+
+	/**
+	 * Get the value cached for the key.
+	 *
+	 * @param key
+	 *            the key
+	 * @return the cached value or null if there is none.
+	 */
+	public V get(final K key)
+	{
+		final Entry<K, V>[] tab = this.table;
+
+		final int h = hash(key);
+
+		for (Entry<K, V> e = tab[h & (tab.length - 1)]; e != null; e = e.next)
+		{
+			if (e.hash == h && e.get() == key)
+			{
+				return e.value;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Cache the value for the key unless a value is already cached for it.
+	 *
+	 * @param key
+	 *            the key
+	 * @param value
+	 *            the value
+	 * @return the value that is cached for the key after the call.
+	 */
+	public synchronized V putIfAbsent(final K key, final V value)
+	{
+		final V existing = this.get(key);
+
+		if (existing != null)
+		{
+			return existing;
+		}
+
+		this.expungeStaleEntries();
+
+		Entry<K, V>[] tab = this.table;
+
+		if (this.size + 1 > (tab.length >> 1) + (tab.length >> 2))
+		{
+			tab = this.rehash(tab.length << 1);
+		}
+
+		final int h = hash(key);
+		final int i = h & (tab.length - 1);
+
+		tab[i] = new Entry<K, V>(key, value, h, tab[i], this.queue);
+
+		++this.size;
+
+		/*
+		 * Republish so that readers see the new entry.
+		 */
+		this.table = tab;
+
+		return value;
+	}
+
+	/**
+	 * The number of live entries in the cache.
+	 *
+	 * @return the number of live entries.
+	 */
+	public synchronized int size()
+	{
+		this.expungeStaleEntries();
+
+		return this.size;
+	}
+
+	private void expungeStaleEntries()
+	{
+		boolean stale = false;
+
+		while (this.queue.poll() != null)
+		{
+			stale = true;
+		}
+
+		if (stale)
+		{
+			this.table = this.rehash(this.table.length);
+		}
+	}
+
+	/*
+	 * Copy the live entries into a new table. Entries are immutable so that
+	 * readers never see a partially linked chain.
+	 */
+	private Entry<K, V>[] rehash(final int capacity)
+	{
+		final Entry<K, V>[] old = this.table;
+		final Entry<K, V>[] tab = newTable(capacity);
+
+		int live = 0;
+
+		for (Entry<K, V> head : old)
+		{
+			for (Entry<K, V> e = head; e != null; e = e.next)
+			{
+				final K key = e.get();
+
+				if (key != null)
+				{
+					final int i = e.hash & (capacity - 1);
+
+					tab[i] = new Entry<K, V>(key, e.value, e.hash, tab[i],
+							this.queue);
+
+					++live;
+				}
+			}
+		}
+
+		this.size = live;
+
+		return tab;
+	}
+
+	@SuppressWarnings(
+	{ "unchecked", "rawtypes" })
+	private static <K, V> Entry<K, V>[] newTable(final int capacity)
+	{
+		return new Entry[capacity];
+	}
+}
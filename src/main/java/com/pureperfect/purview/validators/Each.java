@@ -0,0 +1,83 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.validators;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Apply the other validation annotations on a field, method or parameter to
+ * each element of its array or {@link Iterable} value instead of to the value
+ * itself. Problems are reported per element and
+ * {@link com.pureperfect.purview.ValidationProblem#getIndex()} tells which
+ * element caused them.
+ * 
+ * <p>
+ * <code>int[]</code>, <code>long[]</code> and <code>double[]</code> elements
+ * are passed to validators that can take primitives without boxing them. A
+ * null array or collection has no elements to validate.
+ * </p>
+ * 
+ * <p>
+ * E.G:
+ * </p>
+ * 
+ * <pre>
+ * 
+ * public class MyClass
+ * {
+ *  //When validating fields
+ *  &#064;Each
+ *  &#064;GreaterThan(0)
+ *  private int[] quantities;
+ * 
+ *  ...//or
+ *  
+ *  //When validating method return values
+ *  &#064;Each(failFast = true)
+ *  &#064;MaxLength(32)
+ *  public List&lt;String&gt; getTags() { 
+ *    ... 
+ *  };
+ *  
+ *  ...//or
+ *  
+ *  //When validating method parameters
+ *  public static void foo(&#64;Each &#64;Email String[] bar) {
+ *    ...
+ *  }
+ * }
+ * </pre>
+ * 
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(
+{ ElementType.METHOD, ElementType.FIELD, ElementType.PARAMETER })
+public @interface Each
+{
+	/**
+	 * Whether or not to stop at the first invalid element.
+	 * 
+	 * @return whether or not to stop at the first invalid element.
+	 */
+	boolean failFast() default false;
+}
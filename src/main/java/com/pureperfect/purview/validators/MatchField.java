@@ -20,10 +20,10 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
-import java.lang.reflect.Field;
 
 import com.pureperfect.purview.ValidationException;
 import com.pureperfect.purview.ValidationProblem;
+import com.pureperfect.purview.util.MemberHandles;
 
 /**
  * Match the value of another field.
@@ -102,11 +102,20 @@ public @interface MatchField
 	 */
 	public class Validator
 			implements
-			com.pureperfect.purview.Validator<Problem, Object, MatchField, Object, Object>
+			com.pureperfect.purview.BindableValidator<Problem, Object, MatchField, Object, Object>
 	{
-        /**
-         * {@inheritDoc}
-         */
+		/**
+		 * {@inheritDoc}
+		 */
+		public void bind(final Class<?> type, final MatchField annotation,
+				final Object target)
+		{
+			MemberHandles.field(type, annotation.value());
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
 		public Problem validate(final Object instance,
 				final MatchField annotation, final Object target,
 				final Object actualValue)
@@ -115,15 +124,17 @@ public @interface MatchField
 
 			try
 			{
-				final String fieldName = annotation.value();
-
-				final Field field = instance.getClass().getField(fieldName);
-
-				expectedValue = field.get(instance);
+				expectedValue = (Object) MemberHandles.field(
+						instance.getClass(), annotation.value()).invokeExact(
+						instance);
+			}
+			catch (final ValidationException e)
+			{
+				throw e;
 			}
-			catch (final Exception e)
+			catch (final Throwable t)
 			{
-				throw new ValidationException(e);
+				throw new ValidationException(t);
 			}
 
 			Problem problem = null;
@@ -23,7 +23,7 @@ import java.lang.annotation.Target;
 
 import com.pureperfect.purview.ValidationException;
 import com.pureperfect.purview.ValidationProblem;
-import com.pureperfect.purview.util.ReflectionUtils;
+import com.pureperfect.purview.util.MemberHandles;
 
 /**
  * Match the value of another method.
@@ -102,11 +102,20 @@ public @interface MatchMethod
 	 */
 	public class Validator
 			implements
-			com.pureperfect.purview.Validator<Problem, Object, MatchMethod, Object, Object>
+			com.pureperfect.purview.BindableValidator<Problem, Object, MatchMethod, Object, Object>
 	{
-        /**
-         * {@inheritDoc}
-         */
+		/**
+		 * {@inheritDoc}
+		 */
+		public void bind(final Class<?> type, final MatchMethod annotation,
+				final Object target)
+		{
+			MemberHandles.method(type, annotation.value());
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
 		public Problem validate(final Object instance,
 				final MatchMethod annotation, final Object target,
 				final Object actualValue)
@@ -115,14 +124,17 @@ public @interface MatchMethod
 
 			try
 			{
-				final String methodName = annotation.value();
-
-				expectedValue = ReflectionUtils.getValueOfMethod(methodName,
+				expectedValue = (Object) MemberHandles.method(
+						instance.getClass(), annotation.value()).invokeExact(
 						instance);
 			}
-			catch (final Exception e)
+			catch (final ValidationException e)
+			{
+				throw e;
+			}
+			catch (final Throwable t)
 			{
-				throw new ValidationException(e);
+				throw new ValidationException(t);
 			}
 
 			Problem problem = null;
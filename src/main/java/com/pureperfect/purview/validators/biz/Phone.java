@@ -22,6 +22,7 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 import com.pureperfect.purview.ValidationProblem;
+import com.pureperfect.purview.util.FormatMask;
 
 /**
  * A phone number. Depending on the validation mode, either
@@ -96,9 +97,49 @@ public @interface Phone
 			implements
 			com.pureperfect.purview.Validator<Problem, Object, Phone, Object, CharSequence>
 	{
-        /**
-         * {@inheritDoc}
-         */
+		private static final FormatMask NO_DASHES_MASK = FormatMask
+				.compile("##########");
+
+		private static final FormatMask DASHES_MASK = FormatMask
+				.compile("###-###-####");
+
+		/**
+		 * The masks that values may match in the annotation's validation
+		 * mode, for checking many values at once.
+		 * 
+		 * @param annotation
+		 *            the annotation
+		 * @return the masks, none if the validation mode is not valid.
+		 * @since 1.4
+		 */
+		public static FormatMask[] masks(final Phone annotation)
+		{
+			final int mode = annotation.validationMode();
+
+			if (mode == BOTH)
+			{
+				return new FormatMask[]
+				{ NO_DASHES_MASK, DASHES_MASK };
+			}
+
+			if (mode == NO_DASHES)
+			{
+				return new FormatMask[]
+				{ NO_DASHES_MASK };
+			}
+
+			if (mode == DASHES)
+			{
+				return new FormatMask[]
+				{ DASHES_MASK };
+			}
+
+			return new FormatMask[0];
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
 		public Problem validate(final Object instance, final Phone annotation,
 				final Object target, final CharSequence value)
 		{
@@ -113,42 +154,16 @@ public @interface Phone
 			}
 
 			final int mode = annotation.validationMode();
-			final int length = value.length();
 
-			if (length == 10 && (mode == NO_DASHES || mode == BOTH))
+			if ((mode == NO_DASHES || mode == BOTH)
+					&& NO_DASHES_MASK.matches(value))
 			{
-				for (int i = 0; i < length; ++i)
-				{
-					final char c = value.charAt(i);
-
-					if (!Character.isDigit(c))
-					{
-						return new Problem(instance, annotation, target, value);
-					}
-				}
-
 				return null;
 			}
-			else if (length == 12 && (mode == DASHES || mode == BOTH))
-			{
-				for (int i = 0; i < length; ++i)
-				{
-					final char c = value.charAt(i);
-
-					if (i == 3 || i == 7)
-					{
-						if (c != '-')
-						{
-							return new Problem(instance, annotation, target,
-									value);
-						}
-					}
-					else if (!Character.isDigit(c))
-					{
-						return new Problem(instance, annotation, target, value);
-					}
-				}
 
+			if ((mode == DASHES || mode == BOTH)
+					&& DASHES_MASK.matches(value))
+			{
 				return null;
 			}
 
@@ -22,6 +22,7 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 import com.pureperfect.purview.ValidationProblem;
+import com.pureperfect.purview.util.FormatMask;
 
 /**
  * A Social Security Number (SSN). Depending on the validation mode, dashes can
@@ -96,9 +97,49 @@ public @interface SSN
 			implements
 			com.pureperfect.purview.Validator<Problem, Object, SSN, Object, CharSequence>
 	{
-        /**
-         * {@inheritDoc}
-         */
+		private static final FormatMask NO_DASHES_MASK = FormatMask
+				.compile("#########");
+
+		private static final FormatMask DASHES_MASK = FormatMask
+				.compile("###-##-####");
+
+		/**
+		 * The masks that values may match in the annotation's validation
+		 * mode, for checking many values at once.
+		 * 
+		 * @param annotation
+		 *            the annotation
+		 * @return the masks, none if the validation mode is not valid.
+		 * @since 1.4
+		 */
+		public static FormatMask[] masks(final SSN annotation)
+		{
+			final int mode = annotation.validationMode();
+
+			if (mode == BOTH)
+			{
+				return new FormatMask[]
+				{ NO_DASHES_MASK, DASHES_MASK };
+			}
+
+			if (mode == NO_DASHES)
+			{
+				return new FormatMask[]
+				{ NO_DASHES_MASK };
+			}
+
+			if (mode == DASHES)
+			{
+				return new FormatMask[]
+				{ DASHES_MASK };
+			}
+
+			return new FormatMask[0];
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
 		public Problem validate(final Object instance, final SSN annotation,
 				final Object target, final CharSequence value)
 		{
@@ -112,53 +153,21 @@ public @interface SSN
 				return null;
 			}
 
-			final int length = value.length();
 			final int mode = annotation.validationMode();
 
-			if (length == 9 && (mode == BOTH || mode == NO_DASHES))
+			if ((mode == NO_DASHES || mode == BOTH)
+					&& NO_DASHES_MASK.matches(value))
 			{
-				for (int i = 0; i < length; ++i)
-				{
-					final char c = value.charAt(i);
-
-					if (!Character.isDigit(c))
-					{
-						return new Problem(instance, annotation, target, value);
-					}
-				}
-
 				return null;
 			}
-			else if (length == 11 && (mode == BOTH || mode == DASHES))
-			{
-				for (int i = 0; i < length; ++i)
-				{
-					final char c = value.charAt(i);
-
-					if (i == 3 || i == 6)
-					{
-						if (c != '-')
-						{
-							return new Problem(instance, annotation, target,
-									value);
-						}
-					}
-					else
-					{
-						if (!Character.isDigit(c))
-						{
-							return new Problem(instance, annotation, target,
-									value);
-						}
-					}
-				}
 
-				return null;
-			}
-			else
+			if ((mode == DASHES || mode == BOTH)
+					&& DASHES_MASK.matches(value))
 			{
-				return new Problem(instance, annotation, target, value);
+				return null;
 			}
+
+			return new Problem(instance, annotation, target, value);
 		}
 	}
 
@@ -22,6 +22,7 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 import com.pureperfect.purview.ValidationProblem;
+import com.pureperfect.purview.util.FormatMask;
 
 /**
  * A Zipcode. Depending on the validation mode, either
@@ -96,9 +97,49 @@ public @interface ZipCode
 			implements
 			com.pureperfect.purview.Validator<Problem, Object, ZipCode, Object, CharSequence>
 	{
-        /**
-         * {@inheritDoc}
-         */
+		private static final FormatMask FIVE_DIGIT_MASK = FormatMask
+				.compile("#####");
+
+		private static final FormatMask NINE_DIGIT_MASK = FormatMask
+				.compile("#####-####");
+
+		/**
+		 * The masks that values may match in the annotation's validation
+		 * mode, for checking many values at once.
+		 * 
+		 * @param annotation
+		 *            the annotation
+		 * @return the masks, none if the validation mode is not valid.
+		 * @since 1.4
+		 */
+		public static FormatMask[] masks(final ZipCode annotation)
+		{
+			final int mode = annotation.validationMode();
+
+			if (mode == BOTH)
+			{
+				return new FormatMask[]
+				{ FIVE_DIGIT_MASK, NINE_DIGIT_MASK };
+			}
+
+			if (mode == FIVE_DIGIT)
+			{
+				return new FormatMask[]
+				{ FIVE_DIGIT_MASK };
+			}
+
+			if (mode == NINE_DIGIT)
+			{
+				return new FormatMask[]
+				{ NINE_DIGIT_MASK };
+			}
+
+			return new FormatMask[0];
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
 		public Problem validate(final Object instance,
 				final ZipCode annotation, final Object target,
 				final CharSequence value)
@@ -114,42 +155,16 @@ public @interface ZipCode
 			}
 			
 			final int mode = annotation.validationMode();
-			final int length = value.length();
 
-			if (length == 5 && (mode == FIVE_DIGIT || mode == BOTH))
+			if ((mode == FIVE_DIGIT || mode == BOTH)
+					&& FIVE_DIGIT_MASK.matches(value))
 			{
-				for (int i = 0; i < length; ++i)
-				{
-					final char c = value.charAt(i);
-
-					if (!Character.isDigit(c))
-					{
-						return new Problem(instance, annotation, target, value);
-					}
-				}
-
 				return null;
 			}
-			else if (length == 10 && (mode == NINE_DIGIT || mode == BOTH))
-			{
-				for (int i = 0; i < length; ++i)
-				{
-					final char c = value.charAt(i);
-
-					if (i == 5)
-					{
-						if (c != '-')
-						{
-							return new Problem(instance, annotation, target,
-									value);
-						}
-					}
-					else if (!Character.isDigit(c))
-					{
-						return new Problem(instance, annotation, target, value);
-					}
-				}
 
+			if ((mode == NINE_DIGIT || mode == BOTH)
+					&& NINE_DIGIT_MASK.matches(value))
+			{
 				return null;
 			}
 
@@ -0,0 +1,466 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.validators.net;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.pureperfect.purview.ValidationException;
+
+/**
+ * Wraps another {@link HostResolver} with a bounded cache and a bounded pool
+ * of lookup threads.
+ *
+ * <ul>
+ * <li>Host names that resolve are cached for <code>ttl</code> and host names
+ * that do not for <code>negativeTtl</code>.</li>
+ * <li>At most <code>maxConcurrency</code> lookups run at the same time and at
+ * most <code>maxQueued</code> more wait for a thread. Concurrent requests for
+ * the same host name share one lookup.</li>
+ * <li>Callers wait at most <code>timeout</code> for a lookup. A lookup that
+ * takes longer keeps running so that its answer is cached for the next
+ * caller.</li>
+ * <li>When there is no answer in time, because the lookup timed out, failed
+ * or could not be queued, the caller gets <code>unanswered</code>, which is
+ * not cached. It is false by default, so validation fails while the resolver
+ * is slow; set it to true to let validation pass instead.</li>
+ * <li>{@link #resolveAll(Iterable)} looks up a batch of host names at the
+ * same time, each distinct name once. {@link com.pureperfect.purview.Columns}
+ * calls it, through
+ * {@link HostResolvers#prefetch(CharSequence[], java.lang.annotation.Annotation)},
+ * before validating a column of host names, domains or email addresses with
+ * <code>reverseLookup</code> set.</li>
+ * </ul>
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public class CachingHostResolver implements HostResolver
+{
+	private static final class Entry
+	{
+		final long expires;
+
+		final boolean resolves;
+
+		Entry(final boolean resolves, final long expires)
+		{
+			this.resolves = resolves;
+			this.expires = expires;
+		}
+	}
+
+	private static final AtomicInteger threads = new AtomicInteger();
+
+	private static String key(final CharSequence host)
+	{
+		return host.toString().toLowerCase(Locale.ENGLISH);
+	}
+
+	private final ConcurrentMap<String, Entry> cache = new ConcurrentHashMap<String, Entry>();
+
+	private final HostResolver delegate;
+
+	private final ExecutorService executor;
+
+	private final int maxEntries;
+
+	private final long negativeTtl;
+
+	private final ConcurrentMap<String, Future<Boolean>> pending = new ConcurrentHashMap<String, Future<Boolean>>();
+
+	private final long timeout;
+
+	private final long ttl;
+
+	private final boolean unanswered;
+
+	/**
+	 * Create a new instance that runs up to 16 lookups at a time, queues up
+	 * to 1000 more, waits up to 2 seconds for each, caches up to 10000 host
+	 * names, answers that resolve for 5 minutes and answers that do not for
+	 * 30 seconds. Host names without an answer in time do not resolve.
+	 *
+	 * @param delegate
+	 *            the resolver that does the lookups
+	 */
+	public CachingHostResolver(final HostResolver delegate)
+	{
+		this(delegate, 16, 2000, 10000, 300000, 30000);
+	}
+
+	/**
+	 * Create a new instance that queues up to 1000 lookups. Host names
+	 * without an answer in time do not resolve.
+	 *
+	 * @param delegate
+	 *            the resolver that does the lookups
+	 * @param maxConcurrency
+	 *            the most lookups to run at the same time
+	 * @param timeout
+	 *            how long a caller waits for a lookup, in milliseconds
+	 * @param maxEntries
+	 *            the most host names to cache
+	 * @param ttl
+	 *            how long to cache host names that resolve, in milliseconds
+	 * @param negativeTtl
+	 *            how long to cache host names that do not resolve, in
+	 *            milliseconds
+	 */
+	public CachingHostResolver(final HostResolver delegate,
+			final int maxConcurrency, final long timeout,
+			final int maxEntries, final long ttl, final long negativeTtl)
+	{
+		this(delegate, maxConcurrency, 1000, timeout, maxEntries, ttl,
+				negativeTtl, false);
+	}
+
+	/**
+	 * Create a new instance.
+	 *
+	 * @param delegate
+	 *            the resolver that does the lookups
+	 * @param maxConcurrency
+	 *            the most lookups to run at the same time
+	 * @param maxQueued
+	 *            the most lookups to queue while all threads are busy
+	 * @param timeout
+	 *            how long a caller waits for a lookup, in milliseconds
+	 * @param maxEntries
+	 *            the most host names to cache
+	 * @param ttl
+	 *            how long to cache host names that resolve, in milliseconds
+	 * @param negativeTtl
+	 *            how long to cache host names that do not resolve, in
+	 *            milliseconds
+	 * @param unanswered
+	 *            the answer when a lookup times out, fails or cannot be
+	 *            queued
+	 */
+	public CachingHostResolver(final HostResolver delegate,
+			final int maxConcurrency, final int maxQueued,
+			final long timeout, final int maxEntries, final long ttl,
+			final long negativeTtl, final boolean unanswered)
+	{
+		this.delegate = delegate;
+		this.unanswered = unanswered;
+		this.timeout = TimeUnit.MILLISECONDS.toNanos(timeout);
+		this.maxEntries = maxEntries;
+		this.ttl = TimeUnit.MILLISECONDS.toNanos(ttl);
+		this.negativeTtl = TimeUnit.MILLISECONDS.toNanos(negativeTtl);
+
+		/*
+		 * Idle threads go away so that a resolver that is no longer used does
+		 * not pin any.
+		 */
+		final ThreadPoolExecutor pool = new ThreadPoolExecutor(
+				maxConcurrency, maxConcurrency, 60, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<Runnable>(maxQueued),
+				new ThreadFactory()
+				{
+					public Thread newThread(final Runnable r)
+					{
+						final Thread t = new Thread(r, "purview-resolver-"
+								+ threads.incrementAndGet());
+
+						t.setDaemon(true);
+
+						return t;
+					}
+				});
+
+		pool.allowCoreThreadTimeOut(true);
+
+		this.executor = pool;
+	}
+
+	/**
+	 * Remove every cached answer.
+	 */
+	public void clear()
+	{
+		this.cache.clear();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public boolean resolves(final String host)
+	{
+		final String key = key(host);
+
+		final Entry entry = this.cached(key);
+
+		if (entry != null)
+		{
+			return entry.resolves;
+		}
+
+		return this.await(this.lookup(key), System.nanoTime() + this.timeout);
+	}
+
+	/**
+	 * Look up every distinct host name in the batch at the same time. Each
+	 * lookup gets the same time budget as a single lookup, counted from when
+	 * the batch starts. Host names that cannot be queued are not looked up
+	 * and get the <code>unanswered</code> answer.
+	 *
+	 * @param hosts
+	 *            the host names
+	 * @return whether or not each distinct host name resolves, keyed by the
+	 *         lower case host name.
+	 */
+	public Map<String, Boolean> resolveAll(
+			final Iterable<? extends CharSequence> hosts)
+	{
+		final long deadline = System.nanoTime() + this.timeout;
+
+		final Map<String, Future<Boolean>> lookups = new LinkedHashMap<String, Future<Boolean>>();
+
+		final Map<String, Boolean> results = new LinkedHashMap<String, Boolean>();
+
+		for (final CharSequence host : hosts)
+		{
+			final String key = key(host);
+
+			if (results.containsKey(key) || lookups.containsKey(key))
+			{
+				continue;
+			}
+
+			final Entry entry = this.cached(key);
+
+			if (entry != null)
+			{
+				results.put(key, Boolean.valueOf(entry.resolves));
+			}
+			else
+			{
+				lookups.put(key, this.lookup(key));
+			}
+		}
+
+		for (final Map.Entry<String, Future<Boolean>> lookup : lookups
+				.entrySet())
+		{
+			results.put(lookup.getKey(), Boolean.valueOf(this.await(lookup
+					.getValue(), deadline)));
+		}
+
+		return results;
+	}
+
+	/**
+	 * Stop the lookup threads. Lookups that are already running finish.
+	 */
+	public void shutdown()
+	{
+		this.executor.shutdown();
+	}
+
+	/**
+	 * The number of cached host names, including ones that have expired but
+	 * have not been removed yet.
+	 *
+	 * @return the number of cached host names.
+	 */
+	public int size()
+	{
+		return this.cache.size();
+	}
+
+	/*
+	 * The answer of the lookup, or unanswered if there is none by the
+	 * deadline or the lookup could not be queued.
+	 */
+	private boolean await(final Future<Boolean> lookup, final long deadline)
+	{
+		if (lookup == null)
+		{
+			return this.unanswered;
+		}
+
+		try
+		{
+			return lookup.get(Math.max(0, deadline - System.nanoTime()),
+					TimeUnit.NANOSECONDS).booleanValue();
+		}
+		catch (final TimeoutException e)
+		{
+			return this.unanswered;
+		}
+		catch (final ExecutionException e)
+		{
+			return this.unanswered;
+		}
+		catch (final CancellationException e)
+		{
+			return this.unanswered;
+		}
+		catch (final InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			return this.unanswered;
+		}
+	}
+
+	private Entry cached(final String key)
+	{
+		final Entry entry = this.cache.get(key);
+
+		if (entry == null)
+		{
+			return null;
+		}
+
+		if (entry.expires - System.nanoTime() < 0)
+		{
+			this.cache.remove(key, entry);
+			return null;
+		}
+
+		return entry;
+	}
+
+	/*
+	 * Drop expired entries, then arbitrary ones until the cache is back to
+	 * three quarters of its size.
+	 */
+	private void evict()
+	{
+		final long now = System.nanoTime();
+
+		for (final Iterator<Entry> i = this.cache.values().iterator(); i
+				.hasNext();)
+		{
+			if (i.next().expires - now < 0)
+			{
+				i.remove();
+			}
+		}
+
+		final int target = this.maxEntries - (this.maxEntries >> 2);
+
+		for (final Iterator<Entry> i = this.cache.values().iterator(); i
+				.hasNext() && this.cache.size() > target;)
+		{
+			i.next();
+			i.remove();
+		}
+	}
+
+	/*
+	 * The running or new lookup of the host name, or null if it cannot be
+	 * queued.
+	 */
+	private Future<Boolean> lookup(final String key)
+	{
+		final Future<Boolean> running = this.pending.get(key);
+
+		if (running != null)
+		{
+			return running;
+		}
+
+		final FutureTask<Boolean> task = new FutureTask<Boolean>(
+				new Callable<Boolean>()
+				{
+					public Boolean call()
+					{
+						try
+						{
+							final boolean resolves = CachingHostResolver.this.delegate
+									.resolves(key);
+
+							CachingHostResolver.this.store(key, resolves);
+
+							return Boolean.valueOf(resolves);
+						}
+						finally
+						{
+							/*
+							 * The answer is cached before the lookup is
+							 * removed, so later callers find one or the
+							 * other.
+							 */
+							CachingHostResolver.this.pending.remove(key);
+						}
+					}
+				});
+
+		final Future<Boolean> existing = this.pending.putIfAbsent(key, task);
+
+		if (existing != null)
+		{
+			return existing;
+		}
+
+		try
+		{
+			this.executor.execute(task);
+		}
+		catch (final RejectedExecutionException e)
+		{
+			this.pending.remove(key, task);
+
+			/*
+			 * Callers that found the task while it was pending stop waiting
+			 * for it.
+			 */
+			task.cancel(false);
+
+			if (this.executor.isShutdown())
+			{
+				throw new ValidationException(
+						"The resolver has been shut down.", e);
+			}
+
+			return null;
+		}
+
+		return task;
+	}
+
+	private void store(final String key, final boolean resolves)
+	{
+		if (this.cache.size() >= this.maxEntries)
+		{
+			this.evict();
+		}
+
+		this.cache.put(key, new Entry(resolves, System.nanoTime()
+				+ (resolves ? this.ttl : this.negativeTtl)));
+	}
+}
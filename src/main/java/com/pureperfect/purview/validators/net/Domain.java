@@ -117,6 +117,7 @@ public @interface Domain
 
 	/**
 	 * Whether or not to perform a reverse lookup to validate the host.
+	 * Lookups go through {@link HostResolvers#getDefault()}.
 	 * 
 	 * @return true if reverse lookup.
 	 */
@@ -124,7 +125,8 @@ public @interface Domain
 
 	/**
 	 * Compare the Top-Level Domain against <code>validtlds.lst</code> to see if
-	 * it is valid. If the TLD is not in the file, validation will fail.
+	 * it is valid. If the TLD is not in the file, validation will fail. See
+	 * {@link TopLevelDomains} for loading a newer list.
 	 * 
 	 * @return whether or not to validate Top-Level domains.
 	 */
@@ -111,23 +111,32 @@ public @interface Email
 			}
 
 			/*
-			 * Find index of '@'.
+			 * One pass over the value: the account up to the first '@', then
+			 * the domain. Nothing is copied unless there is a problem.
 			 */
+			final int length = value.length();
+
 			int atIndex = -1;
-			int length = value.length();
+			boolean validAccount = true;
 
-			for (int i = 0; i < length; i++)
+			for (int i = 0; i < length; ++i)
 			{
-				char c = value.charAt(i);
+				final char c = value.charAt(i);
 
 				if (c == '@')
 				{
 					atIndex = i;
 					break;
 				}
+
+				if (validAccount
+						&& !ValidationRoutines.isValidEmailAccountChar(c))
+				{
+					validAccount = false;
+				}
 			}
 
-			if (atIndex < 0 || atIndex + 1 > length)
+			if (atIndex < 0)
 			{
 				return new Problem(instance, annotation, target, value);
 			}
@@ -135,31 +144,28 @@ public @interface Email
 			/*
 			 * Validate domain portion.
 			 */
-			final String domain = value.subSequence(atIndex + 1, length)
-					.toString();
+			final int domain = ValidationRoutines.checkDomain(value,
+					atIndex + 1, length, annotation.reverseLookup(),
+					annotation.validateTlds());
 
-			final ValidationProblem problem = ValidationRoutines
-					.validateDomain(instance, annotation, target, domain,
-							annotation.reverseLookup(),
-							annotation.validateTlds());
+			if (domain == ValidationRoutines.INVALID_DOMAIN)
+			{
+				return new InvalidDomainNameProblem(instance, annotation,
+						target, value.subSequence(atIndex + 1, length));
+			}
 
-			if (problem != null)
+			if (domain == ValidationRoutines.INVALID_HOST)
 			{
-				return problem;
+				return new InvalidHostNameProblem(instance, annotation, target,
+						value.subSequence(atIndex + 1, length));
 			}
 
 			/*
 			 * Validate account portion.
 			 */
-			final CharSequence account = value.subSequence(0, atIndex);
-
-			for (int i = 0, accountLength = account.length(); i < accountLength; ++i)
+			if (!validAccount)
 			{
-				if (!ValidationRoutines.isValidEmailAccountChar(account
-						.charAt(i)))
-				{
-					return new Problem(instance, annotation, target, value);
-				}
+				return new Problem(instance, annotation, target, value);
 			}
 
 			return null;
@@ -183,6 +189,7 @@ public @interface Email
 
 	/**
 	 * Whether or not to perform reverse lookup on the domain.
+	 * Lookups go through {@link HostResolvers#getDefault()}.
 	 * 
 	 * @return Whether or not to perform reverse lookup on the domain.
 	 */
@@ -190,7 +197,8 @@ public @interface Email
 
 	/**
 	 * Compare the Top-Level Domain against <code>validtlds.lst</code> to see if
-	 * it is valid. If the TLD is not in the file, validation will fail.
+	 * it is valid. If the TLD is not in the file, validation will fail. See
+	 * {@link TopLevelDomains} for loading a newer list.
 	 * 
 	 * @return whether or not to validate Top-Level domains.
 	 */
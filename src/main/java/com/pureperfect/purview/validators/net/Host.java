@@ -113,6 +113,7 @@ public @interface Host
 
 	/**
 	 * Whether or not to perform a reverse lookup to validate the host.
+	 * Lookups go through {@link HostResolvers#getDefault()}.
 	 * 
 	 * @return true if reverse lookup.
 	 */
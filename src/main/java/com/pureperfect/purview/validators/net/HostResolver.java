@@ -0,0 +1,54 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.validators.net;
+
+/**
+ * Looks up host names for validators with <code>reverseLookup</code> set,
+ * such as {@link Host#reverseLookup()}. The resolver that is used is set with
+ * {@link HostResolvers#setDefault(HostResolver)}.
+ *
+ * <p>
+ * Implementations must be thread safe.
+ * </p>
+ *
+ * <p>
+ * A resolver that cannot get an answer, for example because the lookup timed
+ * out, has to answer one way or the other. Answering false fails validation
+ * while name resolution is slow or down; answering true lets the values
+ * through unchecked. {@link CachingHostResolver} answers false unless it is
+ * created with <code>unanswered</code> set to true.
+ * </p>
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ * @see CachingHostResolver
+ * @see InetAddressHostResolver
+ * @see StubHostResolver
+ */
+public interface HostResolver
+{
+	/**
+	 * Whether or not the host name resolves to an address.
+	 *
+	 * @param host
+	 *            the host name
+	 * @return true if it resolves. What is returned when there is no answer
+	 *         depends on the implementation.
+	 */
+	public boolean resolves(String host);
+}
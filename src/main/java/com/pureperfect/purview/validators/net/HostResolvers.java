@@ -0,0 +1,183 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.validators.net;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds the {@link HostResolver} that validators use for reverse lookups. By
+ * default it is a {@link CachingHostResolver} around an
+ * {@link InetAddressHostResolver}.
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public final class HostResolvers
+{
+	private static volatile HostResolver resolver;
+
+	/**
+	 * The resolver validators use.
+	 *
+	 * @return the resolver validators use.
+	 */
+	public static HostResolver getDefault()
+	{
+		HostResolver r = resolver;
+
+		if (r == null)
+		{
+			synchronized (HostResolvers.class)
+			{
+				r = resolver;
+
+				if (r == null)
+				{
+					r = new CachingHostResolver(new InetAddressHostResolver());
+					resolver = r;
+				}
+			}
+		}
+
+		return r;
+	}
+
+	/**
+	 * Look up the host names that validating the values against the
+	 * annotation would look up, all at the same time and each distinct name
+	 * once, so that validating the values one at a time finds the answers
+	 * cached. Does nothing unless the annotation is a {@link Host},
+	 * {@link Domain} or {@link Email} with <code>reverseLookup</code> set and
+	 * its own validator, and the resolver validators use is a
+	 * {@link CachingHostResolver}.
+	 *
+	 * @param values
+	 *            the values that will be validated
+	 * @param annotation
+	 *            the annotation they will be validated against
+	 */
+	public static void prefetch(final CharSequence[] values,
+			final Annotation annotation)
+	{
+		final HostResolver r = getDefault();
+
+		if (!(r instanceof CachingHostResolver))
+		{
+			return;
+		}
+
+		final List<String> hosts = new ArrayList<String>(values.length);
+
+		if (annotation instanceof Host
+				&& ((Host) annotation).reverseLookup()
+				&& ((Host) annotation).validator() == Host.Validator.class)
+		{
+			for (final CharSequence value : values)
+			{
+				if (value != null && value.length() > 0)
+				{
+					hosts.add(value.toString());
+				}
+			}
+		}
+		else if (annotation instanceof Domain
+				&& ((Domain) annotation).reverseLookup()
+				&& ((Domain) annotation).validator() == Domain.Validator.class)
+		{
+			final boolean validateTlds = ((Domain) annotation).validateTlds();
+
+			for (final CharSequence value : values)
+			{
+				if (value != null)
+				{
+					domain(hosts, value, 0, validateTlds);
+				}
+			}
+		}
+		else if (annotation instanceof Email
+				&& ((Email) annotation).reverseLookup()
+				&& ((Email) annotation).validator() == Email.Validator.class)
+		{
+			final boolean validateTlds = ((Email) annotation).validateTlds();
+
+			for (final CharSequence value : values)
+			{
+				if (value != null)
+				{
+					final int at = indexOf(value, '@');
+
+					if (at > -1)
+					{
+						domain(hosts, value, at + 1, validateTlds);
+					}
+				}
+			}
+		}
+
+		if (!hosts.isEmpty())
+		{
+			((CachingHostResolver) r).resolveAll(hosts);
+		}
+	}
+
+	/**
+	 * Set the resolver validators use.
+	 *
+	 * @param resolver
+	 *            the resolver, or null to go back to the default one
+	 */
+	public static void setDefault(final HostResolver resolver)
+	{
+		HostResolvers.resolver = resolver;
+	}
+
+	/*
+	 * Add the domain if it is well formed, the only case in which the
+	 * validators look it up.
+	 */
+	private static void domain(final List<String> hosts,
+			final CharSequence value, final int start,
+			final boolean validateTlds)
+	{
+		if (ValidationRoutines.checkDomain(value, start, value.length(),
+				false, validateTlds) == ValidationRoutines.VALID)
+		{
+			hosts.add(value.subSequence(start, value.length()).toString());
+		}
+	}
+
+	private static int indexOf(final CharSequence value, final char c)
+	{
+		for (int i = 0; i < value.length(); ++i)
+		{
+			if (value.charAt(i) == c)
+			{
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	private HostResolvers()
+	{
+		// hide constructor
+	}
+}
@@ -24,7 +24,8 @@ import java.lang.annotation.Target;
 import com.pureperfect.purview.ValidationProblem;
 
 /**
- * Mark a field as an IP address.
+ * Mark a field as an IP address. Only IPv4 addresses are accepted unless
+ * {@link #version()} says otherwise.
  * 
  * <p>
  * E.G:
@@ -110,27 +111,41 @@ public @interface IPAddress
 				return null;
 			}
 
-			final String s = address.toString();
+			final int length = address.length();
 
-			final String[] octets = s.split("\\.");
+			final int version = annotation.version();
 
-			if (octets.length != 4)
+			if (version != IPV6
+					&& IPAddressParser.parseIPv4(address, 0, length) != IPAddressParser.INVALID)
 			{
-				return new Problem(instance, annotation, target, address);
+				return null;
 			}
 
-			for (final String o : octets)
+			if (version != IPV4
+					&& IPAddressParser.parseIPv6(address, 0, length, null))
 			{
-				if (!ValidationRoutines.isValidOctet(o))
-				{
-					return new Problem(instance, annotation, target, address);
-				}
+				return null;
 			}
 
-			return null;
+			return new Problem(instance, annotation, target, address);
 		}
 	}
 
+	/**
+	 * Indicate that either {@link #IPV4} or {@link #IPV6} is acceptable.
+	 */
+	public static final int BOTH = 2;
+
+	/**
+	 * An IPv4 address such as 192.168.0.1.
+	 */
+	public static final int IPV4 = 0;
+
+	/**
+	 * An IPv6 address such as 2001:db8::1 or ::ffff:192.168.0.1.
+	 */
+	public static final int IPV6 = 1;
+
 	/**
 	 * Optional message key to use to define an i18n message.
 	 * 
@@ -146,6 +161,14 @@ public @interface IPAddress
 	 */
 	boolean required() default false;
 
+	/**
+	 * Either {@link IPAddress#IPV4} or {@link IPAddress#IPV6} or
+	 * {@link IPAddress#BOTH}. The default version is {@link IPAddress#IPV4}.
+	 * 
+	 * @return the IP version that is accepted.
+	 */
+	int version() default IPV4;
+
 	/**
 	 * The {@link IPAddress.Validator Validator} for this annotation.
 	 * 
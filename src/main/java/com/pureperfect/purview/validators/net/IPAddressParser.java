@@ -0,0 +1,325 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.validators.net;
+
+/**
+ * Parses textual IPv4 and IPv6 addresses in a single pass over a
+ * {@link CharSequence}, without allocating and without exceptions.
+ *
+ * <p>
+ * IPv4 addresses are four dot separated decimal octets of one to three
+ * digits each. IPv6 addresses are eight colon separated groups of one to four
+ * hex digits, where one run of groups may be compressed to <code>::</code>
+ * and the last two groups may be written as an IPv4 address, as in
+ * <code>::ffff:192.168.0.1</code>. Zone ids and brackets are not accepted.
+ * </p>
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public final class IPAddressParser
+{
+	/**
+	 * Returned by {@link #parseIPv4(CharSequence, int, int)} when the value is
+	 * not an IPv4 address.
+	 */
+	public static final long INVALID = -1;
+
+	/**
+	 * Whether or not the value is an IPv4 address.
+	 *
+	 * @param value
+	 *            the value
+	 * @return true if it is.
+	 */
+	public static boolean isIPv4(final CharSequence value)
+	{
+		return parseIPv4(value, 0, value.length()) != INVALID;
+	}
+
+	/**
+	 * Whether or not the value is an IPv6 address.
+	 *
+	 * @param value
+	 *            the value
+	 * @return true if it is.
+	 */
+	public static boolean isIPv6(final CharSequence value)
+	{
+		return parseIPv6(value, 0, value.length(), null);
+	}
+
+	/**
+	 * Parse the IPv4 address between <code>start</code> (inclusive) and
+	 * <code>end</code> (exclusive).
+	 *
+	 * @param value
+	 *            the value to parse
+	 * @param start
+	 *            the index of the first character of the address
+	 * @param end
+	 *            the index after the last character of the address
+	 * @return the address packed into the low 32 bits, so
+	 *         <code>(int) result</code> is the address in network byte order,
+	 *         or {@link #INVALID}.
+	 */
+	public static long parseIPv4(final CharSequence value, final int start,
+			final int end)
+	{
+		long address = 0;
+		int octets = 0;
+		int i = start;
+
+		for (;;)
+		{
+			int octet = 0;
+			int digits = 0;
+
+			for (; i < end; ++i)
+			{
+				final char c = value.charAt(i);
+
+				if (c < '0' || c > '9')
+				{
+					break;
+				}
+
+				if (++digits > 3)
+				{
+					return INVALID;
+				}
+
+				octet = octet * 10 + (c - '0');
+			}
+
+			if (digits == 0 || octet > 255)
+			{
+				return INVALID;
+			}
+
+			address = (address << 8) | octet;
+			++octets;
+
+			if (i == end)
+			{
+				break;
+			}
+
+			if (octets == 4 || value.charAt(i) != '.')
+			{
+				return INVALID;
+			}
+
+			++i;
+		}
+
+		return octets == 4 ? address : INVALID;
+	}
+
+	/**
+	 * Parse the IPv6 address between <code>start</code> (inclusive) and
+	 * <code>end</code> (exclusive).
+	 *
+	 * @param value
+	 *            the value to parse
+	 * @param start
+	 *            the index of the first character of the address
+	 * @param end
+	 *            the index after the last character of the address
+	 * @param address
+	 *            if not null and the value is valid, the high 64 bits of the
+	 *            address are stored in <code>address[0]</code> and the low 64
+	 *            bits in <code>address[1]</code>
+	 * @return true if the value is an IPv6 address.
+	 */
+	public static boolean parseIPv6(final CharSequence value, final int start,
+			final int end, final long[] address)
+	{
+		if (end - start < 2)
+		{
+			return false;
+		}
+
+		/*
+		 * Groups before the :: go in head, groups after it in tail. Each is a
+		 * 128 bit shift register of 16 bit groups.
+		 */
+		long headHigh = 0;
+		long headLow = 0;
+		long tailHigh = 0;
+		long tailLow = 0;
+		int groups = 0;
+		int headGroups = 0;
+		boolean compressed = false;
+
+		int i = start;
+
+		if (value.charAt(i) == ':')
+		{
+			if (value.charAt(i + 1) != ':')
+			{
+				return false;
+			}
+
+			compressed = true;
+			i += 2;
+		}
+
+		while (i < end)
+		{
+			final int groupStart = i;
+
+			int group = 0;
+			int digits = 0;
+
+			for (; i < end && digits < 5; ++i)
+			{
+				final int digit = hexDigit(value.charAt(i));
+
+				if (digit < 0)
+				{
+					break;
+				}
+
+				group = (group << 4) | digit;
+				++digits;
+			}
+
+			final int count;
+			final long bits;
+
+			if (i < end && value.charAt(i) == '.')
+			{
+				/*
+				 * Embedded IPv4 address in the last 32 bits.
+				 */
+				final long ipv4 = parseIPv4(value, groupStart, end);
+
+				if (ipv4 == INVALID)
+				{
+					return false;
+				}
+
+				count = 2;
+				bits = ipv4;
+				i = end;
+			}
+			else if (digits == 0 || digits > 4)
+			{
+				return false;
+			}
+			else
+			{
+				count = 1;
+				bits = group;
+			}
+
+			groups += count;
+
+			if (groups > 8)
+			{
+				return false;
+			}
+
+			final int shift = count * 16;
+
+			if (compressed)
+			{
+				tailHigh = (tailHigh << shift) | (tailLow >>> (64 - shift));
+				tailLow = (tailLow << shift) | bits;
+			}
+			else
+			{
+				headHigh = (headHigh << shift) | (headLow >>> (64 - shift));
+				headLow = (headLow << shift) | bits;
+				headGroups = groups;
+			}
+
+			if (i == end)
+			{
+				break;
+			}
+
+			if (value.charAt(i) != ':' || ++i == end)
+			{
+				return false;
+			}
+
+			if (value.charAt(i) == ':')
+			{
+				if (compressed)
+				{
+					return false;
+				}
+
+				compressed = true;
+				++i;
+			}
+		}
+
+		/*
+		 * :: stands for at least one group of zeros.
+		 */
+		if (compressed ? groups > 7 : groups != 8)
+		{
+			return false;
+		}
+
+		if (address != null)
+		{
+			/*
+			 * Move the head groups to the top of the address.
+			 */
+			for (int g = headGroups; g < 8; ++g)
+			{
+				headHigh = (headHigh << 16) | (headLow >>> 48);
+				headLow <<= 16;
+			}
+
+			address[0] = headHigh | tailHigh;
+			address[1] = headLow | tailLow;
+		}
+
+		return true;
+	}
+
+	private static int hexDigit(final char c)
+	{
+		if (c >= '0' && c <= '9')
+		{
+			return c - '0';
+		}
+
+		if (c >= 'a' && c <= 'f')
+		{
+			return c - 'a' + 10;
+		}
+
+		if (c >= 'A' && c <= 'F')
+		{
+			return c - 'A' + 10;
+		}
+
+		return -1;
+	}
+
+	private IPAddressParser()
+	{
+		// hide constructor
+	}
+}
@@ -14,35 +14,35 @@
  * See the License for the specific language governing permissions
  * and limitations under the License. 
  */
-package com.pureperfect.purview.i18n;
+package com.pureperfect.purview.validators.net;
 
-//import br.com.oncast.dev.lobo.Profile;
-
-import com.pureperfect.purview.validators.net.Email;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
 
 /**
- * Profile for {@link YALEExpressionEngine}.
- * 
+ * Resolves host names with {@link InetAddress#getByName(String)}. Lookups
+ * block the calling thread, so this is normally wrapped in a
+ * {@link CachingHostResolver}.
+ *
  * @author J. Chris Folsom
- * @version 1.1
- * @since 1.0
+ * @version 1.4
+ * @since 1.4
  */
-public class YALEExpressionEngineBench
+public class InetAddressHostResolver implements HostResolver
 {
-//	final ExpressionEngine yale = YALEExpressionEngine.defaultInstance();
-//
-//	final Email.Problem problem = new Email.Problem("instanceValue", null,
-//			null, "bademail");
-//
-//	@Profile
-//	public void eval()
-//	{
-//		final int count = 100000;
-//
-//		for (int i = 0; i < count; ++i)
-//		{
-//			this.yale.eval("The bad email address was: ${problem.getValue}",
-//					this.problem);
-//		}
-//	}
+	/**
+	 * {@inheritDoc}
+	 */
+	public boolean resolves(final String host)
+	{
+		try
+		{
+			InetAddress.getByName(host);
+			return true;
+		}
+		catch (final UnknownHostException e)
+		{
+			return false;
+		}
+	}
 }
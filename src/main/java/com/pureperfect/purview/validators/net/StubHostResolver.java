@@ -0,0 +1,128 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.validators.net;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A resolver that knows a fixed set of host names and never touches the
+ * network. Use it in tests of code that validates with
+ * <code>reverseLookup</code> set.
+ *
+ * <p>
+ * E.G:
+ * </p>
+ *
+ * <pre>
+ * HostResolvers.setDefault(new StubHostResolver(&quot;pureperfect.com&quot;));
+ * </pre>
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public class StubHostResolver implements HostResolver
+{
+	private volatile long delay;
+
+	private final Set<String> hosts = ConcurrentHashMap.newKeySet();
+
+	private final AtomicInteger lookups = new AtomicInteger();
+
+	/**
+	 * Create a new instance.
+	 *
+	 * @param hosts
+	 *            the host names that resolve
+	 */
+	public StubHostResolver(final String... hosts)
+	{
+		for (final String host : hosts)
+		{
+			this.add(host);
+		}
+	}
+
+	/**
+	 * Make the host name resolve.
+	 *
+	 * @param host
+	 *            the host name
+	 */
+	public void add(final String host)
+	{
+		this.hosts.add(host.toLowerCase(Locale.ENGLISH));
+	}
+
+	/**
+	 * The number of lookups made so far.
+	 *
+	 * @return The number of lookups made so far.
+	 */
+	public int getLookups()
+	{
+		return this.lookups.get();
+	}
+
+	/**
+	 * Stop the host name from resolving.
+	 *
+	 * @param host
+	 *            the host name
+	 */
+	public void remove(final String host)
+	{
+		this.hosts.remove(host.toLowerCase(Locale.ENGLISH));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public boolean resolves(final String host)
+	{
+		this.lookups.incrementAndGet();
+
+		if (this.delay > 0)
+		{
+			try
+			{
+				Thread.sleep(this.delay);
+			}
+			catch (final InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		}
+
+		return this.hosts.contains(host.toLowerCase(Locale.ENGLISH));
+	}
+
+	/**
+	 * Make every lookup take this long, to simulate a slow name server.
+	 *
+	 * @param delay
+	 *            the delay in milliseconds
+	 */
+	public void setDelay(final long delay)
+	{
+		this.delay = delay;
+	}
+}
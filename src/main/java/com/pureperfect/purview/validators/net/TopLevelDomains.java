@@ -0,0 +1,335 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.validators.net;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.pureperfect.purview.ValidationException;
+
+/**
+ * The list of valid Top-Level Domains used by {@link Domain#validateTlds()}
+ * and {@link Email#validateTlds()}.
+ *
+ * <p>
+ * The list bundled in <code>validtlds.lst</code> is loaded the first time it
+ * is needed. Since the list of domains changes over time, a newer list, such
+ * as the one published by IANA, can be loaded with {@link #reload(File)}
+ * without restarting. Lines that are blank or start with <code>#</code> are
+ * ignored.
+ * </p>
+ *
+ * <p>
+ * The domains are stored upper case, sorted and packed into a single array,
+ * so lookups are a binary search over the characters of the candidate and do
+ * not allocate.
+ * </p>
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public final class TopLevelDomains
+{
+	private static final class Table
+	{
+		final char[] chars;
+
+		final int[] starts;
+
+		Table(final List<String> tlds)
+		{
+			Collections.sort(tlds);
+
+			int length = 0;
+
+			for (final String tld : tlds)
+			{
+				length += tld.length();
+			}
+
+			this.chars = new char[length];
+			this.starts = new int[tlds.size() + 1];
+
+			int position = 0;
+
+			for (int i = 0; i < tlds.size(); ++i)
+			{
+				final String tld = tlds.get(i);
+
+				tld.getChars(0, tld.length(), this.chars, position);
+
+				this.starts[i] = position;
+
+				position += tld.length();
+			}
+
+			this.starts[tlds.size()] = position;
+		}
+
+		/*
+		 * Compare the entry with the upper case form of the candidate.
+		 */
+		int compare(final int entry, final CharSequence value,
+				final int start, final int end)
+		{
+			final int from = this.starts[entry];
+			final int to = this.starts[entry + 1];
+
+			final int length = Math.min(to - from, end - start);
+
+			for (int i = 0; i < length; ++i)
+			{
+				final char a = this.chars[from + i];
+				final char b = upperCase(value.charAt(start + i));
+
+				if (a != b)
+				{
+					return a - b;
+				}
+			}
+
+			return (to - from) - (end - start);
+		}
+
+		boolean contains(final CharSequence value, final int start,
+				final int end)
+		{
+			int low = 0;
+			int high = this.starts.length - 2;
+
+			while (low <= high)
+			{
+				final int mid = (low + high) >>> 1;
+
+				final int cmp = this.compare(mid, value, start, end);
+
+				if (cmp < 0)
+				{
+					low = mid + 1;
+				}
+				else if (cmp > 0)
+				{
+					high = mid - 1;
+				}
+				else
+				{
+					return true;
+				}
+			}
+
+			return false;
+		}
+
+		int size()
+		{
+			return this.starts.length - 1;
+		}
+	}
+
+	private static final String BUNDLED = "com/pureperfect/purview/validators/net/validtlds.lst";
+
+	private static volatile Table table;
+
+	/**
+	 * Whether or not the value is a valid Top-Level Domain, ignoring case.
+	 *
+	 * @param tld
+	 *            the Top-Level Domain, without a leading dot
+	 * @return true if it is valid.
+	 */
+	public static boolean contains(final CharSequence tld)
+	{
+		return contains(tld, 0, tld.length());
+	}
+
+	/**
+	 * Whether or not the characters of the value between <code>start</code>
+	 * (inclusive) and <code>end</code> (exclusive) are a valid Top-Level
+	 * Domain, ignoring case.
+	 *
+	 * @param value
+	 *            the value to look in, for instance a whole domain name
+	 * @param start
+	 *            the index of the first character of the Top-Level Domain
+	 * @param end
+	 *            the index after the last character of the Top-Level Domain
+	 * @return true if it is valid.
+	 */
+	public static boolean contains(final CharSequence value, final int start,
+			final int end)
+	{
+		return table().contains(value, start, end);
+	}
+
+	/**
+	 * Replace the list of Top-Level Domains with the list in the file.
+	 *
+	 * @param file
+	 *            a text file with one Top-Level Domain per line
+	 * @throws IOException
+	 *             if the file cannot be read. The current list is kept.
+	 */
+	public static void reload(final File file) throws IOException
+	{
+		final InputStream in = new FileInputStream(file);
+
+		try
+		{
+			reload(in);
+		}
+		finally
+		{
+			in.close();
+		}
+	}
+
+	/**
+	 * Replace the list of Top-Level Domains with the list in the stream.
+	 *
+	 * @param in
+	 *            a stream with one Top-Level Domain per line
+	 * @throws IOException
+	 *             if the stream cannot be read. The current list is kept.
+	 */
+	public static void reload(final InputStream in) throws IOException
+	{
+		table = read(in);
+	}
+
+	/**
+	 * Go back to the bundled list. It is loaded again the next time it is
+	 * needed.
+	 */
+	public static void reset()
+	{
+		table = null;
+	}
+
+	/**
+	 * The number of Top-Level Domains in the list.
+	 *
+	 * @return The number of Top-Level Domains in the list.
+	 */
+	public static int size()
+	{
+		return table().size();
+	}
+
+	private static Table loadBundled()
+	{
+		ClassLoader cl = Thread.currentThread().getContextClassLoader();
+
+		if (cl == null || cl.getResource(BUNDLED) == null)
+		{
+			cl = TopLevelDomains.class.getClassLoader();
+		}
+
+		final InputStream in = cl.getResourceAsStream(BUNDLED);
+
+		if (in == null)
+		{
+			throw new ValidationException("Could not find validtlds.lst!!!");
+		}
+
+		try
+		{
+			try
+			{
+				return read(in);
+			}
+			finally
+			{
+				in.close();
+			}
+		}
+		catch (final IOException e)
+		{
+			throw new ValidationException("Could not load validtlds.lst", e);
+		}
+	}
+
+	private static Table read(final InputStream in) throws IOException
+	{
+		final BufferedReader reader = new BufferedReader(new InputStreamReader(
+				in, "UTF-8"));
+
+		final List<String> tlds = new ArrayList<String>();
+
+		for (String s = reader.readLine(); s != null; s = reader.readLine())
+		{
+			s = s.trim();
+
+			if (s.length() > 0 && s.charAt(0) != '#')
+			{
+				final char[] chars = s.toCharArray();
+
+				for (int i = 0; i < chars.length; ++i)
+				{
+					chars[i] = upperCase(chars[i]);
+				}
+
+				tlds.add(new String(chars));
+			}
+		}
+
+		return new Table(tlds);
+	}
+
+	private static Table table()
+	{
+		Table t = table;
+
+		if (t == null)
+		{
+			synchronized (TopLevelDomains.class)
+			{
+				t = table;
+
+				if (t == null)
+				{
+					t = loadBundled();
+					table = t;
+				}
+			}
+		}
+
+		return t;
+	}
+
+	private static char upperCase(final char c)
+	{
+		if (c < 0x80)
+		{
+			return c >= 'a' && c <= 'z' ? (char) (c - 32) : c;
+		}
+
+		return Character.toUpperCase(c);
+	}
+
+	private TopLevelDomains()
+	{
+		// hide constructor
+	}
+}
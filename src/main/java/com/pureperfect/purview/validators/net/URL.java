@@ -20,10 +20,14 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
-import java.net.MalformedURLException;
+
+import com.pureperfect.purview.util.CharSequenceSet;
+import com.pureperfect.purview.util.WeakIdentityCache;
 
 /**
- * Mark a field as one that is a Uniform Resource Locator.
+ * Mark a field as one that is a Uniform Resource Locator. The value must be an
+ * absolute URI as defined by RFC 3986. The scheme does not need to be one
+ * that <code>java.net.URL</code> has a handler for.
  * 
  * <p>
  * E.G:
@@ -74,6 +78,25 @@ public @interface URL
 			implements
 			com.pureperfect.purview.Validator<InvalidURLProblem, Object, URL, Object, CharSequence>
 	{
+		private static final WeakIdentityCache<URL, CharSequenceSet> cache = new WeakIdentityCache<URL, CharSequenceSet>();
+
+		/*
+		 * Annotation array attributes are cloned on every call, so the
+		 * schemes are copied into a set once per annotation.
+		 */
+		private static CharSequenceSet schemes(final URL annotation)
+		{
+			final CharSequenceSet schemes = cache.get(annotation);
+
+			if (schemes != null)
+			{
+				return schemes;
+			}
+
+			return cache.putIfAbsent(annotation,
+					CharSequenceSet.of(annotation.schemes(), true));
+		}
+
 		public InvalidURLProblem validate(final Object instance,
 				final URL annotation, final Object target,
 				final CharSequence url)
@@ -89,18 +112,14 @@ public @interface URL
 				return null;
 			}
 
-			try
+			if (URLScanner.isValid(url, schemes(annotation),
+					annotation.validateHost(), annotation.minPort(),
+					annotation.maxPort()))
 			{
-				new java.net.URL(url.toString());
-
 				return null;
 			}
-			catch (final MalformedURLException e)
-			{
-				return new InvalidURLProblem(instance,
-						annotation,
-						target, url);
-			}
+
+			return new InvalidURLProblem(instance, annotation, target, url);
 		}
 	}
 
@@ -119,6 +138,38 @@ public @interface URL
 	 */
 	boolean required() default false;
 
+	/**
+	 * The largest allowed port, if the URL has one.
+	 * 
+	 * @return the largest allowed port.
+	 */
+	int maxPort() default 65535;
+
+	/**
+	 * The smallest allowed port, if the URL has one.
+	 * 
+	 * @return the smallest allowed port.
+	 */
+	int minPort() default 0;
+
+	/**
+	 * The allowed schemes, such as <code>{"http", "https"}</code>, compared
+	 * ignoring case. Any scheme is allowed by default.
+	 * 
+	 * @return the allowed schemes.
+	 */
+	String[] schemes() default {};
+
+	/**
+	 * Whether or not the host must be a valid host name, as with
+	 * {@link Host}, or an IP address. By default any host that RFC 3986
+	 * allows is accepted, including none at all, as in
+	 * <code>file:///tmp</code>.
+	 * 
+	 * @return whether or not to validate the host.
+	 */
+	boolean validateHost() default false;
+
 	/**
 	 * The {@link URL.Validator Validator} for this annotation.
 	 * 
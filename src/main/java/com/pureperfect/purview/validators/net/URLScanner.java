@@ -0,0 +1,345 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.validators.net;
+
+import com.pureperfect.purview.util.CharSequenceSet;
+
+/**
+ * Checks absolute URIs against the generic syntax of RFC 3986 in a single
+ * pass over the value. Unlike <code>java.net.URL</code> it does not need a
+ * protocol handler for the scheme, does not allocate and does not throw.
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+final class URLScanner
+{
+	private static final byte SCHEME = 1;
+
+	private static final byte REG_NAME = 2;
+
+	private static final byte USER_INFO = 4;
+
+	private static final byte PATH = 8;
+
+	private static final byte QUERY = 16;
+
+	private static final byte[] CHARS = new byte[128];
+
+	static
+	{
+		final byte pchar = PATH | QUERY;
+		final byte unreserved = REG_NAME | USER_INFO | pchar;
+
+		for (char c = 0; c < 128; ++c)
+		{
+			if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')
+					|| (c >= '0' && c <= '9'))
+			{
+				CHARS[c] = SCHEME | unreserved;
+			}
+		}
+
+		for (final char c : "-._~!$&'()*+,;=".toCharArray())
+		{
+			CHARS[c] = unreserved;
+		}
+
+		CHARS['+'] |= SCHEME;
+		CHARS['-'] |= SCHEME;
+		CHARS['.'] |= SCHEME;
+
+		CHARS[':'] = USER_INFO | pchar;
+		CHARS['@'] = pchar;
+		CHARS['/'] = pchar;
+		CHARS['?'] = QUERY;
+	}
+
+	/**
+	 * Check the value.
+	 *
+	 * @param value
+	 *            the value
+	 * @param schemes
+	 *            the allowed schemes, or an empty set to allow any scheme
+	 * @param validateHost
+	 *            whether or not the host must be a valid host name or IP
+	 *            address rather than any RFC 3986 registered name
+	 * @param minPort
+	 *            the smallest allowed port
+	 * @param maxPort
+	 *            the largest allowed port
+	 * @return true if the value is valid.
+	 */
+	static boolean isValid(final CharSequence value,
+			final CharSequenceSet schemes, final boolean validateHost,
+			final int minPort, final int maxPort)
+	{
+		final int end = value.length();
+
+		/*
+		 * scheme ":"
+		 */
+		if (end == 0 || !isAlpha(value.charAt(0)))
+		{
+			return false;
+		}
+
+		int i = 1;
+
+		while (i < end && value.charAt(i) < 128
+				&& (CHARS[value.charAt(i)] & SCHEME) != 0)
+		{
+			++i;
+		}
+
+		if (i == end || value.charAt(i) != ':')
+		{
+			return false;
+		}
+
+		if (schemes.size() > 0 && !schemes.contains(value, 0, i))
+		{
+			return false;
+		}
+
+		++i;
+
+		/*
+		 * "//" authority
+		 */
+		if (i + 1 < end && value.charAt(i) == '/' && value.charAt(i + 1) == '/')
+		{
+			i = scanAuthority(value, i + 2, end, validateHost, minPort,
+					maxPort);
+
+			if (i < 0)
+			{
+				return false;
+			}
+		}
+
+		/*
+		 * path [ "?" query ] [ "#" fragment ]
+		 */
+		i = skip(value, i, end, PATH);
+
+		if (i < end && value.charAt(i) == '?')
+		{
+			i = skip(value, i + 1, end, QUERY);
+		}
+
+		if (i < end && value.charAt(i) == '#')
+		{
+			i = skip(value, i + 1, end, QUERY);
+		}
+
+		return i == end;
+	}
+
+	private static boolean isAlpha(final char c)
+	{
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+	}
+
+	private static boolean isHex(final char c)
+	{
+		return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f')
+				|| (c >= 'A' && c <= 'F');
+	}
+
+	/*
+	 * IPvFuture = "v" 1*HEXDIG "." 1*( unreserved / sub-delims / ":" )
+	 */
+	private static boolean isIPvFuture(final CharSequence value,
+			final int start, final int end)
+	{
+		int i = start + 1;
+
+		while (i < end && isHex(value.charAt(i)))
+		{
+			++i;
+		}
+
+		if (i == start + 1 || i == end || value.charAt(i) != '.')
+		{
+			return false;
+		}
+
+		++i;
+
+		for (int j = i; j < end; ++j)
+		{
+			final char c = value.charAt(j);
+
+			if (c >= 128 || (CHARS[c] & USER_INFO) == 0)
+			{
+				return false;
+			}
+		}
+
+		return i < end;
+	}
+
+	/*
+	 * authority = [ userinfo "@" ] host [ ":" port ]
+	 *
+	 * Returns the index after the authority or -1 if it is not valid.
+	 */
+	private static int scanAuthority(final CharSequence value,
+			final int start, final int end, final boolean validateHost,
+			final int minPort, final int maxPort)
+	{
+		/*
+		 * Everything that can appear in a host and port can appear in the
+		 * user info, so skipping user info characters either stops at the '@'
+		 * or shows that there is no user info.
+		 */
+		int i = skip(value, start, end, USER_INFO);
+
+		final int hostStart = i < end && value.charAt(i) == '@' ? i + 1
+				: start;
+
+		int hostEnd;
+
+		if (hostStart < end && value.charAt(hostStart) == '[')
+		{
+			int close = hostStart + 1;
+
+			while (close < end && value.charAt(close) != ']')
+			{
+				++close;
+			}
+
+			if (close == end)
+			{
+				return -1;
+			}
+
+			final char first = value.charAt(hostStart + 1);
+
+			if (first == 'v' || first == 'V')
+			{
+				if (!isIPvFuture(value, hostStart + 1, close))
+				{
+					return -1;
+				}
+			}
+			else if (!IPAddressParser.parseIPv6(value, hostStart + 1, close,
+					null))
+			{
+				return -1;
+			}
+
+			hostEnd = close + 1;
+		}
+		else
+		{
+			hostEnd = skip(value, hostStart, end, REG_NAME);
+
+			if (validateHost
+					&& (hostEnd == hostStart || !ValidationRoutines
+							.isValidHost(value, hostStart, hostEnd, false)))
+			{
+				return -1;
+			}
+		}
+
+		i = hostEnd;
+
+		if (i < end && value.charAt(i) == ':')
+		{
+			++i;
+
+			int port = 0;
+			int digits = 0;
+
+			for (; i < end; ++i)
+			{
+				final char c = value.charAt(i);
+
+				if (c < '0' || c > '9')
+				{
+					break;
+				}
+
+				/*
+				 * Stop counting once the port is out of range for sure.
+				 */
+				if (port <= 65535)
+				{
+					port = port * 10 + (c - '0');
+				}
+
+				++digits;
+			}
+
+			if (digits > 0 && (port < minPort || port > maxPort))
+			{
+				return -1;
+			}
+		}
+
+		if (i < end)
+		{
+			final char c = value.charAt(i);
+
+			if (c != '/' && c != '?' && c != '#')
+			{
+				return -1;
+			}
+		}
+
+		return i;
+	}
+
+	/*
+	 * Skip characters with the flag and percent encoded octets. Returns the
+	 * index of the first character that is neither. Not for schemes, which
+	 * cannot be percent encoded.
+	 */
+	private static int skip(final CharSequence value, int i, final int end,
+			final byte flag)
+	{
+		while (i < end)
+		{
+			final char c = value.charAt(i);
+
+			if (c < 128 && (CHARS[c] & flag) != 0)
+			{
+				++i;
+			}
+			else if (c == '%' && i + 2 < end && isHex(value.charAt(i + 1))
+					&& isHex(value.charAt(i + 2)))
+			{
+				i += 3;
+			}
+			else
+			{
+				break;
+			}
+		}
+
+		return i;
+	}
+
+	private URLScanner()
+	{
+		// hide me
+	}
+}
@@ -16,17 +16,10 @@
  */
 package com.pureperfect.purview.validators.net;
 
-import java.io.BufferedReader;
-import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.lang.annotation.Annotation;
-import java.net.InetAddress;
-import java.net.UnknownHostException;
-import java.util.HashSet;
-import java.util.Set;
 
-import com.pureperfect.purview.ValidationException;
 import com.pureperfect.purview.ValidationProblem;
+import com.pureperfect.purview.util.CharClasses;
 
 /**
  * Some common validation routines for the validation annotations in this
@@ -38,91 +31,155 @@ import com.pureperfect.purview.ValidationProblem;
  */
 class ValidationRoutines
 {
-	public static Set<String> TLDS = ValidationRoutines.loadValidTlds();
+	/**
+	 * The domain is valid.
+	 */
+	static final int VALID = 0;
 
 	/**
-	 * Test to see if the character is valid as the account portion of the email
-	 * address.
-	 * 
-	 * @param c
-	 *            The character to test
-	 * @return Whether or not the character is valid
+	 * The domain has no Top-Level Domain or the Top-Level Domain is not valid.
 	 */
-	public static boolean isValidEmailAccountChar(final char c)
-	{
-		return Character.isLetter(c) || Character.isDigit(c) || c == '.'
-				|| c == '-' || c == '_';
-	}
+	static final int INVALID_DOMAIN = 1;
 
 	/**
-	 * Test to see if a character is a valid character in a host name
-	 * 
-	 * @param c
-	 *            the character to test
-	 * @return true if it is.
+	 * The host name is malformed or does not resolve.
 	 */
-	public static boolean isValidHostNameChar(final char c)
+	static final int INVALID_HOST = 2;
+
+	private static final int MALFORMED = -2;
+
+	private static final boolean[] EMAIL_ACCOUNT_CHARS = new boolean[128];
+
+	private static final boolean[] HOST_NAME_CHARS = new boolean[128];
+
+	static
 	{
-		return Character.isLetter(c) || Character.isDigit(c) || c == '_'
-				|| c == '-';
+		for (char c = 0; c < 128; ++c)
+		{
+			final boolean alphanumeric = CharClasses.isLetterOrDigit(c);
+
+			EMAIL_ACCOUNT_CHARS[c] = alphanumeric || c == '.' || c == '-'
+					|| c == '_';
+
+			HOST_NAME_CHARS[c] = alphanumeric || c == '_' || c == '-';
+		}
 	}
 
 	/**
-	 * Validate an octet.
+	 * Check the domain between <code>start</code> (inclusive) and
+	 * <code>end</code> (exclusive) in a single pass without copying it.
 	 * 
-	 * @param octet
-	 *            the octet to validate
-	 * @return whether or not it is valid.
+	 * @param value
+	 *            the value containing the domain
+	 * @param start
+	 *            the index of the first character of the domain
+	 * @param end
+	 *            the index after the last character of the domain
+	 * @param reverse
+	 *            whether or not to perform reverse lookup
+	 * @param validateTLDs
+	 *            whether or not to validate TLDs
+	 * @return {@link #VALID}, {@link #INVALID_DOMAIN} or {@link #INVALID_HOST}
 	 */
-	public static boolean isValidOctet(final String octet)
+	static int checkDomain(final CharSequence value, final int start,
+			final int end, final boolean reverse, final boolean validateTLDs)
 	{
-		try
+		int lastDot = scanHostName(value, start, end);
+
+		final boolean wellFormed = lastDot != MALFORMED;
+
+		if (!wellFormed)
 		{
-			final int val = Integer.parseInt(octet);
+			/*
+			 * Only malformed names need a second look for the last dot.
+			 */
+			lastDot = end - 1;
 
-			return (val > -1 && val < 256);
+			while (lastDot >= start && value.charAt(lastDot) != '.')
+			{
+				--lastDot;
+			}
 		}
-		catch (final Exception e)
+
+		if (lastDot < start || lastDot == end - 1)
 		{
-			return false;
+			return INVALID_DOMAIN;
 		}
-	}
 
-	private static Set<String> loadValidTlds()
-	{
-		try
+		/*
+		 * Validate top level domains.
+		 */
+		if (validateTLDs && !TopLevelDomains.contains(value, lastDot + 1, end))
 		{
-			final ClassLoader cl = Thread.currentThread()
-					.getContextClassLoader();
-
-			final InputStream in = cl
-					.getResourceAsStream("com/pureperfect/purview/validators/net/validtlds.lst");
+			return INVALID_DOMAIN;
+		}
 
-            if(in == null)
-            {
-                throw new ValidationException("Could not find validtlds.lst!!!");
-            }
+		if (reverse)
+		{
+			return resolves(value, start, end) ? VALID : INVALID_HOST;
+		}
 
-			final Set<String> tlds = new HashSet<String>();
+		return wellFormed ? VALID : INVALID_HOST;
+	}
 
-			final BufferedReader reader = new BufferedReader(
-					new InputStreamReader(in));
+	/**
+	 * Check the host name between <code>start</code> (inclusive) and
+	 * <code>end</code> (exclusive) without copying it.
+	 * 
+	 * @param value
+	 *            the value containing the host name
+	 * @param start
+	 *            the index of the first character of the host name
+	 * @param end
+	 *            the index after the last character of the host name
+	 * @param reverse
+	 *            whether or not to perform a reverse lookup
+	 * @return true if the host name is valid.
+	 */
+	static boolean isValidHost(final CharSequence value, final int start,
+			final int end, final boolean reverse)
+	{
+		if (reverse)
+		{
+			return resolves(value, start, end);
+		}
 
-			for (String s = reader.readLine(); s != null; s = reader.readLine())
-			{
-				tlds.add(s.trim());
-			}
+		return scanHostName(value, start, end) != MALFORMED;
+	}
 
-			return tlds;
+	/**
+	 * Test to see if the character is valid as the account portion of the email
+	 * address.
+	 * 
+	 * @param c
+	 *            The character to test
+	 * @return Whether or not the character is valid
+	 */
+	public static boolean isValidEmailAccountChar(final char c)
+	{
+		if (c < 128)
+		{
+			return EMAIL_ACCOUNT_CHARS[c];
 		}
-        catch (ValidationException e)
-        {
-            throw new ValidationException();
-        }
-		catch (final Throwable t)
+
+		return CharClasses.isLetterOrDigit(c);
+	}
+
+	/**
+	 * Test to see if a character is a valid character in a host name
+	 * 
+	 * @param c
+	 *            the character to test
+	 * @return true if it is.
+	 */
+	public static boolean isValidHostNameChar(final char c)
+	{
+		if (c < 128)
 		{
-			throw new ValidationException("Could not load validtlds.lst", t);
+			return HOST_NAME_CHARS[c];
 		}
+
+		return CharClasses.isLetterOrDigit(c);
 	}
 
 	/**
@@ -149,37 +206,22 @@ class ValidationRoutines
 			final CharSequence value, final boolean reverse,
 			final boolean validateTLDs)
 	{
-		final String s = value.toString();
-
-		final int lastDot = s.lastIndexOf('.');
+		final int domain = checkDomain(value, 0, value.length(), reverse,
+				validateTLDs);
 
-		if (lastDot < 0 || lastDot == value.length() - 1)
+		if (domain == INVALID_DOMAIN)
 		{
 			return new InvalidDomainNameProblem(instance, annotation, target,
 					value);
 		}
 
-		/*
-		 * Validate top level domains.
-		 */
-		final String tld = s.substring(lastDot + 1);
-
-		if (validateTLDs)
+		if (domain == INVALID_HOST)
 		{
-			if (TLDS.contains(tld.toUpperCase()))
-			{
-				return ValidationRoutines.validateHost(instance, annotation,
-						target, value, reverse);
-			}
-
-			// Not a valid tld
-			return new InvalidDomainNameProblem(instance, annotation, target,
+			return new InvalidHostNameProblem(instance, annotation, target,
 					value);
 		}
 
-		// Do not validate top level domains
-		return ValidationRoutines.validateHost(instance, annotation, target,
-				value, reverse);
+		return null;
 	}
 
 	/**
@@ -201,42 +243,50 @@ class ValidationRoutines
 			final Annotation annotation, final Object target,
 			final CharSequence name, final boolean reverse)
 	{
-		if (reverse)
+		if (isValidHost(name, 0, name.length(), reverse))
 		{
-			try
-			{
-				InetAddress.getByName(name.toString());
-				return null;
-			}
-			catch (final UnknownHostException e)
-			{
-				return new InvalidHostNameProblem(instance, annotation, target,
-						name);
-			}
+			return null;
 		}
 
-		final char[] chars = name.toString().toCharArray();
+		return new InvalidHostNameProblem(instance, annotation, target, name);
+	}
 
-		if (chars[0] == '.' || chars[chars.length - 1] == '.')
-		{
-			return new InvalidHostNameProblem(instance, annotation, target,
-					name);
-		}
+	private static boolean resolves(final CharSequence value, final int start,
+			final int end)
+	{
+		return HostResolvers.getDefault().resolves(
+				value.subSequence(start, end).toString());
+	}
 
-		boolean previousWasDot = false;
+	/*
+	 * One forward pass over the host name. Returns the index of the last dot,
+	 * -1 if there is none, or MALFORMED if the name starts or ends with a dot,
+	 * has two dots in a row or has a character that is not allowed.
+	 */
+	private static int scanHostName(final CharSequence value, final int start,
+			final int end)
+	{
+		int lastDot = -1;
 
-		for (final char c : chars)
+		/*
+		 * Start as if after a dot so that a leading dot is rejected.
+		 */
+		boolean previousWasDot = true;
+
+		for (int i = start; i < end; ++i)
 		{
+			final char c = value.charAt(i);
+
 			if (c == '.')
 			{
 				// Two . back to back are invalid
 				if (previousWasDot)
 				{
-					return new InvalidHostNameProblem(instance, annotation,
-							target, name);
+					return MALFORMED;
 				}
 
 				previousWasDot = true;
+				lastDot = i;
 			}
 			else if (isValidHostNameChar(c))
 			{
@@ -245,16 +295,15 @@ class ValidationRoutines
 			else
 			// Not a valid host name char
 			{
-				return new InvalidHostNameProblem(instance, annotation, target,
-						name);
+				return MALFORMED;
 			}
 		}
 
-		return null;
+		return previousWasDot ? MALFORMED : lastDot;
 	}
 
 	private ValidationRoutines()
 	{
 		// hide me
 	}
-}
\ No newline at end of file
+}
@@ -20,8 +20,10 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.util.Arrays;
 
 import com.pureperfect.purview.ValidationProblem;
+import com.pureperfect.purview.util.WeakIdentityCache;
 
 /**
  * Make sure the value to which this annotation is attached is one of the items
@@ -93,11 +95,59 @@ public @interface AllowOnly
 	 */
 	public class Validator
 			implements
-			com.pureperfect.purview.Validator<Problem, Object, AllowOnly, Object, Number>
+			com.pureperfect.purview.IntValidator<Problem, Object, AllowOnly, Object>,
+			com.pureperfect.purview.LongValidator<Problem, Object, AllowOnly, Object>,
+			com.pureperfect.purview.DoubleValidator<Problem, Object, AllowOnly, Object>
 	{
-        /**
-         * {@inheritDoc}
-         */
+		private static final WeakIdentityCache<AllowOnly, double[]> cache = new WeakIdentityCache<AllowOnly, double[]>();
+
+		/*
+		 * Sort the allowed values once per annotation so that they can be
+		 * binary searched. The annotation hands out a new copy of the array on
+		 * every call to value().
+		 */
+		private static double[] allowedValues(final AllowOnly annotation)
+		{
+			final double[] values = cache.get(annotation);
+
+			if (values != null)
+			{
+				return values;
+			}
+
+			final double[] raw = annotation.value();
+			final double[] sorted = new double[raw.length];
+
+			int count = 0;
+
+			for (final double d : raw)
+			{
+				if (d == d)
+				{
+					sorted[count++] = d == 0.0d ? 0.0d : d;
+				}
+			}
+
+			Arrays.sort(sorted, 0, count);
+
+			return cache.putIfAbsent(annotation, Arrays.copyOf(sorted, count));
+		}
+
+		/*
+		 * Match the semantics of ==: NaN is never allowed and -0.0 is the same
+		 * as 0.0.
+		 */
+		private static boolean isAllowed(final AllowOnly annotation,
+				final double d)
+		{
+			return d == d
+					&& Arrays.binarySearch(allowedValues(annotation),
+							d == 0.0d ? 0.0d : d) > -1;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
 		public Problem validate(final Object instance,
 				final AllowOnly annotation, final Object target,
 				final Number value)
@@ -112,16 +162,61 @@ public @interface AllowOnly
 				return null;
 			}
 
-			for (double i : annotation.value())
+			if (isAllowed(annotation, value.doubleValue()))
 			{
-				if (i == value.doubleValue())
-				{
-					return null;
-				}
+				return null;
 			}
 
 			return new Problem(instance, annotation, target, value);
 		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public Problem validateInt(final Object instance,
+				final AllowOnly annotation, final Object target,
+				final int value)
+		{
+			if (!isAllowed(annotation, value))
+			{
+				return new Problem(instance, annotation, target,
+						Integer.valueOf(value));
+			}
+
+			return null;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public Problem validateLong(final Object instance,
+				final AllowOnly annotation, final Object target,
+				final long value)
+		{
+			if (!isAllowed(annotation, value))
+			{
+				return new Problem(instance, annotation, target,
+						Long.valueOf(value));
+			}
+
+			return null;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public Problem validateDouble(final Object instance,
+				final AllowOnly annotation, final Object target,
+				final double value)
+		{
+			if (!isAllowed(annotation, value))
+			{
+				return new Problem(instance, annotation, target,
+						Double.valueOf(value));
+			}
+
+			return null;
+		}
 	}
 
 	/**
@@ -92,7 +92,9 @@ public @interface GreaterThan
 	 */
 	public class Validator
 			implements
-			com.pureperfect.purview.Validator<Problem, Object, GreaterThan, Object, Number>
+			com.pureperfect.purview.IntValidator<Problem, Object, GreaterThan, Object>,
+			com.pureperfect.purview.LongValidator<Problem, Object, GreaterThan, Object>,
+			com.pureperfect.purview.DoubleValidator<Problem, Object, GreaterThan, Object>
 	{
         /**
          * {@inheritDoc}
@@ -115,6 +117,54 @@ public @interface GreaterThan
 
 			return null;
 		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public Problem validateInt(final Object instance,
+				final GreaterThan annotation, final Object target,
+				final int value)
+		{
+			if (value <= annotation.value())
+			{
+				return new Problem(instance, annotation, target,
+						Integer.valueOf(value));
+			}
+
+			return null;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public Problem validateLong(final Object instance,
+				final GreaterThan annotation, final Object target,
+				final long value)
+		{
+			if (value <= annotation.value())
+			{
+				return new Problem(instance, annotation, target,
+						Long.valueOf(value));
+			}
+
+			return null;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public Problem validateDouble(final Object instance,
+				final GreaterThan annotation, final Object target,
+				final double value)
+		{
+			if (value <= annotation.value())
+			{
+				return new Problem(instance, annotation, target,
+						Double.valueOf(value));
+			}
+
+			return null;
+		}
 	}
 
 	/**
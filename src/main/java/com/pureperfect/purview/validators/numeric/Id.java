@@ -89,7 +89,9 @@ public @interface Id
 	 */
 	public class Validator
 			implements
-			com.pureperfect.purview.Validator<Problem, Object, Id, Object, Number>
+			com.pureperfect.purview.IntValidator<Problem, Object, Id, Object>,
+			com.pureperfect.purview.LongValidator<Problem, Object, Id, Object>,
+			com.pureperfect.purview.DoubleValidator<Problem, Object, Id, Object>
 	{
         /**
          * {@inheritDoc}
@@ -111,6 +113,54 @@ public @interface Id
 
 			return null;
 		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public Problem validateInt(final Object instance,
+				final Id annotation, final Object target,
+				final int value)
+		{
+			if (value < 0)
+			{
+				return new Problem(instance, annotation, target,
+						Integer.valueOf(value));
+			}
+
+			return null;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public Problem validateLong(final Object instance,
+				final Id annotation, final Object target,
+				final long value)
+		{
+			if (value < 0)
+			{
+				return new Problem(instance, annotation, target,
+						Long.valueOf(value));
+			}
+
+			return null;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public Problem validateDouble(final Object instance,
+				final Id annotation, final Object target,
+				final double value)
+		{
+			if ((long) value < 0)
+			{
+				return new Problem(instance, annotation, target,
+						Double.valueOf(value));
+			}
+
+			return null;
+		}
 	}
 
 	/**
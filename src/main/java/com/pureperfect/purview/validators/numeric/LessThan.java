@@ -92,7 +92,9 @@ public @interface LessThan
 	 */
 	public class Validator
 			implements
-			com.pureperfect.purview.Validator<Problem, Object, LessThan, Object, Number>
+			com.pureperfect.purview.IntValidator<Problem, Object, LessThan, Object>,
+			com.pureperfect.purview.LongValidator<Problem, Object, LessThan, Object>,
+			com.pureperfect.purview.DoubleValidator<Problem, Object, LessThan, Object>
 	{
         /**
          * {@inheritDoc}
@@ -115,6 +117,54 @@ public @interface LessThan
 
 			return null;
 		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public Problem validateInt(final Object instance,
+				final LessThan annotation, final Object target,
+				final int value)
+		{
+			if (value >= annotation.value())
+			{
+				return new Problem(instance, annotation, target,
+						Integer.valueOf(value));
+			}
+
+			return null;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public Problem validateLong(final Object instance,
+				final LessThan annotation, final Object target,
+				final long value)
+		{
+			if (value >= annotation.value())
+			{
+				return new Problem(instance, annotation, target,
+						Long.valueOf(value));
+			}
+
+			return null;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public Problem validateDouble(final Object instance,
+				final LessThan annotation, final Object target,
+				final double value)
+		{
+			if (value >= annotation.value())
+			{
+				return new Problem(instance, annotation, target,
+						Double.valueOf(value));
+			}
+
+			return null;
+		}
 	}
 
 	/**
@@ -93,7 +93,9 @@ public @interface LessThanOrEqualTo
 	 */
 	public class Validator
 			implements
-			com.pureperfect.purview.Validator<Problem, Object, LessThanOrEqualTo, Object, Number>
+			com.pureperfect.purview.IntValidator<Problem, Object, LessThanOrEqualTo, Object>,
+			com.pureperfect.purview.LongValidator<Problem, Object, LessThanOrEqualTo, Object>,
+			com.pureperfect.purview.DoubleValidator<Problem, Object, LessThanOrEqualTo, Object>
 	{
         /**
          * {@inheritDoc}
@@ -116,6 +118,54 @@ public @interface LessThanOrEqualTo
 
 			return null;
 		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public Problem validateInt(final Object instance,
+				final LessThanOrEqualTo annotation, final Object target,
+				final int value)
+		{
+			if (value > annotation.value())
+			{
+				return new Problem(instance, annotation, target,
+						Integer.valueOf(value));
+			}
+
+			return null;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public Problem validateLong(final Object instance,
+				final LessThanOrEqualTo annotation, final Object target,
+				final long value)
+		{
+			if (value > annotation.value())
+			{
+				return new Problem(instance, annotation, target,
+						Long.valueOf(value));
+			}
+
+			return null;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public Problem validateDouble(final Object instance,
+				final LessThanOrEqualTo annotation, final Object target,
+				final double value)
+		{
+			if (value > annotation.value())
+			{
+				return new Problem(instance, annotation, target,
+						Double.valueOf(value));
+			}
+
+			return null;
+		}
 	}
 
 	/**
@@ -22,6 +22,8 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 import com.pureperfect.purview.ValidationProblem;
+import com.pureperfect.purview.util.CharSequenceSet;
+import com.pureperfect.purview.util.WeakIdentityCache;
 
 /**
  * Make sure the value to which this annotation is attached is one of the items
@@ -95,6 +97,26 @@ public @interface AllowOnly
 			implements
 			com.pureperfect.purview.Validator<Problem, Object, AllowOnly, Object, CharSequence>
 	{
+		private static final WeakIdentityCache<AllowOnly, CharSequenceSet> cache = new WeakIdentityCache<AllowOnly, CharSequenceSet>();
+
+		/*
+		 * Build the set of allowed values once per annotation. Case folding
+		 * is done here rather than on every comparison.
+		 */
+		private static CharSequenceSet allowedValues(final AllowOnly annotation)
+		{
+			final CharSequenceSet values = cache.get(annotation);
+
+			if (values != null)
+			{
+				return values;
+			}
+
+			return cache.putIfAbsent(annotation,
+					CharSequenceSet.of(annotation.value(),
+							annotation.ignoreCase()));
+		}
+
         /**
          * {@inheritDoc}
          */
@@ -112,25 +134,9 @@ public @interface AllowOnly
 				return null;
 			}
 
-			/*
-			 * Iterate over the list of valid values and see if there is a match.
-			 */
-			for (String s : annotation.value())
+			if (allowedValues(annotation).contains(value))
 			{
-				if (annotation.ignoreCase())
-				{
-					if (s.equalsIgnoreCase(value.toString()))
-					{
-						return null;
-					}
-				}
-				else
-				{
-					if (s.equals(value))
-					{
-						return null;
-					}
-				}
+				return null;
 			}
 
 			/*
@@ -16,21 +16,30 @@
  */
 package com.pureperfect.purview.validators.text;
 
+import com.pureperfect.purview.BindableValidator;
 import com.pureperfect.purview.ValidationException;
 import com.pureperfect.purview.ValidationProblem;
+import com.pureperfect.purview.util.Conversions;
 
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Default to a specified value if the value under validation is null or is an
  * empty string. If the annotation is attached to a field, that field will be
  * populated with the default value. If the annotation is attached to a method
- * that starts with "get", the corresponding setter will be called.
+ * that starts with "get", the corresponding setter will be called. The
+ * default is converted to the type of the field or the setter's parameter.
  * <p/>
  * <p>
  * E.G:
@@ -69,63 +78,232 @@ public @interface Default
      * will be populated with the default value. If the annotation is attached
      * to a method that starts with "get", the corresponding setter will be
      * called.
+     * <p/>
+     * <p>
+     * The default is converted to the type of the field or setter parameter
+     * (see {@link Conversions}) and bound into a method handle once per class
+     * and member, so applying a default does not reflect or parse.
+     * </p>
      *
      * @author J. Chris Folsom
-     * @version 1.3
+     * @version 1.4
      * @since 1.3
      */
     public class Validator
             implements
-            com.pureperfect.purview.Validator<ValidationProblem<Object, Default, Object, CharSequence>, Object, Default, Object, CharSequence>
+            BindableValidator<ValidationProblem<Object, Default, Object, Object>, Object, Default, Object, Object>
     {
-        /**
-         * {@inheritDoc}
+        private static final MethodType APPLY = MethodType.methodType(
+                void.class, Object.class);
+
+        /*
+         * Getter annotations on methods that are not getters do nothing.
          */
-        public ValidationProblem<Object, Default, Object, CharSequence> validate(
-                final Object instance, final Default annotation,
-                final Object target, final CharSequence value)
+        private static final MethodHandle NOTHING = MethodHandles
+                .dropArguments(
+                        MethodHandles.constant(Object.class, null).asType(
+                                MethodType.methodType(void.class)), 0,
+                        Object.class);
+
+        /*
+         * Setter handles with the converted default already bound, by class
+         * and then by field or getter.
+         */
+        private static final ClassValue<ConcurrentMap<Object, MethodHandle>> APPLIERS = new ClassValue<ConcurrentMap<Object, MethodHandle>>()
         {
-            if(value == null || value.length() < 1)
+            @Override
+            protected ConcurrentMap<Object, MethodHandle> computeValue(
+                    final Class<?> type)
+            {
+                return new ConcurrentHashMap<Object, MethodHandle>();
+            }
+        };
+
+        private static MethodHandle applier(final Class<?> type,
+                final Default annotation, final Object target)
+        {
+            final ConcurrentMap<Object, MethodHandle> appliers = APPLIERS
+                    .get(type);
+
+            MethodHandle applier = appliers.get(target);
+
+            if(applier == null)
             {
                 try
                 {
-                    if(target instanceof Method)
-                    {
-                        Method m = (Method) target;
+                    applier = createApplier(type, annotation, target);
+                } catch (ValidationException e)
+                {
+                    applier = failure(e);
+                } catch (Exception e)
+                {
+                    applier = failure(new ValidationException(e));
+                }
+
+                final MethodHandle existing = appliers.putIfAbsent(target,
+                        applier);
+
+                if(existing != null)
+                {
+                    applier = existing;
+                }
+            }
+
+            return applier;
+        }
 
-                        String methodName = m.getName();
+        private static MethodHandle createApplier(final Class<?> type,
+                final Default annotation, final Object target)
+                throws NoSuchMethodException, IllegalAccessException
+        {
+            /*
+             * If it is a field we can just set the value directly.
+             */
+            if(target instanceof Field)
+            {
+                final Field field = (Field) target;
 
-                        /*
-                               * Check to see if the method is a getter. If it is, try
-                               * to call a corresponding setter.
-                               */
-                        if(methodName.startsWith("get"))
-                        {
-                            StringBuilder temp = new StringBuilder(32);
+                field.setAccessible(true);
 
-                            temp.append("set");
-                            temp.append(methodName.substring(3));
+                return bindDefault(MethodHandles.lookup().unreflectSetter(field),
+                        field.getType(), annotation.value(),
+                        Modifier.isStatic(field.getModifiers()));
+            }
+
+            if(target instanceof Method)
+            {
+                final Method getter = (Method) target;
+
+                final String methodName = getter.getName();
+
+                /*
+                 * Check to see if the method is a getter. If it is, find a
+                 * corresponding setter.
+                 */
+                if(methodName.startsWith("get"))
+                {
+                    final String setterName = "set" + methodName.substring(3);
 
-                            //TODO determine type rather than assuming string
-                            Method setter = instance.getClass().getMethod(
-                                    temp.toString(), new Class[]
-                                    {String.class});
+                    final Method setter = findSetter(type, setterName,
+                            getter.getReturnType());
 
-                            setter.invoke(instance, annotation.value());
-                        }
+                    if(setter == null)
+                    {
+                        throw new ValidationException(new NoSuchMethodException(
+                                type.getName() + "." + setterName + "("
+                                        + getter.getReturnType().getName()
+                                        + ")"));
                     }
-                    /*
-                          * If it is a field we can just set the value directly.
-                          */
-                    else if(target instanceof Field)
+
+                    return bindDefault(MethodHandles.lookup().unreflect(setter),
+                            setter.getParameterTypes()[0], annotation.value(),
+                            Modifier.isStatic(setter.getModifiers()));
+                }
+            }
+
+            return NOTHING;
+        }
+
+        /*
+         * Convert the default and insert it into the setter, leaving a handle
+         * that takes only the instance.
+         */
+        private static MethodHandle bindDefault(final MethodHandle setter,
+                final Class<?> valueType, final String value,
+                final boolean isStatic)
+        {
+            final Object converted;
+
+            try
+            {
+                converted = Conversions.convert(value, valueType);
+            } catch (IllegalArgumentException e)
+            {
+                throw new ValidationException(e);
+            }
+
+            if(isStatic)
+            {
+                return MethodHandles.dropArguments(
+                        MethodHandles.insertArguments(setter, 0, converted)
+                                .asType(MethodType.methodType(void.class)), 0,
+                        Object.class);
+            }
+
+            return MethodHandles.insertArguments(setter, 1, converted).asType(
+                    APPLY);
+        }
+
+        /*
+         * A default that cannot be applied is only an error once the value is
+         * actually missing, so remember the failure rather than throw it.
+         */
+        private static MethodHandle failure(final ValidationException e)
+        {
+            return MethodHandles.dropArguments(MethodHandles.insertArguments(
+                    MethodHandles.throwException(void.class,
+                            ValidationException.class), 0, e), 0, Object.class);
+        }
+
+        /*
+         * Prefer the setter that takes the getter's type, otherwise take any
+         * public one argument setter with the right name.
+         */
+        private static Method findSetter(final Class<?> type,
+                final String name, final Class<?> valueType)
+        {
+            Method found = null;
+
+            for (final Method method : type.getMethods())
+            {
+                if(method.getName().equals(name)
+                        && method.getParameterTypes().length == 1)
+                {
+                    if(method.getParameterTypes()[0] == valueType)
                     {
-                        Field f = (Field) target;
+                        return method;
+                    }
 
-                        f.set(instance, annotation.value());
+                    if(found == null)
+                    {
+                        found = method;
                     }
-                } catch (Exception e)
+                }
+            }
+
+            return found;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void bind(final Class<?> type, final Default annotation,
+                final Object target)
+        {
+            applier(type, annotation, target);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public ValidationProblem<Object, Default, Object, Object> validate(
+                final Object instance, final Default annotation,
+                final Object target, final Object value)
+        {
+            if(value == null
+                    || (value instanceof CharSequence && ((CharSequence) value)
+                            .length() < 1))
+            {
+                try
+                {
+                    applier(instance.getClass(), annotation, target)
+                            .invokeExact(instance);
+                } catch (ValidationException e)
+                {
+                    throw e;
+                } catch (Throwable t)
                 {
-                    throw new ValidationException(e);
+                    throw new ValidationException(t);
                 }
             }
 
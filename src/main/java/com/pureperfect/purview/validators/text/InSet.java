@@ -0,0 +1,170 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.validators.text;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import com.pureperfect.purview.ValidationProblem;
+import com.pureperfect.purview.util.MappedStringSet;
+import com.pureperfect.purview.util.MappedStringSetWriter;
+import com.pureperfect.purview.util.MappedStringSets;
+
+/**
+ * Make sure the value to which this annotation is attached is in a large,
+ * precomputed set of allowed values. Use this instead of {@link AllowOnly}
+ * when the list is too big to put in the annotation or to keep on the heap,
+ * such as a list of product codes or postal codes.
+ *
+ * <p>
+ * The set is built ahead of time with {@link MappedStringSetWriter} and is
+ * memory mapped and shared through {@link MappedStringSets}, which can also
+ * swap in a new version of the set at runtime. Whether comparisons ignore
+ * case is decided when the set is built.
+ * </p>
+ *
+ * <p>
+ * E.G:
+ * </p>
+ *
+ * <pre>
+ *
+ * public class MyClass
+ * {
+ *  //When validating fields
+ *  &#064;InSet(resource = &quot;/sets/skus.set&quot;)
+ *  private String sku;
+ *
+ *  ...//or
+ *
+ *  //When validating method return values
+ *  &#064;InSet(resource = &quot;/sets/skus.set&quot;)
+ *  public String getSku() {
+ *    ...
+ *  };
+ *
+ *  ...//or
+ *
+ *  //When validating method parameters
+ *  public static void foo(&#064;InSet(resource = &quot;/sets/skus.set&quot;) String bar) {
+ *    ...
+ *  }
+ * }
+ * </pre>
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(
+{ ElementType.METHOD, ElementType.FIELD, ElementType.PARAMETER })
+public @interface InSet
+{
+	/**
+	 * Indicates that the specified value was not in the set of allowed
+	 * values.
+	 *
+	 * @author J. Chris Folsom
+	 * @version 1.4
+	 * @since 1.4
+	 */
+	public class Problem extends
+			ValidationProblem<Object, InSet, Object, CharSequence>
+	{
+		Problem(final Object instance, final InSet annotation,
+				final Object target, final CharSequence value)
+		{
+			super(instance, annotation, target, value);
+		}
+	}
+
+	/**
+	 * Make sure the value to which this annotation is attached is in the set
+	 * of allowed values.
+	 *
+	 * @author J. Chris Folsom
+	 * @version 1.4
+	 * @since 1.4
+	 */
+	public class Validator
+			implements
+			com.pureperfect.purview.Validator<Problem, Object, InSet, Object, CharSequence>
+	{
+		/**
+		 * {@inheritDoc}
+		 */
+		public Problem validate(final Object instance, final InSet annotation,
+				final Object target, final CharSequence value)
+		{
+			if (value == null || value.length() < 1)
+			{
+				if (annotation.required())
+				{
+					return new Problem(instance, annotation, target, value);
+				}
+
+				return null;
+			}
+
+			/*
+			 * Look the set up on every call so that a reloaded set is picked
+			 * up right away.
+			 */
+			final MappedStringSet set = MappedStringSets.get(annotation
+					.resource());
+
+			if (set.contains(value))
+			{
+				return null;
+			}
+
+			return new Problem(instance, annotation, target, value);
+		}
+	}
+
+	/**
+	 * Optional message key to use to define an i18n message.
+	 *
+	 * @return Optional message key to use to define an i18n message.
+	 */
+	String messageKey() default "";
+
+	/**
+	 * Whether or not the field is required. If it is not required, null values
+	 * and empty strings will be allowed.
+	 *
+	 * @return Whether or not the field is required.
+	 */
+	boolean required() default false;
+
+	/**
+	 * The file path or class path resource of the set file.
+	 *
+	 * @return the name of the set file.
+	 */
+	String resource();
+
+	/**
+	 * The {@link InSet.Validator Validator} for this annotation.
+	 *
+	 * @return the {@link InSet.Validator} class
+	 */
+	public Class<?> validator() default Validator.class;
+}
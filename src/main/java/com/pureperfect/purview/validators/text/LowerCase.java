@@ -22,6 +22,7 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 import com.pureperfect.purview.ValidationProblem;
+import com.pureperfect.purview.util.CharClasses;
 
 /**
  * Validate that all of the characters in the string are lower case.
@@ -109,17 +110,12 @@ public @interface LowerCase
 				return null;
 			}
 
-			for (int i = 0, length = value.length(); i < length; ++i)
+			if (CharClasses.isAll(value, CharClasses.LOWER))
 			{
-				char c = value.charAt(i);
-
-				if (!Character.isLowerCase(c))
-				{
-					return new Problem(instance, annotation, target, value);
-				}
+				return null;
 			}
 
-			return null;
+			return new Problem(instance, annotation, target, value);
 		}
 	}
 
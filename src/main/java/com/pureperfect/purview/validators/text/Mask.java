@@ -0,0 +1,197 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.validators.text;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import com.pureperfect.purview.ValidationProblem;
+import com.pureperfect.purview.util.FormatMask;
+import com.pureperfect.purview.util.WeakIdentityCache;
+
+/**
+ * Make sure the value to which this annotation is attached matches at least
+ * one of the given format masks. In a mask <code>#</code> is a digit,
+ * <code>?</code> is a letter, <code>*</code> is a letter or a digit,
+ * <code>[</code> ... <code>]</code> is optional, <code>\</code> escapes the
+ * next character and anything else must appear as is. See
+ * {@link FormatMask} for details.
+ *
+ * <p>
+ * E.G:
+ * </p>
+ *
+ * <pre>
+ *
+ * public class MyClass
+ * {
+ *  //When validating fields
+ *  &#064;Mask(&quot;#####[-####]&quot;)
+ *  private String zip;
+ *
+ *  ...//or
+ *
+ *  //When validating method return values
+ *  &#064;Mask({&quot;(###) ###-####&quot;, &quot;###-###-####&quot;})
+ *  public String getPhone() {
+ *    ...
+ *  };
+ *
+ *  ...//or
+ *
+ *  //When validating method parameters
+ *  public static void foo(&#064;Mask(&quot;??-####&quot;) String bar) {
+ *    ...
+ *  }
+ * }
+ * </pre>
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(
+{ ElementType.METHOD, ElementType.FIELD, ElementType.PARAMETER })
+public @interface Mask
+{
+	/**
+	 * Indicates that the specified value did not match any of the masks.
+	 *
+	 * @author J. Chris Folsom
+	 * @version 1.4
+	 * @since 1.4
+	 */
+	public class Problem extends
+			ValidationProblem<Object, Mask, Object, CharSequence>
+	{
+		Problem(final Object instance, final Mask annotation,
+				final Object target, final CharSequence value)
+		{
+			super(instance, annotation, target, value);
+		}
+	}
+
+	/**
+	 * Make sure the value to which this annotation is attached matches at
+	 * least one of the masks.
+	 *
+	 * @author J. Chris Folsom
+	 * @version 1.4
+	 * @since 1.4
+	 */
+	public class Validator
+			implements
+			com.pureperfect.purview.Validator<Problem, Object, Mask, Object, CharSequence>
+	{
+		private static final WeakIdentityCache<Mask, FormatMask[]> cache = new WeakIdentityCache<Mask, FormatMask[]>();
+
+		/**
+		 * The compiled masks of the annotation, for checking many values at
+		 * once.
+		 *
+		 * @param annotation
+		 *            the annotation
+		 * @return the masks.
+		 */
+		public static FormatMask[] masks(final Mask annotation)
+		{
+			return compiled(annotation).clone();
+		}
+
+		/*
+		 * Masks are compiled once per annotation.
+		 */
+		private static FormatMask[] compiled(final Mask annotation)
+		{
+			final FormatMask[] masks = cache.get(annotation);
+
+			if (masks != null)
+			{
+				return masks;
+			}
+
+			final String[] values = annotation.value();
+			final FormatMask[] compiled = new FormatMask[values.length];
+
+			for (int i = 0; i < values.length; ++i)
+			{
+				compiled[i] = FormatMask.compile(values[i]);
+			}
+
+			return cache.putIfAbsent(annotation, compiled);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public Problem validate(final Object instance, final Mask annotation,
+				final Object target, final CharSequence value)
+		{
+			if (value == null || value.length() < 1)
+			{
+				if (annotation.required())
+				{
+					return new Problem(instance, annotation, target, value);
+				}
+
+				return null;
+			}
+
+			for (final FormatMask mask : compiled(annotation))
+			{
+				if (mask.matches(value))
+				{
+					return null;
+				}
+			}
+
+			return new Problem(instance, annotation, target, value);
+		}
+	}
+
+	/**
+	 * Optional message key to use to define an i18n message.
+	 *
+	 * @return Optional message key to use to define an i18n message.
+	 */
+	String messageKey() default "";
+
+	/**
+	 * Whether or not the field is required. If it is not required, null values
+	 * and empty strings will be allowed.
+	 *
+	 * @return Whether or not the field is required.
+	 */
+	boolean required() default false;
+
+	/**
+	 * The {@link Mask.Validator Validator} for this annotation.
+	 *
+	 * @return the {@link Mask.Validator} class
+	 */
+	public Class<?> validator() default Validator.class;
+
+	/**
+	 * The masks. The value is valid if it matches any of them.
+	 *
+	 * @return the masks.
+	 */
+	String[] value();
+}
@@ -94,7 +94,9 @@ public @interface Hours
 	 */
 	public class Validator
 			implements
-			com.pureperfect.purview.Validator<Problem, Object, Hours, Object, Number>
+			com.pureperfect.purview.IntValidator<Problem, Object, Hours, Object>,
+			com.pureperfect.purview.LongValidator<Problem, Object, Hours, Object>,
+			com.pureperfect.purview.DoubleValidator<Problem, Object, Hours, Object>
 	{
 		private static final int MAX_HRS = 24;
 
@@ -115,7 +117,7 @@ public @interface Hours
 			}
 			else
 			{
-				final double val = value.intValue();
+				final int val = value.intValue();
 
 				if (val < MIN_HRS || val >= MAX_HRS)
 				{
@@ -125,6 +127,58 @@ public @interface Hours
 
 			return null;
 		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public Problem validateInt(final Object instance,
+				final Hours annotation, final Object target,
+				final int value)
+		{
+			if (value < MIN_HRS || value >= MAX_HRS)
+			{
+				return new Problem(instance, annotation, target,
+						Integer.valueOf(value));
+			}
+
+			return null;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public Problem validateLong(final Object instance,
+				final Hours annotation, final Object target,
+				final long value)
+		{
+			final int val = (int) value;
+
+			if (val < MIN_HRS || val >= MAX_HRS)
+			{
+				return new Problem(instance, annotation, target,
+						Long.valueOf(value));
+			}
+
+			return null;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public Problem validateDouble(final Object instance,
+				final Hours annotation, final Object target,
+				final double value)
+		{
+			final int val = (int) value;
+
+			if (val < MIN_HRS || val >= MAX_HRS)
+			{
+				return new Problem(instance, annotation, target,
+						Double.valueOf(value));
+			}
+
+			return null;
+		}
 	}
 
 	/**
@@ -94,7 +94,9 @@ public @interface Minutes
 	 */
 	public class Validator
 			implements
-			com.pureperfect.purview.Validator<Problem, Object, Minutes, Object, Number>
+			com.pureperfect.purview.IntValidator<Problem, Object, Minutes, Object>,
+			com.pureperfect.purview.LongValidator<Problem, Object, Minutes, Object>,
+			com.pureperfect.purview.DoubleValidator<Problem, Object, Minutes, Object>
 	{
 		private static final int MAX_MINS = 60;
 
@@ -116,7 +118,7 @@ public @interface Minutes
 			}
 			else
 			{
-				final double val = value.intValue();
+				final int val = value.intValue();
 
 				if (val < MIN_MINS || val >= MAX_MINS)
 				{
@@ -126,6 +128,58 @@ public @interface Minutes
 
 			return null;
 		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public Problem validateInt(final Object instance,
+				final Minutes annotation, final Object target,
+				final int value)
+		{
+			if (value < MIN_MINS || value >= MAX_MINS)
+			{
+				return new Problem(instance, annotation, target,
+						Integer.valueOf(value));
+			}
+
+			return null;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public Problem validateLong(final Object instance,
+				final Minutes annotation, final Object target,
+				final long value)
+		{
+			final int val = (int) value;
+
+			if (val < MIN_MINS || val >= MAX_MINS)
+			{
+				return new Problem(instance, annotation, target,
+						Long.valueOf(value));
+			}
+
+			return null;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public Problem validateDouble(final Object instance,
+				final Minutes annotation, final Object target,
+				final double value)
+		{
+			final int val = (int) value;
+
+			if (val < MIN_MINS || val >= MAX_MINS)
+			{
+				return new Problem(instance, annotation, target,
+						Double.valueOf(value));
+			}
+
+			return null;
+		}
 	}
 
 	/**
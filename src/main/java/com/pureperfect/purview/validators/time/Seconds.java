@@ -94,7 +94,9 @@ public @interface Seconds
 	 */
 	public class Validator
 			implements
-			com.pureperfect.purview.Validator<Problem, Object, Seconds, Object, Number>
+			com.pureperfect.purview.IntValidator<Problem, Object, Seconds, Object>,
+			com.pureperfect.purview.LongValidator<Problem, Object, Seconds, Object>,
+			com.pureperfect.purview.DoubleValidator<Problem, Object, Seconds, Object>
 	{
 		private static final int MAX_SECONDS = 60;
 
@@ -116,7 +118,7 @@ public @interface Seconds
 			}
 			else
 			{
-				final double val = value.intValue();
+				final int val = value.intValue();
 
 				if (val < MIN_SECONDS || val >= MAX_SECONDS)
 				{
@@ -126,6 +128,58 @@ public @interface Seconds
 
 			return null;
 		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public Problem validateInt(final Object instance,
+				final Seconds annotation, final Object target,
+				final int value)
+		{
+			if (value < MIN_SECONDS || value >= MAX_SECONDS)
+			{
+				return new Problem(instance, annotation, target,
+						Integer.valueOf(value));
+			}
+
+			return null;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public Problem validateLong(final Object instance,
+				final Seconds annotation, final Object target,
+				final long value)
+		{
+			final int val = (int) value;
+
+			if (val < MIN_SECONDS || val >= MAX_SECONDS)
+			{
+				return new Problem(instance, annotation, target,
+						Long.valueOf(value));
+			}
+
+			return null;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public Problem validateDouble(final Object instance,
+				final Seconds annotation, final Object target,
+				final double value)
+		{
+			final int val = (int) value;
+
+			if (val < MIN_SECONDS || val >= MAX_SECONDS)
+			{
+				return new Problem(instance, annotation, target,
+						Double.valueOf(value));
+			}
+
+			return null;
+		}
 	}
 
 	/**
@@ -0,0 +1,123 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.jfr;
+
+/**
+ * {@link FlightRecorderEvents} for JVMs with <code>jdk.jfr</code>. Only loaded
+ * by name, see {@link FlightRecorderEvents#load()}.
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+final class JdkFlightRecorderEvents extends FlightRecorderEvents
+{
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object beginPlan()
+	{
+		final PlanCompilationEvent event = new PlanCompilationEvent();
+
+		if (!event.isEnabled())
+		{
+			return null;
+		}
+
+		event.begin();
+
+		return event;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object beginValidation()
+	{
+		final ValidationEvent event = new ValidationEvent();
+
+		if (!event.isEnabled())
+		{
+			return null;
+		}
+
+		event.begin();
+
+		return event;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void invoked(final Class<?> type, final String target,
+			final Class<?> annotation, final Class<?> validator,
+			final boolean failed, final long nanos)
+	{
+		final ValidatorInvocationEvent event = new ValidatorInvocationEvent();
+
+		if (event.isEnabled())
+		{
+			event.validatedClass = type;
+			event.target = target;
+			event.annotation = annotation;
+			event.validator = validator;
+			event.failed = failed;
+			event.validationTime = nanos;
+			event.commit();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void endPlan(final Object event, final Class<?> type)
+	{
+		final PlanCompilationEvent plan = (PlanCompilationEvent) event;
+
+		plan.end();
+
+		if (plan.shouldCommit())
+		{
+			plan.validatedClass = type;
+			plan.commit();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void endValidation(final Object event, final Class<?> type,
+			final String mode, final int problems)
+	{
+		final ValidationEvent validation = (ValidationEvent) event;
+
+		validation.end();
+
+		if (validation.shouldCommit())
+		{
+			validation.validatedClass = type;
+			validation.mode = mode;
+			validation.problems = problems;
+			validation.commit();
+		}
+	}
+}
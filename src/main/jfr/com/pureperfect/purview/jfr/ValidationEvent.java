@@ -0,0 +1,56 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * A call to validate the fields, methods, parameters or type of an object.
+ * Only calls that take at least 20 ms are recorded unless the recording
+ * sets another threshold for <code>com.pureperfect.purview.Validation</code>.
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+@Name(ValidationEvent.NAME)
+@Label("Validation")
+@Category("Purview")
+@Description("A call to validate the fields, methods, parameters or type of an object")
+@Threshold("20 ms")
+public class ValidationEvent extends Event
+{
+	/**
+	 * The name of the event.
+	 */
+	public static final String NAME = "com.pureperfect.purview.Validation";
+
+	@Label("Validated Class")
+	Class<?> validatedClass;
+
+	@Label("Mode")
+	@Description("fields, methods, parameters or type")
+	String mode;
+
+	@Label("Problems")
+	int problems;
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A validator that took longer than the threshold of a
+ * {@link FlightRecorderListener}. The time is measured by the validation
+ * engine, so it is in the <code>validationTime</code> field rather than the
+ * duration of the event.
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+@Name(ValidatorInvocationEvent.NAME)
+@Label("Slow Validator")
+@Category("Purview")
+@Description("A validator that took longer than the threshold")
+@StackTrace(false)
+public class ValidatorInvocationEvent extends Event
+{
+	/**
+	 * The name of the event.
+	 */
+	public static final String NAME = "com.pureperfect.purview.ValidatorInvocation";
+
+	@Label("Validated Class")
+	Class<?> validatedClass;
+
+	@Label("Target")
+	@Description("The field, method or class that the annotation is attached to")
+	String target;
+
+	@Label("Annotation")
+	Class<?> annotation;
+
+	@Label("Validator")
+	Class<?> validator;
+
+	@Label("Failed")
+	boolean failed;
+
+	@Label("Validation Time")
+	@Timespan(Timespan.NANOSECONDS)
+	long validationTime;
+}
@@ -1,6 +1,8 @@
 package com.pureperfect.purview;
 
 import java.lang.annotation.Annotation;
+import java.net.URL;
+import java.net.URLClassLoader;
 
 import junit.framework.TestCase;
 
@@ -75,4 +77,26 @@ public class CachingValidatorFactoryTest extends TestCase
 		
 		assertNull(factory.createValidator(annotations[0]));
 	}
+
+	/**
+	 * Test that validators are forgotten for the class loader.
+	 */
+	@SuppressWarnings("rawtypes")
+	public void testEvict() throws SecurityException, NoSuchFieldException
+	{
+		final Annotation annotation = GoodStub.class.getField("field")
+				.getDeclaredAnnotations()[0];
+
+		final CachingValidatorFactory factory = new CachingValidatorFactory();
+
+		final Validator v = factory.createValidator(annotation);
+
+		factory.evict(new URLClassLoader(new URL[0], null));
+
+		assertSame(v, factory.createValidator(annotation));
+
+		factory.evict(NotNull.class.getClassLoader());
+
+		assertNotSame(v, factory.createValidator(annotation));
+	}
 }
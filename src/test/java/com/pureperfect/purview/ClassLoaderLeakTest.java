@@ -0,0 +1,247 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.ref.WeakReference;
+
+import junit.framework.TestCase;
+
+import com.pureperfect.purview.util.GetterMethodFilter;
+import com.pureperfect.purview.util.MakeAccessibleFieldFilter;
+import com.pureperfect.purview.validators.NotNull;
+
+/**
+ * Test that validating classes does not keep their class loaders alive.
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public class ClassLoaderLeakTest extends TestCase
+{
+	/**
+	 * Defines the Leak stubs itself, like a web application class loader.
+	 */
+	static class ChildFirstClassLoader extends ClassLoader
+	{
+		private static final String PREFIX = ClassLoaderLeakTest.class
+				.getName()
+				+ "$Leak";
+
+		ChildFirstClassLoader()
+		{
+			super(ClassLoaderLeakTest.class.getClassLoader());
+		}
+
+		@Override
+		protected synchronized Class<?> loadClass(final String name,
+				final boolean resolve) throws ClassNotFoundException
+		{
+			if (!name.startsWith(PREFIX))
+			{
+				return super.loadClass(name, resolve);
+			}
+
+			Class<?> type = this.findLoadedClass(name);
+
+			if (type == null)
+			{
+				final byte[] bytes = bytes(name);
+
+				type = this.defineClass(name, bytes, 0, bytes.length);
+			}
+
+			if (resolve)
+			{
+				this.resolveClass(type);
+			}
+
+			return type;
+		}
+
+		private byte[] bytes(final String name) throws ClassNotFoundException
+		{
+			final InputStream in = this.getParent().getResourceAsStream(
+					name.replace('.', '/') + ".class");
+
+			if (in == null)
+			{
+				throw new ClassNotFoundException(name);
+			}
+
+			try
+			{
+				try
+				{
+					final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+					final byte[] buffer = new byte[4096];
+
+					for (int read = in.read(buffer); read > -1; read = in
+							.read(buffer))
+					{
+						out.write(buffer, 0, read);
+					}
+
+					return out.toByteArray();
+				}
+				finally
+				{
+					in.close();
+				}
+			}
+			catch (final IOException e)
+			{
+				throw new ClassNotFoundException(name, e);
+			}
+		}
+	}
+
+	/**
+	 * Stub annotation for testing, from the shared class loader and used by
+	 * this test only, so its validator is always the first one cached.
+	 */
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target(
+	{ ElementType.METHOD, ElementType.FIELD })
+	public @interface Marker
+	{
+		Class<?> validator();
+	}
+
+	/**
+	 * Stub class for testing, with a validator from its own class loader.
+	 */
+	public static class LeakStub
+	{
+		@Marker(validator = LeakValidator.class)
+		String name;
+
+		@Marker(validator = LeakValidator.class)
+		public String getName()
+		{
+			return this.name;
+		}
+	}
+
+	/**
+	 * Stub class for testing, with a validator from the shared class loader.
+	 */
+	public static class LeakSharedStub
+	{
+		@NotNull
+		String name;
+
+		@NotNull
+		public String getName()
+		{
+			return this.name;
+		}
+	}
+
+	/**
+	 * Stub validator for testing.
+	 */
+	public static class LeakValidator implements
+			Validator<NotNull.Problem, Object, Marker, Object, Object>
+	{
+		/**
+		 * {@inheritDoc}
+		 */
+		public NotNull.Problem validate(final Object instance,
+				final Marker annotation, final Object target, final Object value)
+		{
+			return value == null ? new NotNull.Problem(instance, annotation,
+					target, value) : null;
+		}
+	}
+
+	private static void collect(final WeakReference<ClassLoader> loader)
+			throws InterruptedException
+	{
+		for (int i = 0; i < 100 && loader.get() != null; ++i)
+		{
+			System.gc();
+			Thread.sleep(10);
+		}
+	}
+
+	private static WeakReference<ClassLoader> validate(final String stub)
+			throws Exception
+	{
+		final ClassLoader loader = new ChildFirstClassLoader();
+
+		final Class<?> type = loader.loadClass(ClassLoaderLeakTest.class
+				.getName()
+				+ "$" + stub);
+
+		assertSame(loader, type.getClassLoader());
+
+		final Object instance = type.newInstance();
+
+		assertEquals(1, Purview.validateFields(instance,
+				MakeAccessibleFieldFilter.defaultInstance(), false)
+				.getProblems().size());
+		assertEquals(1, Purview.validateMethods(instance,
+				GetterMethodFilter.defaultInstance(), false).getProblems()
+				.size());
+		assertTrue(Purview.validateType(instance).getProblems().isEmpty());
+
+		return new WeakReference<ClassLoader>(loader);
+	}
+
+	/**
+	 * Test that the class loader is collected once evicted, even though its
+	 * validator was cached for an annotation of the shared class loader.
+	 *
+	 * @throws Exception
+	 *             if the test fails
+	 */
+	public void testEvict() throws Exception
+	{
+		final WeakReference<ClassLoader> loader = validate("LeakStub");
+
+		Purview.evict(loader.get());
+
+		collect(loader);
+
+		assertNull(loader.get());
+	}
+
+	/**
+	 * Test that the class loader is collected without evicting when it only
+	 * uses shared validators.
+	 *
+	 * @throws Exception
+	 *             if the test fails
+	 */
+	public void testShared() throws Exception
+	{
+		final WeakReference<ClassLoader> loader = validate("LeakSharedStub");
+
+		collect(loader);
+
+		assertNull(loader.get());
+	}
+}
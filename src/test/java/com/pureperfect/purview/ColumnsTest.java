@@ -0,0 +1,310 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview;
+
+import java.lang.annotation.Annotation;
+import java.util.BitSet;
+
+import junit.framework.TestCase;
+
+import com.pureperfect.purview.validators.NotNull;
+import com.pureperfect.purview.validators.biz.Phone;
+import com.pureperfect.purview.validators.biz.SSN;
+import com.pureperfect.purview.validators.biz.ZipCode;
+import com.pureperfect.purview.validators.net.CachingHostResolver;
+import com.pureperfect.purview.validators.net.Email;
+import com.pureperfect.purview.validators.net.HostResolvers;
+import com.pureperfect.purview.validators.net.StubHostResolver;
+import com.pureperfect.purview.validators.numeric.AllowOnly;
+import com.pureperfect.purview.validators.numeric.GreaterThan;
+import com.pureperfect.purview.validators.numeric.GreaterThanOrEqualTo;
+import com.pureperfect.purview.validators.numeric.Id;
+import com.pureperfect.purview.validators.numeric.LessThan;
+import com.pureperfect.purview.validators.numeric.LessThanOrEqualTo;
+import com.pureperfect.purview.validators.text.LowerCase;
+import com.pureperfect.purview.validators.text.Mask;
+import com.pureperfect.purview.validators.text.MaxLength;
+import com.pureperfect.purview.validators.text.MinLength;
+import com.pureperfect.purview.validators.text.Range;
+import com.pureperfect.purview.validators.text.UpperCase;
+import com.pureperfect.purview.validators.time.Hours;
+import com.pureperfect.purview.validators.time.Minutes;
+import com.pureperfect.purview.validators.time.Seconds;
+
+/**
+ * Unit test for {@link Columns}.
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public class ColumnsTest extends TestCase
+{
+	public static class Numbers
+	{
+		@GreaterThan(2.5)
+		public int greaterThan;
+
+		@GreaterThan(Double.POSITIVE_INFINITY)
+		public int greaterThanInfinity;
+
+		@GreaterThanOrEqualTo(-3)
+		public int greaterThanOrEqualTo;
+
+		@LessThan(100)
+		public int lessThan;
+
+		@LessThan(Double.NEGATIVE_INFINITY)
+		public int lessThanInfinity;
+
+		@LessThanOrEqualTo(0.5)
+		public int lessThanOrEqualTo;
+
+		@Id
+		public int id;
+
+		@Hours
+		public int hours;
+
+		@Minutes
+		public int minutes;
+
+		@Seconds
+		public int seconds;
+
+		@AllowOnly(
+		{ 1, 2, 3 })
+		public int allowOnly;
+	}
+
+	public static class Text
+	{
+		@MinLength(2)
+		public String minLength;
+
+		@MaxLength(value = 3, required = true)
+		public String maxLength;
+
+		@Range(min = 1, max = 3)
+		public String range;
+
+		@LowerCase
+		public String lowerCase;
+
+		@UpperCase(required = true)
+		public String upperCase;
+
+		@ZipCode
+		public String zipCode;
+
+		@ZipCode(validationMode = ZipCode.NINE_DIGIT, required = true)
+		public String nineDigitZipCode;
+
+		@Phone(validationMode = Phone.BOTH)
+		public String phone;
+
+		@SSN(validationMode = SSN.DASHES)
+		public String ssn;
+
+		@Mask(
+		{ "(###) ###-####", "??-#[#]" })
+		public String mask;
+
+		@Email(reverseLookup = true)
+		public String email;
+
+		public String none;
+	}
+
+	private static final double[] DOUBLES =
+	{ 0, -0.0d, 0.5, -0.5, -1, -1.5, 1, 2, 2.5, 2.6, 3, -3, -3.5, 23, 23.9,
+			24, 59.99, 60, 99, 99.9, 100, 1e10, -1e10, 1e20, -1e20,
+			Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+			Double.MIN_VALUE, -Double.MIN_VALUE, Double.MAX_VALUE };
+
+	private static final long[] LONGS =
+	{ 0, 1, -1, 2, 3, -3, -4, 23, 24, 59, 60, 99, 100, Integer.MAX_VALUE,
+			Integer.MIN_VALUE, 1L << 32, (1L << 32) + 5, Long.MAX_VALUE,
+			Long.MIN_VALUE, (1L << 53) + 1 };
+
+	private static Annotation annotation(final Class<?> type,
+			final String field) throws Exception
+	{
+		return type.getField(field).getDeclaredAnnotations()[0];
+	}
+
+	/*
+	 * What the annotation's validator says about each value.
+	 */
+	@SuppressWarnings(
+	{ "unchecked", "rawtypes" })
+	private static BitSet expected(final Object[] values,
+			final Annotation annotation)
+	{
+		final Validator validator = new ValidatorFactoryImpl()
+				.createValidator(annotation);
+
+		final BitSet invalid = new BitSet();
+
+		for (int i = 0; i < values.length; ++i)
+		{
+			if (validator.validate(null, annotation, null, values[i]) != null)
+			{
+				invalid.set(i);
+			}
+		}
+
+		return invalid;
+	}
+
+	public void testNumbers() throws Exception
+	{
+		final int[] ints = new int[LONGS.length];
+		final Object[] boxedInts = new Object[LONGS.length];
+		final Object[] boxedLongs = new Object[LONGS.length];
+		final Object[] boxedDoubles = new Object[DOUBLES.length];
+
+		for (int i = 0; i < LONGS.length; ++i)
+		{
+			ints[i] = (int) LONGS[i];
+			boxedInts[i] = Integer.valueOf(ints[i]);
+			boxedLongs[i] = Long.valueOf(LONGS[i]);
+		}
+
+		for (int i = 0; i < DOUBLES.length; ++i)
+		{
+			boxedDoubles[i] = Double.valueOf(DOUBLES[i]);
+		}
+
+		for (final java.lang.reflect.Field field : Numbers.class.getFields())
+		{
+			final Annotation annotation = field.getDeclaredAnnotations()[0];
+
+			assertEquals(field.getName(), expected(boxedInts, annotation),
+					Columns.validate(ints, annotation));
+			assertEquals(field.getName(), expected(boxedLongs, annotation),
+					Columns.validate(LONGS, annotation));
+			assertEquals(field.getName(), expected(boxedDoubles, annotation),
+					Columns.validate(DOUBLES, annotation));
+		}
+	}
+
+	public void testText() throws Exception
+	{
+		final String[] values =
+		{ null, "", "a", "ab", "abc", "abcd", "ABC", "Abc", "12345",
+				"12345-6789", "1234", "1234a", "12345-678\u0669",
+				"123-45-6789", "123456789", "555-123-4567", "5551234567",
+				"(555) 123-4567", "(555) 123 4567", "ab-1", "ab-12",
+				"ab-123" };
+
+		for (final String name : new String[]
+		{ "minLength", "maxLength", "range", "lowerCase", "upperCase",
+				"zipCode", "nineDigitZipCode", "phone", "ssn", "mask" })
+		{
+			final Annotation annotation = annotation(Text.class, name);
+
+			assertEquals(name, expected(values, annotation),
+					Columns.validate(values, annotation));
+		}
+
+		final BitSet zip = Columns.validate(values,
+				annotation(Text.class, "zipCode"));
+
+		assertEquals("{2, 3, 4, 5, 6, 7, 10, 11, 13, 14, 15, 16, 17, 18, 19, "
+				+ "20, 21}", zip.toString());
+	}
+
+	public void testLargeColumn() throws Exception
+	{
+		final int[] values = new int[1000];
+
+		for (int i = 0; i < values.length; ++i)
+		{
+			values[i] = i % 30;
+		}
+
+		final BitSet invalid = Columns.validate(values,
+				annotation(Numbers.class, "hours"));
+
+		assertEquals(6 * 33, invalid.cardinality());
+
+		for (int i = 0; i < values.length; ++i)
+		{
+			assertEquals(values[i] >= 24, invalid.get(i));
+		}
+
+		assertTrue(Columns.validate(new int[0],
+				annotation(Numbers.class, "hours")).isEmpty());
+	}
+
+	public void testReverseLookup() throws Exception
+	{
+		final StubHostResolver stub = new StubHostResolver("pureperfect.com",
+				"example.com");
+
+		stub.setDelay(100);
+
+		final CachingHostResolver resolver = new CachingHostResolver(stub);
+
+		HostResolvers.setDefault(resolver);
+
+		try
+		{
+			final String[] values =
+			{ "a@pureperfect.com", "b@example.com", "c@nowhere.com",
+					"d@PurePerfect.com", "e@example.com", "bad", null,
+					"f@nowhere.com" };
+
+			final long start = System.nanoTime();
+
+			final BitSet invalid = Columns.validate(values, annotation(
+					Text.class, "email"));
+
+			final long elapsed = (System.nanoTime() - start) / 1000000;
+
+			assertEquals("{2, 5, 7}", invalid.toString());
+
+			/*
+			 * Three distinct domains looked up at the same time, not one at
+			 * a time.
+			 */
+			assertEquals(3, stub.getLookups());
+			assertTrue(String.valueOf(elapsed), elapsed < 250);
+		}
+		finally
+		{
+			HostResolvers.setDefault(null);
+			resolver.shutdown();
+		}
+	}
+
+	public void testNotValidation() throws Exception
+	{
+		try
+		{
+			Columns.validate(new String[]
+			{ "a" }, NotNull.class.getAnnotation(
+					java.lang.annotation.Retention.class));
+			fail();
+		}
+		catch (final ValidationException e)
+		{
+			// expected
+		}
+	}
+}
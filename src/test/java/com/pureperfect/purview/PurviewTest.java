@@ -34,7 +34,7 @@ import com.pureperfect.purview.validators.NotNull;
  * Unit test for {@link Purview}.
  * 
  * @author J. Chris Folsom
- * @version 1.1
+ * @version 1.4
  * @since 1.0
  */
 public class PurviewTest extends TestCase
@@ -244,6 +244,41 @@ public class PurviewTest extends TestCase
 		// blah blah
 	}
 
+	/**
+	 * Test that classes without validation annotations get their own empty
+	 * results unless strict mode is on.
+	 */
+	public void testUnconstrained()
+	{
+		final FieldStubStrictFail stub = new FieldStubStrictFail();
+
+		final ValidationResults results = Purview.validateFields(stub);
+
+		assertNotSame(ValidationResults.EMPTY, results);
+		assertNotSame(results, Purview.validateFields(stub));
+		assertTrue(results.getProblems().isEmpty());
+		assertFalse(results.isValidated());
+
+		/*
+		 * Callers may merge into what they get back.
+		 */
+		results.merge(Purview.validateMethods(stub));
+		results.merge(Purview.validateType(stub));
+
+		assertTrue(results.getProblems().isEmpty());
+
+		try
+		{
+			Purview.validateFields(stub, true);
+
+			fail();
+		}
+		catch (final ValidationException e)
+		{
+			// expected
+		}
+	}
+
 	/**
 	 * Test validate fields.
 	 */
@@ -25,7 +25,7 @@ import junit.framework.TestCase;
  * Unit test for {@link ValidationResults}.
  * 
  * @author J. Chris Folsom
- * @version 1.1
+ * @version 1.4
  * @since 1.0
  */
 public class ValidationResultsTest extends TestCase
@@ -148,4 +148,51 @@ public class ValidationResultsTest extends TestCase
 
 		assertTrue(results.isValidated());
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Test that the shared empty results cannot be changed.
+	 */
+	public void testEmpty()
+	{
+		assertTrue(ValidationResults.EMPTY.getProblems().isEmpty());
+
+		try
+		{
+			ValidationResults.EMPTY.addProblem(new Stub());
+
+			fail();
+		}
+		catch (final UnsupportedOperationException e)
+		{
+			// expected
+		}
+
+		try
+		{
+			ValidationResults.EMPTY.merge(new ValidationResults());
+
+			fail();
+		}
+		catch (final UnsupportedOperationException e)
+		{
+			// expected
+		}
+
+		try
+		{
+			ValidationResults.EMPTY.setValidated(true);
+
+			fail();
+		}
+		catch (final UnsupportedOperationException e)
+		{
+			// expected
+		}
+
+		final ValidationResults results = new ValidationResults();
+
+		results.merge(ValidationResults.EMPTY);
+
+		assertFalse(results.isValidated());
+	}
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview;
+
+import java.util.List;
+import java.util.ListResourceBundle;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+
+import junit.framework.TestCase;
+
+import com.pureperfect.purview.util.GetterMethodFilter;
+import com.pureperfect.purview.util.MakeAccessibleFieldFilter;
+import com.pureperfect.purview.validators.NotNull;
+
+/**
+ * Unit test for {@link ValidationTrace}.
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public class ValidationTraceTest extends TestCase
+{
+	/**
+	 * Stub class for testing.
+	 */
+	public static class Stub
+	{
+		@NotNull
+		String name = "name";
+
+		@NotNull
+		String value;
+
+		@NotNull
+		public String getValue()
+		{
+			return this.value;
+		}
+	}
+
+	/**
+	 * Test that a traced call records its reads, validators and messages.
+	 */
+	@SuppressWarnings("rawtypes")
+	public void testTrace()
+	{
+		final ValidationEngine engine = new ValidationEngineImpl(
+				new CachingValidatorFactory());
+
+		assertNull(ValidationTrace.current());
+
+		final ValidationTrace trace = ValidationTrace.start();
+
+		assertSame(trace, ValidationTrace.current());
+
+		final ValidationResults results;
+
+		try
+		{
+			results = engine.validateFields(new Stub(),
+					MakeAccessibleFieldFilter.defaultInstance(), false);
+
+			engine.validateMethods(new Stub(), GetterMethodFilter
+					.defaultInstance(), false);
+
+			final ResourceBundle bundle = new ListResourceBundle()
+			{
+				@Override
+				protected Object[][] getContents()
+				{
+					return new Object[][]
+					{
+					{ NotNull.Problem.class.getName(), "required" } };
+				}
+			};
+
+			final ValidationProblem problem = results.getProblems().iterator()
+					.next();
+
+			assertEquals("required", problem.getLocalizedMessage(bundle));
+
+			try
+			{
+				problem.getLocalizedMessage(new ListResourceBundle()
+				{
+					@Override
+					protected Object[][] getContents()
+					{
+						return new Object[0][];
+					}
+				});
+
+				fail();
+			}
+			catch (final MissingResourceException e)
+			{
+				// expected
+			}
+		}
+		finally
+		{
+			trace.stop();
+		}
+
+		assertNull(ValidationTrace.current());
+
+		final List<ValidationTrace.Step> steps = trace.getSteps();
+
+		assertEquals(4, steps.size());
+
+		final ValidationTrace.Step fields = steps.get(0);
+
+		assertEquals(ValidationTrace.CALL, fields.getKind());
+		assertEquals(Stub.class.getName(), fields.getName());
+		assertEquals("fields", fields.getDetail());
+		assertEquals(ValidationTrace.INVALID, fields.getOutcome());
+
+		final List<ValidationTrace.Step> fieldSteps = fields.getChildren();
+
+		assertEquals(4, fieldSteps.size());
+
+		for (final ValidationTrace.Step step : fieldSteps)
+		{
+			assertTrue(step.getStartNanos() >= fields.getStartNanos());
+			assertTrue(step.getNanos() >= 0);
+		}
+
+		assertEquals(ValidationTrace.READ, fieldSteps.get(0).getKind());
+		assertEquals(ValidationTrace.VALIDATOR, fieldSteps.get(1).getKind());
+		assertEquals(ValidationTrace.VALID, fieldSteps.get(1).getOutcome());
+		assertEquals("value", fieldSteps.get(3).getName());
+		assertEquals(ValidationTrace.INVALID, fieldSteps.get(3).getOutcome());
+		assertTrue(fieldSteps.get(3).getDetail().startsWith(
+				"@" + NotNull.class.getName()));
+
+		final ValidationTrace.Step methods = steps.get(1);
+
+		assertEquals("methods", methods.getDetail());
+		assertEquals("getValue()", methods.getChildren().get(0).getName());
+		assertEquals(ValidationTrace.READ, methods.getChildren().get(0)
+				.getKind());
+
+		assertEquals(ValidationTrace.MESSAGE, steps.get(2).getKind());
+		assertEquals(NotNull.Problem.class.getName(), steps.get(2).getName());
+		assertEquals(ValidationTrace.FOUND, steps.get(2).getOutcome());
+		assertEquals(ValidationTrace.MISSING, steps.get(3).getOutcome());
+
+		final String json = trace.toJson();
+
+		assertTrue(json.startsWith("{\"nanos\":" + trace.getNanos()
+				+ ",\"steps\":[{\"kind\":\"call\",\"name\":\""));
+		assertTrue(json.contains("\"kind\":\"read\",\"name\":\"getValue()\""));
+		assertTrue(json.endsWith("}]}"));
+	}
+
+	/**
+	 * Test that calls are not traced once the trace stops.
+	 */
+	public void testStop()
+	{
+		final ValidationTrace trace = ValidationTrace.start();
+
+		try
+		{
+			ValidationTrace.start();
+
+			fail();
+		}
+		catch (final IllegalStateException e)
+		{
+			// expected
+		}
+
+		trace.stop();
+		trace.stop();
+
+		Purview.validateFields(new Stub());
+
+		assertTrue(trace.getSteps().isEmpty());
+		assertEquals("{\"nanos\":" + trace.getNanos() + ",\"steps\":[]}",
+				trace.toJson());
+	}
+
+	/**
+	 * Test that another thread cannot stop a trace.
+	 *
+	 * @throws Exception
+	 *             if the test fails
+	 */
+	public void testStopFromOtherThread() throws Exception
+	{
+		final ValidationTrace trace = ValidationTrace.start();
+
+		final Throwable[] thrown = new Throwable[1];
+
+		final Thread other = new Thread()
+		{
+			@Override
+			public void run()
+			{
+				try
+				{
+					trace.stop();
+				}
+				catch (final Throwable t)
+				{
+					thrown[0] = t;
+				}
+			}
+		};
+
+		try
+		{
+			other.start();
+			other.join();
+
+			assertTrue(thrown[0] instanceof IllegalStateException);
+			assertSame(trace, ValidationTrace.current());
+
+			Purview.validateFields(new Stub());
+
+			assertFalse(trace.getSteps().isEmpty());
+		}
+		finally
+		{
+			trace.stop();
+		}
+
+		assertNull(ValidationTrace.current());
+	}
+
+	/**
+	 * Test sampling.
+	 */
+	public void testSample()
+	{
+		assertNull(ValidationTrace.sample(0));
+
+		final ValidationTrace trace = ValidationTrace.sample(1);
+
+		assertNotNull(trace);
+
+		trace.stop();
+	}
+}
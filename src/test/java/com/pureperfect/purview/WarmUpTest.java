@@ -0,0 +1,266 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import junit.framework.TestCase;
+
+import com.pureperfect.purview.validators.NotNull;
+
+/**
+ * Unit test for {@link WarmUp}.
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public class WarmUpTest extends TestCase
+{
+	/**
+	 * Stub class for testing.
+	 */
+	public static class Stub
+	{
+		@NotNull
+		String name;
+	}
+
+	/**
+	 * Stub class for testing.
+	 */
+	public static class Unconstrained
+	{
+		String name;
+	}
+
+	/**
+	 * Test that directories are scanned and constrained classes prepared.
+	 */
+	public void testDirectory()
+	{
+		final ValidationEngineImpl engine = new ValidationEngineImpl(
+				new CachingValidatorFactory());
+
+		final WarmUpReport report = WarmUp.run(engine, WarmUpTest.class
+				.getClassLoader(), 2, "com.pureperfect.purview.metrics");
+
+		assertTrue(report.getClasses() > 5);
+		assertTrue(report.getConstrained() > 0);
+		assertTrue(report.getConstrained() < report.getClasses());
+		assertTrue(report.getFailures().isEmpty());
+		assertTrue(report.toString().startsWith(
+				"Prepared " + report.getConstrained() + " of "
+						+ report.getClasses() + " classes in "));
+
+		assertTrue(engine.prepare(Stub.class));
+		assertFalse(engine.prepare(Unconstrained.class));
+
+		assertEquals(0, Purview.warmUp("com.pureperfect.purview.nothing")
+				.getClasses());
+	}
+
+	/*
+	 * A jar with the Stub class under the prefix.
+	 */
+	private static File jar(final String prefix) throws Exception
+	{
+		final String path = Stub.class.getName().replace('.', '/') + ".class";
+
+		final String entry = prefix + path;
+
+		final File jar = File.createTempFile("warmup", ".jar");
+
+		final JarOutputStream out = new JarOutputStream(new FileOutputStream(
+				jar));
+
+		try
+		{
+			/*
+			 * Class loaders only find packages with directory entries.
+			 */
+			for (int slash = entry.indexOf('/'); slash > -1; slash = entry
+					.indexOf('/', slash + 1))
+			{
+				out.putNextEntry(new JarEntry(entry.substring(0, slash + 1)));
+				out.closeEntry();
+			}
+
+			out.putNextEntry(new JarEntry(entry));
+
+			final InputStream in = WarmUpTest.class.getClassLoader()
+					.getResourceAsStream(path);
+
+			try
+			{
+				final byte[] buffer = new byte[4096];
+
+				for (int read = in.read(buffer); read > -1; read = in
+						.read(buffer))
+				{
+					out.write(buffer, 0, read);
+				}
+			}
+			finally
+			{
+				in.close();
+			}
+
+			out.closeEntry();
+		}
+		finally
+		{
+			out.close();
+		}
+
+		return jar;
+	}
+
+	/*
+	 * A class loader that finds the packages at the URLs.
+	 */
+	private static ClassLoader resources(final URL... urls)
+	{
+		return new ClassLoader(null)
+		{
+			@Override
+			public Enumeration<URL> getResources(final String name)
+			{
+				return Collections.enumeration(Arrays.asList(urls));
+			}
+		};
+	}
+
+	/**
+	 * Test that jar files are scanned.
+	 *
+	 * @throws Exception
+	 *             if the test fails
+	 */
+	public void testJar() throws Exception
+	{
+		final File jar = jar("");
+
+		try
+		{
+			final URLClassLoader loader = new URLClassLoader(new URL[]
+			{ jar.toURI().toURL() }, null);
+
+			try
+			{
+				final List<String> failures = new ArrayList<String>();
+
+				final Collection<String> classes = WarmUp.scan(loader,
+						failures, "com.pureperfect");
+
+				assertEquals(1, classes.size());
+				assertEquals(Stub.class.getName(), classes.iterator().next());
+				assertTrue(failures.isEmpty());
+			}
+			finally
+			{
+				loader.close();
+			}
+		}
+		finally
+		{
+			jar.delete();
+		}
+	}
+
+	/**
+	 * Test the directories and jars inside executable jars.
+	 *
+	 * @throws Exception
+	 *             if the test fails
+	 */
+	public void testNestedJar() throws Exception
+	{
+		final File jar = jar("BOOT-INF/classes/");
+
+		try
+		{
+			final String base = "jar:" + jar.toURI() + "!/BOOT-INF/";
+
+			final List<String> failures = new ArrayList<String>();
+
+			final Collection<String> classes = WarmUp.scan(resources(new URL(
+					base + "classes!/com/pureperfect"), new URL(base
+					+ "lib/other.jar!/com/pureperfect")), failures,
+					"com.pureperfect");
+
+			assertEquals(1, classes.size());
+			assertEquals(Stub.class.getName(), classes.iterator().next());
+
+			assertEquals(1, failures.size());
+			assertTrue(failures.get(0).startsWith(base + "lib/other.jar!/"));
+
+			final WarmUpReport report = WarmUp.run(new ValidationEngineImpl(
+					new CachingValidatorFactory()), resources(new URL(base
+					+ "lib/other.jar!/com/pureperfect")), 1, "com.pureperfect");
+
+			assertEquals(0, report.getClasses());
+			assertEquals(1, report.getFailures().size());
+		}
+		finally
+		{
+			jar.delete();
+		}
+	}
+
+	/**
+	 * Test that locations with other protocols are reported, not skipped.
+	 *
+	 * @throws Exception
+	 *             if the test fails
+	 */
+	public void testUnsupportedProtocol() throws Exception
+	{
+		final URL url = new URL("vfs", null, -1, "/app.war/com/pureperfect",
+				new URLStreamHandler()
+				{
+					@Override
+					protected URLConnection openConnection(final URL u)
+					{
+						throw new UnsupportedOperationException();
+					}
+				});
+
+		final List<String> failures = new ArrayList<String>();
+
+		assertTrue(WarmUp.scan(resources(url), failures, "com.pureperfect")
+				.isEmpty());
+
+		assertEquals(1, failures.size());
+		assertEquals(url + ": java.io.IOException: unsupported protocol vfs",
+				failures.get(0));
+	}
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.index;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import junit.framework.TestCase;
+
+import com.pureperfect.purview.CachingValidatorFactory;
+import com.pureperfect.purview.ValidationEngine;
+import com.pureperfect.purview.ValidationEngineImpl;
+import com.pureperfect.purview.ValidationException;
+import com.pureperfect.purview.ValidationTrace;
+
+/**
+ * Unit test for {@link AnnotationIndexProcessor} and {@link AnnotationIndex}.
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public class AnnotationIndexProcessorTest extends TestCase
+{
+	private File directory;
+
+	private static void delete(final File file)
+	{
+		final File[] children = file.listFiles();
+
+		if (children != null)
+		{
+			for (final File child : children)
+			{
+				delete(child);
+			}
+		}
+
+		file.delete();
+	}
+
+	private void write(final String name, final String source)
+			throws Exception
+	{
+		final File file = new File(this.directory, name);
+
+		file.getParentFile().mkdirs();
+
+		final Writer out = new OutputStreamWriter(new FileOutputStream(file),
+				"UTF-8");
+
+		try
+		{
+			out.write(source);
+		}
+		finally
+		{
+			out.close();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void setUp() throws Exception
+	{
+		this.directory = Files.createTempDirectory("index").toFile();
+
+		this.write("indexed/Customer.java", "package indexed;\n"
+				+ "import com.pureperfect.purview.validators.NotNull;\n"
+				+ "public class Customer {\n" + "  @NotNull String name;\n"
+				+ "  public void setName(@NotNull String name) {}\n"
+				+ "  public static class Plain { @Deprecated String name; }\n"
+				+ "}\n");
+
+		this.write("indexed/Plain.java", "package indexed;\n"
+				+ "public class Plain {\n" + "  String name;\n"
+				+ "  @Deprecated public String getName() { return name; }\n"
+				+ "}\n");
+
+		final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+		final String classPath = new File(AnnotationIndexProcessor.class
+				.getProtectionDomain().getCodeSource().getLocation().toURI())
+				.getPath();
+
+		assertEquals(0, compiler.run(null, null, null, "-proc:only",
+				"-processor", AnnotationIndexProcessor.class.getName(),
+				"-classpath", classPath, "-d", this.directory.getPath(),
+				new File(this.directory, "indexed/Customer.java").getPath(),
+				new File(this.directory, "indexed/Plain.java").getPath()));
+
+		assertEquals(0, compiler.run(null, null, null, "-proc:none",
+				"-classpath", classPath, "-d", this.directory.getPath(),
+				new File(this.directory, "indexed/Customer.java").getPath(),
+				new File(this.directory, "indexed/Plain.java").getPath()));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void tearDown()
+	{
+		delete(this.directory);
+	}
+
+	/**
+	 * Test the index and that the engine skips classes without validation
+	 * annotations.
+	 *
+	 * @throws Exception
+	 *             if the test fails
+	 */
+	public void testIndex() throws Exception
+	{
+		final List<String> lines = Files.readAllLines(new File(this.directory,
+				AnnotationIndexProcessor.RESOURCE).toPath(), Charset
+				.forName("UTF-8"));
+
+		assertEquals(Arrays.asList("indexed.Customer",
+				"indexed.Customer\tfield\tname\t"
+						+ "com.pureperfect.purview.validators.NotNull",
+				"indexed.Customer\tparameter\tsetName(0)\t"
+						+ "com.pureperfect.purview.validators.NotNull",
+				"indexed.Customer$Plain", "indexed.Plain"), lines);
+
+		final URLClassLoader loader = new URLClassLoader(new URL[]
+		{ this.directory.toURI().toURL() }, AnnotationIndexProcessorTest.class
+				.getClassLoader());
+
+		try
+		{
+			final Class<?> customer = loader.loadClass("indexed.Customer");
+			final Class<?> plain = loader.loadClass("indexed.Plain");
+
+			assertFalse(AnnotationIndex.isUnconstrained(customer));
+			assertTrue(AnnotationIndex.isUnconstrained(plain));
+			assertTrue(AnnotationIndex.isUnconstrained(loader
+					.loadClass("indexed.Customer$Plain")));
+			assertFalse(AnnotationIndex
+					.isUnconstrained(AnnotationIndexProcessorTest.class));
+			assertFalse(AnnotationIndex.isUnconstrained(String.class));
+
+			final ValidationEngine engine = new ValidationEngineImpl(
+					new CachingValidatorFactory());
+
+			final ValidationTrace trace = ValidationTrace.start();
+
+			try
+			{
+				assertTrue(engine.validateFields(plain.newInstance())
+						.getProblems().isEmpty());
+				assertTrue(engine.validateMethods(plain.newInstance())
+						.getProblems().isEmpty());
+
+				assertTrue(trace.getSteps().isEmpty());
+
+				assertEquals(1, engine.validateFields(customer.newInstance())
+						.getProblems().size());
+			}
+			finally
+			{
+				trace.stop();
+			}
+
+			assertEquals(1, trace.getSteps().size());
+
+			try
+			{
+				engine.validateFields(plain.newInstance(), true);
+
+				fail();
+			}
+			catch (final ValidationException e)
+			{
+				// strict mode still looks at the fields
+			}
+		}
+		finally
+		{
+			loader.close();
+		}
+	}
+}
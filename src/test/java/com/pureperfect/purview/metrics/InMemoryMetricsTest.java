@@ -0,0 +1,155 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.metrics;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import com.pureperfect.purview.CachingValidatorFactory;
+import com.pureperfect.purview.ValidationEngine;
+import com.pureperfect.purview.ValidationEngineImpl;
+import com.pureperfect.purview.util.GetterMethodFilter;
+import com.pureperfect.purview.util.MakeAccessibleFieldFilter;
+import com.pureperfect.purview.validators.NotNull;
+
+/**
+ * Unit test for {@link InMemoryMetrics}.
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public class InMemoryMetricsTest extends TestCase
+{
+	/**
+	 * Stub class for testing.
+	 */
+	public static class Stub
+	{
+		@NotNull
+		String name;
+
+		private String value;
+
+		@NotNull
+		public String getValue()
+		{
+			return this.value;
+		}
+	}
+
+	/**
+	 * Test that fields and methods are counted per target and validator.
+	 *
+	 * @throws Exception
+	 *             if the test fails
+	 */
+	public void testCounts() throws Exception
+	{
+		final InMemoryMetrics metrics = new InMemoryMetrics();
+
+		final ValidationEngine engine = new ValidationEngineImpl(
+				new CachingValidatorFactory(), metrics);
+
+		final Stub valid = new Stub();
+		valid.name = "name";
+		valid.value = "value";
+
+		final Stub invalid = new Stub();
+
+		for (int i = 0; i < 3; ++i)
+		{
+			engine.validateFields(valid, MakeAccessibleFieldFilter
+					.defaultInstance(), false);
+			engine.validateMethods(valid, GetterMethodFilter.defaultInstance(),
+					false);
+		}
+
+		assertEquals(2, engine.validateFields(invalid,
+				MakeAccessibleFieldFilter.defaultInstance(), false)
+				.getProblems().size()
+				+ engine.validateMethods(invalid,
+						GetterMethodFilter.defaultInstance(), false)
+						.getProblems().size());
+
+		final ValidatorStatistics field = metrics.getStatistics(Stub.class,
+				Stub.class.getDeclaredField("name"), NotNull.Validator.class);
+
+		assertEquals(4, field.getInvocations());
+		assertEquals(1, field.getFailures());
+		assertEquals("name", field.getTargetName());
+		assertTrue(field.getTotalNanos() > 0);
+
+		final ValidatorStatistics method = metrics.getStatistics(Stub.class,
+				Stub.class.getMethod("getValue"), NotNull.Validator.class);
+
+		assertEquals(4, method.getInvocations());
+		assertEquals(1, method.getFailures());
+		assertEquals("getValue()", method.getTargetName());
+
+		final List<ValidatorStatistics> statistics = metrics.getStatistics();
+
+		assertEquals(2, statistics.size());
+		assertTrue(statistics.get(0).getTotalNanos() >= statistics.get(1)
+				.getTotalNanos());
+
+		final StringBuilder report = new StringBuilder();
+
+		metrics.report(report);
+
+		assertEquals(3, report.toString().split("\n").length);
+		assertTrue(report.toString().contains("getValue()"));
+
+		metrics.reset();
+
+		assertEquals(0, field.getInvocations());
+		assertEquals(0, field.getFailures());
+		assertEquals(0, method.getTotalNanos());
+	}
+
+	/**
+	 * Test that statistics of classes from a class loader are dropped.
+	 *
+	 * @throws Exception
+	 *             if the test fails
+	 */
+	public void testEvict() throws Exception
+	{
+		final InMemoryMetrics metrics = new InMemoryMetrics();
+
+		final ValidationEngine engine = new ValidationEngineImpl(
+				new CachingValidatorFactory(), metrics);
+
+		engine.validateFields(new Stub(), MakeAccessibleFieldFilter
+				.defaultInstance(), false);
+
+		assertEquals(1, metrics.getStatistics().size());
+
+		metrics.evict(new URLClassLoader(new URL[0], null));
+
+		assertEquals(1, metrics.getStatistics().size());
+
+		metrics.evict(Stub.class.getClassLoader());
+
+		assertTrue(metrics.getStatistics().isEmpty());
+		assertNull(metrics.getStatistics(Stub.class, Stub.class
+				.getDeclaredField("name"), NotNull.Validator.class));
+	}
+}
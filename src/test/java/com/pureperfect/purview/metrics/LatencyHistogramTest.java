@@ -0,0 +1,103 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.metrics;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit test for {@link LatencyHistogram}.
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public class LatencyHistogramTest extends TestCase
+{
+	/**
+	 * Test that buckets cover every value without gaps and stay within about
+	 * six percent of the values in them.
+	 */
+	public void testBuckets()
+	{
+		assertEquals(0, LatencyHistogram.bucket(0));
+		assertEquals(0, LatencyHistogram.lowest(0));
+
+		int previous = 0;
+
+		for (long value = 1; value > 0 && value < Long.MAX_VALUE / 3; value = value * 3 + 1)
+		{
+			final int bucket = LatencyHistogram.bucket(value);
+
+			assertTrue(bucket >= previous);
+			assertTrue(LatencyHistogram.lowest(bucket) <= value);
+			assertTrue(LatencyHistogram.highest(bucket) >= value);
+
+			if (value > 16)
+			{
+				assertTrue(LatencyHistogram.highest(bucket) - value <= value / 15);
+			}
+
+			previous = bucket;
+		}
+
+		for (int bucket = 1; bucket < LatencyHistogram.bucket(Long.MAX_VALUE); ++bucket)
+		{
+			assertEquals(LatencyHistogram.highest(bucket - 1) + 1,
+					LatencyHistogram.lowest(bucket));
+		}
+
+		assertEquals(Long.MAX_VALUE, LatencyHistogram.highest(LatencyHistogram
+				.bucket(Long.MAX_VALUE)));
+	}
+
+	/**
+	 * Test counts, percentiles and reset.
+	 */
+	public void testPercentiles()
+	{
+		final LatencyHistogram histogram = new LatencyHistogram();
+
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getMax());
+		assertEquals(0, histogram.getPercentile(0.99));
+
+		for (int i = 1; i <= 1000; ++i)
+		{
+			histogram.record(i * 1000L);
+		}
+
+		histogram.record(-5);
+
+		assertEquals(1001, histogram.getCount());
+
+		final long median = histogram.getPercentile(0.5);
+
+		assertTrue(median >= 500000 && median <= 500000 * 107 / 100);
+
+		final long p99 = histogram.getPercentile(0.99);
+
+		assertTrue(p99 >= 990000 && p99 <= 990000 * 107 / 100);
+
+		assertTrue(histogram.getMax() >= 1000000);
+		assertEquals(0, histogram.getPercentile(0));
+
+		histogram.reset();
+
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getPercentile(0.5));
+	}
+}
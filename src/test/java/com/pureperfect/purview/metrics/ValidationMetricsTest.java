@@ -0,0 +1,84 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.metrics;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import junit.framework.TestCase;
+
+import com.pureperfect.purview.CachingValidatorFactory;
+import com.pureperfect.purview.ValidationEngineImpl;
+import com.pureperfect.purview.util.MakeAccessibleFieldFilter;
+
+/**
+ * Unit test for {@link ValidationMetrics}.
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public class ValidationMetricsTest extends TestCase
+{
+	/**
+	 * Test that metrics can be read and reset over JMX.
+	 *
+	 * @throws Exception
+	 *             if the test fails
+	 */
+	public void testRegister() throws Exception
+	{
+		final InMemoryMetrics metrics = new InMemoryMetrics();
+
+		final ObjectName name = ValidationMetrics.register(metrics, "test");
+
+		try
+		{
+			final MBeanServer server = ManagementFactory
+					.getPlatformMBeanServer();
+
+			new ValidationEngineImpl(new CachingValidatorFactory(), metrics)
+					.validateFields(new InMemoryMetricsTest.Stub(),
+							MakeAccessibleFieldFilter.defaultInstance(), false);
+
+			assertEquals(Long.valueOf(1), server.getAttribute(name,
+					"Invocations"));
+			assertEquals(Long.valueOf(1), server.getAttribute(name,
+					"Failures"));
+
+			final String[] entries = (String[]) server.getAttribute(name,
+					"Entries");
+
+			assertEquals(1, entries.length);
+			assertTrue(entries[0].contains("invocations=1 failures=1"));
+
+			server.invoke(name, "reset", null, null);
+
+			assertEquals(Long.valueOf(0), server.getAttribute(name,
+					"Invocations"));
+		}
+		finally
+		{
+			ValidationMetrics.unregister("test");
+		}
+
+		assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(
+				name));
+	}
+}
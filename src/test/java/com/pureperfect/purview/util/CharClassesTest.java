@@ -0,0 +1,137 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.util;
+
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit test for {@link CharClasses}.
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public class CharClassesTest extends TestCase
+{
+	private static final int[] CLASSES =
+	{ CharClasses.DIGIT, CharClasses.LOWER, CharClasses.UPPER,
+			CharClasses.LETTER, CharClasses.LETTER_OR_DIGIT,
+			CharClasses.DIGIT | CharClasses.LOWER };
+
+	private static boolean expected(final char c, final int classes)
+	{
+		if ((classes & CharClasses.DIGIT) != 0 && Character.isDigit(c))
+		{
+			return true;
+		}
+
+		if ((classes & CharClasses.LETTER) == CharClasses.LETTER)
+		{
+			return Character.isLetter(c);
+		}
+
+		return ((classes & CharClasses.LOWER) != 0 && Character.isLowerCase(c))
+				|| ((classes & CharClasses.UPPER) != 0 && Character
+						.isUpperCase(c));
+	}
+
+	private static boolean expectedAll(final CharSequence value,
+			final int classes)
+	{
+		for (int i = 0; i < value.length(); ++i)
+		{
+			if (!expected(value.charAt(i), classes))
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	public void testCharacters()
+	{
+		for (char c = 0; c < Character.MAX_VALUE; ++c)
+		{
+			assertEquals(Character.isDigit(c), CharClasses.isDigit(c));
+			assertEquals(Character.isLetter(c), CharClasses.isLetter(c));
+			assertEquals(Character.isLetterOrDigit(c),
+					CharClasses.isLetterOrDigit(c));
+			assertEquals(Character.isLowerCase(c), CharClasses.isLowerCase(c));
+			assertEquals(Character.isUpperCase(c), CharClasses.isUpperCase(c));
+		}
+	}
+
+	public void testAll()
+	{
+		assertTrue(CharClasses.isAll("", CharClasses.DIGIT));
+		assertTrue(CharClasses.isAll("0123456789", CharClasses.DIGIT));
+		assertFalse(CharClasses.isAll("01234567/9", CharClasses.DIGIT));
+		assertFalse(CharClasses.isAll("01234567:9", CharClasses.DIGIT));
+		assertTrue(CharClasses.isAll("abcdefghijklmnopqrstuvwxyz",
+				CharClasses.LOWER));
+		assertFalse(CharClasses.isAll("abcdefghijklmnopqrstuvwxyZ",
+				CharClasses.LOWER));
+		assertFalse(CharClasses.isAll("abcdefg`", CharClasses.LOWER));
+		assertFalse(CharClasses.isAll("abcdefg{", CharClasses.LOWER));
+		assertTrue(CharClasses.isAll("ABCDEFGHIJKLMNOPQRSTUVWXYZ",
+				CharClasses.UPPER));
+		assertFalse(CharClasses.isAll("ABCDEFG@", CharClasses.UPPER));
+		assertFalse(CharClasses.isAll("ABCDEFG[", CharClasses.UPPER));
+		assertTrue(CharClasses.isAll("stra\u00dfeabc", CharClasses.LOWER));
+		assertFalse(CharClasses.isAll("stra\u00dfeaBc", CharClasses.LOWER));
+		assertTrue(CharClasses.isAll("\u6f22\u5b57abcdefXYZ",
+				CharClasses.LETTER));
+		assertFalse(CharClasses.isAll("\u6f22\u5b57abcdefXYZ",
+				CharClasses.LOWER));
+	}
+
+	public void testAllRandom()
+	{
+		final Random random = new Random(42);
+		final char[] alphabet = "09/:az`{AZ@[ -\u00e9\u00c9\u0661\u6f22"
+				.toCharArray();
+
+		for (int n = 0; n < 20000; ++n)
+		{
+			final StringBuilder value = new StringBuilder();
+			final int length = random.nextInt(20);
+			final char only = alphabet[random.nextInt(alphabet.length)];
+
+			for (int i = 0; i < length; ++i)
+			{
+				/*
+				 * Mostly one character so that some values pass.
+				 */
+				value.append(random.nextInt(10) == 0 ? alphabet[random
+						.nextInt(alphabet.length)] : only);
+			}
+
+			for (final int classes : CLASSES)
+			{
+				final boolean expected = expectedAll(value, classes);
+
+				assertEquals(value.toString(), expected,
+						CharClasses.isAll(value.toString(), classes));
+				assertEquals(value.toString(), expected,
+						CharClasses.isAll(value, classes));
+			}
+		}
+	}
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.util;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit test for {@link CharSequenceSet}.
+ * 
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public class CharSequenceSetTest extends TestCase
+{
+	/**
+	 * Test case sensitive lookups.
+	 */
+	public void testContains()
+	{
+		final CharSequenceSet set = CharSequenceSet.of(new String[]
+		{ "Male", "Female", "Male" }, false);
+
+		assertEquals(2, set.size());
+		assertTrue(set.contains("Male"));
+		assertTrue(set.contains(new StringBuilder("Female")));
+		assertFalse(set.contains("male"));
+		assertFalse(set.contains("Mal"));
+		assertFalse(set.contains(""));
+	}
+
+	/**
+	 * Test case insensitive lookups.
+	 */
+	public void testContainsIgnoreCase()
+	{
+		final CharSequenceSet set = CharSequenceSet.of(new String[]
+		{ "foo", "BAR" }, true);
+
+		assertTrue(set.contains("FOO"));
+		assertTrue(set.contains(new StringBuilder("Foo")));
+		assertTrue(set.contains("bar"));
+		assertFalse(set.contains("baz"));
+	}
+
+	/**
+	 * Test lookups against part of a sequence.
+	 */
+	public void testContainsRange()
+	{
+		final CharSequenceSet set = CharSequenceSet.of(new String[]
+		{ "com" }, true);
+
+		assertTrue(set.contains("pureperfect.COM", 12, 15));
+		assertFalse(set.contains("pureperfect.COM", 11, 15));
+	}
+
+	/**
+	 * Test a large set.
+	 */
+	public void testLargeSet()
+	{
+		final String[] values = new String[1000];
+
+		for (int i = 0; i < values.length; ++i)
+		{
+			values[i] = "value" + i;
+		}
+
+		final CharSequenceSet set = CharSequenceSet.of(values, false);
+
+		assertEquals(1000, set.size());
+
+		for (int i = 0; i < values.length; ++i)
+		{
+			assertTrue(set.contains(new StringBuilder("value").append(i)));
+		}
+
+		assertFalse(set.contains("value1000"));
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.util;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit test for {@link Conversions}.
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public class ConversionsTest extends TestCase
+{
+	/**
+	 * Test the supported types.
+	 */
+	public void testConvert()
+	{
+		assertEquals("foo", Conversions.convert("foo", String.class));
+		assertEquals("foo", Conversions.convert("foo", CharSequence.class));
+		assertEquals(Integer.valueOf(42), Conversions.convert("42", int.class));
+		assertEquals(Integer.valueOf(-1), Conversions.convert("-1",
+				Integer.class));
+		assertEquals(Long.valueOf(12345678901L), Conversions.convert(
+				"12345678901", long.class));
+		assertEquals(Double.valueOf(1.5), Conversions.convert("1.5",
+				double.class));
+		assertEquals(Float.valueOf(2.5f), Conversions.convert("2.5",
+				Float.class));
+		assertEquals(Short.valueOf((short) 7), Conversions.convert("7",
+				short.class));
+		assertEquals(Byte.valueOf((byte) 8), Conversions.convert("8",
+				Byte.class));
+		assertEquals(Boolean.TRUE, Conversions.convert("TRUE", boolean.class));
+		assertEquals(Boolean.FALSE, Conversions.convert("false",
+				Boolean.class));
+		assertEquals(Character.valueOf('x'), Conversions.convert("x",
+				char.class));
+		assertEquals(new BigDecimal("1.50"), Conversions.convert("1.50",
+				BigDecimal.class));
+		assertEquals(new BigInteger("123456789012345678901234567890"),
+				Conversions.convert("123456789012345678901234567890",
+						BigInteger.class));
+		assertEquals(TimeUnit.SECONDS, Conversions.convert("SECONDS",
+				TimeUnit.class));
+		assertEquals(URI.create("http://pureperfect.com"), Conversions
+				.convert("http://pureperfect.com", URI.class));
+	}
+
+	/**
+	 * Test values that cannot be converted.
+	 */
+	public void testInvalid()
+	{
+		try
+		{
+			Conversions.convert("uhoh", Integer.class);
+			fail();
+		}
+		catch (final NumberFormatException e)
+		{
+			// expected
+		}
+
+		final Object[][] invalid =
+		{
+		{ "yes", boolean.class },
+		{ "xy", char.class },
+		{ "MINUTE", TimeUnit.class },
+		{ "foo", Object[].class },
+		{ "http://bad host", URI.class } };
+
+		for (final Object[] value : invalid)
+		{
+			try
+			{
+				Conversions.convert((String) value[0], (Class<?>) value[1]);
+				fail(value[0] + " " + value[1]);
+			}
+			catch (final IllegalArgumentException e)
+			{
+				// expected
+			}
+		}
+	}
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.util;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit test for {@link FormatMask}.
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public class FormatMaskTest extends TestCase
+{
+	private static void assertMatches(final String mask,
+			final String... values)
+	{
+		final FormatMask compiled = FormatMask.compile(mask);
+
+		for (final String value : values)
+		{
+			assertTrue(mask + " " + value, compiled.matches(value));
+		}
+	}
+
+	private static void assertNotMatches(final String mask,
+			final String... values)
+	{
+		final FormatMask compiled = FormatMask.compile(mask);
+
+		for (final String value : values)
+		{
+			assertFalse(mask + " " + value, compiled.matches(value));
+		}
+	}
+
+	public void testClasses()
+	{
+		assertMatches("###-###-####", "123-456-7890");
+		assertNotMatches("###-###-####", "", "1234567890", "123-456-789",
+				"123-456-78901", "123-4a6-7890", "123 456 7890");
+
+		assertMatches("??-##", "ab-12", "AZ-00");
+		assertNotMatches("??-##", "a1-12", "ab-1b", "ab12");
+
+		assertMatches("***", "a1B", "123", "abc");
+		assertNotMatches("***", "a-1", "ab");
+
+		assertMatches("(###) ###-####", "(555) 123-4567");
+	}
+
+	public void testOptional()
+	{
+		assertMatches("#####[-####]", "12345", "12345-6789");
+		assertNotMatches("#####[-####]", "12345-", "12345-678", "123456789");
+
+		assertMatches("[+#] ###", "+1 555", " 555");
+		assertNotMatches("[+#] ###", "+ 555", "1 555");
+
+		assertMatches("#[#[#]]", "1", "12", "123");
+		assertNotMatches("#[#[#]]", "", "1234");
+
+		assertMatches("[[a]b]c", "c", "bc", "abc");
+		assertNotMatches("[[a]b]c", "ac", "ab", "abbc");
+
+		assertMatches("[a][b]", "", "a", "b", "ab");
+		assertNotMatches("[a][b]", "ba", "aa");
+	}
+
+	public void testEscapes()
+	{
+		assertMatches("\\#\\[#\\]", "#[1]");
+		assertNotMatches("\\#\\[#\\]", "1[1]", "#1");
+
+		assertMatches("\\\\?", "\\a");
+	}
+
+	public void testNonAscii()
+	{
+		/*
+		 * Digits and letters from other scripts count, as they do for
+		 * Character.isDigit and Character.isLetter.
+		 */
+		assertMatches("##", "\u0661\u0662");
+		assertMatches("??", "\u00e9\u00df");
+		assertMatches("#\u00a7#", "1\u00a72");
+		assertNotMatches("#\u00a7#", "1\u00b62", "1x2");
+		assertNotMatches("#", "\u00e9");
+	}
+
+	public void testRange()
+	{
+		final FormatMask mask = FormatMask.compile("###");
+
+		assertTrue(mask.matches("ab123cd", 2, 5));
+		assertFalse(mask.matches("ab123cd", 1, 5));
+	}
+
+	public void testLongMask()
+	{
+		final StringBuilder mask = new StringBuilder();
+		final StringBuilder value = new StringBuilder();
+
+		for (int i = 0; i < 63; ++i)
+		{
+			mask.append('#');
+			value.append('7');
+		}
+
+		assertTrue(FormatMask.compile(mask.toString()).matches(value));
+
+		try
+		{
+			FormatMask.compile(mask.append('#').toString());
+			fail();
+		}
+		catch (final IllegalArgumentException e)
+		{
+			// expected
+		}
+	}
+
+	public void testInvalid()
+	{
+		final String[] invalid =
+		{ "[#", "#]", "[[#]", "#\\" };
+
+		for (final String mask : invalid)
+		{
+			try
+			{
+				FormatMask.compile(mask);
+				fail(mask);
+			}
+			catch (final IllegalArgumentException e)
+			{
+				// expected
+			}
+		}
+	}
+}
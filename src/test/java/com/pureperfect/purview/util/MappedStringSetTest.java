@@ -0,0 +1,253 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit test for {@link MappedStringSet} and {@link MappedStringSetWriter}.
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public class MappedStringSetTest extends TestCase
+{
+	private File file;
+
+	@Override
+	protected void setUp() throws Exception
+	{
+		this.file = File.createTempFile("purview", ".set");
+		this.file.deleteOnExit();
+	}
+
+	@Override
+	protected void tearDown() throws Exception
+	{
+		this.file.delete();
+	}
+
+	private MappedStringSet write(final MappedStringSetWriter writer,
+			final String... values) throws Exception
+	{
+		/*
+		 * Never rewrite a file that is still mapped.
+		 */
+		final File out = File.createTempFile("purview", ".set");
+
+		out.deleteOnExit();
+
+		writer.write(Arrays.asList(values).iterator(), out);
+
+		return MappedStringSet.open(out);
+	}
+
+	/**
+	 * Test case sensitive lookups.
+	 */
+	public void testContains() throws Exception
+	{
+		final MappedStringSet set = this.write(new MappedStringSetWriter(),
+				"Male", "Female", "Male");
+
+		assertEquals(2, set.size());
+		assertFalse(set.isIgnoreCase());
+		assertTrue(set.contains("Male"));
+		assertTrue(set.contains(new StringBuilder("Female")));
+		assertFalse(set.contains("male"));
+		assertFalse(set.contains("Mal"));
+		assertFalse(set.contains("Males"));
+		assertFalse(set.contains(""));
+	}
+
+	/**
+	 * Test case insensitive lookups.
+	 */
+	public void testContainsIgnoreCase() throws Exception
+	{
+		final MappedStringSetWriter writer = new MappedStringSetWriter();
+
+		writer.setIgnoreCase(true);
+
+		final MappedStringSet set = this.write(writer, "foo", "BAR", "Foo");
+
+		assertEquals(2, set.size());
+		assertTrue(set.isIgnoreCase());
+		assertTrue(set.contains("FOO"));
+		assertTrue(set.contains("bar"));
+		assertFalse(set.contains("baz"));
+	}
+
+	/**
+	 * Test that the writer picks another seed when different entries have the
+	 * same hash.
+	 */
+	public void testCollision() throws Exception
+	{
+		final MappedStringSetWriter writer = new MappedStringSetWriter()
+		{
+			@Override
+			long hash(final CharSequence entry, final boolean ignoreCase,
+					final long seed)
+			{
+				return seed == 0 ? 42 : super.hash(entry, ignoreCase, seed);
+			}
+		};
+
+		writer.setIgnoreCase(true);
+
+		final MappedStringSet set = this.write(writer, "foo", "BAR", "Foo",
+				"baz");
+
+		assertEquals(3, set.size());
+		assertTrue(set.contains("FOO"));
+		assertTrue(set.contains("bar"));
+		assertTrue(set.contains("Baz"));
+		assertFalse(set.contains("qux"));
+	}
+
+	/**
+	 * Test a range of characters within a larger value.
+	 */
+	public void testContainsRange() throws Exception
+	{
+		final MappedStringSet set = this.write(new MappedStringSetWriter(),
+				"com", "org");
+
+		assertTrue(set.contains("www.example.com", 12, 15));
+		assertFalse(set.contains("www.example.com", 11, 15));
+	}
+
+	/**
+	 * Test entries that are not ASCII, including supplementary characters.
+	 */
+	public void testNonAscii() throws Exception
+	{
+		final MappedStringSet set = this.write(new MappedStringSetWriter(),
+				"caf\u00e9", "\u6771\u4eac", "\ud83d\ude00");
+
+		assertTrue(set.contains("caf\u00e9"));
+		assertTrue(set.contains("\u6771\u4eac"));
+		assertTrue(set.contains("\ud83d\ude00"));
+		assertFalse(set.contains("cafe"));
+		assertFalse(set.contains("\ud83d"));
+	}
+
+	/**
+	 * Test an empty set.
+	 */
+	public void testEmpty() throws Exception
+	{
+		final MappedStringSet set = this.write(new MappedStringSetWriter());
+
+		assertEquals(0, set.size());
+		assertFalse(set.contains("foo"));
+	}
+
+	/**
+	 * Test a larger random set with and without a Bloom filter.
+	 */
+	public void testRandom() throws Exception
+	{
+		final Random random = new Random(42);
+
+		final Set<String> values = new HashSet<String>();
+
+		while (values.size() < 20000)
+		{
+			values.add(Long.toString(random.nextLong() & 0xFFFFFFFFFFL, 36));
+		}
+
+		final List<String> list = new ArrayList<String>(values);
+
+		for (final int bloom : new int[]
+		{ 0, 10 })
+		{
+			final MappedStringSetWriter writer = new MappedStringSetWriter();
+
+			writer.setBloomBitsPerEntry(bloom);
+
+			final MappedStringSet set = this.write(writer,
+					list.toArray(new String[list.size()]));
+
+			assertEquals(values.size(), set.size());
+
+			for (final String value : list)
+			{
+				assertTrue(value, set.contains(value));
+			}
+
+			for (int i = 0; i < 20000; ++i)
+			{
+				final String miss = Long.toString(random.nextLong(), 36);
+
+				assertEquals(miss, values.contains(miss), set.contains(miss));
+			}
+		}
+	}
+
+	/**
+	 * Test writing from a text stream.
+	 */
+	public void testWriteStream() throws Exception
+	{
+		final MappedStringSetWriter writer = new MappedStringSetWriter();
+
+		final int count = writer.write(new ByteArrayInputStream(
+				"a\n\n  b \r\nc\na\n".getBytes("UTF-8")), this.file);
+
+		assertEquals(3, count);
+
+		final MappedStringSet set = MappedStringSet.open(this.file);
+
+		assertTrue(set.contains("b"));
+		assertFalse(set.contains(" b "));
+	}
+
+	/**
+	 * Test that files that are not set files are rejected.
+	 */
+	public void testInvalidFile() throws Exception
+	{
+		final FileOutputStream out = new FileOutputStream(this.file);
+
+		out.write("this is not a set file, it is a text file".getBytes("UTF-8"));
+		out.close();
+
+		try
+		{
+			MappedStringSet.open(this.file);
+			fail();
+		}
+		catch (final IOException e)
+		{
+			// expected
+		}
+	}
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.util;
+
+import junit.framework.TestCase;
+
+import com.pureperfect.purview.ValidationException;
+
+/**
+ * Unit test for {@link MemberHandles}.
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public class MemberHandlesTest extends TestCase
+{
+	public static class Parent
+	{
+		private String inherited = "inherited";
+
+		private static int count = 7;
+
+		String parentMethod()
+		{
+			return "parent";
+		}
+	}
+
+	public static class Child extends Parent
+	{
+		private int primitive = 42;
+
+		public String name = "name";
+
+		private static String shared()
+		{
+			return "shared";
+		}
+
+		public String getName()
+		{
+			return this.name;
+		}
+	}
+
+	public void testFields() throws Throwable
+	{
+		final Child child = new Child();
+
+		assertEquals(Integer.valueOf(42), (Object) MemberHandles.field(
+				Child.class, "primitive").invokeExact((Object) child));
+		assertEquals("name", (Object) MemberHandles.field(Child.class,
+				"name").invokeExact((Object) child));
+		assertEquals("inherited", (Object) MemberHandles.field(Child.class,
+				"inherited").invokeExact((Object) child));
+		assertEquals(Integer.valueOf(7), (Object) MemberHandles.field(
+				Child.class, "count").invokeExact((Object) child));
+
+		assertSame(MemberHandles.field(Child.class, "name"),
+				MemberHandles.field(Child.class, "name"));
+	}
+
+	public void testMethods() throws Throwable
+	{
+		final Child child = new Child();
+
+		assertEquals("name", (Object) MemberHandles.method(Child.class,
+				"getName").invokeExact((Object) child));
+		assertEquals("parent", (Object) MemberHandles.method(Child.class,
+				"parentMethod").invokeExact((Object) child));
+		assertEquals("shared", (Object) MemberHandles.method(Child.class,
+				"shared").invokeExact((Object) child));
+		assertEquals(Integer.valueOf(child.hashCode()),
+				(Object) MemberHandles.method(Child.class, "hashCode")
+						.invokeExact((Object) child));
+	}
+
+	public void testMissing()
+	{
+		try
+		{
+			MemberHandles.field(Child.class, "nope");
+			fail();
+		}
+		catch (final ValidationException e)
+		{
+			// expected
+		}
+
+		try
+		{
+			MemberHandles.method(Child.class, "nope");
+			fail();
+		}
+		catch (final ValidationException e)
+		{
+			// expected
+		}
+	}
+}
@@ -16,8 +16,10 @@
  */
 package com.pureperfect.purview.util;
 
+import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Collection;
 
 import junit.framework.TestCase;
 
@@ -107,6 +109,105 @@ public class ReflectionUtilsTest extends TestCase
 						GetterMethodFilter.defaultInstance()).size());
 	}
 
+	/*
+	 * Counts how often it is asked about a member.
+	 */
+	private static class CountingFilter implements FieldFilter
+	{
+		int calls;
+
+		public boolean include(final Field field)
+		{
+			++this.calls;
+			return true;
+		}
+	}
+
+	private static class StableCountingFilter extends CountingFilter implements
+			StableFilter
+	{
+		// stable
+	}
+
+	private static class SubclassedCountingFilter extends
+			StableCountingFilter
+	{
+		// may not be stable
+	}
+
+	/**
+	 * Stable filters run once per class, other filters run every time.
+	 */
+	public void testStableFilters()
+	{
+		final Stub form = new Stub();
+
+		final CountingFilter custom = new CountingFilter();
+
+		ReflectionUtils.getDeclaredFields(form, custom);
+		ReflectionUtils.getDeclaredFields(form, custom);
+
+		assertEquals(4, custom.calls);
+
+		final StableCountingFilter stable = new StableCountingFilter();
+
+		final Collection<Field> first = ReflectionUtils.getDeclaredFieldsOf(
+				Stub.class, stable);
+
+		assertSame(first, ReflectionUtils.getDeclaredFieldsOf(Stub.class,
+				stable));
+		assertEquals(2, stable.calls);
+		assertEquals(2, first.size());
+
+		/*
+		 * Results are per filter instance.
+		 */
+		final StableCountingFilter other = new StableCountingFilter();
+
+		ReflectionUtils.getDeclaredFields(form, other);
+
+		assertEquals(2, other.calls);
+
+		try
+		{
+			first.clear();
+			fail("Cached results should not be modifiable.");
+		}
+		catch (final UnsupportedOperationException e)
+		{
+			// expected
+		}
+
+		assertSame(ReflectionUtils.getDeclaredMethodsOf(Stub.class,
+				GetterMethodFilter.defaultInstance()), ReflectionUtils
+				.getDeclaredMethodsOf(Stub.class, GetterMethodFilter
+						.defaultInstance()));
+
+		/*
+		 * Subclasses have to declare that they are stable themselves.
+		 */
+		final SubclassedCountingFilter subclassed = new SubclassedCountingFilter();
+
+		assertNotSame(ReflectionUtils.getDeclaredFieldsOf(Stub.class,
+				subclassed), ReflectionUtils.getDeclaredFieldsOf(Stub.class,
+				subclassed));
+		assertEquals(4, subclassed.calls);
+
+		/*
+		 * Results for an object are copies that may be modified.
+		 */
+		final Collection<Field> copy = ReflectionUtils.getDeclaredFields(form,
+				stable);
+
+		assertNotSame(first, copy);
+		assertEquals(first, copy);
+		assertEquals(2, stable.calls);
+
+		copy.clear();
+
+		assertEquals(2, first.size());
+	}
+
 	/**
 	 * Test get value using method.
 	 */
@@ -0,0 +1,74 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.util;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit test for {@link WeakIdentityCache}.
+ * 
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public class WeakIdentityCacheTest extends TestCase
+{
+	/**
+	 * Keys are compared by identity and not by equals.
+	 */
+	public void testIdentity()
+	{
+		final WeakIdentityCache<String, String> cache = new WeakIdentityCache<String, String>();
+
+		final String key = new String("key");
+
+		assertEquals("value", cache.putIfAbsent(key, "value"));
+		assertEquals("value", cache.get(key));
+		assertNull(cache.get(new String("key")));
+
+		// The first value wins
+		assertEquals("value", cache.putIfAbsent(key, "other"));
+	}
+
+	/**
+	 * Test growing the table.
+	 */
+	public void testResize()
+	{
+		final WeakIdentityCache<Object, Integer> cache = new WeakIdentityCache<Object, Integer>();
+
+		final Object[] keys = new Object[500];
+
+		for (int i = 0; i < keys.length; ++i)
+		{
+			keys[i] = new Object();
+			cache.putIfAbsent(keys[i], Integer.valueOf(i));
+		}
+
+		assertEquals(500, cache.size());
+
+		for (int i = 0; i < keys.length; ++i)
+		{
+			assertEquals(Integer.valueOf(i), cache.get(keys[i]));
+		}
+
+		cache.clear();
+
+		assertEquals(0, cache.size());
+		assertNull(cache.get(keys[0]));
+	}
+}
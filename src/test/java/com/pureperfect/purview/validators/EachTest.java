@@ -0,0 +1,245 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.validators;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import com.pureperfect.purview.Purview;
+import com.pureperfect.purview.ValidationException;
+import com.pureperfect.purview.ValidationProblem;
+import com.pureperfect.purview.validators.numeric.GreaterThan;
+import com.pureperfect.purview.validators.text.MaxLength;
+
+/**
+ * Unit test for {@link Each} annotation.
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public class EachTest extends TestCase
+{
+	public class Stub
+	{
+		@Each
+		@GreaterThan(0)
+		public int[] ints =
+		{ 1, 2, 3 };
+
+		@Each
+		@GreaterThan(0)
+		public long[] longs =
+		{ 1, 2, 3 };
+
+		@Each
+		@GreaterThan(0)
+		public double[] doubles =
+		{ 0.5 };
+
+		@Each
+		@GreaterThan(0)
+		public short[] shorts =
+		{ 1 };
+
+		@Each
+		@MaxLength(3)
+		public String[] strings =
+		{ "a", "ab" };
+
+		@Each
+		@MaxLength(3)
+		public Collection<String> tags = new LinkedList<String>();
+
+		@Each(failFast = true)
+		@MaxLength(3)
+		@NotNull
+		public List<String> names = new ArrayList<String>();
+
+		@Each
+		@NotNull
+		public List<String> nullList;
+
+		private String[] value =
+		{ "abc" };
+
+		@Each
+		@MaxLength(3)
+		public String[] getValue()
+		{
+			return this.value;
+		}
+
+		public void foo(@Each @GreaterThan(0) final int[] bar)
+		{
+			// test method
+		}
+	}
+
+	public class BadStub
+	{
+		@Each
+		@MaxLength(3)
+		public String value = "abc";
+	}
+
+	private static int[] indexes(final Collection<ValidationProblem> problems)
+	{
+		final int[] indexes = new int[problems.size()];
+
+		int i = 0;
+
+		for (final ValidationProblem problem : problems)
+		{
+			indexes[i++] = problem.getIndex();
+		}
+
+		Arrays.sort(indexes);
+
+		return indexes;
+	}
+
+	public void testValid() throws Exception
+	{
+		final Stub mock = new Stub();
+
+		assertEquals(0, Purview.validateFields(mock).getProblems().size());
+		assertTrue(Purview.validateFields(mock).isValidated());
+	}
+
+	public void testPrimitiveArrays() throws Exception
+	{
+		final Stub mock = new Stub();
+
+		mock.ints = new int[]
+		{ 1, 0, 3, -1 };
+
+		Collection<ValidationProblem> problems = Purview.validateFields(mock)
+				.getProblems();
+
+		assertEquals(2, problems.size());
+		assertTrue(Arrays.equals(new int[]
+		{ 1, 3 }, indexes(problems)));
+
+		for (final ValidationProblem problem : problems)
+		{
+			assertTrue(problem instanceof GreaterThan.Problem);
+			assertTrue(problem.getValue() instanceof Integer);
+		}
+
+		mock.ints = new int[0];
+		mock.longs = new long[]
+		{ -5 };
+		mock.doubles = new double[]
+		{ 1, 0 };
+		mock.shorts = new short[]
+		{ 0 };
+
+		problems = Purview.validateFields(mock).getProblems();
+
+		assertEquals(3, problems.size());
+		assertTrue(Arrays.equals(new int[]
+		{ 0, 0, 1 }, indexes(problems)));
+	}
+
+	public void testCollections() throws Exception
+	{
+		final Stub mock = new Stub();
+
+		mock.strings[1] = "abcd";
+		mock.tags.addAll(Arrays.asList("abcd", "ab", "abcde"));
+
+		final Collection<ValidationProblem> problems = Purview.validateFields(
+				mock).getProblems();
+
+		assertEquals(3, problems.size());
+		assertTrue(Arrays.equals(new int[]
+		{ 0, 1, 2 }, indexes(problems)));
+
+		for (final ValidationProblem problem : problems)
+		{
+			assertTrue(problem instanceof MaxLength.Problem);
+		}
+	}
+
+	public void testFailFast() throws Exception
+	{
+		final Stub mock = new Stub();
+
+		mock.names.addAll(Arrays.asList("a", "abcd", "abcde", null));
+
+		final Collection<ValidationProblem> problems = Purview.validateFields(
+				mock).getProblems();
+
+		assertEquals(1, problems.size());
+		assertEquals(1, problems.iterator().next().getIndex());
+	}
+
+	public void testMethod() throws Exception
+	{
+		final Stub mock = new Stub();
+
+		assertEquals(0, Purview.validateMethods(mock).getProblems().size());
+
+		mock.value = new String[]
+		{ "abc", "abcd" };
+
+		final Collection<ValidationProblem> problems = Purview
+				.validateMethods(mock).getProblems();
+
+		assertEquals(1, problems.size());
+		assertEquals(1, problems.iterator().next().getIndex());
+	}
+
+	public void testParameter() throws Exception
+	{
+		final Stub mock = new Stub();
+
+		final Method m = Stub.class.getMethod("foo", int[].class);
+
+		assertEquals(0, Purview.validateParameters(mock, m, new Object[]
+		{ new int[]
+		{ 1, 2 } }).getProblems().size());
+
+		final Collection<ValidationProblem> problems = Purview
+				.validateParameters(mock, m, new Object[]
+				{ new int[]
+				{ 1, 0, 2, 0 } }).getProblems();
+
+		assertTrue(Arrays.equals(new int[]
+		{ 1, 3 }, indexes(problems)));
+	}
+
+	public void testNotAContainer() throws Exception
+	{
+		try
+		{
+			Purview.validateFields(new BadStub());
+			fail();
+		}
+		catch (final ValidationException e)
+		{
+			// expected
+		}
+	}
+}
@@ -19,6 +19,7 @@ package com.pureperfect.purview.validators;
 import junit.framework.TestCase;
 
 import com.pureperfect.purview.Purview;
+import com.pureperfect.purview.ValidationException;
 import com.pureperfect.purview.util.GetterMethodFilter;
 import com.pureperfect.purview.util.MakeAccessibleFieldFilter;
 
@@ -51,6 +52,28 @@ public class MatchFieldTest extends TestCase
 		}
 	}
 
+	/**
+	 * Stub class that matches a private field.
+	 */
+	public class PrivateStub
+	{
+		@MatchField("password")
+		public String confirm;
+
+		private String password;
+	}
+
+	/**
+	 * Stub class that refers to a missing field.
+	 */
+	public class MissingStub
+	{
+		public String value;
+
+		@MatchField("nope")
+		private String confirm;
+	}
+
 	/**
 	 * Test actual value is null for field.
 	 */
@@ -174,4 +197,38 @@ public class MatchFieldTest extends TestCase
 						GetterMethodFilter.defaultInstance()).getProblems()
 						.size());
 	}
+
+	/**
+	 * Test matching a private field.
+	 */
+	public void testPrivateField()
+	{
+		final PrivateStub mock = new PrivateStub();
+
+		mock.password = "secret";
+		mock.confirm = "secret";
+
+		assertEquals(0, Purview.validateFields(mock).getProblems().size());
+
+		mock.confirm = "secrets";
+
+		assertEquals(1, Purview.validateFields(mock).getProblems().size());
+	}
+
+	/**
+	 * Test that a missing field fails before any validation, even if the
+	 * annotated field itself would not be validated.
+	 */
+	public void testMissingField()
+	{
+		try
+		{
+			Purview.validateFields(new MissingStub());
+			fail();
+		}
+		catch (final ValidationException e)
+		{
+			assertTrue(e.getMessage().indexOf("nope") > -1);
+		}
+	}
 }
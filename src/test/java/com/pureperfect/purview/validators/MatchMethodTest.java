@@ -19,6 +19,7 @@ package com.pureperfect.purview.validators;
 import junit.framework.TestCase;
 
 import com.pureperfect.purview.Purview;
+import com.pureperfect.purview.ValidationException;
 import com.pureperfect.purview.util.GetterMethodFilter;
 import com.pureperfect.purview.util.MakeAccessibleFieldFilter;
 
@@ -172,4 +173,59 @@ public class MatchMethodTest extends TestCase
 						GetterMethodFilter.defaultInstance()).getProblems()
 						.size());
 	}
+
+	/**
+	 * Stub class that matches a private method.
+	 */
+	public class PrivateStub
+	{
+		@MatchMethod("email")
+		public String confirm;
+
+		private String email()
+		{
+			return "rescue@pureperfect.com";
+		}
+	}
+
+	/**
+	 * Stub class that refers to a missing method.
+	 */
+	public class MissingStub
+	{
+		@MatchMethod("nope")
+		public String confirm;
+	}
+
+	/**
+	 * Test matching a private method.
+	 */
+	public void testPrivateMethod()
+	{
+		final PrivateStub mock = new PrivateStub();
+
+		mock.confirm = "rescue@pureperfect.com";
+
+		assertEquals(0, Purview.validateFields(mock).getProblems().size());
+
+		mock.confirm = "nope";
+
+		assertEquals(1, Purview.validateFields(mock).getProblems().size());
+	}
+
+	/**
+	 * Test that a missing method fails before any validation.
+	 */
+	public void testMissingMethod()
+	{
+		try
+		{
+			Purview.validateMethods(new MissingStub());
+			fail();
+		}
+		catch (final ValidationException e)
+		{
+			assertTrue(e.getMessage().indexOf("nope") > -1);
+		}
+	}
 }
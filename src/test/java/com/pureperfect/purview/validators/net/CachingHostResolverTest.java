@@ -0,0 +1,206 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.validators.net;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit test for {@link CachingHostResolver}.
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public class CachingHostResolverTest extends TestCase
+{
+	private StubHostResolver stub;
+
+	private CachingHostResolver resolver;
+
+	@Override
+	protected void setUp() throws Exception
+	{
+		this.stub = new StubHostResolver("pureperfect.com", "example.com");
+	}
+
+	@Override
+	protected void tearDown() throws Exception
+	{
+		if (this.resolver != null)
+		{
+			this.resolver.shutdown();
+		}
+	}
+
+	/**
+	 * Test that answers are cached.
+	 */
+	public void testCache() throws Exception
+	{
+		this.resolver = new CachingHostResolver(this.stub);
+
+		assertTrue(this.resolver.resolves("pureperfect.com"));
+		assertTrue(this.resolver.resolves("PUREPERFECT.COM"));
+		assertFalse(this.resolver.resolves("nowhere.com"));
+		assertFalse(this.resolver.resolves("nowhere.com"));
+
+		assertEquals(2, this.stub.getLookups());
+		assertEquals(2, this.resolver.size());
+
+		this.resolver.clear();
+
+		assertTrue(this.resolver.resolves("pureperfect.com"));
+		assertEquals(3, this.stub.getLookups());
+	}
+
+	/**
+	 * Test that answers expire, and that negative answers expire on their
+	 * own schedule.
+	 */
+	public void testTtl() throws Exception
+	{
+		this.resolver = new CachingHostResolver(this.stub, 4, 1000, 100,
+				60000, 1);
+
+		assertTrue(this.resolver.resolves("pureperfect.com"));
+		assertFalse(this.resolver.resolves("nowhere.com"));
+
+		Thread.sleep(20);
+
+		this.stub.add("nowhere.com");
+
+		assertTrue(this.resolver.resolves("pureperfect.com"));
+		assertTrue(this.resolver.resolves("nowhere.com"));
+		assertEquals(3, this.stub.getLookups());
+	}
+
+	/**
+	 * Test that the cache stays bounded.
+	 */
+	public void testMaxEntries() throws Exception
+	{
+		this.resolver = new CachingHostResolver(this.stub, 4, 1000, 8, 60000,
+				60000);
+
+		for (int i = 0; i < 100; ++i)
+		{
+			this.resolver.resolves("host" + i + ".com");
+		}
+
+		assertTrue(this.resolver.size() <= 8);
+	}
+
+	/**
+	 * Test that slow lookups time out and that their answer is still cached.
+	 */
+	public void testTimeout() throws Exception
+	{
+		this.stub.setDelay(200);
+
+		this.resolver = new CachingHostResolver(this.stub, 4, 20, 100, 60000,
+				60000);
+
+		assertFalse(this.resolver.resolves("pureperfect.com"));
+
+		Thread.sleep(400);
+
+		assertTrue(this.resolver.resolves("pureperfect.com"));
+		assertEquals(1, this.stub.getLookups());
+	}
+
+	/**
+	 * Test that a batch is deduplicated and resolved concurrently.
+	 */
+	public void testResolveAll() throws Exception
+	{
+		this.stub.setDelay(100);
+
+		this.resolver = new CachingHostResolver(this.stub, 4, 1000, 100,
+				60000, 60000);
+
+		final long start = System.nanoTime();
+
+		final Map<String, Boolean> results = this.resolver.resolveAll(Arrays
+				.asList("pureperfect.com", "example.com", "Example.com",
+						"nowhere.com", "pureperfect.com", "nowhere.net"));
+
+		final long elapsed = (System.nanoTime() - start) / 1000000;
+
+		assertEquals(4, results.size());
+		assertEquals(Boolean.TRUE, results.get("pureperfect.com"));
+		assertEquals(Boolean.TRUE, results.get("example.com"));
+		assertEquals(Boolean.FALSE, results.get("nowhere.com"));
+		assertEquals(Boolean.FALSE, results.get("nowhere.net"));
+		assertEquals(4, this.stub.getLookups());
+
+		/*
+		 * Four lookups of 100ms each on four threads.
+		 */
+		assertTrue(String.valueOf(elapsed), elapsed < 350);
+
+		assertTrue(this.resolver.resolves("example.com"));
+		assertEquals(4, this.stub.getLookups());
+	}
+
+	/**
+	 * Test that lookups that cannot be queued are answered, not cached,
+	 * without an exception.
+	 */
+	public void testMaxQueued() throws Exception
+	{
+		this.stub.setDelay(200);
+
+		this.resolver = new CachingHostResolver(this.stub, 1, 1, 20, 100,
+				60000, 60000, false);
+
+		final Map<String, Boolean> results = this.resolver.resolveAll(Arrays
+				.asList("pureperfect.com", "example.com", "nowhere.com",
+						"nowhere.net"));
+
+		assertEquals(4, results.size());
+		assertFalse(results.containsValue(Boolean.TRUE));
+
+		Thread.sleep(600);
+
+		/*
+		 * One lookup ran, one was queued and the others were not looked up.
+		 */
+		assertEquals(2, this.stub.getLookups());
+		assertEquals(2, this.resolver.size());
+	}
+
+	/**
+	 * Test the answer when a lookup times out.
+	 */
+	public void testUnanswered() throws Exception
+	{
+		this.stub.setDelay(200);
+
+		this.resolver = new CachingHostResolver(this.stub, 4, 100, 20, 100,
+				60000, 60000, true);
+
+		assertTrue(this.resolver.resolves("nowhere.com"));
+
+		Thread.sleep(400);
+
+		assertFalse(this.resolver.resolves("nowhere.com"));
+		assertEquals(1, this.stub.getLookups());
+	}
+}
@@ -21,6 +21,7 @@ import java.lang.reflect.Method;
 import junit.framework.TestCase;
 
 import com.pureperfect.purview.Purview;
+import com.pureperfect.purview.ValidationProblem;
 import com.pureperfect.purview.util.GetterMethodFilter;
 import com.pureperfect.purview.util.MakeAccessibleFieldFilter;
 
@@ -263,4 +264,38 @@ public class EmailTest extends TestCase
 
 		assertEquals(0, Purview.validateMethods(mock).getProblems().size());
 	}
-}
\ No newline at end of file
+
+	public void testProblemTypes() throws Exception
+	{
+		final Email.Validator validator = new Email.Validator();
+
+		final Email annotation = Stub.class.getField("field").getAnnotation(
+				Email.class);
+
+		ValidationProblem<?, ?, ?, ?> problem = validator.validate(null,
+				annotation, null, "me@myhost");
+
+		assertTrue(problem instanceof InvalidDomainNameProblem);
+		assertEquals("myhost", problem.getValue().toString());
+
+		problem = validator.validate(null, annotation, null, "me@my$host.com");
+
+		assertTrue(problem instanceof InvalidHostNameProblem);
+		assertEquals("my$host.com", problem.getValue().toString());
+
+		/*
+		 * Domain problems are reported before account problems.
+		 */
+		problem = validator.validate(null, annotation, null, "m$e@.com");
+
+		assertTrue(problem instanceof InvalidHostNameProblem);
+
+		problem = validator.validate(null, annotation, null, "m$e@myhost.com");
+
+		assertTrue(problem instanceof Email.Problem);
+		assertEquals("m$e@myhost.com", problem.getValue());
+
+		assertNull(validator.validate(null, annotation, null,
+				new StringBuilder("j\u00fcrgen@m\u00fcnchen.de")));
+	}
+}
@@ -185,4 +185,36 @@ public class HostTest extends TestCase
 						GetterMethodFilter.defaultInstance()).getProblems()
 						.size());
 	}
-}
\ No newline at end of file
+
+	public class ReverseStub
+	{
+		@Host(reverseLookup = true)
+		public String field;
+	}
+
+	public void testReverseLookup() throws Exception
+	{
+		final StubHostResolver resolver = new StubHostResolver("pureperfect.com");
+
+		HostResolvers.setDefault(resolver);
+
+		try
+		{
+			final ReverseStub mock = new ReverseStub();
+
+			mock.field = "PurePerfect.com";
+
+			assertEquals(0, Purview.validateFields(mock).getProblems().size());
+
+			mock.field = "nowhere.pureperfect.com";
+
+			assertEquals(1, Purview.validateFields(mock).getProblems().size());
+
+			assertEquals(2, resolver.getLookups());
+		}
+		finally
+		{
+			HostResolvers.setDefault(null);
+		}
+	}
+}
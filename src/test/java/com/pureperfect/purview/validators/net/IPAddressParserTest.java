@@ -0,0 +1,129 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.validators.net;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit test for {@link IPAddressParser}.
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public class IPAddressParserTest extends TestCase
+{
+	private static long[] parse6(final String value)
+	{
+		final long[] address = new long[2];
+
+		assertTrue(value, IPAddressParser.parseIPv6(value, 0, value.length(),
+				address));
+
+		return address;
+	}
+
+	/**
+	 * Test IPv4 addresses.
+	 */
+	public void testIPv4()
+	{
+		assertEquals(0xC0A80001L, IPAddressParser.parseIPv4("192.168.0.1", 0,
+				11));
+		assertEquals(0xFFFFFFFFL, IPAddressParser.parseIPv4("255.255.255.255",
+				0, 15));
+		assertEquals(-1, (int) IPAddressParser.parseIPv4("255.255.255.255", 0,
+				15));
+		assertEquals(0L, IPAddressParser.parseIPv4("0.0.0.0", 0, 7));
+		assertEquals(0x7F000001L,
+				IPAddressParser.parseIPv4("ip=127.0.0.1;", 3, 12));
+
+		assertTrue(IPAddressParser.isIPv4("010.001.000.001"));
+
+		final String[] invalid =
+		{ "", "1", "1.2.3", "1.2.3.4.5", "1.2.3.4.", ".1.2.3.4", "1..2.3",
+				"256.1.1.1", "1.2.3.1000", "0001.2.3.4", "+1.2.3.4",
+				"-1.2.3.4", "1.2.3.a", "1.2.3.4 ", "1,2,3,4" };
+
+		for (final String value : invalid)
+		{
+			assertFalse(value, IPAddressParser.isIPv4(value));
+			assertEquals(value, IPAddressParser.INVALID,
+					IPAddressParser.parseIPv4(value, 0, value.length()));
+		}
+	}
+
+	/**
+	 * Test IPv6 addresses.
+	 */
+	public void testIPv6()
+	{
+		long[] address = parse6("2001:0db8:85a3:0000:0000:8a2e:0370:7334");
+
+		assertEquals(0x20010DB885A30000L, address[0]);
+		assertEquals(0x00008A2E03707334L, address[1]);
+
+		address = parse6("2001:db8:85a3::8a2e:370:7334");
+
+		assertEquals(0x20010DB885A30000L, address[0]);
+		assertEquals(0x00008A2E03707334L, address[1]);
+
+		address = parse6("::");
+
+		assertEquals(0L, address[0]);
+		assertEquals(0L, address[1]);
+
+		address = parse6("::1");
+
+		assertEquals(0L, address[0]);
+		assertEquals(1L, address[1]);
+
+		address = parse6("fe80::");
+
+		assertEquals(0xFE80000000000000L, address[0]);
+		assertEquals(0L, address[1]);
+
+		address = parse6("1:2:3:4:5:6:7::");
+
+		assertEquals(0x0001000200030004L, address[0]);
+		assertEquals(0x0005000600070000L, address[1]);
+
+		address = parse6("::ffff:192.168.0.1");
+
+		assertEquals(0L, address[0]);
+		assertEquals(0x0000FFFFC0A80001L, address[1]);
+
+		address = parse6("1:2:3:4:5:6:10.0.0.1");
+
+		assertEquals(0x0001000200030004L, address[0]);
+		assertEquals(0x000500060A000001L, address[1]);
+
+		assertTrue(IPAddressParser.isIPv6("ABCD:EF01:2345:6789:abcd:ef01:2345:6789"));
+
+		final String[] invalid =
+		{ "", ":", ":::", "1:2:3:4:5:6:7", "1:2:3:4:5:6:7:8:9",
+				"::1:2:3:4:5:6:7:8", "1::2::3", "1:::2", ":1:2:3:4:5:6:7:8",
+				"1:2:3:4:5:6:7:8:", "1:", "12345::", "g::", "::1.2.3",
+				"::1.2.3.4:5", "1:2:3:4:5:6:7:1.2.3.4", "::256.1.1.1",
+				"fe80::1%eth0", "[::1]", "1.2.3.4" };
+
+		for (final String value : invalid)
+		{
+			assertFalse(value, IPAddressParser.isIPv6(value));
+		}
+	}
+}
@@ -151,4 +151,37 @@ public class IPAddressTest extends TestCase
 						GetterMethodFilter.defaultInstance()).getProblems()
 						.size());
 	}
-}
\ No newline at end of file
+
+	public class VersionStub
+	{
+		@IPAddress
+		public String ipv4;
+
+		@IPAddress(version = IPAddress.IPV6)
+		public String ipv6;
+
+		@IPAddress(version = IPAddress.BOTH)
+		public String both;
+	}
+
+	public void testVersion() throws Exception
+	{
+		final VersionStub mock = new VersionStub();
+
+		mock.ipv4 = "10.0.0.1";
+		mock.ipv6 = "2001:db8::1";
+		mock.both = "::ffff:10.0.0.1";
+
+		assertEquals(0, Purview.validateFields(mock).getProblems().size());
+
+		mock.both = "10.0.0.1";
+
+		assertEquals(0, Purview.validateFields(mock).getProblems().size());
+
+		mock.ipv4 = "2001:db8::1";
+		mock.ipv6 = "10.0.0.1";
+		mock.both = "10.0.0.1.";
+
+		assertEquals(3, Purview.validateFields(mock).getProblems().size());
+	}
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.validators.net;
+
+import java.io.ByteArrayInputStream;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit test for {@link TopLevelDomains}.
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public class TopLevelDomainsTest extends TestCase
+{
+	@Override
+	protected void tearDown() throws Exception
+	{
+		TopLevelDomains.reset();
+	}
+
+	/**
+	 * Test the bundled list.
+	 */
+	public void testContains()
+	{
+		assertTrue(TopLevelDomains.size() > 200);
+		assertTrue(TopLevelDomains.contains("COM"));
+		assertTrue(TopLevelDomains.contains("com"));
+		assertTrue(TopLevelDomains.contains(new StringBuilder("Museum")));
+		assertTrue(TopLevelDomains.contains("ZW"));
+		assertTrue(TopLevelDomains.contains("AC"));
+		assertFalse(TopLevelDomains.contains("zz"));
+		assertFalse(TopLevelDomains.contains("comm"));
+		assertFalse(TopLevelDomains.contains(""));
+		assertFalse(TopLevelDomains.contains("woot"));
+	}
+
+	/**
+	 * Test looking up the tail of a domain name.
+	 */
+	public void testContainsRange()
+	{
+		final String domain = "www.example.org";
+
+		assertTrue(TopLevelDomains.contains(domain, 12, 15));
+		assertFalse(TopLevelDomains.contains(domain, 11, 15));
+		assertFalse(TopLevelDomains.contains(domain, 4, 11));
+	}
+
+	/**
+	 * Test replacing the list and going back to the bundled one.
+	 */
+	public void testReload() throws Exception
+	{
+		TopLevelDomains.reload(new ByteArrayInputStream(
+				"# Version 2024010100\nWOOT\n\ncom\n".getBytes("UTF-8")));
+
+		assertEquals(2, TopLevelDomains.size());
+		assertTrue(TopLevelDomains.contains("woot"));
+		assertTrue(TopLevelDomains.contains("COM"));
+		assertFalse(TopLevelDomains.contains("org"));
+		assertFalse(TopLevelDomains.contains("# Version 2024010100"));
+
+		TopLevelDomains.reset();
+
+		assertFalse(TopLevelDomains.contains("woot"));
+		assertTrue(TopLevelDomains.contains("org"));
+	}
+}
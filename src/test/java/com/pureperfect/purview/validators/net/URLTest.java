@@ -143,4 +143,31 @@ public class URLTest extends TestCase
 						GetterMethodFilter.defaultInstance()).getProblems()
 						.size());
 	}
-}
\ No newline at end of file
+
+	public class OptionsStub
+	{
+		@URL(schemes = { "http", "https" }, validateHost = true, minPort = 80, maxPort = 8080)
+		public String value;
+	}
+
+	public void testOptions() throws Exception
+	{
+		final OptionsStub mock = new OptionsStub();
+
+		mock.value = "https://pureperfect.com:8080/index.html";
+
+		assertEquals(0, Purview.validateFields(mock).getProblems().size());
+
+		mock.value = "ftp://pureperfect.com/";
+
+		assertEquals(1, Purview.validateFields(mock).getProblems().size());
+
+		mock.value = "http://pure..perfect.com/";
+
+		assertEquals(1, Purview.validateFields(mock).getProblems().size());
+
+		mock.value = "http://pureperfect.com:8443/";
+
+		assertEquals(1, Purview.validateFields(mock).getProblems().size());
+	}
+}
@@ -122,4 +122,19 @@ public class AllowOnlyTest extends TestCase
 		
 		assertEquals(0, Purview.validateFields(stub).getProblems().size());
 	}
+
+	@SuppressWarnings("boxing")
+	public void testSpecialValues() throws Exception
+	{
+		final AllowOnly annotation = RequiredStub.class.getField("value")
+				.getAnnotation(AllowOnly.class);
+
+		final AllowOnly.Validator validator = new AllowOnly.Validator();
+
+		assertNull(validator.validate(null, annotation, null, 11.1));
+		assertNull(validator.validate(null, annotation, null, 9));
+		assertNull(validator.validate(null, annotation, null, 9L));
+		assertNotNull(validator.validate(null, annotation, null, 10));
+		assertNotNull(validator.validate(null, annotation, null, Double.NaN));
+	}
 }
@@ -16,6 +16,7 @@
  */
 package com.pureperfect.purview.validators.numeric;
 
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 
 import junit.framework.TestCase;
@@ -60,6 +61,18 @@ public class GreaterThanTest extends TestCase
 		}
 	}
 
+	public class PrimitiveStub
+	{
+		@GreaterThan(25)
+		public int intField = 26;
+
+		@GreaterThan(25)
+		public long longField = 26;
+
+		@GreaterThan(25)
+		public double doubleField = 25.5;
+	}
+
 	public void testField() throws Exception
 	{
 		final Stub mock = new Stub();
@@ -143,4 +156,40 @@ public class GreaterThanTest extends TestCase
 						GetterMethodFilter.defaultInstance()).getProblems()
 						.size());
 	}
-}
\ No newline at end of file
+
+	public void testPrimitives() throws Exception
+	{
+		final PrimitiveStub mock = new PrimitiveStub();
+
+		assertEquals(0, Purview.validateFields(mock).getProblems().size());
+
+		mock.intField = 25;
+		mock.longField = 24;
+		mock.doubleField = 25.0;
+
+		final Object[] problems = Purview.validateFields(mock).getProblems()
+				.toArray();
+
+		assertEquals(3, problems.length);
+
+		for (final Object problem : problems)
+		{
+			final GreaterThan.Problem p = (GreaterThan.Problem) problem;
+			final Object value = p.getValue();
+			final String name = ((Field) p.getTarget()).getName();
+
+			if ("intField".equals(name))
+			{
+				assertEquals(Integer.valueOf(25), value);
+			}
+			else if ("longField".equals(name))
+			{
+				assertEquals(Long.valueOf(24), value);
+			}
+			else
+			{
+				assertEquals(Double.valueOf(25.0), value);
+			}
+		}
+	}
+}
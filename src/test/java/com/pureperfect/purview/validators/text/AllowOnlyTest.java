@@ -147,4 +147,18 @@ public class AllowOnlyTest extends TestCase
 		
 		assertEquals(1, Purview.validateFields(stub).getProblems().size());
 	}
+
+	public void testCharSequence()
+	{
+		final AllowOnly annotation = IgnoreCaseStub.class.getFields()[0]
+				.getAnnotation(AllowOnly.class);
+
+		final AllowOnly.Validator validator = new AllowOnly.Validator();
+
+		assertNull(validator.validate(null, annotation, null,
+				new StringBuilder("FoO")));
+
+		assertNotNull(validator.validate(null, annotation, null,
+				new StringBuilder("fo")));
+	}
 }
@@ -191,7 +191,7 @@ public class DefaultTest extends TestCase
 		}
 		catch (ValidationException e)
 		{
-			assertTrue(e.getCause() instanceof NoSuchMethodException);
+			assertTrue(e.getCause() instanceof NumberFormatException);
 		}
 	}
 
@@ -213,6 +213,78 @@ public class DefaultTest extends TestCase
 		}
 	}
 	
+	/*
+	 * Stub test class.
+	 */
+	public class TypedStub
+	{
+		@Default("42")
+		public int count;
+
+		@Default("12345678901")
+		public Long total;
+
+		@Default("DAYS")
+		public java.util.concurrent.TimeUnit unit;
+
+		@Default("1.50")
+		private java.math.BigDecimal price;
+
+		private Integer size;
+
+		@Default("7")
+		public Integer getSize()
+		{
+			return this.size;
+		}
+
+		public void setSize(Integer size)
+		{
+			this.size = size;
+		}
+	}
+
+	/*
+	 * Defaults are converted to the type of the field or setter.
+	 */
+	public void testTypedDefaults()
+	{
+		TypedStub stub = new TypedStub();
+
+		Purview.validateFields(stub);
+		Purview.validateMethods(stub);
+
+		assertEquals(0, stub.count);
+		assertEquals(Long.valueOf(12345678901L), stub.total);
+		assertEquals(java.util.concurrent.TimeUnit.DAYS, stub.unit);
+		assertEquals(new java.math.BigDecimal("1.50"), stub.price);
+		assertEquals(Integer.valueOf(7), stub.getSize());
+
+		stub = new TypedStub();
+		stub.total = Long.valueOf(1);
+		stub.setSize(Integer.valueOf(3));
+
+		Purview.validateFields(stub);
+		Purview.validateMethods(stub);
+
+		assertEquals(Long.valueOf(1), stub.total);
+		assertEquals(Integer.valueOf(3), stub.getSize());
+	}
+
+	/*
+	 * A broken default is only an error when it is needed.
+	 */
+	public void testMissingSetterIgnoredWhenPopulated()
+	{
+		MethodStubMissingSetter stub = new MethodStubMissingSetter();
+
+		stub.value = "populated";
+
+		Purview.validateMethods(stub);
+
+		assertEquals("populated", stub.getValue());
+	}
+
 	public class MethodWithString
 	{
 		public String value;
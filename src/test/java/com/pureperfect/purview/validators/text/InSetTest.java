@@ -0,0 +1,294 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.validators.text;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+import junit.framework.TestCase;
+
+import com.pureperfect.purview.Purview;
+import com.pureperfect.purview.ValidationException;
+import com.pureperfect.purview.util.MappedStringSet;
+import com.pureperfect.purview.util.MappedStringSetWriter;
+import com.pureperfect.purview.util.MappedStringSets;
+
+/**
+ * Unit test for {@link InSet} annotation.
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public class InSetTest extends TestCase
+{
+	private static final String SET = "genders.set";
+
+	public class Stub
+	{
+		@InSet(resource = SET)
+		private String value;
+
+		@InSet(resource = SET)
+		public String getValue()
+		{
+			return this.value;
+		}
+
+		public void setValue(String value)
+		{
+			this.value = value;
+		}
+
+		public void foo(@InSet(resource = SET) String bar)
+		{
+			// test method
+		}
+	}
+
+	public class RequiredStub
+	{
+		@InSet(resource = SET, required = true)
+		public String value;
+	}
+
+	public class MissingStub
+	{
+		@InSet(resource = "no/such/file.set")
+		public String value = "foo";
+	}
+
+	private static MappedStringSet write(final String... values)
+			throws Exception
+	{
+		final File file = File.createTempFile("purview", ".set");
+
+		file.deleteOnExit();
+
+		new MappedStringSetWriter().write(Arrays.asList(values).iterator(),
+				file);
+
+		return MappedStringSet.open(file);
+	}
+
+	private static ClassLoader jar(final String... values) throws Exception
+	{
+		final File set = write(values).getFile();
+
+		final File jar = File.createTempFile("purview", ".jar");
+
+		jar.deleteOnExit();
+
+		final JarOutputStream out = new JarOutputStream(new FileOutputStream(
+				jar));
+
+		try
+		{
+			out.putNextEntry(new ZipEntry("purview/jarred.set"));
+			out.write(Files.readAllBytes(set.toPath()));
+		}
+		finally
+		{
+			out.close();
+		}
+
+		return new URLClassLoader(new URL[] { jar.toURI().toURL() }, null);
+	}
+
+	@Override
+	protected void setUp() throws Exception
+	{
+		MappedStringSets.install(SET, write("Male", "Female"));
+	}
+
+	@Override
+	protected void tearDown() throws Exception
+	{
+		MappedStringSets.remove(SET);
+	}
+
+	public void testField() throws Exception
+	{
+		Stub mock = new Stub();
+
+		assertEquals(0, Purview.validateFields(mock).getProblems().size());
+
+		mock.setValue("woot");
+
+		assertEquals(1, Purview.validateFields(mock).getProblems().size());
+
+		mock.setValue("Male");
+
+		assertEquals(0, Purview.validateFields(mock).getProblems().size());
+	}
+
+	public void testMethod() throws Exception
+	{
+		Stub mock = new Stub();
+
+		mock.setValue("woot");
+
+		assertEquals(1, Purview.validateMethods(mock).getProblems().size());
+
+		mock.setValue("Female");
+
+		assertEquals(0, Purview.validateMethods(mock).getProblems().size());
+	}
+
+	public void testParameter() throws Exception
+	{
+		Stub mock = new Stub();
+
+		Method m = Stub.class.getMethod("foo", String.class);
+
+		assertEquals(1, Purview.validateParameters(mock, m, new Object[]
+		{ "woot" }).getProblems().size());
+
+		assertEquals(0, Purview.validateParameters(mock, m, new Object[]
+		{ "Male" }).getProblems().size());
+	}
+
+	public void testRequired() throws Exception
+	{
+		RequiredStub mock = new RequiredStub();
+
+		assertEquals(1, Purview.validateFields(mock).getProblems().size());
+
+		mock.value = "";
+
+		assertEquals(1, Purview.validateFields(mock).getProblems().size());
+
+		mock.value = "Male";
+
+		assertEquals(0, Purview.validateFields(mock).getProblems().size());
+	}
+
+	public void testHotSwap() throws Exception
+	{
+		Stub mock = new Stub();
+
+		mock.setValue("Other");
+
+		assertEquals(1, Purview.validateFields(mock).getProblems().size());
+
+		MappedStringSets.install(SET, write("Male", "Female", "Other"));
+
+		assertEquals(0, Purview.validateFields(mock).getProblems().size());
+	}
+
+	public void testReload() throws Exception
+	{
+		final File file = File.createTempFile("purview", ".set");
+		final File next = File.createTempFile("purview", ".set");
+
+		file.deleteOnExit();
+		next.deleteOnExit();
+
+		final MappedStringSetWriter writer = new MappedStringSetWriter();
+
+		writer.write(Arrays.asList("a").iterator(), file);
+
+		final String name = file.getPath();
+
+		try
+		{
+			assertTrue(MappedStringSets.get(name).contains("a"));
+			assertFalse(MappedStringSets.get(name).contains("b"));
+
+			writer.write(Arrays.asList("a", "b").iterator(), next);
+
+			assertTrue(next.renameTo(file));
+
+			assertFalse(MappedStringSets.get(name).contains("b"));
+			assertTrue(MappedStringSets.reload(name).contains("b"));
+			assertTrue(MappedStringSets.get(name).contains("b"));
+		}
+		finally
+		{
+			MappedStringSets.remove(name);
+		}
+	}
+
+	public void testClassLoaders() throws Exception
+	{
+		final String name = "purview/jarred.set";
+
+		final Thread thread = Thread.currentThread();
+
+		final ClassLoader context = thread.getContextClassLoader();
+
+		final ClassLoader first = jar("a");
+		final ClassLoader second = jar("b");
+
+		try
+		{
+			thread.setContextClassLoader(first);
+
+			final MappedStringSet set = MappedStringSets.get(name);
+
+			assertTrue(set.contains("a"));
+			assertFalse(set.contains("b"));
+
+			thread.setContextClassLoader(second);
+
+			assertFalse(MappedStringSets.get(name).contains("a"));
+			assertTrue(MappedStringSets.get(name).contains("b"));
+
+			thread.setContextClassLoader(first);
+
+			assertSame(set, MappedStringSets.get(name));
+			assertNotSame(set, MappedStringSets.reload(name));
+
+			/*
+			 * The temporary copy is gone once the set is replaced, or right
+			 * away where a mapped file can be deleted.
+			 */
+			if (File.separatorChar == '/')
+			{
+				assertFalse(set.getFile().exists());
+				assertFalse(MappedStringSets.get(name).getFile().exists());
+			}
+		}
+		finally
+		{
+			MappedStringSets.evict(first);
+			MappedStringSets.evict(second);
+
+			thread.setContextClassLoader(context);
+		}
+	}
+
+	public void testMissingSet() throws Exception
+	{
+		try
+		{
+			Purview.validateFields(new MissingStub());
+			fail();
+		}
+		catch (ValidationException e)
+		{
+			// expected
+		}
+	}
+}
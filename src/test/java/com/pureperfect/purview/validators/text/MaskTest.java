@@ -0,0 +1,146 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.validators.text;
+
+import java.lang.reflect.Method;
+
+import junit.framework.TestCase;
+
+import com.pureperfect.purview.Purview;
+import com.pureperfect.purview.ValidationException;
+
+/**
+ * Unit test for {@link Mask} annotation.
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public class MaskTest extends TestCase
+{
+	public class Stub
+	{
+		@Mask("#####[-####]")
+		private String value;
+
+		@Mask(
+		{ "(###) ###-####", "###-###-####" })
+		public String getValue()
+		{
+			return this.value;
+		}
+
+		public void setValue(String value)
+		{
+			this.value = value;
+		}
+
+		public void foo(@Mask("??-####") String bar)
+		{
+			// test method
+		}
+	}
+
+	public class RequiredStub
+	{
+		@Mask(value = "#", required = true)
+		public String value;
+	}
+
+	public class BadMaskStub
+	{
+		@Mask("[#")
+		public String value = "1";
+	}
+
+	public void testField() throws Exception
+	{
+		Stub mock = new Stub();
+
+		assertEquals(0, Purview.validateFields(mock).getProblems().size());
+
+		mock.setValue("woot");
+
+		assertEquals(1, Purview.validateFields(mock).getProblems().size());
+
+		mock.setValue("12345");
+
+		assertEquals(0, Purview.validateFields(mock).getProblems().size());
+
+		mock.setValue("12345-6789");
+
+		assertEquals(0, Purview.validateFields(mock).getProblems().size());
+	}
+
+	public void testMethod() throws Exception
+	{
+		Stub mock = new Stub();
+
+		mock.setValue("12345");
+
+		assertEquals(1, Purview.validateMethods(mock).getProblems().size());
+
+		mock.setValue("(555) 123-4567");
+
+		assertEquals(0, Purview.validateMethods(mock).getProblems().size());
+
+		mock.setValue("555-123-4567");
+
+		assertEquals(0, Purview.validateMethods(mock).getProblems().size());
+	}
+
+	public void testParameter() throws Exception
+	{
+		Stub mock = new Stub();
+
+		Method m = Stub.class.getMethod("foo", String.class);
+
+		assertEquals(1, Purview.validateParameters(mock, m, new Object[]
+		{ "AB1234" }).getProblems().size());
+
+		assertEquals(0, Purview.validateParameters(mock, m, new Object[]
+		{ "AB-1234" }).getProblems().size());
+	}
+
+	public void testRequired() throws Exception
+	{
+		RequiredStub mock = new RequiredStub();
+
+		assertEquals(1, Purview.validateFields(mock).getProblems().size());
+
+		mock.value = "";
+
+		assertEquals(1, Purview.validateFields(mock).getProblems().size());
+
+		mock.value = "1";
+
+		assertEquals(0, Purview.validateFields(mock).getProblems().size());
+	}
+
+	public void testBadMask() throws Exception
+	{
+		try
+		{
+			Purview.validateFields(new BadMaskStub());
+			fail();
+		}
+		catch (final ValidationException e)
+		{
+			assertTrue(e.getCause() instanceof IllegalArgumentException);
+		}
+	}
+}
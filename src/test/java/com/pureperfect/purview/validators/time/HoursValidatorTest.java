@@ -33,6 +33,21 @@ import com.pureperfect.purview.util.MakeAccessibleFieldFilter;
  */
 public class HoursValidatorTest extends TestCase
 {
+	/**
+	 * Primitive fields for testing.
+	 */
+	public class PrimitiveStub
+	{
+		@Hours
+		public int intField = 23;
+
+		@Hours
+		public long longField = 0;
+
+		@Hours
+		public double doubleField = 23.9;
+	}
+
 	/**
 	 * Stub for testing.
 	 */
@@ -279,4 +294,26 @@ public class HoursValidatorTest extends TestCase
 
 		assertEquals(0, Purview.validateMethods(stub).getProblems().size());
 	}
+
+	public void testPrimitives() throws Exception
+	{
+		final PrimitiveStub mock = new PrimitiveStub();
+
+		assertEquals(0, Purview.validateFields(mock).getProblems().size());
+
+		mock.intField = 24;
+		mock.longField = -1;
+		mock.doubleField = 24.0;
+
+		assertEquals(3, Purview.validateFields(mock).getProblems().size());
+
+		/*
+		 * Like intValue(), longs and doubles are truncated to an int.
+		 */
+		mock.intField = 0;
+		mock.longField = (1L << 32) + 5;
+		mock.doubleField = -0.5;
+
+		assertEquals(0, Purview.validateFields(mock).getProblems().size());
+	}
 }
@@ -0,0 +1,162 @@
+/*
+ * Copyright [2006] PurePerfect.com
+ * Licensed under the Apache License, Version 2.0 (the "License"); 
+ * you may not use this file except in compliance with the License. 
+ * 
+ * You may obtain a copy of the License at 
+ * 		http://www.apache.org/licenses/LICENSE-2.0 
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
+ * either express or implied. 
+ * 
+ * See the License for the specific language governing permissions
+ * and limitations under the License. 
+ */
+package com.pureperfect.purview.jfr;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import junit.framework.TestCase;
+
+import com.pureperfect.purview.CachingValidatorFactory;
+import com.pureperfect.purview.ValidationEngine;
+import com.pureperfect.purview.ValidationEngineImpl;
+import com.pureperfect.purview.util.MakeAccessibleFieldFilter;
+import com.pureperfect.purview.validators.NotNull;
+
+/**
+ * Unit test for {@link FlightRecorderEvents} and
+ * {@link FlightRecorderListener}.
+ *
+ * @author J. Chris Folsom
+ * @version 1.4
+ * @since 1.4
+ */
+public class FlightRecorderEventsTest extends TestCase
+{
+	/**
+	 * Stub class for testing.
+	 */
+	public static class Stub
+	{
+		@NotNull
+		String name;
+	}
+
+	private static List<RecordedEvent> record(final ValidationEngine engine,
+			final Object instance) throws Exception
+	{
+		final Recording recording = new Recording();
+
+		recording.enable(ValidationEvent.NAME).withThreshold(null);
+		recording.enable(ValidatorInvocationEvent.NAME);
+		recording.enable(PlanCompilationEvent.NAME);
+
+		final File file = File.createTempFile("purview", ".jfr");
+
+		try
+		{
+			recording.start();
+
+			engine.validateFields(instance, MakeAccessibleFieldFilter
+					.defaultInstance(), false);
+
+			recording.stop();
+			recording.dump(file.toPath());
+
+			final List<RecordedEvent> events = new ArrayList<RecordedEvent>();
+
+			for (final RecordedEvent event : RecordingFile.readAllEvents(file
+					.toPath()))
+			{
+				if (event.getEventType().getName().startsWith(
+						"com.pureperfect.purview."))
+				{
+					events.add(event);
+				}
+			}
+
+			return events;
+		}
+		finally
+		{
+			recording.close();
+			file.delete();
+		}
+	}
+
+	private static RecordedEvent find(final List<RecordedEvent> events,
+			final String name)
+	{
+		for (final RecordedEvent event : events)
+		{
+			if (event.getEventType().getName().equals(name))
+			{
+				return event;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Test the validation and plan compilation events.
+	 *
+	 * @throws Exception
+	 *             if the test fails
+	 */
+	public void testEvents() throws Exception
+	{
+		assertNotNull(FlightRecorderEvents.load());
+
+		final List<RecordedEvent> events = record(new ValidationEngineImpl(
+				new CachingValidatorFactory()), new Stub());
+
+		final RecordedEvent plan = find(events, PlanCompilationEvent.NAME);
+
+		assertNotNull(plan);
+		assertEquals(Stub.class.getName(), plan.getClass("validatedClass")
+				.getName());
+
+		final RecordedEvent validation = find(events, ValidationEvent.NAME);
+
+		assertNotNull(validation);
+		assertEquals(Stub.class.getName(), validation.getClass(
+				"validatedClass").getName());
+		assertEquals(FlightRecorderEvents.FIELDS, validation.getString("mode"));
+		assertEquals(1, validation.getInt("problems"));
+
+		assertNull(find(events, ValidatorInvocationEvent.NAME));
+	}
+
+	/**
+	 * Test that the listener records validators above the threshold.
+	 *
+	 * @throws Exception
+	 *             if the test fails
+	 */
+	public void testListener() throws Exception
+	{
+		final RecordedEvent slow = find(record(new ValidationEngineImpl(
+				new CachingValidatorFactory(), new FlightRecorderListener(0)),
+				new Stub()), ValidatorInvocationEvent.NAME);
+
+		assertNotNull(slow);
+		assertEquals("name", slow.getString("target"));
+		assertEquals(NotNull.class.getName(), slow.getClass("annotation")
+				.getName());
+		assertTrue(slow.getBoolean("failed"));
+
+		assertNull(find(record(new ValidationEngineImpl(
+				new CachingValidatorFactory(), new FlightRecorderListener(
+						Long.MAX_VALUE)), new Stub()),
+				ValidatorInvocationEvent.NAME));
+	}
+}
@@ -1,60 +0,0 @@
-/*
- * Copyright [2006] PurePerfect.com
- * Licensed under the Apache License, Version 2.0 (the "License"); 
- * you may not use this file except in compliance with the License. 
- * 
- * You may obtain a copy of the License at 
- * 		http://www.apache.org/licenses/LICENSE-2.0 
- * 
- * Unless required by applicable law or agreed to in writing, 
- * software distributed under the License is distributed on an 
- * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
- * either express or implied. 
- * 
- * See the License for the specific language governing permissions
- * and limitations under the License. 
- */
-package com.pureperfect.purview;
-
-import java.lang.annotation.Annotation;
-
-import com.pureperfect.purview.validators.NotNull;
-
-/**
- * Profile for {@link CachingValidatorFactory}.
- * 
- * @author J. Chris Folsom
- * @version 1.1
- * @since 1.0
- */
-public class CachingValidatorFactoryBench
-{
-	//TODO lobo class path broken
-	
-	/*
-	 * Stub class for testing.
-	 */
-	public class GoodStub
-	{
-		@NotNull
-		public String field;
-	}
-
-	/**
-	 * Test create performance.
-	 */
-	public void create() throws SecurityException, NoSuchFieldException
-	{
-		final Class<?> clazz = GoodStub.class;
-
-		final Annotation[] annotations = clazz.getField("field")
-				.getDeclaredAnnotations();
-
-		ValidatorFactory factory = new CachingValidatorFactory();
-
-		for (int i = 0; i < 100000; ++i)
-		{
-			factory.createValidator(annotations[0]);
-		}
-	}
-}
@@ -1,48 +0,0 @@
-/*
- * Copyright [2006] PurePerfect.com
- * Licensed under the Apache License, Version 2.0 (the "License"); 
- * you may not use this file except in compliance with the License. 
- * 
- * You may obtain a copy of the License at 
- * 		http://www.apache.org/licenses/LICENSE-2.0 
- * 
- * Unless required by applicable law or agreed to in writing, 
- * software distributed under the License is distributed on an 
- * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, 
- * either express or implied. 
- * 
- * See the License for the specific language governing permissions
- * and limitations under the License. 
- */
-package com.pureperfect.purview.i18n;
-
-import com.pureperfect.purview.validators.net.Email;
-import com.pureperfect.purview.validators.net.Email.Problem;
-
-/**
- * Profile for {@link JEXLExpressionEngine}.
- * 
- * @author J. Chris Folsom
- * @version 1.1
- * @since 1.0
- */
-public class JEXLExpressionEngineBench
-{
-	final ExpressionEngine jexl = JEXLExpressionEngine.defaultInstance();
-
-	final Email.Problem problem = new Problem("instanceValue", null, null,
-			"bademail");
-	
-//	@Profile TODO lobo class path broken
-//	public void eval()
-//	{
-//		final int count = 100000;
-//
-//		for (int i = 0; i < count; ++i)
-//		{
-//			this.jexl.eval(
-//					"The bad email address was: ${problem.instance.length()}",
-//					this.problem);
-//		}
-//	}
-}
\ No newline at end of file